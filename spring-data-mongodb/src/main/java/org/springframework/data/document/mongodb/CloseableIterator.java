@@ -0,0 +1,34 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb;
+
+import java.util.Iterator;
+
+/**
+ * An {@link Iterator} over the results of a query that holds on to a server side cursor. The cursor is released as
+ * soon as the iterator is exhausted, but clients that stop iterating early have to call {@link #close()} explicitly,
+ * ideally in a {@literal finally} block.
+ * 
+ * @author agent
+ */
+public interface CloseableIterator<T> extends Iterator<T> {
+
+	/**
+	 * Closes the underlying cursor. Subsequent calls to {@link #hasNext()} will return {@literal false}. Calling this
+	 * method multiple times has no effect.
+	 */
+	void close();
+}
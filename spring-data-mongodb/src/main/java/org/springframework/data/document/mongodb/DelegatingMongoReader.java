@@ -0,0 +1,41 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb;
+
+/**
+ * A {@link MongoReader} that reads documents of an entity type with the help of another {@link MongoReader}, e.g. to
+ * read them into projections or to capture additional information along the way. {@link MongoTemplate} uses the
+ * entity type and the delegate to map the ids of queries issued for the reader the same way it does for the entity.
+ * 
+ * @author agent
+ * @param <T> the type of the objects to read
+ */
+public interface DelegatingMongoReader<T> extends MongoReader<T> {
+
+	/**
+	 * Returns the type of the entity the documents read belong to.
+	 * 
+	 * @return
+	 */
+	Class<?> getEntityClass();
+
+	/**
+	 * Returns the {@link MongoReader} the entity documents are read with.
+	 * 
+	 * @return
+	 */
+	MongoReader<?> getDelegate();
+}
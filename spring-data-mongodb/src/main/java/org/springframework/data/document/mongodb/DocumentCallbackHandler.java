@@ -0,0 +1,41 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb;
+
+import org.springframework.dao.DataAccessException;
+
+import com.mongodb.DBObject;
+import com.mongodb.MongoException;
+
+/**
+ * Callback interface to process the documents of a query one by one as they are read from the cursor, without
+ * converting them or collecting them into a list. Useful to hand documents straight on, e.g. serialized to JSON.
+ * 
+ * @author agent
+ * @see MongoOperations#executeQuery(String, org.springframework.data.document.mongodb.query.Query,
+ *      DocumentCallbackHandler)
+ */
+public interface DocumentCallbackHandler {
+
+	/**
+	 * Processes a single document read from the database.
+	 * 
+	 * @param document the document as decoded by the driver
+	 * @throws MongoException
+	 * @throws DataAccessException
+	 */
+	void processDocument(DBObject document) throws MongoException, DataAccessException;
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.document.mongodb.MongoPropertyDescriptors.MongoPropertyDescriptor;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Resolves and caches the reflective members needed to instantiate a type and access its properties once per type so
+ * that the converter can bypass the generic {@link org.springframework.beans.BeanWrapper} machinery on every access.
+ * All operations signal whether they could be handled so that callers can fall back to a
+ * {@link org.springframework.beans.ConfigurablePropertyAccessor} for anything not supported. Instances are shared
+ * through the {@link MongoPropertyDescriptors} cache.
+ * 
+ * @author agent
+ */
+class EntityAccessor {
+
+	private final Constructor<?> constructor;
+	private final Map<String, Field> fields;
+	private final Set<String> simpleFields;
+	private final Map<String, Method> getters;
+
+	/**
+	 * Creates a new {@link EntityAccessor} for the given type.
+	 * 
+	 * @param type must not be {@literal null}.
+	 */
+	EntityAccessor(Class<?> type) {
+
+		Assert.notNull(type);
+
+		this.constructor = lookupConstructor(type);
+
+		Map<String, Field> fields = new HashMap<String, Field>();
+		Set<String> simpleFields = new HashSet<String>();
+		Map<String, Method> getters = new HashMap<String, Method>();
+
+		for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(type)) {
+
+			String name = descriptor.getName();
+			Method readMethod = descriptor.getReadMethod();
+
+			if (readMethod != null) {
+				ReflectionUtils.makeAccessible(readMethod);
+				getters.put(name, readMethod);
+			}
+
+			Field field = ReflectionUtils.findField(type, name);
+
+			if (field != null && !Modifier.isStatic(field.getModifiers()) && !Modifier.isFinal(field.getModifiers())) {
+				ReflectionUtils.makeAccessible(field);
+				fields.put(name, field);
+				if (isSimpleType(field)) {
+					simpleFields.add(name);
+				}
+			}
+		}
+
+		this.fields = Collections.unmodifiableMap(fields);
+		this.simpleFields = Collections.unmodifiableSet(simpleFields);
+		this.getters = Collections.unmodifiableMap(getters);
+	}
+
+	/**
+	 * Returns the {@link EntityAccessor} for the given type, using the instance cached along with the type's
+	 * {@link MongoPropertyDescriptors} if available.
+	 * 
+	 * @param type must not be {@literal null}.
+	 * @return
+	 */
+	static EntityAccessor forType(Class<?> type) {
+		return MongoPropertyDescriptors.forType(type).getEntityAccessor();
+	}
+
+	/**
+	 * Returns whether the type can be instantiated through its no-arg constructor.
+	 * 
+	 * @return
+	 */
+	boolean canInstantiate() {
+		return constructor != null;
+	}
+
+	/**
+	 * Creates a new instance of the type using the cached no-arg constructor.
+	 * 
+	 * @return
+	 */
+	Object instantiate() {
+		Assert.state(canInstantiate(), "No accessible no-arg constructor available!");
+		try {
+			return constructor.newInstance();
+		} catch (Exception e) {
+			ReflectionUtils.handleReflectionException(e);
+			return null;
+		}
+	}
+
+	/**
+	 * Returns whether the given property can be read (through the field if {@code fieldAccess} is {@literal true}, the
+	 * getter otherwise).
+	 * 
+	 * @param descriptor
+	 * @param fieldAccess
+	 * @return
+	 */
+	boolean isReadable(MongoPropertyDescriptor descriptor, boolean fieldAccess) {
+		return fieldAccess ? fields.containsKey(descriptor.getName()) : getters.containsKey(descriptor.getName());
+	}
+
+	/**
+	 * Reads the given property from the given target. Callers need to check {@link #isReadable(MongoPropertyDescriptor,
+	 * boolean)} beforehand.
+	 * 
+	 * @param target
+	 * @param descriptor
+	 * @param fieldAccess
+	 * @return
+	 */
+	Object getValue(Object target, MongoPropertyDescriptor descriptor, boolean fieldAccess) {
+
+		String name = descriptor.getName();
+
+		if (fieldAccess) {
+			return ReflectionUtils.getField(fields.get(name), target);
+		}
+
+		return ReflectionUtils.invokeMethod(getters.get(name), target);
+	}
+
+	/**
+	 * Writes the given value into the field backing the given property. Converts the value using the given
+	 * {@link ConversionService} if it is not assignable to the field type. Only fields of non-generic, non-collection
+	 * types are written directly (as well as {@link LazyLoadingProxy}s) as typed collections and maps require the
+	 * element conversion the {@link org.springframework.beans.ConfigurablePropertyAccessor} applies.
+	 * 
+	 * @param target
+	 * @param descriptor
+	 * @param value
+	 * @param conversionService
+	 * @return {@literal false} if the value could not be set directly, e.g. because there's no backing field, the field
+	 *         is generically typed or no conversion is available.
+	 */
+	boolean setValue(Object target, MongoPropertyDescriptor descriptor, Object value, ConversionService conversionService) {
+
+		String name = descriptor.getName();
+		Field field = fields.get(name);
+
+		if (field == null) {
+			return false;
+		}
+
+		if (!simpleFields.contains(name) && !LazyLoadingProxy.isLazyLoadingProxy(value)) {
+			return false;
+		}
+
+		Class<?> fieldType = field.getType();
+
+		if (value == null) {
+			if (fieldType.isPrimitive()) {
+				return false;
+			}
+		} else if (!ClassUtils.isAssignableValue(fieldType, value)) {
+			if (!conversionService.canConvert(value.getClass(), fieldType)) {
+				return false;
+			}
+			value = conversionService.convert(value, fieldType);
+		}
+
+		ReflectionUtils.setField(field, target, value);
+		return true;
+	}
+
+	/**
+	 * Returns whether the given {@link Field} is of a plain, non-generic type that does not need any element conversion.
+	 * 
+	 * @param field
+	 * @return
+	 */
+	private static boolean isSimpleType(Field field) {
+
+		if (!(field.getGenericType() instanceof Class)) {
+			return false;
+		}
+
+		Class<?> type = field.getType();
+		return !Collection.class.isAssignableFrom(type) && !Map.class.isAssignableFrom(type);
+	}
+
+	private static Constructor<?> lookupConstructor(Class<?> type) {
+
+		if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+			return null;
+		}
+
+		try {
+			Constructor<?> constructor = type.getDeclaredConstructor();
+			ReflectionUtils.makeAccessible(constructor);
+			return constructor;
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb;
+
+/**
+ * Options for a {@code findAndModify} operation.
+ * 
+ * @author agent
+ */
+public class FindAndModifyOptions {
+
+	private boolean returnNew;
+	private boolean upsert;
+
+	/**
+	 * Static factory method to create default {@link FindAndModifyOptions}, returning the document in the state before
+	 * the modification and not upserting.
+	 * 
+	 * @return
+	 */
+	public static FindAndModifyOptions options() {
+		return new FindAndModifyOptions();
+	}
+
+	/**
+	 * Configures whether to return the modified document instead of the original one.
+	 * 
+	 * @param returnNew
+	 * @return
+	 */
+	public FindAndModifyOptions returnNew(boolean returnNew) {
+		this.returnNew = returnNew;
+		return this;
+	}
+
+	/**
+	 * Configures whether to create a new document if none matches the query.
+	 * 
+	 * @param upsert
+	 * @return
+	 */
+	public FindAndModifyOptions upsert(boolean upsert) {
+		this.upsert = upsert;
+		return this;
+	}
+
+	public boolean isReturnNew() {
+		return returnNew;
+	}
+
+	public boolean isUpsert() {
+		return upsert;
+	}
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.util.Assert;
+
+/**
+ * Lock-free histogram of latencies in microseconds. Values are recorded into logarithmic buckets each split into four
+ * linear sub-buckets, so that percentiles are reported with a relative error of at most 25% while recording costs a
+ * few atomic increments only. Values beyond about 12 days are recorded into the last bucket.
+ * 
+ * @author agent
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 2;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final long MAX_VALUE = (1L << 40) - 1;
+	private static final int BUCKETS = getIndex(MAX_VALUE) + 1;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong total = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Records the time elapsed since the given start time obtained from {@link System#nanoTime()}.
+	 * 
+	 * @param startNanos
+	 */
+	public void recordSince(long startNanos) {
+		record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+	}
+
+	/**
+	 * Records the given latency.
+	 * 
+	 * @param micros the latency in microseconds, negative values are recorded as {@literal 0}.
+	 */
+	public void record(long micros) {
+
+		long value = micros < 0 ? 0 : Math.min(micros, MAX_VALUE);
+
+		counts.incrementAndGet(getIndex(value));
+		count.incrementAndGet();
+		total.addAndGet(value);
+
+		long current = max.get();
+		while (value > current && !max.compareAndSet(current, value)) {
+			current = max.get();
+		}
+	}
+
+	/**
+	 * Returns the number of recorded values.
+	 * 
+	 * @return
+	 */
+	public long getCount() {
+		return count.get();
+	}
+
+	/**
+	 * Returns the mean of the recorded values in microseconds.
+	 * 
+	 * @return
+	 */
+	public double getMean() {
+		long values = count.get();
+		return values == 0 ? 0 : (double) total.get() / values;
+	}
+
+	/**
+	 * Returns the largest recorded value in microseconds.
+	 * 
+	 * @return
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * Returns the value in microseconds the given percentage of recorded values is lower than or equal to. The value is
+	 * the upper bound of the bucket the percentile falls into, capped by the largest recorded value.
+	 * 
+	 * @param percentile the percentile between {@literal 0} and {@literal 100}.
+	 * @return
+	 */
+	public long getValueAtPercentile(double percentile) {
+
+		Assert.isTrue(percentile >= 0 && percentile <= 100, "Percentile must be between 0 and 100!");
+
+		long values = count.get();
+
+		if (values == 0) {
+			return 0;
+		}
+
+		long threshold = Math.max(1, (long) Math.ceil(percentile / 100 * values));
+		long seen = 0;
+
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts.get(i);
+			if (seen >= threshold) {
+				return Math.min(getUpperBound(i), max.get());
+			}
+		}
+
+		return max.get();
+	}
+
+	/**
+	 * Resets the histogram. Values recorded concurrently might get lost or be reflected partially.
+	 */
+	public void reset() {
+
+		for (int i = 0; i < BUCKETS; i++) {
+			counts.set(i, 0);
+		}
+
+		count.set(0);
+		total.set(0);
+		max.set(0);
+	}
+
+	static int getIndex(long value) {
+
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+
+		int exponent = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		int subBucket = (int) (value >>> exponent) - SUB_BUCKETS;
+
+		return SUB_BUCKETS * (exponent + 1) + subBucket;
+	}
+
+	static long getUpperBound(int index) {
+
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+
+		int exponent = index / SUB_BUCKETS - 1;
+		long subBucket = index % SUB_BUCKETS;
+
+		return ((SUB_BUCKETS + subBucket + 1) << exponent) - 1;
+	}
+}
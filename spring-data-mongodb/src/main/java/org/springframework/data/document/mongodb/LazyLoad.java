@@ -0,0 +1,42 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks collection or map properties to be read lazily by {@link SimpleMongoConverter}. Instead of converting the
+ * nested documents when the enclosing document is read, the property is populated with a proxy that converts them on
+ * first access. Can be put on the field or accessor of a property, or on a type to read all collections and maps of
+ * that element type lazily.
+ * <p>
+ * Lazy loading uses JDK dynamic proxies, so it only applies to collections and maps declared as an interface such as
+ * {@link java.util.List}, {@link java.util.Set} or {@link java.util.Map}. Reading a document into a type that has
+ * other properties annotated, or collections or maps of an annotated element type declared as classes, fails with an
+ * {@link IllegalStateException}. Properties of an annotated type that are not collections or maps are read eagerly.
+ * 
+ * @author agent
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.METHOD, ElementType.TYPE })
+@Documented
+public @interface LazyLoad {
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Factory for JDK dynamic proxies that resolve their target on first method invocation. Used to populate
+ * {@link LazyLoad} properties.
+ * 
+ * @author agent
+ */
+class LazyLoadingProxy {
+
+	private LazyLoadingProxy() {
+
+	}
+
+	/**
+	 * Callback to resolve the actual value of a lazily loaded property.
+	 */
+	interface ValueResolver {
+
+		/**
+		 * Returns the actual value of the property.
+		 * 
+		 * @return
+		 */
+		Object resolve();
+	}
+
+	/**
+	 * Creates a proxy implementing the given interface that delegates to the value returned by the given
+	 * {@link ValueResolver}. The resolver is invoked at most once, on the first method call on the proxy.
+	 * 
+	 * @param type must be an interface.
+	 * @param resolver must not be {@literal null}.
+	 * @return
+	 */
+	static Object create(Class<?> type, ValueResolver resolver) {
+
+		Assert.isTrue(type.isInterface(), "Lazy loading proxies can only be created for interfaces!");
+		Assert.notNull(resolver);
+
+		ClassLoader classLoader = type.getClassLoader() == null ? ClassUtils.getDefaultClassLoader() : type
+				.getClassLoader();
+		return Proxy.newProxyInstance(classLoader, new Class<?>[] { type }, new LazyLoadingInvocationHandler(resolver));
+	}
+
+	/**
+	 * Returns whether the given object is a lazy loading proxy.
+	 * 
+	 * @param candidate
+	 * @return
+	 */
+	static boolean isLazyLoadingProxy(Object candidate) {
+		return candidate != null && Proxy.isProxyClass(candidate.getClass())
+				&& Proxy.getInvocationHandler(candidate) instanceof LazyLoadingInvocationHandler;
+	}
+
+	/**
+	 * Returns whether the given lazy loading proxy has already resolved its target.
+	 * 
+	 * @param proxy must be a lazy loading proxy.
+	 * @return
+	 */
+	static boolean isResolved(Object proxy) {
+
+		Assert.isTrue(isLazyLoadingProxy(proxy));
+		return ((LazyLoadingInvocationHandler) Proxy.getInvocationHandler(proxy)).isResolved();
+	}
+
+	/**
+	 * {@link InvocationHandler} resolving the target lazily and delegating all calls to it. Drops the
+	 * {@link ValueResolver}, and with it the source document, once the target is resolved.
+	 * 
+	 * @author agent
+	 */
+	private static class LazyLoadingInvocationHandler implements InvocationHandler {
+
+		private ValueResolver resolver;
+		private Object target;
+
+		public LazyLoadingInvocationHandler(ValueResolver resolver) {
+			this.resolver = resolver;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.reflect.InvocationHandler#invoke(java.lang.Object, java.lang.reflect.Method, java.lang.Object[])
+		 */
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+			try {
+				return method.invoke(getTarget(), args);
+			} catch (InvocationTargetException e) {
+				throw e.getTargetException();
+			}
+		}
+
+		synchronized boolean isResolved() {
+			return resolver == null;
+		}
+
+		private synchronized Object getTarget() {
+
+			if (resolver != null) {
+				target = resolver.resolve();
+				resolver = null;
+			}
+
+			return target;
+		}
+	}
+}
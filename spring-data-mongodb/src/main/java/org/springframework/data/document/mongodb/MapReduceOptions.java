@@ -0,0 +1,170 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb;
+
+import java.util.Map;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+/**
+ * Options for a {@code mapreduce} operation. By default results are returned inline, configure an output collection
+ * for results too large to be returned in a single response document.
+ * 
+ * @author agent
+ */
+public class MapReduceOptions {
+
+	/**
+	 * How to write results into an existing output collection.
+	 */
+	public enum OutputType {
+
+		/**
+		 * Replaces the content of the output collection.
+		 */
+		REPLACE,
+
+		/**
+		 * Merges the results into the output collection, overwriting documents with the same key.
+		 */
+		MERGE,
+
+		/**
+		 * Runs the reduce function over the results and existing documents with the same key.
+		 */
+		REDUCE;
+	}
+
+	private String outputCollection;
+	private OutputType outputType = OutputType.REPLACE;
+	private String finalizeFunction;
+	private Map<String, Object> scope;
+
+	/**
+	 * Static factory method to create default {@link MapReduceOptions} returning results inline.
+	 * 
+	 * @return
+	 */
+	public static MapReduceOptions options() {
+		return new MapReduceOptions();
+	}
+
+	/**
+	 * Writes the results into the collection with the given name instead of returning them inline.
+	 * 
+	 * @param outputCollection
+	 * @return
+	 */
+	public MapReduceOptions outputCollection(String outputCollection) {
+		this.outputCollection = outputCollection;
+		return this;
+	}
+
+	/**
+	 * Configures how to treat existing content of the output collection. Defaults to {@link OutputType#REPLACE}.
+	 * 
+	 * @param outputType
+	 * @return
+	 */
+	public MapReduceOptions outputType(OutputType outputType) {
+		this.outputType = outputType == null ? OutputType.REPLACE : outputType;
+		return this;
+	}
+
+	/**
+	 * Sets an optional JavaScript function {@code function(key, value)} run on every reduced value.
+	 * 
+	 * @param finalizeFunction
+	 * @return
+	 */
+	public MapReduceOptions finalizeFunction(String finalizeFunction) {
+		this.finalizeFunction = finalizeFunction;
+		return this;
+	}
+
+	/**
+	 * Sets global variables available to the map, reduce and finalize functions.
+	 * 
+	 * @param scope
+	 * @return
+	 */
+	public MapReduceOptions scope(Map<String, Object> scope) {
+		this.scope = scope;
+		return this;
+	}
+
+	public String getOutputCollection() {
+		return outputCollection;
+	}
+
+	public OutputType getOutputType() {
+		return outputType;
+	}
+
+	public String getFinalizeFunction() {
+		return finalizeFunction;
+	}
+
+	public Map<String, Object> getScope() {
+		return scope;
+	}
+
+	/**
+	 * Returns whether results are returned inline.
+	 * 
+	 * @return
+	 */
+	public boolean isInline() {
+		return outputCollection == null;
+	}
+
+	/**
+	 * Returns the value of the {@code out} option of the command.
+	 * 
+	 * @return
+	 */
+	Object getOutputObject() {
+
+		if (isInline()) {
+			return new BasicDBObject("inline", 1);
+		}
+
+		if (outputType == OutputType.REPLACE) {
+			return outputCollection;
+		}
+
+		return new BasicDBObject(outputType.name().toLowerCase(), outputCollection);
+	}
+
+	/**
+	 * Adds the configured options to the given {@code mapreduce} command.
+	 * 
+	 * @param command
+	 */
+	void appendTo(DBObject command) {
+
+		command.put("out", getOutputObject());
+
+		if (finalizeFunction != null) {
+			command.put("finalize", finalizeFunction);
+		}
+
+		if (scope != null && !scope.isEmpty()) {
+			command.put("scope", new BasicDBObject(scope));
+		}
+	}
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.data.document.mongodb.query.Query;
+import org.springframework.util.Assert;
+
+import com.mongodb.DBObject;
+
+/**
+ * Results of a {@code mapreduce} operation. Iterating over the results converts them one by one, reading them from the
+ * response for inline results or from a cursor on the output collection otherwise. Callers that stop iterating early
+ * should {@link CloseableIterator#close()} the iterator to release the cursor.
+ * 
+ * @author agent
+ */
+public class MapReduceResults<T> implements Iterable<T> {
+
+	private final DBObject rawResults;
+	private final List<DBObject> documents;
+	private final String outputCollection;
+
+	private final MongoTemplate template;
+	private final Class<T> targetClass;
+	private final MongoReader<T> reader;
+
+	/**
+	 * Creates a new {@link MapReduceResults} for the given command response.
+	 * 
+	 * @param rawResults the response of the {@code mapreduce} command
+	 * @param documents the inline results, {@literal null} if the results were written to a collection.
+	 * @param outputCollection the collection the results were written to, {@literal null} for inline results.
+	 * @param template the template to read the output collection with
+	 * @param targetClass the type to convert the results into
+	 * @param reader the {@link MongoReader} to use, {@literal null} for the template's converter.
+	 */
+	MapReduceResults(DBObject rawResults, List<DBObject> documents, String outputCollection, MongoTemplate template,
+			Class<T> targetClass, MongoReader<T> reader) {
+
+		Assert.notNull(rawResults);
+		Assert.isTrue(documents != null || outputCollection != null);
+
+		this.rawResults = rawResults;
+		this.documents = documents;
+		this.outputCollection = outputCollection;
+		this.template = template;
+		this.targetClass = targetClass;
+		this.reader = reader;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Iterable#iterator()
+	 */
+	public CloseableIterator<T> iterator() {
+
+		if (documents != null) {
+			return template.iterate(documents, targetClass, reader);
+		}
+
+		return template.stream(outputCollection, new Query(), targetClass, reader);
+	}
+
+	/**
+	 * Converts all results into a {@link List}.
+	 * 
+	 * @return
+	 */
+	public List<T> getMappedResults() {
+
+		List<T> result = documents == null ? new ArrayList<T>() : new ArrayList<T>(documents.size());
+		CloseableIterator<T> iterator = iterator();
+
+		try {
+			while (iterator.hasNext()) {
+				result.add(iterator.next());
+			}
+		} finally {
+			iterator.close();
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns the unconverted inline results or an empty {@link List} if the results were written to a collection.
+	 * 
+	 * @return
+	 */
+	public List<DBObject> getRawDocuments() {
+		return documents == null ? Collections.<DBObject> emptyList() : Collections.unmodifiableList(documents);
+	}
+
+	/**
+	 * Returns the name of the collection the results were written to or {@literal null} for inline results.
+	 * 
+	 * @return
+	 */
+	public String getOutputCollection() {
+		return outputCollection;
+	}
+
+	/**
+	 * Returns the number of documents the map function was run on.
+	 * 
+	 * @return
+	 */
+	public long getInputCount() {
+		return getCount("input");
+	}
+
+	/**
+	 * Returns the number of values emitted by the map function.
+	 * 
+	 * @return
+	 */
+	public long getEmitCount() {
+		return getCount("emit");
+	}
+
+	/**
+	 * Returns the number of result documents.
+	 * 
+	 * @return
+	 */
+	public long getOutputCount() {
+		return getCount("output");
+	}
+
+	/**
+	 * Returns the time the server took to run the operation in milliseconds.
+	 * 
+	 * @return
+	 */
+	public long getTimeMillis() {
+		Object value = rawResults.get("timeMillis");
+		return value instanceof Number ? ((Number) value).longValue() : -1;
+	}
+
+	/**
+	 * Returns the unconverted response of the {@code mapreduce} command.
+	 * 
+	 * @return
+	 */
+	public DBObject getRawResults() {
+		return rawResults;
+	}
+
+	private long getCount(String key) {
+
+		Object counts = rawResults.get("counts");
+		Object value = counts instanceof DBObject ? ((DBObject) counts).get(key) : null;
+		return value instanceof Number ? ((Number) value).longValue() : -1;
+	}
+}
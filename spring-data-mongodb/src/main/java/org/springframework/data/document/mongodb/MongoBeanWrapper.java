@@ -31,9 +31,13 @@ import org.springframework.util.Assert;
  */
 class MongoBeanWrapper {
 
-	private final ConfigurablePropertyAccessor accessor;
+	private final Object target;
+	private final ConversionService conversionService;
 	private final MongoPropertyDescriptors descriptors;
 	private final boolean fieldAccess;
+	private final EntityAccessor entityAccessor;
+
+	private ConfigurablePropertyAccessor accessor;
 
 	/**
 	 * Creates a new {@link MongoBeanWrapper} for the given target object and {@link ConversionService}.
@@ -43,14 +47,34 @@ class MongoBeanWrapper {
 	 * @param fieldAccess
 	 */
 	public MongoBeanWrapper(Object target, ConversionService conversionService, boolean fieldAccess) {
+		this(target, conversionService, fieldAccess, false);
+	}
+
+	/**
+	 * Creates a new {@link MongoBeanWrapper} for the given target object and {@link ConversionService}. If
+	 * {@code useReflection} is {@literal true} properties will be accessed through cached reflective members directly
+	 * and the {@link ConfigurablePropertyAccessor} will only be used for properties that cannot be handled that way.
+	 * 
+	 * @param target
+	 * @param conversionService
+	 * @param fieldAccess
+	 * @param useReflection
+	 */
+	public MongoBeanWrapper(Object target, ConversionService conversionService, boolean fieldAccess,
+			boolean useReflection) {
 
 		Assert.notNull(target);
 		Assert.notNull(conversionService);
 
+		this.target = target;
+		this.conversionService = conversionService;
 		this.fieldAccess = fieldAccess;
-		this.accessor = fieldAccess ? forDirectFieldAccess(target) : forBeanPropertyAccess(target);
-		this.accessor.setConversionService(conversionService);
-		this.descriptors = new MongoPropertyDescriptors(target.getClass());
+		this.descriptors = MongoPropertyDescriptors.forType(target.getClass());
+		this.entityAccessor = useReflection ? descriptors.getEntityAccessor() : null;
+
+		if (!useReflection) {
+			this.accessor = createAccessor();
+		}
 	}
 
 	/**
@@ -69,8 +93,14 @@ class MongoBeanWrapper {
 	 * @return
 	 */
 	public Object getValue(MongoPropertyDescriptors.MongoPropertyDescriptor descriptor) {
+
 		Assert.notNull(descriptor);
-		return accessor.getPropertyValue(descriptor.getName());
+
+		if (entityAccessor != null && entityAccessor.isReadable(descriptor, fieldAccess)) {
+			return entityAccessor.getValue(target, descriptor, fieldAccess);
+		}
+
+		return getAccessor().getPropertyValue(descriptor.getName());
 	}
 
 	/**
@@ -80,13 +110,47 @@ class MongoBeanWrapper {
 	 * @param value
 	 */
 	public void setValue(MongoPropertyDescriptors.MongoPropertyDescriptor descriptor, Object value) {
+
 		Assert.notNull(descriptor);
+
+		EntityAccessor accessor = entityAccessor;
+
+		// set lazy loading proxies directly as the ConversionService would resolve them
+		if (accessor == null && LazyLoadingProxy.isLazyLoadingProxy(value)) {
+			accessor = descriptors.getEntityAccessor();
+		}
+
+		if (fieldAccess && accessor != null && accessor.setValue(target, descriptor, value, conversionService)) {
+			return;
+		}
+
 		try {
-			accessor.setPropertyValue(descriptor.getName(), value);
+			getAccessor().setPropertyValue(descriptor.getName(), value);
 		} catch (NotWritablePropertyException e) {
 			if (!fieldAccess) {
 				throw e;
 			}
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Returns the {@link ConfigurablePropertyAccessor} to fall back to, creating it on first access.
+	 * 
+	 * @return
+	 */
+	private ConfigurablePropertyAccessor getAccessor() {
+
+		if (accessor == null) {
+			accessor = createAccessor();
+		}
+
+		return accessor;
+	}
+
+	private ConfigurablePropertyAccessor createAccessor() {
+
+		ConfigurablePropertyAccessor result = fieldAccess ? forDirectFieldAccess(target) : forBeanPropertyAccess(target);
+		result.setConversionService(conversionService);
+		return result;
+	}
+}
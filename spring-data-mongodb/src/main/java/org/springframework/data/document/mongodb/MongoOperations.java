@@ -15,9 +15,11 @@
  */
 package org.springframework.data.document.mongodb;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
+import org.springframework.data.document.mongodb.query.GroupBy;
 import org.springframework.data.document.mongodb.query.IndexDefinition;
 import org.springframework.data.document.mongodb.query.Query;
 import org.springframework.data.document.mongodb.query.Update;
@@ -390,6 +392,134 @@ public interface MongoOperations {
 	 */
 	<T> List<T> find(String collectionName, Query query, Class<T> targetClass, CursorPreparer preparer);
 
+	/**
+	 * Returns the document with the given id from the specified collection converted into the given type. Consults the
+	 * configured document cache first, if any. Documents read as {@link DBObject} are copies of the cached ones and can
+	 * be modified freely.
+	 * 
+	 * @param collectionName name of the collection to retrieve the object from
+	 * @param id the value of the {@literal _id} of the document, must not be {@literal null}.
+	 * @param targetClass the type to convert the document into.
+	 * @return the converted object or {@literal null} if no document with the given id exists.
+	 */
+	<T> T findById(String collectionName, Object id, Class<T> targetClass);
+
+	/**
+	 * Returns whether a document with the given id exists in the specified collection. Consults the configured document
+	 * cache first, if any, and only retrieves the {@literal _id} field of the document otherwise.
+	 * 
+	 * @param collectionName name of the collection to look up the document in
+	 * @param id the value of the {@literal _id} of the document, must not be {@literal null}.
+	 * @return
+	 */
+	boolean exists(String collectionName, Object id);
+
+	/**
+	 * Returns whether a document with the given id exists in the specified collection. Converts the id according to
+	 * the id property of the given entity class, e.g. a {@link String} into an {@link org.bson.types.ObjectId}.
+	 * 
+	 * @param collectionName name of the collection to look up the document in
+	 * @param id the value of the id of the document, must not be {@literal null}.
+	 * @param entityClass the type of the document, can be {@literal null} to use the id as is.
+	 * @return
+	 */
+	boolean exists(String collectionName, Object id, Class<?> entityClass);
+
+	/**
+	 * Returns the number of documents in the default collection matching the given {@link Query} without retrieving
+	 * them.
+	 * 
+	 * @param query the query restricting the documents to count, can be {@literal null} to count all documents.
+	 * @return
+	 */
+	long count(Query query);
+
+	/**
+	 * Returns the number of documents in the specified collection matching the given {@link Query} without retrieving
+	 * them.
+	 * 
+	 * @param collectionName name of the collection to count the documents of
+	 * @param query the query restricting the documents to count, can be {@literal null} to count all documents.
+	 * @return
+	 */
+	long count(String collectionName, Query query);
+
+	/**
+	 * Returns the number of documents in the specified collection matching the given {@link Query} without retrieving
+	 * them. Mapped ids in the query are substituted the same way {@link #find(String, Query, Class)} does for the given
+	 * entity class.
+	 * 
+	 * @param collectionName name of the collection to count the documents of
+	 * @param query the query restricting the documents to count, can be {@literal null} to count all documents.
+	 * @param entityClass the type the documents are mapped to, can be {@literal null}.
+	 * @return
+	 */
+	long count(String collectionName, Query query, Class<?> entityClass);
+
+	/**
+	 * Returns all documents with the given ids from the specified collection converted into the given type. Consults
+	 * the configured document cache first, if any, and loads all remaining documents with a single query. Documents read
+	 * as {@link DBObject} are copies of the cached ones.
+	 * 
+	 * @param collectionName name of the collection to retrieve the objects from
+	 * @param ids the values of the {@literal _id} of the documents, must not be {@literal null}.
+	 * @param targetClass the type to convert the documents into.
+	 * @return the List of converted objects, not in any particular order.
+	 */
+	<T> List<T> findByIds(String collectionName, Collection<?> ids, Class<T> targetClass);
+
+	/**
+	 * Executes the given {@link Query} on the default MongoDB collection and returns a {@link CloseableIterator} that
+	 * converts the documents into the specified type one by one while iterating. Other than the find methods this will
+	 * not load the entire result into memory, so it's the method of choice to process large results.
+	 * 
+	 * The {@link CloseableIterator} holds on to the server side cursor until it's exhausted. Callers that do not
+	 * iterate over all elements have to call {@link CloseableIterator#close()} to release the cursor.
+	 * 
+	 * @param query the query class that specifies the criteria used to find a record and also an optional fields specification
+	 * @param targetClass the parameterized type of the returned iterator.
+	 * @return a {@link CloseableIterator} over the converted objects
+	 */
+	<T> CloseableIterator<T> stream(Query query, Class<T> targetClass);
+
+	/**
+	 * Executes the given {@link Query} on the specified collection and returns a {@link CloseableIterator} that converts
+	 * the documents into the specified type one by one while iterating. Skip, limit and sort of the {@link Query} are
+	 * applied to the cursor.
+	 * 
+	 * @param collectionName name of the collection to retrieve the objects from
+	 * @param query the query class that specifies the criteria used to find a record and also an optional fields specification
+	 * @param targetClass the parameterized type of the returned iterator.
+	 * @return a {@link CloseableIterator} over the converted objects
+	 * @see #stream(Query, Class)
+	 */
+	<T> CloseableIterator<T> stream(String collectionName, Query query, Class<T> targetClass);
+
+	/**
+	 * Executes the given {@link Query} on the specified collection and returns a {@link CloseableIterator} that converts
+	 * the documents using the given {@link MongoReader} one by one while iterating.
+	 * 
+	 * @param collectionName name of the collection to retrieve the objects from
+	 * @param query the query class that specifies the criteria used to find a record and also an optional fields specification
+	 * @param targetClass the parameterized type of the returned iterator.
+	 * @param reader the MongoReader to convert from DBObject to an object.
+	 * @return a {@link CloseableIterator} over the converted objects
+	 * @see #stream(Query, Class)
+	 */
+	<T> CloseableIterator<T> stream(String collectionName, Query query, Class<T> targetClass, MongoReader<T> reader);
+
+	/**
+	 * Executes the given {@link Query} against the specified collection and hands every document to the given
+	 * {@link DocumentCallbackHandler} as it is read from the cursor. Documents are neither converted nor collected, so
+	 * this is the cheapest way to pass documents on without mapping them to objects. The cursor is closed once all
+	 * documents have been processed or the handler throws an exception.
+	 * 
+	 * @param collectionName name of the collection to query
+	 * @param query the query to execute, including its sort, limit and cursor options
+	 * @param handler the handler to process the documents, must not be {@literal null}.
+	 */
+	void executeQuery(String collectionName, Query query, DocumentCallbackHandler handler);
+
 	/**
 	 * Insert the object into the default collection.  
 	 * 
@@ -581,6 +711,19 @@ public interface MongoOperations {
 	WriteResult updateFirst(String collectionName, Query query,
 			Update update);
 
+	/**
+	 * Updates the first object that is found in the specified collection that matches the query document criteria with the
+	 * provided updated document. Mapped ids in the query are substituted the same way
+	 * {@link #find(String, Query, Class)} does for the given entity class.
+	 * 
+	 * @param collectionName name of the collection to update the object in
+	 * @param query the query document that specifies the criteria used to select a record to be updated
+	 * @param update the update document that contains the updated object or $ operators to manipulate the existing
+	 *          object.
+	 * @param entityClass the type the documents are mapped to, can be {@literal null}.
+	 */
+	WriteResult updateFirst(String collectionName, Query query, Update update, Class<?> entityClass);
+
 	/**
 	 * Updates all objects that are found in the default collection that matches the query document criteria
 	 * with the provided updated document.
@@ -603,6 +746,190 @@ public interface MongoOperations {
 	WriteResult updateMulti(String collectionName, Query query,
 			Update update);
 
+	/**
+	 * Updates all objects that are found in the specified collection that matches the query document criteria with the
+	 * provided updated document. Mapped ids in the query are substituted the same way
+	 * {@link #find(String, Query, Class)} does for the given entity class.
+	 * 
+	 * @param collectionName name of the collection to update the object in
+	 * @param query the query document that specifies the criteria used to select a record to be updated
+	 * @param update the update document that contains the updated object or $ operators to manipulate the existing
+	 *          object.
+	 * @param entityClass the type the documents are mapped to, can be {@literal null}.
+	 */
+	WriteResult updateMulti(String collectionName, Query query, Update update, Class<?> entityClass);
+
+	/**
+	 * Returns the distinct values of the given key of the documents in the specified collection.
+	 * 
+	 * @param collectionName name of the collection to query
+	 * @param key the document key to collect the values of, can be a nested path.
+	 * @param targetClass the type of the values, documents are converted using the configured {@link MongoConverter}.
+	 * @return the distinct values
+	 */
+	<T> List<T> distinct(String collectionName, String key, Class<T> targetClass);
+
+	/**
+	 * Returns the distinct values of the given key of the documents in the specified collection matching the given
+	 * {@link Query}.
+	 * 
+	 * @param collectionName name of the collection to query
+	 * @param key the document key to collect the values of, can be a nested path.
+	 * @param query the query restricting the documents to consider, can be {@literal null}.
+	 * @param targetClass the type of the values, documents are converted using the configured {@link MongoConverter}.
+	 * @return the distinct values
+	 */
+	<T> List<T> distinct(String collectionName, String key, Query query, Class<T> targetClass);
+
+	/**
+	 * Groups the documents in the specified collection matching the given criteria on the server and converts the
+	 * resulting group documents into the given type.
+	 * 
+	 * @param collectionName name of the collection to group
+	 * @param criteria the query restricting the documents to group, can be {@literal null}.
+	 * @param groupBy the keys, initial document and reduce function of the operation
+	 * @param targetClass the type to convert the group documents into
+	 * @return the converted group documents
+	 */
+	<T> List<T> group(String collectionName, Query criteria, GroupBy groupBy, Class<T> targetClass);
+
+	/**
+	 * Groups the documents in the specified collection matching the given criteria on the server and converts the
+	 * resulting group documents using the given {@link MongoReader}.
+	 * 
+	 * @param collectionName name of the collection to group
+	 * @param criteria the query restricting the documents to group, can be {@literal null}.
+	 * @param groupBy the keys, initial document and reduce function of the operation
+	 * @param targetClass the type to convert the group documents into
+	 * @param reader the {@link MongoReader} to convert the group documents with
+	 * @return the converted group documents
+	 */
+	<T> List<T> group(String collectionName, Query criteria, GroupBy groupBy, Class<T> targetClass,
+			MongoReader<T> reader);
+
+	/**
+	 * Runs a map/reduce operation over all documents of the specified collection, returning the results inline.
+	 * 
+	 * @param collectionName name of the collection to run the operation on
+	 * @param mapFunction the JavaScript map function
+	 * @param reduceFunction the JavaScript reduce function
+	 * @param targetClass the type to convert the result documents into
+	 * @return the results
+	 */
+	<T> MapReduceResults<T> mapReduce(String collectionName, String mapFunction, String reduceFunction,
+			Class<T> targetClass);
+
+	/**
+	 * Runs a map/reduce operation over the documents of the specified collection matching the given {@link Query}. The
+	 * query's sort and limit are applied to the input documents.
+	 * 
+	 * @param collectionName name of the collection to run the operation on
+	 * @param query the query restricting the input documents, can be {@literal null}.
+	 * @param mapFunction the JavaScript map function
+	 * @param reduceFunction the JavaScript reduce function
+	 * @param options output collection, finalize function and scope, can be {@literal null} for inline results.
+	 * @param targetClass the type to convert the result documents into
+	 * @param reader the {@link MongoReader} to convert the result documents with, falls back to the configured
+	 *          {@link MongoConverter} if {@literal null}.
+	 * @return the results
+	 */
+	<T> MapReduceResults<T> mapReduce(String collectionName, Query query, String mapFunction, String reduceFunction,
+			MapReduceOptions options, Class<T> targetClass, MongoReader<T> reader);
+
+	/**
+	 * Updates or, if no document matches the query, inserts a document in the default collection. The document inserted
+	 * is created from the equality criteria of the query with the update applied.
+	 * 
+	 * @param query the query document that specifies the criteria used to select a record to be updated
+	 * @param update the update document that contains the updated object or $ operators to manipulate the existing
+	 *          object.
+	 */
+	WriteResult upsert(Query query, Update update);
+
+	/**
+	 * Updates or, if no document matches the query, inserts a document in the specified collection. The document
+	 * inserted is created from the equality criteria of the query with the update applied.
+	 * 
+	 * @param collectionName name of the collection to upsert the object in
+	 * @param query the query document that specifies the criteria used to select a record to be updated
+	 * @param update the update document that contains the updated object or $ operators to manipulate the existing
+	 *          object.
+	 */
+	WriteResult upsert(String collectionName, Query query, Update update);
+
+	/**
+	 * Atomically updates the first document in the default collection matching the query, respecting its sort, and
+	 * returns it in the state before the update.
+	 * 
+	 * @param query the query document that specifies the criteria used to select the record to be updated
+	 * @param update the update to apply
+	 * @param targetClass the type to convert the document into
+	 * @return the converted document or {@literal null} if none matched the query.
+	 */
+	<T> T findAndModify(Query query, Update update, Class<T> targetClass);
+
+	/**
+	 * Atomically updates the first document in the specified collection matching the query, respecting its sort, and
+	 * returns it in the state before the update.
+	 * 
+	 * @param collectionName name of the collection to update the object in
+	 * @param query the query document that specifies the criteria used to select the record to be updated
+	 * @param update the update to apply
+	 * @param targetClass the type to convert the document into
+	 * @return the converted document or {@literal null} if none matched the query.
+	 */
+	<T> T findAndModify(String collectionName, Query query, Update update, Class<T> targetClass);
+
+	/**
+	 * Atomically updates the first document in the specified collection matching the query, respecting its sort and
+	 * field specification, and returns it converted with the given {@link MongoReader}.
+	 * 
+	 * @param collectionName name of the collection to update the object in
+	 * @param query the query document that specifies the criteria used to select the record to be updated
+	 * @param update the update to apply
+	 * @param options whether to return the new document and to upsert, can be {@literal null} for the defaults.
+	 * @param targetClass the type to convert the document into
+	 * @param reader the {@link MongoReader} to convert the document with, falls back to the configured
+	 *          {@link MongoConverter} if {@literal null}.
+	 * @return the converted document or {@literal null} if none matched the query and no upsert was requested.
+	 */
+	<T> T findAndModify(String collectionName, Query query, Update update, FindAndModifyOptions options,
+			Class<T> targetClass, MongoReader<T> reader);
+
+	/**
+	 * Atomically removes the first document in the default collection matching the query, respecting its sort, and
+	 * returns it.
+	 * 
+	 * @param query the query document that specifies the criteria used to select the record to be removed
+	 * @param targetClass the type to convert the document into
+	 * @return the converted document or {@literal null} if none matched the query.
+	 */
+	<T> T findAndRemove(Query query, Class<T> targetClass);
+
+	/**
+	 * Atomically removes the first document in the specified collection matching the query, respecting its sort, and
+	 * returns it.
+	 * 
+	 * @param collectionName name of the collection to remove the object from
+	 * @param query the query document that specifies the criteria used to select the record to be removed
+	 * @param targetClass the type to convert the document into
+	 * @return the converted document or {@literal null} if none matched the query.
+	 */
+	<T> T findAndRemove(String collectionName, Query query, Class<T> targetClass);
+
+	/**
+	 * Atomically removes the first document in the specified collection matching the query, respecting its sort, and
+	 * returns it converted with the given {@link MongoReader}.
+	 * 
+	 * @param collectionName name of the collection to remove the object from
+	 * @param query the query document that specifies the criteria used to select the record to be removed
+	 * @param targetClass the type to convert the document into
+	 * @param reader the {@link MongoReader} to convert the document with, falls back to the configured
+	 *          {@link MongoConverter} if {@literal null}.
+	 * @return the converted document or {@literal null} if none matched the query.
+	 */
+	<T> T findAndRemove(String collectionName, Query query, Class<T> targetClass, MongoReader<T> reader);
+
 	/**
 	 * Remove all documents from the default collection that match the provided query document criteria.
 	 * @param queryDoc the query document that specifies the criteria used to remove a record 
@@ -616,4 +943,25 @@ public interface MongoOperations {
 	 */
 	void remove(String collectionName, Query query);
 
+	/**
+	 * Remove all documents from the specified collection that match the provided query document criteria. Mapped ids in
+	 * the query are substituted the same way {@link #find(String, Query, Class)} does for the given entity class.
+	 * 
+	 * @param collectionName name of the collection where the objects will removed
+	 * @param query the query document that specifies the criteria used to remove a record
+	 * @param entityClass the type the documents are mapped to, can be {@literal null}.
+	 */
+	void remove(String collectionName, Query query, Class<?> entityClass);
+
+	/**
+	 * Remove all documents from the specified collection whose value for the given key is contained in the given
+	 * values. The values are removed using {@literal $in} queries, split into batches if the number of values exceeds the
+	 * configured batch size.
+	 * 
+	 * @param collectionName name of the collection where the objects will removed
+	 * @param key the key to match the values against, e.g. {@literal _id}
+	 * @param values the values of the documents to remove
+	 */
+	void remove(String collectionName, String key, Collection<?> values);
+
 }
\ No newline at end of file
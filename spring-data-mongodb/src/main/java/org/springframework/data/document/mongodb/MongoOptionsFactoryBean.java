@@ -22,19 +22,23 @@ import org.springframework.beans.factory.InitializingBean;
 import com.mongodb.MongoOptions;
 
 /**
- * A factory bean for consruction a MongoOptions instance
+ * A factory bean for consruction a MongoOptions instance. Every factory bean creates its own {@link MongoOptions}, the
+ * static instance is only used to look up the driver's defaults.
  * 
  * @author Graeme Rocher
  *
  */
 public class MongoOptionsFactoryBean implements FactoryBean<MongoOptions>, InitializingBean{
 
-	private static final MongoOptions MONGO_OPTIONS = new MongoOptions();
+	private static final MongoOptions DEFAULT_MONGO_OPTIONS = new MongoOptions();
+
+	private MongoOptions mongoOptions;
+
     /**
        number of connections allowed per host
        will block if run out
      */
-    private int connectionsPerHost = MONGO_OPTIONS.connectionsPerHost;
+    private int connectionsPerHost = DEFAULT_MONGO_OPTIONS.connectionsPerHost;
 
     /**
        multiplier for connectionsPerHost for # of threads that can block
@@ -42,27 +46,27 @@ public class MongoOptionsFactoryBean implements FactoryBean<MongoOptions>, Initi
        then 50 threads can block
        more than that and an exception will be throw
      */
-    private int threadsAllowedToBlockForConnectionMultiplier = MONGO_OPTIONS.threadsAllowedToBlockForConnectionMultiplier;
+    private int threadsAllowedToBlockForConnectionMultiplier = DEFAULT_MONGO_OPTIONS.threadsAllowedToBlockForConnectionMultiplier;
     
     /**
      * max wait time of a blocking thread for a connection
      */
-    private int maxWaitTime = MONGO_OPTIONS.maxWaitTime;
+    private int maxWaitTime = DEFAULT_MONGO_OPTIONS.maxWaitTime;
 
     /**
        connect timeout in milliseconds. 0 is default and infinite
      */
-    private int connectTimeout = MONGO_OPTIONS.connectTimeout;
+    private int connectTimeout = DEFAULT_MONGO_OPTIONS.connectTimeout;
 
     /**
        socket timeout.  0 is default and infinite
      */
-    private int socketTimeout = MONGO_OPTIONS.socketTimeout;
+    private int socketTimeout = DEFAULT_MONGO_OPTIONS.socketTimeout;
     
     /**
        this controls whether or not on a connect, the system retries automatically 
     */
-    private boolean autoConnectRetry = MONGO_OPTIONS.autoConnectRetry;
+    private boolean autoConnectRetry = DEFAULT_MONGO_OPTIONS.autoConnectRetry;
     
     
     /**
@@ -113,17 +117,18 @@ public class MongoOptionsFactoryBean implements FactoryBean<MongoOptions>, Initi
 	}
 
 	public void afterPropertiesSet() {
-		MONGO_OPTIONS.connectionsPerHost = connectionsPerHost;
-		MONGO_OPTIONS.threadsAllowedToBlockForConnectionMultiplier = threadsAllowedToBlockForConnectionMultiplier;
-		MONGO_OPTIONS.maxWaitTime = maxWaitTime;
-		MONGO_OPTIONS.connectTimeout = connectTimeout;
-		MONGO_OPTIONS.socketTimeout = socketTimeout;
-		MONGO_OPTIONS.autoConnectRetry = autoConnectRetry;
-		
+		MongoOptions options = new MongoOptions();
+		options.connectionsPerHost = connectionsPerHost;
+		options.threadsAllowedToBlockForConnectionMultiplier = threadsAllowedToBlockForConnectionMultiplier;
+		options.maxWaitTime = maxWaitTime;
+		options.connectTimeout = connectTimeout;
+		options.socketTimeout = socketTimeout;
+		options.autoConnectRetry = autoConnectRetry;
+		this.mongoOptions = options;
 	}
 
 	public MongoOptions getObject() {
-		return MONGO_OPTIONS;
+		return mongoOptions;
 	}
 
 	public Class<?> getObjectType() {
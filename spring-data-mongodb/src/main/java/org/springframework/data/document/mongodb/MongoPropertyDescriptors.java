@@ -16,31 +16,56 @@
 package org.springframework.data.document.mongodb;
 
 import java.beans.PropertyDescriptor;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import org.bson.types.ObjectId;
 import org.springframework.beans.BeanUtils;
+import org.springframework.data.document.mongodb.cache.LruCache;
 import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * An iterable of {@link MongoPropertyDescriptor}s that allows dedicated access to the {@link MongoPropertyDescriptor}
- * that captures the id-property.
+ * that captures the id-property. Instances are immutable, so use {@link #forType(Class)} to obtain a shared, cached
+ * instance instead of introspecting the type over and over again.
  * 
  * @author Oliver Gierke
  */
 public class MongoPropertyDescriptors implements Iterable<MongoPropertyDescriptors.MongoPropertyDescriptor> {
 
-	private final Collection<MongoPropertyDescriptors.MongoPropertyDescriptor> descriptors;
+	/**
+	 * Maximum number of types to keep in the cache. The least recently used types are evicted beyond that limit.
+	 */
+	static final int CACHE_LIMIT = 1024;
+
+	private static final LruCache<Class<?>, MongoPropertyDescriptors> CACHE = new LruCache<Class<?>, MongoPropertyDescriptors>(
+			CACHE_LIMIT);
+
+	private final Class<?> type;
+	private final Map<String, MongoPropertyDescriptors.MongoPropertyDescriptor> descriptors;
+	private final Map<Method, MongoPropertyDescriptors.MongoPropertyDescriptor> readMethods;
 	private final MongoPropertyDescriptors.MongoPropertyDescriptor idDescriptor;
 
+	private volatile EntityAccessor entityAccessor;
+
 	/**
 	 * Creates the {@link MongoPropertyDescriptors} for the given type.
 	 * 
@@ -49,21 +74,56 @@ public class MongoPropertyDescriptors implements Iterable<MongoPropertyDescripto
 	public MongoPropertyDescriptors(Class<?> type) {
 
 		Assert.notNull(type);
-		Set<MongoPropertyDescriptors.MongoPropertyDescriptor> descriptors = new HashSet<MongoPropertyDescriptors.MongoPropertyDescriptor>();
+		Map<String, MongoPropertyDescriptors.MongoPropertyDescriptor> descriptors = new LinkedHashMap<String, MongoPropertyDescriptors.MongoPropertyDescriptor>();
+		Map<Method, MongoPropertyDescriptors.MongoPropertyDescriptor> readMethods = new HashMap<Method, MongoPropertyDescriptors.MongoPropertyDescriptor>();
 		MongoPropertyDescriptors.MongoPropertyDescriptor idDesciptor = null;
 
 		for (PropertyDescriptor candidates : BeanUtils.getPropertyDescriptors(type)) {
 			MongoPropertyDescriptor descriptor = new MongoPropertyDescriptors.MongoPropertyDescriptor(candidates);
-			descriptors.add(descriptor);
+			descriptors.put(descriptor.getName(), descriptor);
+			if (candidates.getReadMethod() != null) {
+				readMethods.put(candidates.getReadMethod(), descriptor);
+			}
 			if (descriptor.isIdProperty()) {
 				idDesciptor = descriptor;
 			}
 		}
 
-		this.descriptors = Collections.unmodifiableSet(descriptors);
+		this.type = type;
+		this.descriptors = Collections.unmodifiableMap(descriptors);
+		this.readMethods = readMethods;
 		this.idDescriptor = idDesciptor;
 	}
 
+	/**
+	 * Returns the {@link MongoPropertyDescriptors} for the given type. Will return a cached instance if the type has
+	 * been introspected before.
+	 * 
+	 * @param type must not be {@literal null}.
+	 * @return
+	 */
+	public static MongoPropertyDescriptors forType(Class<?> type) {
+
+		Assert.notNull(type);
+		MongoPropertyDescriptors descriptors = CACHE.get(type);
+
+		if (descriptors != null) {
+			return descriptors;
+		}
+
+		descriptors = new MongoPropertyDescriptors(type);
+		MongoPropertyDescriptors existing = CACHE.putIfAbsent(type, descriptors);
+		return existing == null ? descriptors : existing;
+	}
+
+	/**
+	 * Removes all cached {@link MongoPropertyDescriptors}. Useful to release references to classes of a
+	 * {@link ClassLoader} that is about to be discarded.
+	 */
+	public static void clearCache() {
+		CACHE.clear();
+	}
+
 	/**
 	 * Returns the {@link MongoPropertyDescriptor} for the id property.
 	 * 
@@ -73,17 +133,58 @@ public class MongoPropertyDescriptors implements Iterable<MongoPropertyDescripto
 		return idDescriptor;
 	}
 
+	/**
+	 * Returns the {@link MongoPropertyDescriptor} for the property with the given name or {@literal null} if no such
+	 * property exists.
+	 * 
+	 * @param name
+	 * @return
+	 */
+	public MongoPropertyDescriptors.MongoPropertyDescriptor getDescriptor(String name) {
+		return descriptors.get(name);
+	}
+
+	/**
+	 * Returns the {@link MongoPropertyDescriptor} for the property read by the given getter or {@literal null} if the
+	 * given method is not a getter of the type.
+	 * 
+	 * @param readMethod
+	 * @return
+	 */
+	public MongoPropertyDescriptors.MongoPropertyDescriptor getDescriptor(Method readMethod) {
+		return readMethods.get(readMethod);
+	}
+
+	/**
+	 * Returns the {@link EntityAccessor} for the type, creating it on first access so that it's cached along with the
+	 * descriptors.
+	 * 
+	 * @return
+	 */
+	EntityAccessor getEntityAccessor() {
+
+		EntityAccessor result = this.entityAccessor;
+
+		if (result == null) {
+			result = new EntityAccessor(type);
+			this.entityAccessor = result;
+		}
+
+		return result;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
 	 * @see java.lang.Iterable#iterator()
 	 */
 	public Iterator<MongoPropertyDescriptors.MongoPropertyDescriptor> iterator() {
-		return descriptors.iterator();
+		return descriptors.values().iterator();
 	}
 
 	/**
-	 * Simple value object to have a more suitable abstraction for MongoDB specific property handling.
+	 * Simple value object to have a more suitable abstraction for MongoDB specific property handling. All metadata is
+	 * computed once on construction, generic parameters are resolved on first access.
 	 * 
 	 * @author Oliver Gierke
 	 */
@@ -103,6 +204,16 @@ public class MongoPropertyDescriptors implements Iterable<MongoPropertyDescripto
 		static final String ID_KEY = "_id";
 
 		private final PropertyDescriptor delegate;
+		private final String name;
+		private final Class<?> propertyType;
+		private final boolean idProperty;
+		private final boolean mappable;
+		private final boolean map;
+		private final boolean collection;
+		private final boolean isEnum;
+
+		private volatile List<Class<?>> genericParameters;
+		private volatile Boolean lazyLoad;
 
 		/**
 		 * Creates a new {@link MongoPropertyDescriptor} for the given {@link PropertyDescriptor}.
@@ -112,6 +223,13 @@ public class MongoPropertyDescriptors implements Iterable<MongoPropertyDescripto
 		public MongoPropertyDescriptor(PropertyDescriptor descriptor) {
 			Assert.notNull(descriptor);
 			this.delegate = descriptor;
+			this.name = descriptor.getName();
+			this.propertyType = descriptor.getPropertyType();
+			this.idProperty = ID_PROPERTY.equals(name) || ID_KEY.equals(name);
+			this.mappable = !"class".equals(name) && descriptor.getReadMethod() != null;
+			this.map = propertyType != null && Map.class.isAssignableFrom(propertyType);
+			this.collection = propertyType != null && Collection.class.isAssignableFrom(propertyType);
+			this.isEnum = propertyType != null && Enum.class.isAssignableFrom(propertyType);
 		}
 
 		/**
@@ -120,7 +238,7 @@ public class MongoPropertyDescriptors implements Iterable<MongoPropertyDescripto
 		 * @return
 		 */
 		boolean isIdProperty() {
-			return ID_PROPERTY.equals(delegate.getName()) || ID_KEY.equals(delegate.getName());
+			return idProperty;
 		}
 
 		/**
@@ -130,7 +248,7 @@ public class MongoPropertyDescriptors implements Iterable<MongoPropertyDescripto
 		 * @return
 		 */
 		public boolean isOfIdType() {
-			return SUPPORTED_ID_CLASSES.contains(delegate.getPropertyType());
+			return SUPPORTED_ID_CLASSES.contains(propertyType);
 		}
 
 		/**
@@ -140,7 +258,7 @@ public class MongoPropertyDescriptors implements Iterable<MongoPropertyDescripto
 		 * @return
 		 */
 		public String getKeyToMap() {
-			return isIdProperty() ? ID_KEY : delegate.getName();
+			return idProperty ? ID_KEY : name;
 		}
 
 		/**
@@ -149,7 +267,7 @@ public class MongoPropertyDescriptors implements Iterable<MongoPropertyDescripto
 		 * @return
 		 */
 		public String getName() {
-			return delegate.getName();
+			return name;
 		}
 
 		/**
@@ -159,7 +277,7 @@ public class MongoPropertyDescriptors implements Iterable<MongoPropertyDescripto
 		 * @return
 		 */
 		public boolean isMappable() {
-			return !delegate.getName().equals("class") && delegate.getReadMethod() != null;
+			return mappable;
 		}
 
 		/**
@@ -168,7 +286,7 @@ public class MongoPropertyDescriptors implements Iterable<MongoPropertyDescripto
 		 * @return
 		 */
 		public Class<?> getPropertyType() {
-			return delegate.getPropertyType();
+			return propertyType;
 		}
 
 		/**
@@ -184,12 +302,30 @@ public class MongoPropertyDescriptors implements Iterable<MongoPropertyDescripto
 					: method.getGenericParameterTypes()[0];
 		}
 
+		/**
+		 * Returns the resolved generic parameters of the type to set (see {@link #getTypeToSet()}). The result is
+		 * calculated on first access and cached for subsequent calls.
+		 * 
+		 * @return
+		 */
+		public List<Class<?>> getGenericParameters() {
+
+			List<Class<?>> result = this.genericParameters;
+
+			if (result == null) {
+				result = Collections.unmodifiableList(resolveGenericParameters(getTypeToSet()));
+				this.genericParameters = result;
+			}
+
+			return result;
+		}
+
 		/**
 		 * Returns whther we describe a {@link Map}.
 		 * @return
 		 */
 		public boolean isMap() {
-			return Map.class.isAssignableFrom(getPropertyType());
+			return map;
 		}
 
 		/**
@@ -197,7 +333,7 @@ public class MongoPropertyDescriptors implements Iterable<MongoPropertyDescripto
 		 * @return
 		 */
 		public boolean isCollection() {
-			return Collection.class.isAssignableFrom(getPropertyType());
+			return collection;
 		}
 
 		/**
@@ -206,7 +342,110 @@ public class MongoPropertyDescriptors implements Iterable<MongoPropertyDescripto
 		 * @return
 		 */
 		public boolean isEnum() {
-			return Enum.class.isAssignableFrom(getPropertyType());
+			return isEnum;
+		}
+
+		/**
+		 * Returns whether the property shall be read lazily, i.e. it is a collection or map declared as an interface and
+		 * either the property or its element type is annotated with {@link LazyLoad}.
+		 * 
+		 * @return
+		 * @throws IllegalStateException if the property or its element type is annotated with {@link LazyLoad} but the
+		 *           property is not a collection or map declared as an interface and thus can't be read lazily.
+		 */
+		public boolean isLazyLoad() {
+
+			Boolean result = this.lazyLoad;
+
+			if (result == null) {
+				result = detectLazyLoad();
+				this.lazyLoad = result;
+			}
+
+			return result;
+		}
+
+		private boolean detectLazyLoad() {
+
+			Method readMethod = delegate.getReadMethod();
+			Method writeMethod = delegate.getWriteMethod();
+			Field field = readMethod == null ? null : ReflectionUtils.findField(readMethod.getDeclaringClass(), name);
+
+			if (isLazyLoadAnnotated(readMethod) || isLazyLoadAnnotated(writeMethod) || isLazyLoadAnnotated(field)) {
+				assertLazyLoadable("Property " + name);
+				return true;
+			}
+
+			if (!(collection || map)) {
+				return false;
+			}
+
+			List<Class<?>> parameters = getGenericParameters();
+
+			if (parameters.isEmpty()) {
+				return false;
+			}
+
+			Class<?> elementType = parameters.get(parameters.size() - 1);
+
+			if (!isLazyLoadAnnotated(elementType)) {
+				return false;
+			}
+
+			assertLazyLoadable("Property " + name + " of element type " + elementType.getName());
+			return true;
+		}
+
+		private void assertLazyLoadable(String property) {
+
+			if (propertyType == null || !propertyType.isInterface() || !(collection || map)) {
+				throw new IllegalStateException(String.format("%s is to be loaded lazily, but is of type %s! Only "
+						+ "collections and maps declared as interfaces (e.g. List, Set or Map) can be loaded lazily.",
+						property, propertyType == null ? null : propertyType.getName()));
+			}
+		}
+
+		private static boolean isLazyLoadAnnotated(AnnotatedElement element) {
+			return element != null && element.isAnnotationPresent(LazyLoad.class);
+		}
+
+		/**
+		 * Resolves the actual type arguments of the given generic {@link Type} into raw classes.
+		 * 
+		 * @param genericParameterType
+		 * @return
+		 */
+		static List<Class<?>> resolveGenericParameters(Type genericParameterType) {
+
+			List<Class<?>> actualGenericParameterTypes = new ArrayList<Class<?>>();
+
+			if (genericParameterType instanceof ParameterizedType) {
+				ParameterizedType aType = (ParameterizedType) genericParameterType;
+				Type[] parameterArgTypes = aType.getActualTypeArguments();
+				for (Type parameterArgType : parameterArgTypes) {
+					if (parameterArgType instanceof GenericArrayType) {
+						Class<?> arrayType = (Class<?>) ((GenericArrayType) parameterArgType).getGenericComponentType();
+						actualGenericParameterTypes.add(Array.newInstance(arrayType, 0).getClass());
+					} else {
+						if (parameterArgType instanceof ParameterizedType) {
+							ParameterizedType paramTypeArgs = (ParameterizedType) parameterArgType;
+							actualGenericParameterTypes.add((Class<?>) paramTypeArgs.getRawType());
+						} else {
+							if (parameterArgType instanceof TypeVariable) {
+								throw new RuntimeException("Can not map " + ((TypeVariable<?>) parameterArgType).getName());
+							} else {
+								if (parameterArgType instanceof Class) {
+									actualGenericParameterTypes.add((Class<?>) parameterArgType);
+								} else {
+									throw new RuntimeException("Can not map " + parameterArgType);
+								}
+							}
+						}
+					}
+				}
+			}
+
+			return actualGenericParameterTypes;
 		}
 
 		/*
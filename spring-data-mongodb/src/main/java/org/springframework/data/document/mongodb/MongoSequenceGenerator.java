@@ -0,0 +1,154 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb;
+
+import static org.springframework.data.document.mongodb.query.Criteria.*;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.data.document.mongodb.query.Query;
+import org.springframework.data.document.mongodb.query.Update;
+import org.springframework.util.Assert;
+
+import com.mongodb.DBObject;
+
+/**
+ * Generator for numeric sequences backed by a counter document per sequence in a MongoDB collection. Values are
+ * allocated in blocks of {@link #setBlockSize(int)} using a single atomic {@code findAndModify} incrementing the
+ * counter, so that only every n-th call to {@link #nextValue(String)} causes a round trip to the server. Blocks are
+ * never handed out twice, even across multiple generators using the same collection, but values of a block not used
+ * before shutdown are lost.
+ * 
+ * @author agent
+ */
+public class MongoSequenceGenerator {
+
+	static final String VALUE = "value";
+
+	private static final int DEFAULT_BLOCK_SIZE = 50;
+	private static final MongoReader<DBObject> RAW_READER = new MongoReader<DBObject>() {
+		public <S extends DBObject> S read(Class<S> clazz, DBObject dbo) {
+			return clazz.cast(dbo);
+		}
+	};
+
+	private final MongoOperations operations;
+	private final String collectionName;
+	private final ConcurrentMap<String, Block> blocks = new ConcurrentHashMap<String, Block>();
+
+	private int blockSize = DEFAULT_BLOCK_SIZE;
+
+	/**
+	 * Creates a new {@link MongoSequenceGenerator} storing its counters in the given collection.
+	 * 
+	 * @param operations must not be {@literal null}.
+	 * @param collectionName must not be {@literal null} or empty.
+	 */
+	public MongoSequenceGenerator(MongoOperations operations, String collectionName) {
+
+		Assert.notNull(operations);
+		Assert.hasText(collectionName);
+
+		this.operations = operations;
+		this.collectionName = collectionName;
+	}
+
+	/**
+	 * Configures the number of values to allocate with a single round trip to the server. Defaults to 50.
+	 * 
+	 * @param blockSize must be greater than zero.
+	 */
+	public void setBlockSize(int blockSize) {
+		Assert.isTrue(blockSize > 0, "Block size must be greater than zero!");
+		this.blockSize = blockSize;
+	}
+
+	/**
+	 * Returns the next value of the sequence with the given name. The first value of a new sequence is 1.
+	 * 
+	 * @param sequenceName must not be {@literal null} or empty.
+	 * @return
+	 */
+	public long nextValue(String sequenceName) {
+
+		Assert.hasText(sequenceName);
+
+		Block block = blocks.get(sequenceName);
+
+		if (block == null) {
+			Block newBlock = new Block();
+			block = blocks.putIfAbsent(sequenceName, newBlock);
+			block = block == null ? newBlock : block;
+		}
+
+		synchronized (block) {
+
+			if (block.next > block.last) {
+				int size = blockSize;
+				block.last = allocate(sequenceName, size);
+				block.next = block.last - size + 1;
+			}
+
+			return block.next++;
+		}
+	}
+
+	/**
+	 * Atomically increments the counter of the given sequence by the given size and returns the new counter value,
+	 * i.e. the last value of the allocated block. If the counter document doesn't exist yet, concurrent upserts from
+	 * several generators can fail with a duplicate key error for all but one of them. As the counter exists by then,
+	 * the increment is retried once.
+	 * 
+	 * @param sequenceName
+	 * @param size
+	 * @return
+	 */
+	private long allocate(String sequenceName, int size) {
+
+		Query query = new Query(where("_id").is(sequenceName));
+		Update update = new Update().inc(VALUE, size);
+		FindAndModifyOptions options = FindAndModifyOptions.options().returnNew(true).upsert(true);
+
+		DBObject counter;
+
+		try {
+			counter = operations.findAndModify(collectionName, query, update, options, DBObject.class, RAW_READER);
+		} catch (DataIntegrityViolationException e) {
+			counter = operations.findAndModify(collectionName, query, update, options, DBObject.class, RAW_READER);
+		}
+
+		Object value = counter == null ? null : counter.get(VALUE);
+
+		if (!(value instanceof Number)) {
+			throw new DataRetrievalFailureException(String.format("Could not allocate values for sequence %s in %s!",
+					sequenceName, collectionName));
+		}
+
+		return ((Number) value).longValue();
+	}
+
+	/**
+	 * The currently allocated range of values of a sequence.
+	 */
+	private static class Block {
+
+		long next = 1;
+		long last = 0;
+	}
+}
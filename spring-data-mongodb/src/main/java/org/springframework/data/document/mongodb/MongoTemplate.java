@@ -16,30 +16,51 @@
 
 package org.springframework.data.document.mongodb;
 
-import java.beans.IntrospectionException;
-import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.bson.BSON;
 import org.bson.types.ObjectId;
 import org.springframework.beans.ConfigurablePropertyAccessor;
 import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.convert.ConversionFailedException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.ConversionServiceFactory;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.document.mongodb.MongoPropertyDescriptors.MongoPropertyDescriptor;
+import org.springframework.data.document.mongodb.OperationStatistics.Operation;
+import org.springframework.data.document.mongodb.OperationStatistics.Sample;
+import org.springframework.data.document.mongodb.SlowQueryProfiler.Explainer;
+import org.springframework.data.document.mongodb.cache.DocumentCache;
+import org.springframework.data.document.mongodb.query.Criteria;
+import org.springframework.data.document.mongodb.query.GroupBy;
 import org.springframework.data.document.mongodb.query.IndexDefinition;
 import org.springframework.data.document.mongodb.query.Query;
+import org.springframework.data.document.mongodb.query.ReadRouting;
 import org.springframework.data.document.mongodb.query.Update;
 import org.springframework.jca.cci.core.ConnectionCallback;
 import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
 
+import com.mongodb.BasicDBList;
 import com.mongodb.BasicDBObject;
+import com.mongodb.Bytes;
 import com.mongodb.CommandResult;
 import com.mongodb.DB;
 import com.mongodb.DBCollection;
@@ -64,6 +85,14 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 	private static final Log LOGGER = LogFactory.getLog(MongoTemplate.class);
 
 	private static final String ID = "_id";
+	private static final String NO_MATCHING_OBJECT = "No matching object found";
+	private static final String DUPLICATE_KEY_ERROR = "E11000";
+	private static final ConversionService CONVERSION_SERVICE = ConversionServiceFactory.createDefaultConversionService();
+
+	/**
+	 * Default maximum number of documents sent to the server in a single batch.
+	 */
+	public static final int DEFAULT_MAX_BATCH_SIZE = 1000;
 
 	/*
 	 * WriteConcern to be used for write operations if it has been specified. Otherwise
@@ -85,6 +114,20 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 	private String databaseName;
 	private String username;
 	private String password;
+
+	private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+	private int maxBatchBytes = 0;
+
+	private DocumentCache documentCache;
+
+	private final boolean substituteMappedIdOverridden = isSubstituteMappedIdOverridden();
+
+	private ReadRouting readRouting = ReadRouting.PRIMARY;
+	private ReadRoutingStatistics readRoutingStatistics = new ReadRoutingStatistics();
+
+	private OperationListener operationListener;
+	private OperationStatistics operationStatistics = new OperationStatistics();
+	private SlowQueryProfiler slowQueryProfiler;
 	
 
 	/**
@@ -185,6 +228,139 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 		this.password = password;
 	}
 
+	/**
+	 * Sets the maximum number of documents to be sent to the server in a single batch insert or the maximum number of
+	 * values to be used in a single {@literal $in} remove. Larger lists will be split into multiple operations. A value of
+	 * {@literal 0} or less disables splitting by document count. Defaults to {@value #DEFAULT_MAX_BATCH_SIZE}.
+	 * 
+	 * @param maxBatchSize
+	 */
+	public void setMaxBatchSize(int maxBatchSize) {
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	/**
+	 * Sets the maximum accumulated BSON size in bytes of the documents sent to the server in a single batch insert.
+	 * Determining the size requires encoding every document upfront so this is disabled by default.
+	 * 
+	 * @param maxBatchBytes
+	 */
+	public void setMaxBatchBytes(int maxBatchBytes) {
+		this.maxBatchBytes = maxBatchBytes;
+	}
+
+	/**
+	 * Configures a {@link DocumentCache} to be consulted by lookups by id. Write operations through this template will
+	 * invalidate affected documents. Note that changes applied to the database by other means will not be reflected
+	 * until the cached documents expire.
+	 * 
+	 * @param documentCache the cache to use, {@literal null} to disable caching.
+	 */
+	public void setDocumentCache(DocumentCache documentCache) {
+		this.documentCache = documentCache;
+	}
+
+	/**
+	 * Returns the configured {@link DocumentCache} or {@literal null} if none configured.
+	 * 
+	 * @return
+	 */
+	public DocumentCache getDocumentCache() {
+		return documentCache;
+	}
+
+	/**
+	 * Configures the replica set members queries, counts and lookups by id are sent to unless the {@link Query} defines
+	 * a {@link ReadRouting} itself. Documents read from secondaries are never put into the {@link DocumentCache} as
+	 * they might not reflect the template's own writes yet. Defaults to {@link ReadRouting#PRIMARY}.
+	 * 
+	 * @param readRouting must not be {@literal null}.
+	 */
+	public void setReadRouting(ReadRouting readRouting) {
+		Assert.notNull(readRouting);
+		this.readRouting = readRouting;
+	}
+
+	/**
+	 * Returns the default {@link ReadRouting} of the template.
+	 * 
+	 * @return
+	 */
+	public ReadRouting getReadRouting() {
+		return readRouting;
+	}
+
+	/**
+	 * Configures the {@link ReadRoutingStatistics} to record the routing of reads in, e.g. to share a single instance
+	 * between multiple templates.
+	 * 
+	 * @param readRoutingStatistics must not be {@literal null}.
+	 */
+	public void setReadRoutingStatistics(ReadRoutingStatistics readRoutingStatistics) {
+		Assert.notNull(readRoutingStatistics);
+		this.readRoutingStatistics = readRoutingStatistics;
+	}
+
+	/**
+	 * Returns the {@link ReadRoutingStatistics} recording the routing of reads issued by this template.
+	 * 
+	 * @return
+	 */
+	public ReadRoutingStatistics getReadRoutingStatistics() {
+		return readRoutingStatistics;
+	}
+
+	/**
+	 * Configures an {@link OperationListener} to notify around every operation, e.g. to observe the usage of the
+	 * driver's connection pool by this template. Cursors returned by {@link #stream(String, Query, Class)} are not
+	 * observed as the driver sends their queries lazily.
+	 * 
+	 * @param operationListener the listener to use, {@literal null} to disable the notifications.
+	 */
+	public void setOperationListener(OperationListener operationListener) {
+		this.operationListener = operationListener;
+	}
+
+	/**
+	 * Configures the {@link OperationStatistics} to record the latencies of the operations executed by this template
+	 * in, e.g. to share a single instance between multiple templates.
+	 * 
+	 * @param operationStatistics must not be {@literal null}.
+	 */
+	public void setOperationStatistics(OperationStatistics operationStatistics) {
+		Assert.notNull(operationStatistics);
+		this.operationStatistics = operationStatistics;
+	}
+
+	/**
+	 * Returns the {@link OperationStatistics} recording the latencies of the operations executed by this template.
+	 * 
+	 * @return
+	 */
+	public OperationStatistics getOperationStatistics() {
+		return operationStatistics;
+	}
+
+	/**
+	 * Configures a {@link SlowQueryProfiler} to record the finds, updates and removes exceeding its threshold in.
+	 * Profiling is disabled by default.
+	 * 
+	 * @param slowQueryProfiler the profiler to use, {@literal null} to disable profiling.
+	 */
+	public void setSlowQueryProfiler(SlowQueryProfiler slowQueryProfiler) {
+		this.slowQueryProfiler = slowQueryProfiler;
+	}
+
+	/**
+	 * Returns the {@link SlowQueryProfiler} recording the slow queries of this template or {@literal null} if
+	 * profiling is disabled.
+	 * 
+	 * @return
+	 */
+	public SlowQueryProfiler getSlowQueryProfiler() {
+		return slowQueryProfiler;
+	}
+
 	/**
 	 * Sets the name of the default collection to be used.
 	 * 
@@ -244,7 +420,7 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 	 */
 	public CommandResult executeCommand(final DBObject command) {
 		
-		CommandResult result = execute(new DbCallback<CommandResult>() {
+		CommandResult result = execute(null, Operation.COMMAND, new DbCallback<CommandResult>() {
 			public CommandResult doInDB(DB db) throws MongoException, DataAccessException {
 				return db.command(command);
 			}
@@ -265,14 +441,34 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 	 * @see org.springframework.data.document.mongodb.MongoOperations#execute(org.springframework.data.document.mongodb.DBCallback)
 	 */
 	public <T> T execute(DbCallback<T> action) {
+		return execute(null, Operation.EXECUTE, action);
+	}
+
+	/**
+	 * Executes the given {@link DbCallback} recording its statistics for the given collection and {@link Operation}.
+	 * 
+	 * @param collectionName the collection the callback operates on, can be {@literal null}.
+	 * @param operation the type of the operation.
+	 * @param action the callback to execute.
+	 * @return
+	 */
+	private <T> T execute(String collectionName, Operation operation, DbCallback<T> action) {
 		
 		Assert.notNull(action);
 		
+		notifyOperationStarted();
+		Sample sample = operationStatistics.start(collectionName, operation);
+
 		try {
 			DB db = getDb();
-			return action.doInDB(db);
+			T result = action.doInDB(db);
+			sample.succeeded();
+			return result;
 		} catch (MongoException e) {
 			throw potentiallyConvertRuntimeException(e);
+		} finally {
+			sample.stop();
+			notifyOperationFinished();
 		}
 	}
 
@@ -287,14 +483,42 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 	 * @see org.springframework.data.document.mongodb.MongoOperations#execute(org.springframework.data.document.mongodb.CollectionCallback, java.lang.String)
 	 */
 	public <T> T execute(String collectionName, CollectionCallback<T> callback) {
+		return execute(collectionName, Operation.EXECUTE, callback);
+	}
+
+	/**
+	 * Executes the given {@link CollectionCallback} recording its statistics for the given collection and
+	 * {@link Operation}.
+	 * 
+	 * @param collectionName the collection to execute the callback against.
+	 * @param operation the type of the operation.
+	 * @param callback the callback to execute.
+	 * @param documents the documents written by the callback.
+	 * @return
+	 */
+	private <T> T execute(String collectionName, Operation operation, CollectionCallback<T> callback,
+			DBObject... documents) {
 
 		Assert.notNull(callback);
 		
+		notifyOperationStarted();
+		Sample sample = operationStatistics.start(collectionName, operation);
+
 		try {
 			DBCollection collection = getDb().getCollection(collectionName);
-			return callback.doInCollection(collection);
+			T result = callback.doInCollection(collection);
+
+			for (DBObject document : documents) {
+				sample.addDocument(document);
+			}
+
+			sample.succeeded();
+			return result;
 		} catch (MongoException e) {
 			throw potentiallyConvertRuntimeException(e);
+		} finally {
+			sample.stop();
+			notifyOperationFinished();
 		}
 	}
 	
@@ -313,12 +537,29 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 	private <T> T execute(CollectionCallback<DBObject> collectionCallback,
 			DbObjectCallback<T> objectCallback, String collectionName) {
 		
+		notifyOperationStarted();
+		Sample sample = operationStatistics.start(collectionName, Operation.FIND_ONE);
+		long start = System.nanoTime();
+		T result;
+
 		try {
-			T result = objectCallback.doWith(collectionCallback.doInCollection(getCollection(collectionName)));
-			return result;
+			DBObject document = collectionCallback.doInCollection(getDb().getCollection(collectionName));
+			sample.addDocument(document);
+			result = objectCallback.doWith(document);
+			sample.succeeded();
 		} catch (MongoException e) {
 			throw potentiallyConvertRuntimeException(e);
+		} finally {
+			sample.stop();
+			notifyOperationFinished();
+		}
+
+		if (collectionCallback instanceof FindOneCallback) {
+			FindOneCallback callback = (FindOneCallback) collectionCallback;
+			profile(collectionName, Operation.FIND_ONE, start, callback.query, callback.fields, null, null);
 		}
+
+		return result;
 	}
 
 	/**
@@ -338,23 +579,35 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 	private <T> List<T> executeEach(CollectionCallback<DBCursor> collectionCallback, CursorPreparer preparer,
 			DbObjectCallback<T> objectCallback, String collectionName) {
 		
+		notifyOperationStarted();
+		Sample sample = operationStatistics.start(collectionName, Operation.FIND);
+		long start = System.nanoTime();
+		List<T> result = new ArrayList<T>();
+		DBCursor cursor;
+
 		try {
-			DBCursor cursor = collectionCallback.doInCollection(getCollection(collectionName));
-			
-			if (preparer != null) {
-				cursor = preparer.prepare(cursor);
-			}
-			
-			List<T> result = new ArrayList<T>();
+			cursor = prepareCursor(collectionCallback.doInCollection(getDb().getCollection(collectionName)), preparer);
 			
 			for (DBObject object : cursor) {
+				sample.addDocument(object);
 				result.add(objectCallback.doWith(object));
 			}
 			
-			return result;
+			sample.succeeded();
 		} catch (MongoException e) {
 			throw potentiallyConvertRuntimeException(e);
+		} finally {
+			sample.stop();
+			notifyOperationFinished();
 		}
+
+		if (collectionCallback instanceof FindCallback) {
+			FindCallback callback = (FindCallback) collectionCallback;
+			DBObject sort = preparer instanceof QueryCursorPreparer ? ((QueryCursorPreparer) preparer).sortObject : null;
+			profile(collectionName, Operation.FIND, start, callback.query, callback.fields, sort, cursor);
+		}
+
+		return result;
 	}
 
 	/* (non-Javadoc)
@@ -422,6 +675,10 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 				return null;
 			}
 		});
+
+		if (documentCache != null) {
+			documentCache.evictCollection(collectionName);
+		}
 	}
 
 	// Indexing methods
@@ -463,7 +720,8 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 
 	public <T> T findOne(String collectionName, Query query,
 			Class<T> targetClass, MongoReader<T> reader) {
-		return doFindOne(collectionName, query.getQueryObject(), query.getFieldsObject(), targetClass, reader);
+		return doFindOne(collectionName, query.getQueryObject(), query.getFieldsObject(), targetClass, reader,
+				getReadRouting(query));
 	}
 
 	// Find methods that take a Query to express the query and that return a List of objects.
@@ -477,34 +735,13 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 	}
 
 	public <T> List<T> find(String collectionName, final Query query, Class<T> targetClass) {
-		CursorPreparer cursorPreparer = null;
-		if (query.getSkip() > 0 || query.getLimit() > 0 || query.getSortObject() != null) {
-			cursorPreparer = new CursorPreparer() {
-				
-				public DBCursor prepare(DBCursor cursor) {
-					DBCursor cursorToUse = cursor;
-					try {
-						if (query.getSkip() > 0) {
-							cursorToUse = cursorToUse.skip(query.getSkip());
-						}
-						if (query.getLimit() > 0) {
-							cursorToUse = cursorToUse.limit(query.getLimit());
-						}
-						if (query.getSortObject() != null) {
-							cursorToUse = cursorToUse.sort(query.getSortObject());
-						}
-					} catch (MongoException e) {
-						throw potentiallyConvertRuntimeException(e);
-					}
-					return cursorToUse;
-				}
-			};
-		}
-		return doFind(collectionName, query.getQueryObject(), query.getFieldsObject(), targetClass, cursorPreparer);
+		return doFind(collectionName, query.getQueryObject(), query.getFieldsObject(), targetClass,
+				getCursorPreparer(query));
 	}
 
 	public <T> List<T> find(String collectionName, Query query, Class<T> targetClass, MongoReader<T> reader) {
-		return doFind(collectionName, query.getQueryObject(), query.getFieldsObject(), targetClass, reader);
+		return doFind(collectionName, query.getQueryObject(), query.getFieldsObject(), targetClass,
+				getCursorPreparer(query), reader);
 	}
 
 	public <T> List<T> find(String collectionName, Query query,
@@ -512,6 +749,267 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 		return doFind(collectionName, query.getQueryObject(), query.getFieldsObject(), targetClass, preparer);
 	}
 
+	// Find methods that look up documents by id and consult the document cache if configured.
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#findById(java.lang.String, java.lang.Object, java.lang.Class)
+	 */
+	public <T> T findById(String collectionName, Object id, Class<T> targetClass) {
+
+		Assert.notNull(id);
+
+		Object idToUse = getMappedId(id, targetClass);
+		DBObject document = documentCache == null ? null : documentCache.get(collectionName, idToUse);
+
+		if (document == null) {
+			readRoutingStatistics.record(readRouting);
+			CachingDbObjectCallback callback = new CachingDbObjectCallback(collectionName, Collections.singleton(idToUse));
+			try {
+				document = execute(new FindOneCallback(new BasicDBObject(ID, idToUse), null, readRouting), callback,
+						collectionName);
+			} finally {
+				callback.releaseReservations();
+			}
+		}
+
+		return document == null ? null : readCacheable(targetClass, document);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#exists(java.lang.String, java.lang.Object)
+	 */
+	public boolean exists(String collectionName, Object id) {
+		return exists(collectionName, id, null);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#exists(java.lang.String, java.lang.Object, java.lang.Class)
+	 */
+	public boolean exists(String collectionName, Object id, Class<?> entityClass) {
+
+		Assert.notNull(id);
+
+		Object idToUse = entityClass == null ? id : getMappedId(id, entityClass);
+
+		if (documentCache != null && documentCache.get(collectionName, idToUse) != null) {
+			return true;
+		}
+
+		DBObject idQuery = new BasicDBObject(ID, idToUse);
+		DBObject idOnly = new BasicDBObject(ID, 1);
+		readRoutingStatistics.record(readRouting);
+		return execute(collectionName, new FindOneCallback(idQuery, idOnly, readRouting)) != null;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#count(org.springframework.data.document.mongodb.query.Query)
+	 */
+	public long count(Query query) {
+		return count(getDefaultCollectionName(), query);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#count(java.lang.String, org.springframework.data.document.mongodb.query.Query)
+	 */
+	public long count(String collectionName, Query query) {
+		return count(collectionName, query, null);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#count(java.lang.String, org.springframework.data.document.mongodb.query.Query, java.lang.Class)
+	 */
+	public long count(String collectionName, Query query, Class<?> entityClass) {
+
+		DBObject queryObject = query == null ? new BasicDBObject() : query.getQueryObject();
+		final DBObject queryToUse = getMappedQuery(queryObject, entityClass);
+		final ReadRouting routing = query == null ? readRouting : getReadRouting(query);
+
+		readRoutingStatistics.record(routing);
+
+		return execute(collectionName, Operation.COUNT, new CollectionCallback<Long>() {
+			public Long doInCollection(DBCollection collection) throws MongoException, DataAccessException {
+				return routing.isSlaveOk() ? countOnSecondary(collection, queryToUse) : collection.getCount(queryToUse);
+			}
+		});
+	}
+
+	/**
+	 * Runs the count command for the given query with the {@code slaveOk} option set. The driver's
+	 * {@link DBCollection#getCount(DBObject)} only considers the options of the collection, which are shared across
+	 * threads and thus can't be changed per query.
+	 * 
+	 * @param collection
+	 * @param query
+	 * @return
+	 */
+	private long countOnSecondary(DBCollection collection, DBObject query) {
+
+		DBObject command = new BasicDBObject("count", collection.getName()).append("query", query);
+		CommandResult result = collection.getDB().command(command, Bytes.QUERYOPTION_SLAVEOK);
+
+		if (!result.ok()) {
+			// the collection does not exist (yet)
+			String error = result.getErrorMessage();
+			if ("ns missing".equals(error) || "ns does not exist".equals(error)) {
+				return 0;
+			}
+			assertCommandSucceeded(result, command);
+		}
+
+		return ((Number) result.get("n")).longValue();
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#findByIds(java.lang.String, java.util.Collection, java.lang.Class)
+	 */
+	public <T> List<T> findByIds(String collectionName, Collection<?> ids, Class<T> targetClass) {
+
+		Assert.notNull(ids);
+
+		List<T> result = new ArrayList<T>(ids.size());
+		List<Object> idsToLoad = new ArrayList<Object>(ids.size());
+
+		for (Object id : ids) {
+
+			Object idToUse = getMappedId(id, targetClass);
+			DBObject document = documentCache == null ? null : documentCache.get(collectionName, idToUse);
+
+			if (document == null) {
+				idsToLoad.add(idToUse);
+			} else {
+				result.add(readCacheable(targetClass, document));
+			}
+		}
+
+		if (idsToLoad.isEmpty()) {
+			return result;
+		}
+
+		DBObject query = new BasicDBObject(ID, new BasicDBObject("$in", idsToLoad.toArray()));
+		CachingDbObjectCallback callback = new CachingDbObjectCallback(collectionName, idsToLoad);
+		List<DBObject> documents;
+		try {
+			documents = executeEach(new FindCallback(query), null, callback, collectionName);
+		} finally {
+			callback.releaseReservations();
+		}
+
+		for (DBObject document : documents) {
+			result.add(readCacheable(targetClass, document));
+		}
+
+		return result;
+	}
+
+	/**
+	 * Reads the given document that might be held by the {@link DocumentCache} into the given type. Hands out a deep
+	 * copy if the document is read as {@link DBObject} as the converter would return the cached instance otherwise.
+	 * 
+	 * @param targetClass
+	 * @param document
+	 * @return
+	 */
+	private <T> T readCacheable(Class<T> targetClass, DBObject document) {
+
+		if (documentCache == null || !DBObject.class.isAssignableFrom(targetClass)) {
+			return mongoConverter.read(targetClass, document);
+		}
+
+		return mongoConverter.read(targetClass, (DBObject) copy(document));
+	}
+
+	/**
+	 * Deep copies the given value if it is a {@link DBObject}, returns it as is otherwise.
+	 * 
+	 * @param value
+	 * @return
+	 */
+	private static Object copy(Object value) {
+
+		if (value instanceof BasicDBList) {
+			BasicDBList result = new BasicDBList();
+			for (Object element : (BasicDBList) value) {
+				result.add(copy(element));
+			}
+			return result;
+		}
+
+		if (value instanceof DBObject) {
+			DBObject source = (DBObject) value;
+			DBObject result = new BasicDBObject();
+			for (String key : source.keySet()) {
+				result.put(key, copy(source.get(key)));
+			}
+			return result;
+		}
+
+		return value;
+	}
+
+	// Find methods that take a Query and return a lazily converting iterator.
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#stream(org.springframework.data.document.mongodb.query.Query, java.lang.Class)
+	 */
+	public <T> CloseableIterator<T> stream(Query query, Class<T> targetClass) {
+		return stream(getDefaultCollectionName(), query, targetClass);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#stream(java.lang.String, org.springframework.data.document.mongodb.query.Query, java.lang.Class)
+	 */
+	public <T> CloseableIterator<T> stream(String collectionName, Query query, Class<T> targetClass) {
+		return stream(collectionName, query, targetClass, null);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#stream(java.lang.String, org.springframework.data.document.mongodb.query.Query, java.lang.Class, org.springframework.data.document.mongodb.MongoReader)
+	 */
+	public <T> CloseableIterator<T> stream(String collectionName, Query query, Class<T> targetClass,
+			MongoReader<T> reader) {
+		return doStream(collectionName, query.getQueryObject(), query.getFieldsObject(), targetClass,
+				getCursorPreparer(query), reader);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#executeQuery(java.lang.String, org.springframework.data.document.mongodb.query.Query, org.springframework.data.document.mongodb.DocumentCallbackHandler)
+	 */
+	public void executeQuery(String collectionName, Query query, DocumentCallbackHandler handler) {
+
+		Assert.notNull(query);
+		Assert.notNull(handler);
+
+		DBCursor cursor = null;
+		notifyOperationStarted();
+		Sample sample = operationStatistics.start(collectionName, Operation.FIND);
+		long start = System.nanoTime();
+
+		try {
+			FindCallback callback = new FindCallback(query.getQueryObject(), query.getFieldsObject());
+			cursor = prepareCursor(callback.doInCollection(getDb().getCollection(collectionName)),
+					getCursorPreparer(query));
+
+			while (cursor.hasNext()) {
+				DBObject document = cursor.next();
+				sample.addDocument(document);
+				handler.processDocument(document);
+			}
+
+			sample.succeeded();
+		} catch (MongoException e) {
+			throw potentiallyConvertRuntimeException(e);
+		} finally {
+			if (cursor != null) {
+				cursor.close();
+			}
+			sample.stop();
+			notifyOperationFinished();
+		}
+
+		profile(collectionName, Operation.FIND, start, query.getQueryObject(), query.getFieldsObject(),
+				query.getSortObject(), cursor);
+	}
+
 	/* (non-Javadoc)
 	 * @see org.springframework.data.document.mongodb.MongoOperations#insert(java.lang.Object)
 	 */
@@ -614,6 +1112,10 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 		writer.write(objectToSave, dbDoc);
 		Object id = saveDBObject(collectionName, dbDoc);
 		populateIdIfNecessary(objectToSave, id);
+
+		if (documentCache != null && id != null) {
+			documentCache.evict(collectionName, id);
+		}
 	}
 
 
@@ -623,7 +1125,7 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 			return null;
 		}
 
-		return execute(collectionName, new CollectionCallback<Object>() {
+		return execute(collectionName, Operation.INSERT, new CollectionCallback<Object>() {
 			public Object doInCollection(DBCollection collection) throws MongoException, DataAccessException {
 				if (writeConcern == null) {
 					collection.insert(dbDoc);
@@ -633,7 +1135,7 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 				}
 				return dbDoc.get(ID);
 			}
-		});
+		}, dbDoc);
 	}
 	
 	protected List<Object> insertDBObjectList(String collectionName, final List<DBObject> dbDocList) {
@@ -642,17 +1144,19 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 			return Collections.emptyList();
 		}
 
-		execute(collectionName, new CollectionCallback<Void>() {
-			public Void doInCollection(DBCollection collection) throws MongoException, DataAccessException {
-				if (writeConcern == null) {
-					collection.insert(dbDocList);
+		for (final List<DBObject> batch : splitIntoBatches(dbDocList)) {
+			execute(collectionName, Operation.INSERT, new CollectionCallback<Void>() {
+				public Void doInCollection(DBCollection collection) throws MongoException, DataAccessException {
+					if (writeConcern == null) {
+						collection.insert(batch);
+					}
+					else {
+						collection.insert(batch.toArray(new DBObject[batch.size()]), writeConcern);
+					}
+					return null;
 				}
-				else {
-					collection.insert(dbDocList.toArray((DBObject[]) new BasicDBObject[dbDocList.size()]), writeConcern);
-				}
-				return null;
-			}
-		});
+			}, batch.toArray(new DBObject[batch.size()]));
+		}
 
 		List<Object> ids = new ArrayList<Object>();
 		for (DBObject dbo : dbDocList) {
@@ -670,13 +1174,50 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 		return ids;
 	}
 
+	/**
+	 * Splits the given {@link DBObject}s into batches honoring the configured maximum batch size and maximum batch
+	 * bytes.
+	 * 
+	 * @param documents
+	 * @return
+	 */
+	protected List<List<DBObject>> splitIntoBatches(List<DBObject> documents) {
+
+		if ((maxBatchSize <= 0 || documents.size() <= maxBatchSize) && maxBatchBytes <= 0) {
+			return Collections.singletonList(documents);
+		}
+
+		List<List<DBObject>> batches = new ArrayList<List<DBObject>>();
+		List<DBObject> batch = new ArrayList<DBObject>();
+		int batchBytes = 0;
+
+		for (DBObject document : documents) {
+
+			int documentBytes = maxBatchBytes > 0 ? BSON.encode(document).length : 0;
+			boolean countExceeded = maxBatchSize > 0 && batch.size() >= maxBatchSize;
+			boolean bytesExceeded = maxBatchBytes > 0 && batchBytes + documentBytes > maxBatchBytes;
+
+			if (!batch.isEmpty() && (countExceeded || bytesExceeded)) {
+				batches.add(batch);
+				batch = new ArrayList<DBObject>();
+				batchBytes = 0;
+			}
+
+			batch.add(document);
+			batchBytes += documentBytes;
+		}
+
+		batches.add(batch);
+		return batches;
+	}
+
 	protected Object saveDBObject(String collectionName, final DBObject dbDoc) {
 
 		if (dbDoc.keySet().isEmpty()) {
 			return null;
 		}
 
-		return execute(collectionName, new CollectionCallback<Object>() {
+		return execute(collectionName, Operation.SAVE, new CollectionCallback<Object>() {
 			public Object doInCollection(DBCollection collection) throws MongoException, DataAccessException {
 				if (writeConcern == null) {
 					collection.save(dbDoc);
@@ -686,7 +1227,7 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 				}
 				return dbDoc.get(ID);
 			}
-		});
+		}, dbDoc);
 	}
 
 	/* (non-Javadoc)
@@ -699,20 +1240,33 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 	/* (non-Javadoc)
 	 * @see org.springframework.data.document.mongodb.MongoOperations#updateFirst(java.lang.String, com.mongodb.DBObject, com.mongodb.DBObject)
 	 */
-	public WriteResult updateFirst(String collectionName, final Query query, final Update update) {
-		return execute(collectionName, new CollectionCallback<WriteResult>() {
+	public WriteResult updateFirst(String collectionName, Query query, final Update update) {
+		return updateFirst(collectionName, query, update, null);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#updateFirst(java.lang.String, org.springframework.data.document.mongodb.query.Query, org.springframework.data.document.mongodb.query.Update, java.lang.Class)
+	 */
+	public WriteResult updateFirst(String collectionName, Query query, final Update update, Class<?> entityClass) {
+		final DBObject queryObject = getMappedQuery(query.getQueryObject(), entityClass);
+		long start = System.nanoTime();
+		WriteResult result = execute(collectionName, Operation.UPDATE, new CollectionCallback<WriteResult>() {
 			public WriteResult doInCollection(DBCollection collection) throws MongoException, DataAccessException {
 				WriteResult wr;
+				DBObject updateObject = update.getUpdateObject();
 				if (writeConcern == null) {
-					wr = collection.update(query.getQueryObject(), update.getUpdateObject());
+					wr = collection.update(queryObject, updateObject);
 				}
 				else {
-					wr = collection.update(query.getQueryObject(), update.getUpdateObject(), false, false, writeConcern);
+					wr = collection.update(queryObject, updateObject, false, false, writeConcern);
 				}
-				handleAnyWriteResultErrors(wr, query.getQueryObject(), "update with '" +update.getUpdateObject() + "'");
+				handleAnyWriteResultErrors(wr, queryObject, "update with '" + updateObject + "'");
 				return wr;
 			}
 		});
+		profile(collectionName, Operation.UPDATE, start, queryObject, null, null, null);
+		evictCachedDocuments(collectionName, queryObject);
+		return result;
 	}
 	
 	/* (non-Javadoc)
@@ -725,20 +1279,33 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 	/* (non-Javadoc)
 	 * @see org.springframework.data.document.mongodb.MongoOperations#updateMulti(java.lang.String, com.mongodb.DBObject, com.mongodb.DBObject)
 	 */
-	public WriteResult updateMulti(String collectionName, final Query query, final Update update) {
-		return execute(collectionName, new CollectionCallback<WriteResult>() {
+	public WriteResult updateMulti(String collectionName, Query query, final Update update) {
+		return updateMulti(collectionName, query, update, null);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#updateMulti(java.lang.String, org.springframework.data.document.mongodb.query.Query, org.springframework.data.document.mongodb.query.Update, java.lang.Class)
+	 */
+	public WriteResult updateMulti(String collectionName, Query query, final Update update, Class<?> entityClass) {
+		final DBObject queryObject = getMappedQuery(query.getQueryObject(), entityClass);
+		long start = System.nanoTime();
+		WriteResult result = execute(collectionName, Operation.UPDATE, new CollectionCallback<WriteResult>() {
 			public WriteResult doInCollection(DBCollection collection) throws MongoException, DataAccessException {
 				WriteResult wr = null;
+				DBObject updateObject = update.getUpdateObject();
 				if (writeConcern == null) {
-					wr = collection.updateMulti(query.getQueryObject(), update.getUpdateObject());
+					wr = collection.updateMulti(queryObject, updateObject);
 				}
 				else {
-					wr = collection.update(query.getQueryObject(), update.getUpdateObject(), false, true, writeConcern);
+					wr = collection.update(queryObject, updateObject, false, true, writeConcern);
 				}
-				handleAnyWriteResultErrors(wr, query.getQueryObject(), "update with '" +update.getUpdateObject() + "'");
+				handleAnyWriteResultErrors(wr, queryObject, "update with '" + updateObject + "'");
 				return wr;
 			}
 		});
+		profile(collectionName, Operation.UPDATE, start, queryObject, null, null, null);
+		evictCachedDocuments(collectionName, queryObject);
+		return result;
 	}
 	
 	/* (non-Javadoc)
@@ -751,23 +1318,264 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 	/* (non-Javadoc)
 	 * @see org.springframework.data.document.mongodb.MongoOperations#remove(java.lang.String, com.mongodb.DBObject)
 	 */
-	public void remove(String collectionName, final Query query) {
-		execute(collectionName, new CollectionCallback<Void>() {
+	public void remove(String collectionName, Query query) {
+		remove(collectionName, query, null);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#remove(java.lang.String, org.springframework.data.document.mongodb.query.Query, java.lang.Class)
+	 */
+	public void remove(String collectionName, Query query, Class<?> entityClass) {
+		final DBObject queryObject = getMappedQuery(query.getQueryObject(), entityClass);
+		long start = System.nanoTime();
+		execute(collectionName, Operation.REMOVE, new CollectionCallback<Void>() {
 			public Void doInCollection(DBCollection collection) throws MongoException, DataAccessException {
 				WriteResult wr = null;
 				if (writeConcern == null) {
-					wr = collection.remove(query.getQueryObject());
+					wr = collection.remove(queryObject);
 				}
 				else {
-					wr = collection.remove(query.getQueryObject(), writeConcern);
+					wr = collection.remove(queryObject, writeConcern);
 				}
-				handleAnyWriteResultErrors(wr, query.getQueryObject(), "remove");
+				handleAnyWriteResultErrors(wr, queryObject, "remove");
 				return null;
 			}
 		});
+		profile(collectionName, Operation.REMOVE, start, queryObject, null, null, null);
+		evictCachedDocuments(collectionName, queryObject);
 	}
 	
 
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#remove(java.lang.String, java.lang.String, java.util.Collection)
+	 */
+	public void remove(String collectionName, String key, Collection<?> values) {
+
+		Assert.hasText(key);
+		Assert.notNull(values);
+
+		if (values.isEmpty()) {
+			return;
+		}
+
+		List<?> valuesToRemove = new ArrayList<Object>(values);
+		int batchSize = maxBatchSize > 0 ? maxBatchSize : valuesToRemove.size();
+
+		for (int start = 0; start < valuesToRemove.size(); start += batchSize) {
+			List<?> batch = valuesToRemove.subList(start, Math.min(start + batchSize, valuesToRemove.size()));
+			remove(collectionName, new Query(Criteria.where(key).in(batch.toArray())));
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#distinct(java.lang.String, java.lang.String, java.lang.Class)
+	 */
+	public <T> List<T> distinct(String collectionName, String key, Class<T> targetClass) {
+		return distinct(collectionName, key, null, targetClass);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#distinct(java.lang.String, java.lang.String, org.springframework.data.document.mongodb.query.Query, java.lang.Class)
+	 */
+	public <T> List<T> distinct(String collectionName, String key, Query query, Class<T> targetClass) {
+
+		Assert.hasText(collectionName);
+		Assert.hasText(key);
+		Assert.notNull(targetClass);
+
+		DBObject command = new BasicDBObject("distinct", collectionName);
+		command.put("key", key);
+
+		if (query != null) {
+			command.put("query", query.getQueryObject());
+		}
+
+		List<?> values = getResultList(doExecuteCommand(collectionName, command), "values", command);
+		List<T> result = new ArrayList<T>(values.size());
+
+		for (Object value : values) {
+			result.add(convertValue(value, targetClass));
+		}
+
+		return result;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#group(java.lang.String, org.springframework.data.document.mongodb.query.Query, org.springframework.data.document.mongodb.query.GroupBy, java.lang.Class)
+	 */
+	public <T> List<T> group(String collectionName, Query criteria, GroupBy groupBy, Class<T> targetClass) {
+		return group(collectionName, criteria, groupBy, targetClass, null);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#group(java.lang.String, org.springframework.data.document.mongodb.query.Query, org.springframework.data.document.mongodb.query.GroupBy, java.lang.Class, org.springframework.data.document.mongodb.MongoReader)
+	 */
+	public <T> List<T> group(String collectionName, Query criteria, GroupBy groupBy, Class<T> targetClass,
+			MongoReader<T> reader) {
+
+		Assert.notNull(groupBy);
+		Assert.notNull(targetClass);
+
+		DBObject command = groupBy.getGroupByObject(collectionName, criteria == null ? null : criteria.getQueryObject());
+		List<?> groups = getResultList(doExecuteCommand(collectionName, command), "retval", command);
+
+		MongoReader<? super T> readerToUse = reader == null ? this.mongoConverter : reader;
+		ReadDbObjectCallback<T> callback = new ReadDbObjectCallback<T>(readerToUse, targetClass);
+		List<T> result = new ArrayList<T>(groups.size());
+
+		for (Object group : groups) {
+			result.add(callback.doWith((DBObject) group));
+		}
+
+		return result;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#mapReduce(java.lang.String, java.lang.String, java.lang.String, java.lang.Class)
+	 */
+	public <T> MapReduceResults<T> mapReduce(String collectionName, String mapFunction, String reduceFunction,
+			Class<T> targetClass) {
+		return mapReduce(collectionName, null, mapFunction, reduceFunction, null, targetClass, null);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#mapReduce(java.lang.String, org.springframework.data.document.mongodb.query.Query, java.lang.String, java.lang.String, org.springframework.data.document.mongodb.MapReduceOptions, java.lang.Class, org.springframework.data.document.mongodb.MongoReader)
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> MapReduceResults<T> mapReduce(String collectionName, Query query, String mapFunction,
+			String reduceFunction, MapReduceOptions options, Class<T> targetClass, MongoReader<T> reader) {
+
+		Assert.hasText(collectionName);
+		Assert.hasText(mapFunction);
+		Assert.hasText(reduceFunction);
+		Assert.notNull(targetClass);
+
+		MapReduceOptions optionsToUse = options == null ? MapReduceOptions.options() : options;
+
+		DBObject command = new BasicDBObject("mapreduce", collectionName);
+		command.put("map", mapFunction);
+		command.put("reduce", reduceFunction);
+
+		if (query != null) {
+			command.put("query", query.getQueryObject());
+			DBObject sort = query.getSortObject();
+			if (sort != null && !sort.keySet().isEmpty()) {
+				command.put("sort", sort);
+			}
+			if (query.getLimit() > 0) {
+				command.put("limit", query.getLimit());
+			}
+		}
+
+		optionsToUse.appendTo(command);
+
+		CommandResult result = doExecuteCommand(collectionName, command);
+		assertCommandSucceeded(result, command);
+
+		if (optionsToUse.isInline()) {
+			List<DBObject> documents = (List<DBObject>) getResultList(result, "results", command);
+			return new MapReduceResults<T>(result, documents, null, this, targetClass, reader);
+		}
+
+		Object outputCollection = result.get("result");
+		String outputCollectionName = outputCollection instanceof String ? (String) outputCollection : optionsToUse
+				.getOutputCollection();
+
+		if (documentCache != null) {
+			documentCache.evictCollection(outputCollectionName);
+		}
+
+		return new MapReduceResults<T>(result, null, outputCollectionName, this, targetClass, reader);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#upsert(org.springframework.data.document.mongodb.query.Query, org.springframework.data.document.mongodb.query.Update)
+	 */
+	public WriteResult upsert(Query query, Update update) {
+		return upsert(getRequiredDefaultCollectionName(), query, update);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#upsert(java.lang.String, org.springframework.data.document.mongodb.query.Query, org.springframework.data.document.mongodb.query.Update)
+	 */
+	public WriteResult upsert(String collectionName, Query query, final Update update) {
+		final DBObject queryObject = query.getQueryObject();
+		long start = System.nanoTime();
+		WriteResult result = execute(collectionName, Operation.UPDATE, new CollectionCallback<WriteResult>() {
+			public WriteResult doInCollection(DBCollection collection) throws MongoException, DataAccessException {
+				WriteResult wr = null;
+				DBObject updateObject = update.getUpdateObject();
+				if (writeConcern == null) {
+					wr = collection.update(queryObject, updateObject, true, false);
+				}
+				else {
+					wr = collection.update(queryObject, updateObject, true, false, writeConcern);
+				}
+				handleAnyWriteResultErrors(wr, queryObject, "upsert with '" + updateObject + "'");
+				return wr;
+			}
+		});
+		profile(collectionName, Operation.UPDATE, start, queryObject, null, null, null);
+		evictCachedDocuments(collectionName, queryObject);
+		return result;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#findAndModify(org.springframework.data.document.mongodb.query.Query, org.springframework.data.document.mongodb.query.Update, java.lang.Class)
+	 */
+	public <T> T findAndModify(Query query, Update update, Class<T> targetClass) {
+		return findAndModify(getRequiredDefaultCollectionName(), query, update, targetClass);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#findAndModify(java.lang.String, org.springframework.data.document.mongodb.query.Query, org.springframework.data.document.mongodb.query.Update, java.lang.Class)
+	 */
+	public <T> T findAndModify(String collectionName, Query query, Update update, Class<T> targetClass) {
+		return findAndModify(collectionName, query, update, null, targetClass, null);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#findAndModify(java.lang.String, org.springframework.data.document.mongodb.query.Query, org.springframework.data.document.mongodb.query.Update, org.springframework.data.document.mongodb.FindAndModifyOptions, java.lang.Class, org.springframework.data.document.mongodb.MongoReader)
+	 */
+	public <T> T findAndModify(String collectionName, Query query, Update update, FindAndModifyOptions options,
+			Class<T> targetClass, MongoReader<T> reader) {
+
+		Assert.notNull(update);
+		FindAndModifyOptions optionsToUse = options == null ? FindAndModifyOptions.options() : options;
+
+		DBObject command = new BasicDBObject();
+		command.put("update", update.getUpdateObject());
+		command.put("new", optionsToUse.isReturnNew());
+		command.put("upsert", optionsToUse.isUpsert());
+
+		return doFindAndModify(collectionName, query, command, targetClass, reader);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#findAndRemove(org.springframework.data.document.mongodb.query.Query, java.lang.Class)
+	 */
+	public <T> T findAndRemove(Query query, Class<T> targetClass) {
+		return findAndRemove(getRequiredDefaultCollectionName(), query, targetClass);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#findAndRemove(java.lang.String, org.springframework.data.document.mongodb.query.Query, java.lang.Class)
+	 */
+	public <T> T findAndRemove(String collectionName, Query query, Class<T> targetClass) {
+		return findAndRemove(collectionName, query, targetClass, null);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.MongoOperations#findAndRemove(java.lang.String, org.springframework.data.document.mongodb.query.Query, java.lang.Class, org.springframework.data.document.mongodb.MongoReader)
+	 */
+	public <T> T findAndRemove(String collectionName, Query query, Class<T> targetClass, MongoReader<T> reader) {
+
+		DBObject command = new BasicDBObject();
+		command.put("remove", true);
+
+		return doFindAndModify(collectionName, query, command, targetClass, reader);
+	}
+
 	/* (non-Javadoc)
 	 * @see org.springframework.data.document.mongodb.MongoOperations#getCollection(java.lang.Class)
 	 */
@@ -825,13 +1633,31 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 	 * @return the List of converted objects.
 	 */
 	protected <T> T doFindOne(String collectionName, DBObject query, DBObject fields, Class<T> targetClass, MongoReader<T> reader) {
+		return doFindOne(collectionName, query, fields, targetClass, reader, readRouting);
+	}
+
+	/**
+	 * Map the result of an ad-hoc query on the given MongoDB collection to an object using the provided MongoReader,
+	 * sending the query to the replica set members defined by the given {@link ReadRouting}.
+	 * 
+	 * @param collectionName name of the collection to retrieve the objects from
+	 * @param query the query document that specifies the criteria used to find a record
+	 * @param fields the document that specifies the fields to be returned
+	 * @param targetClass the parameterized type of the returned list.
+	 * @param reader the MongoReader to convert from DBObject to an object.
+	 * @param routing the {@link ReadRouting} to use, must not be {@literal null}.
+	 * @return the converted object.
+	 */
+	protected <T> T doFindOne(String collectionName, DBObject query, DBObject fields, Class<T> targetClass,
+			MongoReader<T> reader, ReadRouting routing) {
 		MongoReader<? super T> readerToUse = reader;
 		if (readerToUse == null) {
 			readerToUse = this.mongoConverter;
 		}
-		substituteMappedIdIfNecessary(query, targetClass, readerToUse);
-		return execute(new FindOneCallback(query, fields), new ReadDbObjectCallback<T>(readerToUse, targetClass),
-				collectionName);
+		DBObject queryToUse = getMappedQuery(query, targetClass, readerToUse);
+		readRoutingStatistics.record(routing);
+		return execute(new FindOneCallback(queryToUse, fields, routing), new ReadDbObjectCallback<T>(readerToUse,
+				targetClass), collectionName);
 	}
 	
 	/**
@@ -854,9 +1680,9 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 	 * @return the List of converted objects.
 	 */
 	protected <T> List<T> doFind(String collectionName, DBObject query, DBObject fields, Class<T> targetClass, CursorPreparer preparer) {
-		substituteMappedIdIfNecessary(query, targetClass, mongoConverter);
-		return executeEach(new FindCallback(query, fields), preparer, new ReadDbObjectCallback<T>(mongoConverter, targetClass),
-				collectionName);
+		DBObject queryToUse = getMappedQuery(query, targetClass, mongoConverter);
+		return executeEach(new FindCallback(queryToUse, fields), preparer, new ReadDbObjectCallback<T>(mongoConverter,
+				targetClass), collectionName);
 	}
 
 	/**
@@ -872,9 +1698,135 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 	 * @return the List of converted objects.
 	 */
 	protected <T> List<T> doFind(String collectionName, DBObject query, DBObject fields, Class<T> targetClass, MongoReader<T> reader) {
-		substituteMappedIdIfNecessary(query, targetClass, reader);
-		return executeEach(new FindCallback(query, fields), null, new ReadDbObjectCallback<T>(reader, targetClass),
-				collectionName);
+		return doFind(collectionName, query, fields, targetClass, null, reader);
+	}
+
+	/**
+	 * Map the results of an ad-hoc query on the given MongoDB collection to a List using the provided MongoReader after
+	 * preparing the cursor with the given {@link CursorPreparer}.
+	 * 
+	 * @param collectionName name of the collection to retrieve the objects from
+	 * @param query the query document that specifies the criteria used to find a record
+	 * @param fields the document that specifies the fields to be returned
+	 * @param targetClass the parameterized type of the returned list.
+	 * @param preparer allows for customization of the DBCursor, can be {@literal null}.
+	 * @param reader the MongoReader to convert from DBObject to an object, falls back to the configured
+	 *          {@link MongoConverter} if {@literal null}.
+	 * @return the List of converted objects.
+	 */
+	protected <T> List<T> doFind(String collectionName, DBObject query, DBObject fields, Class<T> targetClass,
+			CursorPreparer preparer, MongoReader<T> reader) {
+		MongoReader<? super T> readerToUse = reader == null ? this.mongoConverter : reader;
+		DBObject queryToUse = getMappedQuery(query, targetClass, readerToUse);
+		return executeEach(new FindCallback(queryToUse, fields), preparer,
+				new ReadDbObjectCallback<T>(readerToUse, targetClass), collectionName);
+	}
+
+	/**
+	 * Executes an ad-hoc query on the given MongoDB collection and returns a {@link CloseableIterator} converting the
+	 * documents lazily using the provided MongoReader.
+	 * 
+	 * @param collectionName name of the collection to retrieve the objects from
+	 * @param query the query document that specifies the criteria used to find a record
+	 * @param fields the document that specifies the fields to be returned
+	 * @param targetClass the parameterized type of the returned iterator.
+	 * @param preparer allows for customization of the DBCursor, can be {@literal null}.
+	 * @param reader the MongoReader to convert from DBObject to an object, falls back to the configured
+	 *          {@link MongoConverter} if {@literal null}.
+	 * @return a {@link CloseableIterator} over the converted objects.
+	 */
+	protected <T> CloseableIterator<T> doStream(String collectionName, DBObject query, DBObject fields,
+			Class<T> targetClass, CursorPreparer preparer, MongoReader<T> reader) {
+
+		MongoReader<? super T> readerToUse = reader == null ? this.mongoConverter : reader;
+		DBObject queryToUse = getMappedQuery(query, targetClass, readerToUse);
+
+		try {
+			DBCollection collection = getDb().getCollection(collectionName);
+			DBCursor cursor = prepareCursor(new FindCallback(queryToUse, fields).doInCollection(collection), preparer);
+
+			return new CursorIterator<T>(cursor, new ReadDbObjectCallback<T>(readerToUse, targetClass));
+		} catch (MongoException e) {
+			throw potentiallyConvertRuntimeException(e);
+		}
+	}
+
+	/**
+	 * Applies the given {@link CursorPreparer} to the given {@link DBCursor} and routes the read according to the
+	 * {@link ReadRouting} of the underlying {@link Query} or the template's default.
+	 * 
+	 * @param cursor
+	 * @param preparer can be {@literal null}.
+	 * @return
+	 */
+	private DBCursor prepareCursor(DBCursor cursor, CursorPreparer preparer) {
+
+		DBCursor cursorToUse = preparer == null ? cursor : preparer.prepare(cursor);
+		ReadRouting routing = readRouting;
+
+		if (preparer instanceof QueryCursorPreparer) {
+			routing = getReadRouting(((QueryCursorPreparer) preparer).query);
+		}
+
+		readRoutingStatistics.record(routing);
+		return routing.isSlaveOk() ? cursorToUse.addOption(Bytes.QUERYOPTION_SLAVEOK) : cursorToUse;
+	}
+
+	/**
+	 * Hands the given query to the {@link SlowQueryProfiler} if one is configured and the operation started at the
+	 * given time exceeded its threshold. The explain plan is captured from the given {@link DBCursor} or a plain find
+	 * for the query if no cursor is given.
+	 * 
+	 * @param collectionName
+	 * @param operation
+	 * @param start the value of {@link System#nanoTime()} when the operation started.
+	 * @param query can be {@literal null}.
+	 * @param fields can be {@literal null}.
+	 * @param sort can be {@literal null}.
+	 * @param cursor can be {@literal null}.
+	 */
+	private void profile(final String collectionName, Operation operation, long start, final DBObject query,
+			final DBObject fields, final DBObject sort, final DBCursor cursor) {
+
+		SlowQueryProfiler profiler = slowQueryProfiler;
+
+		if (profiler == null) {
+			return;
+		}
+
+		long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		if (!profiler.isSlow(millis)) {
+			return;
+		}
+
+		profiler.record(collectionName, operation, millis, query, fields, sort, new Explainer() {
+			public DBObject explain() {
+
+				if (cursor != null) {
+					return cursor.explain();
+				}
+
+				DBCursor cursorToExplain = getDb().getCollection(collectionName).find(query, fields);
+				return sort == null ? cursorToExplain.explain() : cursorToExplain.sort(sort).explain();
+			}
+		});
+	}
+
+	private void notifyOperationStarted() {
+		if (operationListener != null) {
+			operationListener.operationStarted();
+		}
+	}
+
+	private void notifyOperationFinished() {
+		if (operationListener != null) {
+			operationListener.operationFinished();
+		}
+	}
+
+	private ReadRouting getReadRouting(Query query) {
+		return query.getReadRouting() == null ? readRouting : query.getReadRouting();
 	}
 
 	protected DBObject convertToDbObject(CollectionOptions collectionOptions) {
@@ -906,7 +1858,7 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 		}
 
 		ConfigurablePropertyAccessor bw = PropertyAccessorFactory.forDirectFieldAccess(savedObject);
-		MongoPropertyDescriptor idDescriptor = new MongoPropertyDescriptors(savedObject.getClass()).getIdDescriptor();
+		MongoPropertyDescriptor idDescriptor = MongoPropertyDescriptors.forType(savedObject.getClass()).getIdDescriptor();
 
 		if (idDescriptor == null) {
 			return;
@@ -924,40 +1876,139 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 		}
 	}
 
+	/**
+	 * Returns the given id converted the same way {@link #substituteMappedIdIfNecessary(DBObject, Class, MongoReader)}
+	 * converts ids of queries, e.g. {@link String}s into {@link ObjectId}s for the id property of the given class.
+	 * 
+	 * @param id
+	 * @param targetClass
+	 * @return
+	 */
+	private Object getMappedId(Object id, Class<?> targetClass) {
+
+		if (!(mongoConverter instanceof SimpleMongoConverter) || !(id instanceof String)
+				|| !ObjectId.isValid((String) id)) {
+			return id;
+		}
+
+		MongoPropertyDescriptor descriptor = MongoPropertyDescriptors.forType(targetClass).getIdDescriptor();
+
+		if (descriptor == null || !descriptor.isOfIdType()) {
+			return id;
+		}
+
+		try {
+			return mongoConverter.convertObjectId(id);
+		} catch (ConversionFailedException e) {
+			LOGGER.warn("Unable to convert the String " + id + " to an ObjectId");
+			return id;
+		}
+	}
+
 	/**
 	 * Substitutes the id key if it is found in he query. Any 'id' keys will be replaced with '_id' and the value converted
 	 * to an ObjectId if possible. This conversion should match the way that the id fields are converted during read
-	 * operations.
+	 * operations. The given query is modified in place.
 	 * 
 	 * @param query
 	 * @param targetClass
 	 * @param reader
+	 * @deprecated the template does not modify the queries handed to it anymore so that they can be shared. Subclasses
+	 *             overriding this method still get it invoked, but with a copy of the query.
 	 */
+	@Deprecated
 	protected void substituteMappedIdIfNecessary(DBObject query, Class<?> targetClass, MongoReader<?> reader) {
-		MongoConverter converter = null;
-		if (reader instanceof SimpleMongoConverter) {
-			converter = (MongoConverter) reader;
-		}
-		else {
+
+		DBObject mappedQuery = doGetMappedQuery(query, targetClass, reader);
+
+		if (mappedQuery == query) {
 			return;
 		}
-		String idKey = null;
-		if (query.containsField("id")) {
-			idKey = "id";
-		}
-		if (query.containsField("_id")) {
-			idKey = "_id";
+
+		for (String key : new ArrayList<String>(query.keySet())) {
+			query.removeField(key);
+		}
+
+		query.putAll(mappedQuery);
+	}
+
+	/**
+	 * Returns the query to send to the database for documents of the given entity class, mapping ids the way the
+	 * configured {@link MongoConverter} does.
+	 * 
+	 * @param query
+	 * @param entityClass can be {@literal null} to use the query as is.
+	 * @return
+	 */
+	private DBObject getMappedQuery(DBObject query, Class<?> entityClass) {
+		return entityClass == null ? query : getMappedQuery(query, entityClass, mongoConverter);
+	}
+
+	/**
+	 * Returns the query to actually send to the database for the given one, i.e. with the id key substituted as
+	 * described in {@link #substituteMappedIdIfNecessary(DBObject, Class, MongoReader)}. The given query is not
+	 * modified, a copy is returned if a substitution is necessary, so that query objects can be shared.
+	 * 
+	 * @param query
+	 * @param targetClass
+	 * @param reader
+	 * @return the query to use, either the given one or a modified copy of it.
+	 */
+	private DBObject getMappedQuery(DBObject query, Class<?> targetClass, MongoReader<?> reader) {
+
+		if (!substituteMappedIdOverridden) {
+			return doGetMappedQuery(query, targetClass, reader);
+		}
+
+		DBObject copy = new BasicDBObject(query.toMap());
+		substituteMappedIdIfNecessary(copy, targetClass, reader);
+		return copy;
+	}
+
+	private boolean isSubstituteMappedIdOverridden() {
+		Method method = ReflectionUtils.findMethod(getClass(), "substituteMappedIdIfNecessary", DBObject.class,
+				Class.class, MongoReader.class);
+		return !MongoTemplate.class.equals(method.getDeclaringClass());
+	}
+
+	/**
+	 * Maps the id of the given query without modifying it. {@link DelegatingMongoReader}s are unwrapped to map the ids
+	 * of the entity they read.
+	 * 
+	 * @param query
+	 * @param targetClass
+	 * @param reader
+	 * @return the query to use, either the given one or a modified copy of it.
+	 */
+	private DBObject doGetMappedQuery(DBObject query, Class<?> targetClass, MongoReader<?> reader) {
+		// use the entity type and converter behind projecting or otherwise delegating readers
+		while (reader instanceof DelegatingMongoReader) {
+			DelegatingMongoReader<?> delegatingReader = (DelegatingMongoReader<?>) reader;
+			targetClass = delegatingReader.getEntityClass();
+			reader = delegatingReader.getDelegate();
+		}
+		MongoConverter converter = null;
+		if (reader instanceof SimpleMongoConverter) {
+			converter = (MongoConverter) reader;
+		}
+		else {
+			return query;
+		}
+		String idKey = null;
+		if (query.containsField("id")) {
+			idKey = "id";
+		}
+		if (query.containsField("_id")) {
+			idKey = "_id";
 		}
 		if (idKey == null) {
 			// no ids in this query
-			return;
+			return query;
 		}
-		final MongoPropertyDescriptor descriptor;
-		try {
-			descriptor = new MongoPropertyDescriptor(new PropertyDescriptor(idKey, targetClass));
-		} catch (IntrospectionException e) {
+		MongoPropertyDescriptor descriptor = MongoPropertyDescriptors.forType(targetClass).getDescriptor(idKey);
+		if (descriptor == null) {
 			// no property descriptor for this key
-			return;
+			return query;
 		}
 		if (descriptor.isIdProperty() && descriptor.isOfIdType()) {
 			Object value = query.get(idKey);
@@ -969,16 +2020,227 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 			} catch (ConversionFailedException iae) {
 				LOGGER.warn("Unable to convert the String " + value + " to an ObjectId");
 			}
-			query.removeField(idKey);
-			if (newValue != null) {
-				query.put(MongoPropertyDescriptor.ID_KEY, newValue);
+			if (newValue == null && MongoPropertyDescriptor.ID_KEY.equals(idKey)) {
+				return query;
 			}
-			else {
-				query.put(MongoPropertyDescriptor.ID_KEY, value);
+			DBObject result = new BasicDBObject(query.toMap());
+			result.removeField(idKey);
+			result.put(MongoPropertyDescriptor.ID_KEY, newValue != null ? newValue : value);
+			return result;
+		}
+		return query;
+	}
+
+
+	/**
+	 * Runs a {@code findandmodify} command against the given collection. The given command document contains the
+	 * operation specific parts ({@code update} or {@code remove}), the query, sort and field specification are taken
+	 * from the given {@link Query}. The document returned by the server is converted using the given
+	 * {@link MongoReader} and evicted from the {@link DocumentCache}.
+	 * 
+	 * @param collectionName name of the collection to run the command against
+	 * @param query the query to select the document, can be {@literal null}.
+	 * @param command the operation specific parts of the command
+	 * @param targetClass the type to convert the document into
+	 * @param reader the MongoReader to convert from DBObject to an object, defaults to the configured converter.
+	 * @return the converted document or {@literal null} if no document matched.
+	 */
+	protected <T> T doFindAndModify(String collectionName, Query query, DBObject command, Class<T> targetClass,
+			MongoReader<T> reader) {
+
+		Assert.hasText(collectionName);
+		Assert.notNull(targetClass);
+
+		MongoReader<? super T> readerToUse = reader;
+		if (readerToUse == null) {
+			readerToUse = this.mongoConverter;
+		}
+
+		DBObject commandToUse = new BasicDBObject("findandmodify", collectionName);
+
+		if (query != null) {
+			commandToUse.put("query", getMappedQuery(query.getQueryObject(), targetClass, readerToUse));
+			DBObject sort = query.getSortObject();
+			if (sort != null && !sort.keySet().isEmpty()) {
+				commandToUse.put("sort", sort);
+			}
+			DBObject fields = query.getFieldsObject();
+			if (fields != null && !fields.keySet().isEmpty()) {
+				commandToUse.put("fields", fields);
+			}
+		}
+
+		commandToUse.putAll(command);
+
+		CommandResult result = doExecuteCommand(collectionName, commandToUse);
+
+		if (!result.ok()) {
+			String error = result.getErrorMessage();
+			if (error != null && error.contains(NO_MATCHING_OBJECT)) {
+				return null;
+			}
+			assertCommandSucceeded(result, commandToUse);
+		}
+
+		Object value = result.get("value");
+		if (!(value instanceof DBObject)) {
+			return null;
+		}
+
+		DBObject document = (DBObject) value;
+		if (documentCache != null && document.get(ID) != null) {
+			documentCache.evict(collectionName, document.get(ID));
+		}
+
+		return new ReadDbObjectCallback<T>(readerToUse, targetClass).doWith(document);
+	}
+
+	/**
+	 * Returns a {@link CloseableIterator} converting the given documents one by one.
+	 * 
+	 * @param documents must not be {@literal null}.
+	 * @param targetClass the type to convert the documents into
+	 * @param reader the {@link MongoReader} to use, {@literal null} for the configured {@link MongoConverter}.
+	 * @return
+	 */
+	<T> CloseableIterator<T> iterate(List<DBObject> documents, Class<T> targetClass, MongoReader<T> reader) {
+
+		MongoReader<? super T> readerToUse = reader == null ? this.mongoConverter : reader;
+		return new DocumentIterator<T>(documents.iterator(), new ReadDbObjectCallback<T>(readerToUse, targetClass));
+	}
+
+	/**
+	 * Runs the given command against the database without inspecting the result.
+	 * 
+	 * @param collectionName the collection the command operates on
+	 * @param command
+	 * @return
+	 */
+	private CommandResult doExecuteCommand(String collectionName, final DBObject command) {
+
+		return execute(collectionName, Operation.COMMAND, new DbCallback<CommandResult>() {
+			public CommandResult doInDB(DB db) throws MongoException, DataAccessException {
+				return db.command(command);
+			}
+		});
+	}
+
+	/**
+	 * Throws an {@link InvalidDataAccessApiUsageException} if the given {@link CommandResult} indicates a failure.
+	 * 
+	 * @param result
+	 * @param command
+	 */
+	private void assertCommandSucceeded(CommandResult result, DBObject command) {
+
+		if (result.ok()) {
+			return;
+		}
+
+		String error = result.getErrorMessage();
+		String message = "Command execution of " + command + " failed: " + error;
+
+		if (error != null && error.contains(DUPLICATE_KEY_ERROR)) {
+			throw new DataIntegrityViolationException(message);
+		}
+
+		throw new InvalidDataAccessApiUsageException(message);
+	}
+
+	/**
+	 * Returns the list stored under the given key of a successful command's {@link CommandResult}.
+	 * 
+	 * @param result
+	 * @param key
+	 * @param command
+	 * @return
+	 */
+	private List<?> getResultList(CommandResult result, String key, DBObject command) {
+
+		assertCommandSucceeded(result, command);
+		Object value = result.get(key);
+
+		if (!(value instanceof List)) {
+			throw new DataRetrievalFailureException("Command " + command + " did not return " + key + "!");
+		}
+
+		return (List<?>) value;
+	}
+
+	/**
+	 * Converts a single value returned by the server into the given type. Documents are read with the configured
+	 * {@link MongoConverter}, all other values are converted using the default {@link ConversionService}.
+	 * 
+	 * @param value
+	 * @param targetClass
+	 * @return
+	 */
+	private <T> T convertValue(Object value, Class<T> targetClass) {
+
+		if (value == null || targetClass.isInstance(value)) {
+			return targetClass.cast(value);
+		}
+
+		if (value instanceof DBObject) {
+			return new ReadDbObjectCallback<T>(mongoConverter, targetClass).doWith((DBObject) value);
+		}
+
+		return CONVERSION_SERVICE.convert(value, targetClass);
+	}
+
+	/**
+	 * Removes the documents potentially affected by a write operation using the given query from the
+	 * {@link DocumentCache}. Evicts single documents for queries by id and falls back to evicting the entire collection
+	 * for all other queries.
+	 * 
+	 * @param collectionName
+	 * @param query
+	 */
+	private void evictCachedDocuments(String collectionName, DBObject query) {
+
+		if (documentCache == null) {
+			return;
+		}
+
+		Object id = query == null ? null : query.get(ID);
+
+		if (id == null) {
+			documentCache.evictCollection(collectionName);
+			return;
+		}
+
+		if (!(id instanceof DBObject) || !isOperatorObject((DBObject) id)) {
+			documentCache.evict(collectionName, id);
+			return;
+		}
+
+		DBObject idQuery = (DBObject) id;
+		Object values = idQuery.get("$in");
+
+		if (idQuery.keySet().size() == 1 && values instanceof Object[]) {
+			values = Arrays.asList((Object[]) values);
+		}
+
+		if (idQuery.keySet().size() == 1 && values instanceof Collection) {
+			for (Object value : (Collection<?>) values) {
+				documentCache.evict(collectionName, value);
 			}
+			return;
 		}
+
+		documentCache.evictCollection(collectionName);
 	}
 
+	private static boolean isOperatorObject(DBObject object) {
+
+		for (String key : object.keySet()) {
+			if (key.startsWith("$")) {
+				return true;
+			}
+		}
+
+		return false;
+	}
 
 	private String getRequiredDefaultCollectionName() {
 		String name = getDefaultCollectionName();
@@ -1025,6 +2287,25 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 		
 	}
 
+	/**
+	 * Returns a {@link CursorPreparer} for the given {@link Query} or {@literal null} if the query does not require
+	 * the cursor to be prepared at all.
+	 * 
+	 * @param query
+	 * @return
+	 */
+	private CursorPreparer getCursorPreparer(Query query) {
+
+		DBObject sortObject = query.getSortObject();
+
+		if (query.getSkip() > 0 || query.getLimit() > 0 || sortObject != null || query.hasCursorOptions()
+				|| query.getReadRouting() != null) {
+			return new QueryCursorPreparer(query, sortObject);
+		}
+
+		return null;
+	}
+
 	/**
 	 * Tries to convert the given {@link RuntimeException} into a {@link DataAccessException} but returns the original
 	 * exception if the conversation failed. Thus allows safe rethrowing of the return value.
@@ -1062,13 +2343,26 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 		private final DBObject query;
 
 		private final DBObject fields;
+
+		private final ReadRouting routing;
 		
-		public FindOneCallback(DBObject query, DBObject fields) {
+		public FindOneCallback(DBObject query, DBObject fields, ReadRouting routing) {
 			this.query = query;
 			this.fields = fields;
+			this.routing = routing;
 		}
 
 		public DBObject doInCollection(DBCollection collection) throws MongoException, DataAccessException {
+
+			if (routing.isSlaveOk()) {
+				DBCursor cursor = collection.find(query, fields).addOption(Bytes.QUERYOPTION_SLAVEOK).limit(1);
+				try {
+					return cursor.hasNext() ? cursor.next() : null;
+				} finally {
+					cursor.close();
+				}
+			}
+
 			if (fields == null) {
 				return collection.findOne(query);
 			}
@@ -1121,6 +2415,221 @@ public class MongoTemplate implements InitializingBean, MongoOperations {
 		T doWith(DBObject object);
 	}
 	
+	/**
+	 * {@link CursorPreparer} applying skip, limit, sort and the additional cursor options of a {@link Query} to a
+	 * {@link DBCursor}. {@link MongoException}s are translated into Spring's {@link DataAccessException} hierarchy.
+	 * 
+	 * @author agent
+	 */
+	private class QueryCursorPreparer implements CursorPreparer {
+
+		private final Query query;
+		private final DBObject sortObject;
+
+		private QueryCursorPreparer(Query query, DBObject sortObject) {
+			this.query = query;
+			this.sortObject = sortObject;
+		}
+
+		public DBCursor prepare(DBCursor cursor) {
+
+			DBCursor cursorToUse = cursor;
+
+			try {
+				if (query.getSkip() > 0) {
+					cursorToUse = cursorToUse.skip(query.getSkip());
+				}
+				if (query.getLimit() > 0) {
+					cursorToUse = cursorToUse.limit(query.getLimit());
+				}
+
+				if (sortObject != null) {
+					cursorToUse = cursorToUse.sort(sortObject);
+				}
+
+				if (!query.hasCursorOptions()) {
+					return cursorToUse;
+				}
+
+				if (query.getBatchSize() != 0) {
+					cursorToUse = cursorToUse.batchSize(query.getBatchSize());
+				}
+				if (query.getHintObject() != null) {
+					cursorToUse = cursorToUse.hint(query.getHintObject());
+				} else if (query.getHintIndexName() != null) {
+					cursorToUse = cursorToUse.hint(query.getHintIndexName());
+				}
+				if (query.isSnapshot()) {
+					cursorToUse = cursorToUse.snapshot();
+				}
+				if (query.isNoCursorTimeout()) {
+					cursorToUse = cursorToUse.addOption(Bytes.QUERYOPTION_NOTIMEOUT);
+				}
+			} catch (MongoException e) {
+				throw potentiallyConvertRuntimeException(e);
+			}
+
+			return cursorToUse;
+		}
+	}
+
+	/**
+	 * {@link CloseableIterator} converting the {@link DBObject}s of a {@link DBCursor} on the fly. Closes the cursor
+	 * once it's exhausted, {@link #close()} is called or reading or converting a document fails. {@link MongoException}s
+	 * are translated into Spring's {@link DataAccessException} hierarchy.
+	 * 
+	 * @author agent
+	 */
+	private class CursorIterator<T> implements CloseableIterator<T> {
+
+		private final DBCursor cursor;
+		private final DbObjectCallback<T> objectCallback;
+		private boolean closed = false;
+
+		public CursorIterator(DBCursor cursor, DbObjectCallback<T> objectCallback) {
+			this.cursor = cursor;
+			this.objectCallback = objectCallback;
+		}
+
+		public boolean hasNext() {
+
+			if (closed) {
+				return false;
+			}
+
+			try {
+				boolean hasNext = cursor.hasNext();
+				if (!hasNext) {
+					close();
+				}
+				return hasNext;
+			} catch (RuntimeException e) {
+				close();
+				throw potentiallyConvertRuntimeException(e);
+			}
+		}
+
+		public T next() {
+
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			try {
+				return objectCallback.doWith(cursor.next());
+			} catch (RuntimeException e) {
+				close();
+				throw potentiallyConvertRuntimeException(e);
+			}
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException("Removing elements is not supported!");
+		}
+
+		public void close() {
+
+			if (closed) {
+				return;
+			}
+
+			closed = true;
+			cursor.close();
+		}
+	}
+
+	/**
+	 * {@link CloseableIterator} converting already retrieved {@link DBObject}s on the fly.
+	 * 
+	 * @author agent
+	 */
+	private static class DocumentIterator<T> implements CloseableIterator<T> {
+
+		private final Iterator<DBObject> documents;
+		private final DbObjectCallback<T> objectCallback;
+		private boolean closed = false;
+
+		public DocumentIterator(Iterator<DBObject> documents, DbObjectCallback<T> objectCallback) {
+			this.documents = documents;
+			this.objectCallback = objectCallback;
+		}
+
+		public boolean hasNext() {
+			return !closed && documents.hasNext();
+		}
+
+		public T next() {
+
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			return objectCallback.doWith(documents.next());
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException("Removing elements is not supported!");
+		}
+
+		public void close() {
+			closed = true;
+		}
+	}
+
+	/**
+	 * {@link DbObjectCallback} that puts the {@link DBObject}s handed to it into the {@link DocumentCache} (if
+	 * configured) and returns them as is. Reserves the cache entries for the given ids on creation, i.e. before the
+	 * documents are read, so that documents invalidated by a concurrent write in the meantime are not cached. Nothing is
+	 * cached if reads are routed to secondaries.
+	 * 
+	 * @author agent
+	 */
+	private class CachingDbObjectCallback implements DbObjectCallback<DBObject> {
+
+		private final String collectionName;
+		private final Map<Object, Object> reservations = new HashMap<Object, Object>();
+
+		public CachingDbObjectCallback(String collectionName, Collection<?> ids) {
+
+			this.collectionName = collectionName;
+
+			if (documentCache != null && !readRouting.isSlaveOk()) {
+				for (Object id : ids) {
+					reservations.put(id, documentCache.reserve(collectionName, id));
+				}
+			}
+		}
+
+		public DBObject doWith(DBObject object) {
+
+			if (object == null) {
+				releaseReservations();
+				return null;
+			}
+
+			Object id = object.get(ID);
+			Object token = reservations.remove(id);
+
+			if (token != null) {
+				documentCache.put(collectionName, id, object, token);
+			}
+
+			return object;
+		}
+
+		/**
+		 * Releases the reservations of all documents that were not read.
+		 */
+		public void releaseReservations() {
+
+			for (Map.Entry<Object, Object> entry : reservations.entrySet()) {
+				documentCache.put(collectionName, entry.getKey(), null, entry.getValue());
+			}
+
+			reservations.clear();
+		}
+	}
+
 	/**
 	 * Simple {@link DbObjectCallback} that will transform {@link DBObject} into the given target type using the given
 	 * {@link MongoReader}.
@@ -0,0 +1,394 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.util.Assert;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+/**
+ * Write-behind queue for inserts that do not require synchronous acknowledgement, e.g. event logging. Objects are
+ * converted into {@link DBObject}s on the calling thread and buffered in a bounded queue. A background thread writes
+ * them to the database in batches as soon as {@link #setFlushSize(int)} documents are pending or
+ * {@link #setFlushInterval(long)} milliseconds have passed. Callers block if the queue is full, i.e. if the documents
+ * buffered or currently being written reach {@link #setCapacity(int)}. Failed writes are reported to the configured
+ * {@link WriteBehindFailureListener}.
+ * <p>
+ * Ids are assigned on enqueueing, so they are available on the objects immediately. Pending documents are written
+ * when the queue is destroyed, so make sure it's registered as Spring bean or {@link #destroy()} is called on
+ * shutdown. Destroying the queue rejects new inserts and waits for the ones in flight before the final flush.
+ * 
+ * @author agent
+ */
+public class MongoWriteBehindQueue implements InitializingBean, DisposableBean {
+
+	private static final Log LOGGER = LogFactory.getLog(MongoWriteBehindQueue.class);
+	private static final String ID = "_id";
+
+	private final MongoTemplate template;
+	private final Queue<PendingDocument> queue = new ConcurrentLinkedQueue<PendingDocument>();
+	private final AtomicInteger pending = new AtomicInteger();
+	private final Object monitor = new Object();
+	private final Object flushMonitor = new Object();
+	private final ReadWriteLock lifecycle = new ReentrantReadWriteLock();
+
+	private int capacity = 10000;
+	private int flushSize = 500;
+	private long flushInterval = 1000;
+	private long enqueueTimeout = -1;
+	private WriteBehindFailureListener failureListener = new LoggingFailureListener();
+
+	private Semaphore permits;
+	private Thread flusher;
+	private volatile boolean running = false;
+	private volatile boolean flushing = false;
+
+	/**
+	 * Creates a new {@link MongoWriteBehindQueue} writing through the given {@link MongoTemplate}.
+	 * 
+	 * @param template must not be {@literal null}.
+	 */
+	public MongoWriteBehindQueue(MongoTemplate template) {
+		Assert.notNull(template);
+		this.template = template;
+	}
+
+	/**
+	 * Configures the maximum number of documents buffered. Defaults to 10000.
+	 * 
+	 * @param capacity
+	 */
+	public void setCapacity(int capacity) {
+		Assert.isTrue(capacity > 0, "Capacity must be greater than zero!");
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Configures the number of pending documents that triggers a flush. Defaults to 500.
+	 * 
+	 * @param flushSize
+	 */
+	public void setFlushSize(int flushSize) {
+		Assert.isTrue(flushSize > 0, "Flush size must be greater than zero!");
+		this.flushSize = flushSize;
+	}
+
+	/**
+	 * Configures the maximum time in milliseconds documents are buffered before being flushed. Defaults to 1000.
+	 * 
+	 * @param flushInterval
+	 */
+	public void setFlushInterval(long flushInterval) {
+		Assert.isTrue(flushInterval > 0, "Flush interval must be greater than zero!");
+		this.flushInterval = flushInterval;
+	}
+
+	/**
+	 * Configures the time in milliseconds a caller waits for free space in a full queue before a
+	 * {@link TransientDataAccessResourceException} is thrown. A negative value (the default) waits indefinitely.
+	 * 
+	 * @param enqueueTimeout
+	 */
+	public void setEnqueueTimeout(long enqueueTimeout) {
+		this.enqueueTimeout = enqueueTimeout;
+	}
+
+	/**
+	 * Configures the {@link WriteBehindFailureListener} to notify about failed writes. Defaults to a listener that logs
+	 * the failure.
+	 * 
+	 * @param failureListener must not be {@literal null}.
+	 */
+	public void setFailureListener(WriteBehindFailureListener failureListener) {
+		Assert.notNull(failureListener);
+		this.failureListener = failureListener;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.springframework.beans.factory.InitializingBean#afterPropertiesSet()
+	 */
+	public void afterPropertiesSet() {
+
+		this.permits = new Semaphore(capacity);
+		this.running = true;
+		this.flushing = true;
+		this.flusher = new Thread(new Flusher(), "mongo-write-behind");
+		this.flusher.setDaemon(true);
+		this.flusher.start();
+	}
+
+	/**
+	 * Enqueues the given object for insertion into the template's default collection.
+	 * 
+	 * @param objectToSave
+	 */
+	public void insert(Object objectToSave) {
+		insert(template.getDefaultCollectionName(), objectToSave);
+	}
+
+	/**
+	 * Enqueues the given object for insertion into the given collection using the template's {@link MongoConverter}.
+	 * 
+	 * @param collectionName
+	 * @param objectToSave
+	 */
+	public void insert(String collectionName, Object objectToSave) {
+		insert(collectionName, objectToSave, template.getConverter());
+	}
+
+	/**
+	 * Enqueues the given object for insertion into the given collection using the given {@link MongoWriter}.
+	 * 
+	 * @param collectionName
+	 * @param objectToSave
+	 * @param writer
+	 */
+	public <T> void insert(String collectionName, T objectToSave, MongoWriter<T> writer) {
+
+		Assert.hasText(collectionName);
+		Assert.notNull(objectToSave);
+		Assert.notNull(writer);
+		Assert.state(running, "Write-behind queue is not running!");
+
+		DBObject dbDoc = new BasicDBObject();
+		writer.write(objectToSave, dbDoc);
+
+		if (dbDoc.get(ID) == null) {
+			ObjectId id = new ObjectId();
+			dbDoc.put(ID, id);
+			template.populateIdIfNecessary(objectToSave, id);
+		}
+
+		lifecycle.readLock().lock();
+
+		try {
+			Assert.state(running, "Write-behind queue is not running!");
+			acquirePermit();
+			queue.add(new PendingDocument(collectionName, dbDoc));
+		} finally {
+			lifecycle.readLock().unlock();
+		}
+
+		if (pending.incrementAndGet() >= flushSize) {
+			synchronized (monitor) {
+				monitor.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of documents waiting to be written.
+	 * 
+	 * @return
+	 */
+	public int getPendingCount() {
+		return pending.get();
+	}
+
+	/**
+	 * Writes all pending documents on the calling thread.
+	 */
+	public void flush() {
+		synchronized (flushMonitor) {
+			while (flushBatch() > 0) {
+				// keep flushing
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.springframework.beans.factory.DisposableBean#destroy()
+	 */
+	public void destroy() throws InterruptedException {
+
+		running = false;
+
+		synchronized (monitor) {
+			monitor.notifyAll();
+		}
+
+		// Waits for inserts in flight, the flusher keeps freeing space for the ones blocked on a full queue
+		lifecycle.writeLock().lockInterruptibly();
+
+		try {
+			flushing = false;
+
+			synchronized (monitor) {
+				monitor.notifyAll();
+			}
+
+			if (flusher != null) {
+				flusher.join(flushInterval * 10);
+			}
+
+			flush();
+		} finally {
+			lifecycle.writeLock().unlock();
+		}
+	}
+
+	private void acquirePermit() {
+
+		if (permits.tryAcquire()) {
+			return;
+		}
+
+		synchronized (monitor) {
+			monitor.notifyAll();
+		}
+
+		try {
+			if (enqueueTimeout < 0) {
+				permits.acquire();
+			} else if (!permits.tryAcquire(enqueueTimeout, TimeUnit.MILLISECONDS)) {
+				throw new TransientDataAccessResourceException("Write-behind queue full, could not enqueue document within "
+						+ enqueueTimeout + "ms");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new TransientDataAccessResourceException("Interrupted while waiting for write-behind queue", e);
+		}
+	}
+
+	/**
+	 * Removes up to {@link #flushSize} documents from the queue and writes them grouped by collection. Frees their space
+	 * in the queue only after they were written, so that callers are blocked while writes lag behind.
+	 * 
+	 * @return the number of documents removed from the queue
+	 */
+	private int flushBatch() {
+
+		Map<String, List<DBObject>> batches = new LinkedHashMap<String, List<DBObject>>();
+		int count = 0;
+		PendingDocument document;
+
+		while (count < flushSize && (document = queue.poll()) != null) {
+
+			List<DBObject> batch = batches.get(document.collectionName);
+
+			if (batch == null) {
+				batch = new ArrayList<DBObject>();
+				batches.put(document.collectionName, batch);
+			}
+
+			batch.add(document.dbObject);
+			count++;
+		}
+
+		if (count == 0) {
+			return 0;
+		}
+
+		pending.addAndGet(-count);
+
+		try {
+			for (Entry<String, List<DBObject>> entry : batches.entrySet()) {
+				try {
+					template.insertDBObjectList(entry.getKey(), entry.getValue());
+				} catch (RuntimeException e) {
+					failureListener.onFailure(entry.getKey(), entry.getValue(), e);
+				}
+			}
+		} finally {
+			permits.release(count);
+		}
+
+		return count;
+	}
+
+	/**
+	 * Background task flushing the queue on size and time thresholds.
+	 * 
+	 * @author agent
+	 */
+	private class Flusher implements Runnable {
+
+		public void run() {
+
+			while (flushing) {
+
+				try {
+					synchronized (monitor) {
+						if (flushing && pending.get() < flushSize) {
+							monitor.wait(flushInterval);
+						}
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+
+				try {
+					flush();
+				} catch (RuntimeException e) {
+					LOGGER.error("Unexpected error flushing write-behind queue", e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * A converted document waiting to be written to a collection.
+	 * 
+	 * @author agent
+	 */
+	private static class PendingDocument {
+
+		private final String collectionName;
+		private final DBObject dbObject;
+
+		public PendingDocument(String collectionName, DBObject dbObject) {
+			this.collectionName = collectionName;
+			this.dbObject = dbObject;
+		}
+	}
+
+	/**
+	 * {@link WriteBehindFailureListener} that simply logs failed writes.
+	 * 
+	 * @author agent
+	 */
+	private static class LoggingFailureListener implements WriteBehindFailureListener {
+
+		public void onFailure(String collectionName, List<DBObject> documents, RuntimeException exception) {
+			LOGGER.error("Failed to write " + documents.size() + " documents to collection " + collectionName, exception);
+		}
+	}
+}
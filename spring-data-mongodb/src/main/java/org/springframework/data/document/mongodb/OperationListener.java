@@ -0,0 +1,39 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb;
+
+/**
+ * Listener a {@link MongoTemplate} notifies around every operation, i.e. around the time the driver holds a connection
+ * from its pool. Listeners only observe, they can't delay or reject operations. As the driver does not expose its pool,
+ * they see the operations of the templates they are registered with only. Implementations must neither block nor
+ * throw, have to be thread-safe and must tolerate nested calls by the same thread as template operations might be
+ * executed from within callbacks.
+ * 
+ * @author agent
+ */
+public interface OperationListener {
+
+	/**
+	 * Notifies the listener that the calling thread is about to execute an operation.
+	 */
+	void operationStarted();
+
+	/**
+	 * Notifies the listener that the operation of the calling thread has finished, successfully or not. Called exactly
+	 * once for every call to {@link #operationStarted()}.
+	 */
+	void operationFinished();
+}
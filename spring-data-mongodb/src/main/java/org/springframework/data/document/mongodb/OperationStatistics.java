@@ -0,0 +1,309 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bson.BSON;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedMetric;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedOperationParameter;
+import org.springframework.jmx.export.annotation.ManagedOperationParameters;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.jmx.support.MetricType;
+import org.springframework.util.Assert;
+
+import com.mongodb.DBObject;
+
+/**
+ * Client side statistics of the operations executed by a {@link MongoTemplate}. Records a {@link LatencyHistogram}, the
+ * number of documents read or written and the number of failures per collection and {@link Operation}. Can be exported
+ * via JMX.
+ * 
+ * @author agent
+ */
+@ManagedResource(description = "Operation Statistics")
+public class OperationStatistics {
+
+	static final String NO_COLLECTION = "<db>";
+
+	/**
+	 * The types of operations statistics are recorded for.
+	 * 
+	 * @author agent
+	 */
+	public enum Operation {
+		FIND, FIND_ONE, COUNT, INSERT, SAVE, UPDATE, REMOVE, COMMAND, EXECUTE;
+	}
+
+	private final ConcurrentMap<String, OperationTimer[]> timers = new ConcurrentHashMap<String, OperationTimer[]>();
+
+	private volatile boolean enabled = true;
+	private volatile boolean recordDocumentSizes = false;
+
+	/**
+	 * Enables or disables recording statistics. Defaults to {@literal true}.
+	 * 
+	 * @param enabled
+	 */
+	@ManagedAttribute(description = "Whether to record statistics")
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	@ManagedAttribute(description = "Whether to record statistics")
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Configures whether to record the BSON size of the documents read and written. Requires every document to be
+	 * encoded once more and is thus disabled by default.
+	 * 
+	 * @param recordDocumentSizes
+	 */
+	@ManagedAttribute(description = "Whether to record the BSON size of documents")
+	public void setRecordDocumentSizes(boolean recordDocumentSizes) {
+		this.recordDocumentSizes = recordDocumentSizes;
+	}
+
+	@ManagedAttribute(description = "Whether to record the BSON size of documents")
+	public boolean isRecordDocumentSizes() {
+		return recordDocumentSizes;
+	}
+
+	/**
+	 * Starts timing an operation of the given type against the given collection.
+	 * 
+	 * @param collectionName the collection the operation is executed against, can be {@literal null} for database
+	 *          level operations.
+	 * @param operation must not be {@literal null}.
+	 * @return the {@link Sample} to finish once the operation completed.
+	 */
+	Sample start(String collectionName, Operation operation) {
+
+		if (!enabled) {
+			return Sample.NONE;
+		}
+
+		return new Sample(getTimer(collectionName, operation), recordDocumentSizes);
+	}
+
+	/**
+	 * Returns the {@link OperationTimer} for the given collection and {@link Operation}.
+	 * 
+	 * @param collectionName can be {@literal null} for database level operations.
+	 * @param operation must not be {@literal null}.
+	 * @return
+	 */
+	public OperationTimer getTimer(String collectionName, Operation operation) {
+
+		Assert.notNull(operation);
+
+		String key = collectionName == null ? NO_COLLECTION : collectionName;
+		OperationTimer[] collectionTimers = timers.get(key);
+
+		if (collectionTimers == null) {
+
+			OperationTimer[] newTimers = new OperationTimer[Operation.values().length];
+			for (int i = 0; i < newTimers.length; i++) {
+				newTimers[i] = new OperationTimer();
+			}
+
+			collectionTimers = timers.putIfAbsent(key, newTimers);
+			collectionTimers = collectionTimers == null ? newTimers : collectionTimers;
+		}
+
+		return collectionTimers[operation.ordinal()];
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, displayName = "Operations")
+	public long getOperations() {
+
+		long result = 0;
+		for (OperationTimer[] collectionTimers : timers.values()) {
+			for (OperationTimer timer : collectionTimers) {
+				result += timer.getLatencies().getCount();
+			}
+		}
+		return result;
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, displayName = "Failures")
+	public long getFailures() {
+
+		long result = 0;
+		for (OperationTimer[] collectionTimers : timers.values()) {
+			for (OperationTimer timer : collectionTimers) {
+				result += timer.getFailures();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns a summary line per collection and {@link Operation} that was executed at least once, containing the
+	 * number of operations, mean, 50th, 95th and 99th percentile as well as maximum latency in microseconds, the number
+	 * of documents, bytes and failures.
+	 * 
+	 * @return
+	 */
+	@ManagedAttribute(description = "Latency summary per collection and operation")
+	public String[] getSummary() {
+
+		List<String> result = new ArrayList<String>();
+
+		for (Map.Entry<String, OperationTimer[]> entry : new TreeMap<String, OperationTimer[]>(timers).entrySet()) {
+			for (Operation operation : Operation.values()) {
+
+				OperationTimer timer = entry.getValue()[operation.ordinal()];
+				LatencyHistogram latencies = timer.getLatencies();
+
+				if (latencies.getCount() == 0) {
+					continue;
+				}
+
+				result.add(String.format("%s %s: count=%s, mean=%.1fus, p50=%sus, p95=%sus, p99=%sus, max=%sus, "
+						+ "documents=%s, bytes=%s, failures=%s", entry.getKey(), operation, latencies.getCount(),
+						latencies.getMean(), latencies.getValueAtPercentile(50), latencies.getValueAtPercentile(95),
+						latencies.getValueAtPercentile(99), latencies.getMax(), timer.getDocuments(), timer.getBytes(),
+						timer.getFailures()));
+			}
+		}
+
+		return result.toArray(new String[result.size()]);
+	}
+
+	@ManagedOperation(description = "Returns the latency in microseconds at the given percentile")
+	@ManagedOperationParameters({
+			@ManagedOperationParameter(name = "collectionName", description = "The collection"),
+			@ManagedOperationParameter(name = "operation", description = "The operation, e.g. FIND or INSERT"),
+			@ManagedOperationParameter(name = "percentile", description = "The percentile between 0 and 100") })
+	public long getLatencyAtPercentile(String collectionName, String operation, double percentile) {
+
+		OperationTimer[] collectionTimers = timers.get(collectionName);
+		return collectionTimers == null ? 0 : collectionTimers[Operation.valueOf(operation).ordinal()].getLatencies()
+				.getValueAtPercentile(percentile);
+	}
+
+	@ManagedOperation(description = "Resets all statistics")
+	public void reset() {
+		timers.clear();
+	}
+
+	/**
+	 * Statistics of a single operation type against a single collection.
+	 * 
+	 * @author agent
+	 */
+	public static class OperationTimer {
+
+		private final LatencyHistogram latencies = new LatencyHistogram();
+		private final AtomicLong documents = new AtomicLong();
+		private final AtomicLong bytes = new AtomicLong();
+		private final AtomicLong failures = new AtomicLong();
+
+		public LatencyHistogram getLatencies() {
+			return latencies;
+		}
+
+		public long getDocuments() {
+			return documents.get();
+		}
+
+		public long getBytes() {
+			return bytes.get();
+		}
+
+		public long getFailures() {
+			return failures.get();
+		}
+	}
+
+	/**
+	 * A single timed operation. Not thread-safe.
+	 * 
+	 * @author agent
+	 */
+	static class Sample {
+
+		static final Sample NONE = new Sample(null, false);
+
+		private final OperationTimer timer;
+		private final boolean recordDocumentSizes;
+		private final long start;
+
+		private long documents;
+		private long bytes;
+		private boolean succeeded;
+
+		private Sample(OperationTimer timer, boolean recordDocumentSizes) {
+			this.timer = timer;
+			this.recordDocumentSizes = recordDocumentSizes;
+			this.start = timer == null ? 0 : System.nanoTime();
+		}
+
+		/**
+		 * Records the given document as read or written by the operation.
+		 * 
+		 * @param document
+		 */
+		void addDocument(DBObject document) {
+
+			if (timer == null || document == null) {
+				return;
+			}
+
+			documents++;
+
+			if (recordDocumentSizes) {
+				bytes += BSON.encode(document).length;
+			}
+		}
+
+		/**
+		 * Marks the operation as succeeded.
+		 */
+		void succeeded() {
+			this.succeeded = true;
+		}
+
+		/**
+		 * Finishes the operation and records its statistics. Operations not marked as succeeded are counted as failures.
+		 */
+		void stop() {
+
+			if (timer == null) {
+				return;
+			}
+
+			timer.latencies.recordSince(start);
+			timer.documents.addAndGet(documents);
+			timer.bytes.addAndGet(bytes);
+
+			if (!succeeded) {
+				timer.failures.incrementAndGet();
+			}
+		}
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.data.document.mongodb.query.ReadRouting;
+import org.springframework.jmx.export.annotation.ManagedMetric;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.jmx.support.MetricType;
+import org.springframework.util.Assert;
+
+/**
+ * Counts the reads issued by a {@link MongoTemplate} per {@link ReadRouting} to show how much of the read load can be
+ * served by secondaries. Can be exported via JMX.
+ * 
+ * @author agent
+ */
+@ManagedResource(description = "Read Routing Statistics")
+public class ReadRoutingStatistics {
+
+	private final Map<ReadRouting, AtomicLong> counters = new EnumMap<ReadRouting, AtomicLong>(ReadRouting.class);
+
+	public ReadRoutingStatistics() {
+		for (ReadRouting routing : ReadRouting.values()) {
+			counters.put(routing, new AtomicLong());
+		}
+	}
+
+	/**
+	 * Records a read routed according to the given {@link ReadRouting}.
+	 * 
+	 * @param routing must not be {@literal null}.
+	 */
+	void record(ReadRouting routing) {
+		Assert.notNull(routing);
+		counters.get(routing).incrementAndGet();
+	}
+
+	/**
+	 * Returns the number of reads routed according to the given {@link ReadRouting}.
+	 * 
+	 * @param routing must not be {@literal null}.
+	 * @return
+	 */
+	public long getReads(ReadRouting routing) {
+		Assert.notNull(routing);
+		return counters.get(routing).get();
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, displayName = "Primary reads")
+	public long getPrimaryReads() {
+		return getReads(ReadRouting.PRIMARY);
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, displayName = "Secondary preferred reads")
+	public long getSecondaryPreferredReads() {
+		return getReads(ReadRouting.SECONDARY_PREFERRED);
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, displayName = "Nearest reads")
+	public long getNearestReads() {
+		return getReads(ReadRouting.NEAREST);
+	}
+
+	@ManagedMetric(metricType = MetricType.GAUGE, displayName = "Slave ok ratio")
+	public double getSlaveOkRatio() {
+
+		long slaveOk = 0;
+		long total = 0;
+
+		for (Map.Entry<ReadRouting, AtomicLong> entry : counters.entrySet()) {
+			long reads = entry.getValue().get();
+			total += reads;
+			slaveOk += entry.getKey().isSlaveOk() ? reads : 0;
+		}
+
+		return total == 0 ? 0 : (double) slaveOk / total;
+	}
+
+	@ManagedOperation(description = "Resets all counters")
+	public void reset() {
+		for (AtomicLong counter : counters.values()) {
+			counter.set(0);
+		}
+	}
+}
@@ -16,12 +16,9 @@
 package org.springframework.data.document.mongodb;
 
 import java.lang.reflect.Array;
-import java.lang.reflect.GenericArrayType;
-import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Method;
 import java.lang.reflect.Type;
-import java.lang.reflect.TypeVariable;
 import java.math.BigInteger;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -47,6 +44,8 @@ import org.springframework.core.convert.support.ConversionServiceFactory;
 import org.springframework.core.convert.support.GenericConversionService;
 import org.springframework.data.document.mongodb.MongoPropertyDescriptors.MongoPropertyDescriptor;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.comparator.CompoundComparator;
 
 import com.mongodb.BasicDBList;
@@ -117,6 +116,8 @@ public class SimpleMongoConverter implements MongoConverter {
 	}
 
 	private final GenericConversionService conversionService;
+	private final boolean createMapOverridden = isCreateMapOverridden();
+	private boolean useReflectiveAccess = false;
 
 	/**
 	 * Creates a {@link SimpleMongoConverter}.
@@ -154,6 +155,18 @@ public class SimpleMongoConverter implements MongoConverter {
 		}
 	}
 
+	/**
+	 * Configures whether to access properties and constructors through cached reflective members instead of a
+	 * {@link org.springframework.beans.BeanWrapper} per object. Properties that cannot be accessed directly (e.g. ones
+	 * without a backing field or requiring a conversion the {@link ConversionService} does not support) will still be
+	 * handled through the {@link org.springframework.beans.BeanWrapper}. Defaults to {@literal false}.
+	 * 
+	 * @param useReflectiveAccess
+	 */
+	public void setUseReflectiveAccess(boolean useReflectiveAccess) {
+		this.useReflectiveAccess = useReflectiveAccess;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -306,8 +319,9 @@ public class SimpleMongoConverter implements MongoConverter {
 		}
 	}
 
-	/*
-	 * (non-Javadoc)
+	/**
+	 * Reads the given {@link DBObject} into an instance of the given class. Requests for a {@link DBObject} type the
+	 * source already is an instance of return the source as is without any conversion.
 	 * 
 	 * @see org.springframework.data.document.mongodb.MongoReader#read(java.lang.Class, com.mongodb.DBObject)
 	 */
@@ -318,8 +332,12 @@ public class SimpleMongoConverter implements MongoConverter {
 		}
 
 		Assert.notNull(clazz, "Mapped class was not specified");
-		S target = BeanUtils.instantiateClass(clazz);
-		MongoBeanWrapper bw = new MongoBeanWrapper(target, conversionService, true);
+
+		if (DBObject.class.isAssignableFrom(clazz) && clazz.isInstance(source)) {
+			return clazz.cast(source);
+		}
+		S target = instantiate(clazz);
+		MongoBeanWrapper bw = createWrapper(target, true);
 
 		for (MongoPropertyDescriptor descriptor : bw.getDescriptors()) {
 			String keyToUse = descriptor.getKeyToMap();
@@ -327,11 +345,13 @@ public class SimpleMongoConverter implements MongoConverter {
 				if (descriptor.isMappable()) {
 					Object value = source.get(keyToUse);
 					if (!isSimpleType(value.getClass())) {
-						if (value instanceof Object[]) {
-							bw.setValue(descriptor, readCollection(descriptor, Arrays.asList((Object[]) value))
-									.toArray());
-						} else if (value instanceof BasicDBList) {
-							bw.setValue(descriptor, readCollection(descriptor, (BasicDBList) value));
+						if (descriptor.isLazyLoad() && (value instanceof DBObject || value instanceof Object[])) {
+							bw.setValue(descriptor, createLazyLoadingProxy(descriptor, value));
+						} else if (value instanceof Object[] || value instanceof BasicDBList) {
+							Collection<?> values = value instanceof Object[] ? Arrays.asList((Object[]) value)
+									: (BasicDBList) value;
+							bw.setValue(descriptor, descriptor.getPropertyType().isArray() ? readArray(descriptor, values)
+									: readCollection(descriptor, values));
 						} else if (value instanceof DBObject) {
 							bw.setValue(descriptor, readCompoundValue(descriptor, (DBObject) value));
 						} else {
@@ -353,6 +373,29 @@ public class SimpleMongoConverter implements MongoConverter {
 		return target;
 	}
 
+	/**
+	 * Creates a proxy for the given {@link LazyLoad} property that reads the given collection or compound value on
+	 * first access.
+	 * 
+	 * @param descriptor
+	 * @param value
+	 * @return
+	 */
+	private Object createLazyLoadingProxy(final MongoPropertyDescriptor descriptor, final Object value) {
+
+		return LazyLoadingProxy.create(descriptor.getPropertyType(), new LazyLoadingProxy.ValueResolver() {
+			public Object resolve() {
+				if (value instanceof Object[]) {
+					return readCollection(descriptor, Arrays.asList((Object[]) value));
+				}
+				if (value instanceof BasicDBList) {
+					return readCollection(descriptor, (BasicDBList) value);
+				}
+				return readCompoundValue(descriptor, (DBObject) value);
+			}
+		});
+	}
+
 	/**
 	 * Reads the given collection values (that are {@link DBObject}s potentially) into a {@link Collection} of domain
 	 * objects.
@@ -363,20 +406,15 @@ public class SimpleMongoConverter implements MongoConverter {
 	 */
 	private Collection<Object> readCollection(MongoPropertyDescriptor descriptor, Collection<?> values) {
 
-		Class<?> targetCollectionType = descriptor.getPropertyType();
-		boolean targetIsArray = targetCollectionType.isArray();
-
 		@SuppressWarnings("unchecked")
-		Collection<Object> result = targetIsArray ? new ArrayList<Object>(values.size()) : CollectionFactory
-				.createCollection(targetCollectionType, values.size());
+		Collection<Object> result = CollectionFactory.createCollection(descriptor.getPropertyType(), values.size());
+
+		Class<?> type = null;
 
 		for (Object o : values) {
 			if (o instanceof DBObject) {
-				Class<?> type;
-				if (targetIsArray) {
-					type = targetCollectionType.getComponentType();
-				} else {
-					type = getGenericParameters(descriptor.getTypeToSet()).get(0);
+				if (type == null) {
+					type = descriptor.getGenericParameters().get(0);
 				}
 				result.add(read(type, (DBObject) o));
 			} else {
@@ -387,6 +425,99 @@ public class SimpleMongoConverter implements MongoConverter {
 		return result;
 	}
 
+	/**
+	 * Reads the given collection values into an array of the descriptor's component type. Values for {@code int[]},
+	 * {@code long[]} and {@code double[]} properties are unboxed directly into the array.
+	 * 
+	 * @param descriptor
+	 * @param values
+	 * @return
+	 */
+	private Object readArray(MongoPropertyDescriptor descriptor, Collection<?> values) {
+
+		Class<?> componentType = descriptor.getPropertyType().getComponentType();
+		int i = 0;
+
+		if (int.class.equals(componentType)) {
+			int[] result = new int[values.size()];
+			for (Object value : values) {
+				Number number = toNumber(value, Integer.class);
+				if (number != null) {
+					result[i] = number.intValue();
+				}
+				i++;
+			}
+			return result;
+		}
+
+		if (long.class.equals(componentType)) {
+			long[] result = new long[values.size()];
+			for (Object value : values) {
+				Number number = toNumber(value, Long.class);
+				if (number != null) {
+					result[i] = number.longValue();
+				}
+				i++;
+			}
+			return result;
+		}
+
+		if (double.class.equals(componentType)) {
+			double[] result = new double[values.size()];
+			for (Object value : values) {
+				Number number = toNumber(value, Double.class);
+				if (number != null) {
+					result[i] = number.doubleValue();
+				}
+				i++;
+			}
+			return result;
+		}
+
+		Object result = Array.newInstance(componentType, values.size());
+
+		for (Object value : values) {
+			Object element = value instanceof DBObject ? read(componentType, (DBObject) value) : convert(value,
+					componentType);
+			if (element != null) {
+				Array.set(result, i, element);
+			}
+			i++;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns the given value as {@link Number}, converting it into the given type if it is not a {@link Number}
+	 * already. Returns {@literal null} for {@literal null} values so that primitive array slots keep their default.
+	 * 
+	 * @param value
+	 * @param targetType
+	 * @return
+	 */
+	private Number toNumber(Object value, Class<? extends Number> targetType) {
+		return value == null || value instanceof Number ? (Number) value : convert(value, targetType);
+	}
+
+	/**
+	 * Converts the given simple value into the given type. Values already of the target type are returned as is without
+	 * consulting the {@link ConversionService}.
+	 * 
+	 * @param value
+	 * @param targetType
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> T convert(Object value, Class<T> targetType) {
+
+		if (value == null || ClassUtils.isAssignableValue(targetType, value)) {
+			return (T) value;
+		}
+
+		return conversionService.convert(value, targetType);
+	}
+
 	/**
 	 * Reads a compound value from the given {@link DBObject} for the given property.
 	 * 
@@ -399,7 +530,7 @@ public class SimpleMongoConverter implements MongoConverter {
 		Assert.isTrue(!pd.isCollection(), "Collections not supported!");
 
 		if (pd.isMap()) {
-			return readMap(pd, dbo, getGenericParameters(pd.getTypeToSet()).get(1));
+			return readMap(pd, dbo, pd.getGenericParameters().get(1));
 		} else {
 			return read(pd.getPropertyType(), dbo);
 		}
@@ -415,6 +546,22 @@ public class SimpleMongoConverter implements MongoConverter {
 		return new HashMap<String, Object>();
 	}
 
+	/**
+	 * Create a {@link Map} instance able to hold the given number of entries. Delegates to {@link #createMap()} if a
+	 * subclass overrides it and returns a {@link HashMap} sized to hold the entries without resizing otherwise.
+	 * 
+	 * @param size the number of entries that will be added to the {@link Map}
+	 * @return
+	 */
+	protected Map<String, Object> createMap(int size) {
+		return createMapOverridden ? createMap() : new HashMap<String, Object>((int) (size / 0.75f) + 1);
+	}
+
+	private boolean isCreateMapOverridden() {
+		Method method = ReflectionUtils.findMethod(getClass(), "createMap");
+		return !SimpleMongoConverter.class.equals(method.getDeclaringClass());
+	}
+
 	/**
 	 * Reads every key/value pair from the {@link DBObject} into a {@link Map} instance.
 	 * 
@@ -424,21 +571,28 @@ public class SimpleMongoConverter implements MongoConverter {
 	 * @return
 	 */
 	protected Map<?, ?> readMap(MongoPropertyDescriptors.MongoPropertyDescriptor pd, DBObject dbo, Class<?> targetType) {
-		Map<String, Object> map = createMap();
-		for (String key : dbo.keySet()) {
+		Set<String> keys = dbo.keySet();
+		Map<String, Object> map = createMap(keys.size());
+		for (String key : keys) {
 			Object value = dbo.get(key);
 			if (!isSimpleType(value.getClass())) {
 				map.put(key, read(targetType, (DBObject) value));
 				// Can do some reflection tricks here -
 				// throw new RuntimeException("User types not supported yet as values for Maps");
 			} else {
-				map.put(key, conversionService.convert(value, targetType));
+				map.put(key, convert(value, targetType));
 			}
 		}
 		return map;
 	}
 
-	protected static boolean isSimpleType(Class<?> propertyType) {
+	/**
+	 * Returns whether values of the given type are written to a {@link DBObject} as they are, without conversion.
+	 * 
+	 * @param propertyType
+	 * @return
+	 */
+	public static boolean isSimpleType(Class<?> propertyType) {
 		if (propertyType == null) {
 			return false;
 		}
@@ -457,40 +611,30 @@ public class SimpleMongoConverter implements MongoConverter {
 	 */
 	protected MongoBeanWrapper createWrapper(Object target, boolean fieldAccess) {
 
-		return new MongoBeanWrapper(target, conversionService, fieldAccess);
+		return new MongoBeanWrapper(target, conversionService, fieldAccess, useReflectiveAccess);
 	}
 
-	List<Class<?>> getGenericParameters(Type genericParameterType) {
-
-		List<Class<?>> actualGenericParameterTypes = new ArrayList<Class<?>>();
+	/**
+	 * Creates a new instance of the given type. Uses the cached no-arg constructor if reflective access is enabled.
+	 * 
+	 * @param type
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	private <S> S instantiate(Class<S> type) {
 
-		if (genericParameterType instanceof ParameterizedType) {
-			ParameterizedType aType = (ParameterizedType) genericParameterType;
-			Type[] parameterArgTypes = aType.getActualTypeArguments();
-			for (Type parameterArgType : parameterArgTypes) {
-				if (parameterArgType instanceof GenericArrayType) {
-					Class<?> arrayType = (Class<?>) ((GenericArrayType) parameterArgType).getGenericComponentType();
-					actualGenericParameterTypes.add(Array.newInstance(arrayType, 0).getClass());
-				} else {
-					if (parameterArgType instanceof ParameterizedType) {
-						ParameterizedType paramTypeArgs = (ParameterizedType) parameterArgType;
-						actualGenericParameterTypes.add((Class<?>) paramTypeArgs.getRawType());
-					} else {
-						if (parameterArgType instanceof TypeVariable) {
-							throw new RuntimeException("Can not map " + ((TypeVariable<?>) parameterArgType).getName());
-						} else {
-							if (parameterArgType instanceof Class) {
-								actualGenericParameterTypes.add((Class<?>) parameterArgType);
-							} else {
-								throw new RuntimeException("Can not map " + parameterArgType);
-							}
-						}
-					}
-				}
+		if (useReflectiveAccess) {
+			EntityAccessor accessor = EntityAccessor.forType(type);
+			if (accessor.canInstantiate()) {
+				return (S) accessor.instantiate();
 			}
 		}
 
-		return actualGenericParameterTypes;
+		return BeanUtils.instantiateClass(type);
+	}
+
+	List<Class<?>> getGenericParameters(Type genericParameterType) {
+		return MongoPropertyDescriptor.resolveGenericParameters(genericParameterType);
 	}
 
 	/* (non-Javadoc)
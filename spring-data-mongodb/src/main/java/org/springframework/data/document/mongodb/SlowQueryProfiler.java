@@ -0,0 +1,430 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.data.document.mongodb.OperationStatistics.Operation;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedMetric;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.jmx.support.MetricType;
+import org.springframework.util.Assert;
+
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+/**
+ * Records the queries executed by a {@link MongoTemplate} that take longer than a configurable threshold. Queries are
+ * grouped by their shape, i.e. the query with all values stripped, along with sort and fields specification. Keeps
+ * the worst offenders in a bounded buffer and optionally captures the explain plan for a sample of the slow queries.
+ * Can be exported via JMX.
+ * 
+ * @author agent
+ */
+@ManagedResource(description = "Slow Query Profiler")
+public class SlowQueryProfiler {
+
+	private static final Log LOGGER = LogFactory.getLog(SlowQueryProfiler.class);
+
+	public static final long DEFAULT_THRESHOLD = 100;
+	public static final int DEFAULT_CAPACITY = 20;
+
+	static final String VALUE_PLACEHOLDER = "?";
+
+	private static final Comparator<SlowQuery> BY_MAX_DURATION = new Comparator<SlowQuery>() {
+		public int compare(SlowQuery left, SlowQuery right) {
+			long difference = right.getMaxMillis() - left.getMaxMillis();
+			return difference == 0 ? 0 : difference > 0 ? 1 : -1;
+		}
+	};
+
+	private final Map<String, SlowQuery> slowQueries = new HashMap<String, SlowQuery>();
+	private final AtomicLong count = new AtomicLong();
+
+	private volatile long threshold = DEFAULT_THRESHOLD;
+	private volatile int explainEvery = 0;
+	private volatile int capacity = DEFAULT_CAPACITY;
+
+	/**
+	 * Configures the duration in milliseconds a query has to take at least to be recorded. Defaults to
+	 * {@value #DEFAULT_THRESHOLD}.
+	 * 
+	 * @param threshold
+	 */
+	@ManagedAttribute(description = "Threshold in milliseconds")
+	public void setThreshold(long threshold) {
+		Assert.isTrue(threshold >= 0, "Threshold must not be negative!");
+		this.threshold = threshold;
+	}
+
+	@ManagedAttribute(description = "Threshold in milliseconds")
+	public long getThreshold() {
+		return threshold;
+	}
+
+	/**
+	 * Configures every how many slow queries the explain plan shall be captured, e.g. {@literal 10} to explain every
+	 * tenth slow query. Explaining runs the query once more, so it is disabled by default ({@literal 0}).
+	 * 
+	 * @param explainEvery
+	 */
+	@ManagedAttribute(description = "Explain every n-th slow query, 0 disables explaining")
+	public void setExplainEvery(int explainEvery) {
+		Assert.isTrue(explainEvery >= 0, "Explain rate must not be negative!");
+		this.explainEvery = explainEvery;
+	}
+
+	@ManagedAttribute(description = "Explain every n-th slow query, 0 disables explaining")
+	public int getExplainEvery() {
+		return explainEvery;
+	}
+
+	/**
+	 * Configures the number of distinct slow queries to keep. Defaults to {@value #DEFAULT_CAPACITY}.
+	 * 
+	 * @param capacity
+	 */
+	@ManagedAttribute(description = "Number of distinct slow queries kept")
+	public synchronized void setCapacity(int capacity) {
+		Assert.isTrue(capacity > 0, "Capacity must be greater than zero!");
+		this.capacity = capacity;
+		evictExceedingQueries();
+	}
+
+	@ManagedAttribute(description = "Number of distinct slow queries kept")
+	public int getCapacity() {
+		return capacity;
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, displayName = "Slow queries")
+	public long getSlowQueryCount() {
+		return count.get();
+	}
+
+	/**
+	 * Returns whether an operation with the given duration is to be recorded.
+	 * 
+	 * @param millis
+	 * @return
+	 */
+	public boolean isSlow(long millis) {
+		return millis >= threshold;
+	}
+
+	/**
+	 * Records the given query if it exceeds the threshold.
+	 * 
+	 * @param collectionName the collection the query was executed against.
+	 * @param operation the type of operation, must not be {@literal null}.
+	 * @param millis the duration of the operation.
+	 * @param query the query, can be {@literal null}.
+	 * @param fields the fields specification, can be {@literal null}.
+	 * @param sort the sort specification, can be {@literal null}.
+	 * @param explainer the {@link Explainer} to capture the explain plan with, can be {@literal null}.
+	 */
+	public void record(String collectionName, Operation operation, long millis, DBObject query, DBObject fields,
+			DBObject sort, Explainer explainer) {
+
+		Assert.notNull(operation);
+
+		if (!isSlow(millis)) {
+			return;
+		}
+
+		long number = count.incrementAndGet();
+		int rate = explainEvery;
+		DBObject explain = explainer != null && rate > 0 && number % rate == 0 ? explain(explainer) : null;
+
+		DBObject shape = getShape(query);
+		String key = collectionName + " " + operation + " " + shape + " " + sort + " " + fields;
+
+		synchronized (this) {
+
+			SlowQuery slowQuery = slowQueries.get(key);
+
+			if (slowQuery == null) {
+				slowQuery = new SlowQuery(collectionName, operation, shape, sort, fields);
+				slowQueries.put(key, slowQuery);
+			}
+
+			slowQuery.record(millis, explain);
+			evictExceedingQueries();
+		}
+	}
+
+	private DBObject explain(Explainer explainer) {
+
+		try {
+			return explainer.explain();
+		} catch (RuntimeException e) {
+			LOGGER.warn("Could not explain slow query!", e);
+			return null;
+		}
+	}
+
+	private void evictExceedingQueries() {
+
+		while (slowQueries.size() > capacity) {
+
+			Map.Entry<String, SlowQuery> fastest = null;
+
+			for (Map.Entry<String, SlowQuery> entry : slowQueries.entrySet()) {
+				if (fastest == null || entry.getValue().getMaxMillis() < fastest.getValue().getMaxMillis()) {
+					fastest = entry;
+				}
+			}
+
+			slowQueries.remove(fastest.getKey());
+		}
+	}
+
+	/**
+	 * Returns the recorded slow queries ordered by their maximum duration, the slowest first.
+	 * 
+	 * @return
+	 */
+	public synchronized List<SlowQuery> getSlowQueries() {
+
+		List<SlowQuery> result = new ArrayList<SlowQuery>(slowQueries.size());
+
+		for (SlowQuery slowQuery : slowQueries.values()) {
+			result.add(slowQuery.copy());
+		}
+
+		Collections.sort(result, BY_MAX_DURATION);
+		return result;
+	}
+
+	@ManagedAttribute(description = "The slowest queries")
+	public String[] getWorstOffenders() {
+
+		List<SlowQuery> queries = getSlowQueries();
+		String[] result = new String[queries.size()];
+
+		for (int i = 0; i < result.length; i++) {
+			result[i] = queries.get(i).toString();
+		}
+
+		return result;
+	}
+
+	@ManagedOperation(description = "Discards all recorded slow queries")
+	public synchronized void reset() {
+		slowQueries.clear();
+		count.set(0);
+	}
+
+	/**
+	 * Returns the shape of the given query, i.e. a copy with all values replaced by a placeholder while operators and
+	 * nested queries, e.g. of {@code $or}, are kept.
+	 * 
+	 * @param query can be {@literal null}.
+	 * @return
+	 */
+	static DBObject getShape(DBObject query) {
+
+		if (query == null) {
+			return null;
+		}
+
+		DBObject shape = new BasicDBObject();
+
+		for (String key : query.keySet()) {
+			shape.put(key, getValueShape(query.get(key)));
+		}
+
+		return shape;
+	}
+
+	private static Object getValueShape(Object value) {
+
+		if (value instanceof List) {
+
+			BasicDBList shapes = new BasicDBList();
+
+			for (Object element : (List<?>) value) {
+				if (!(element instanceof DBObject) || element instanceof List) {
+					return VALUE_PLACEHOLDER;
+				}
+				shapes.add(getShape((DBObject) element));
+			}
+
+			return shapes;
+		}
+
+		if (value instanceof DBObject && isOperatorObject((DBObject) value)) {
+			return getShape((DBObject) value);
+		}
+
+		return VALUE_PLACEHOLDER;
+	}
+
+	private static boolean isOperatorObject(DBObject value) {
+
+		for (String key : value.keySet()) {
+			if (key.startsWith("$")) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Callback to capture the explain plan of a slow query.
+	 * 
+	 * @author agent
+	 */
+	public interface Explainer {
+
+		DBObject explain();
+	}
+
+	/**
+	 * Statistics of a slow query shape.
+	 * 
+	 * @author agent
+	 */
+	public static class SlowQuery {
+
+		private final String collectionName;
+		private final Operation operation;
+		private final DBObject shape;
+		private final DBObject sort;
+		private final DBObject fields;
+
+		private long count;
+		private long maxMillis;
+		private long totalMillis;
+		private Date lastSeen;
+		private DBObject explain;
+
+		SlowQuery(String collectionName, Operation operation, DBObject shape, DBObject sort, DBObject fields) {
+			this.collectionName = collectionName;
+			this.operation = operation;
+			this.shape = shape;
+			this.sort = sort;
+			this.fields = fields;
+		}
+
+		void record(long millis, DBObject explain) {
+
+			this.count++;
+			this.totalMillis += millis;
+			this.maxMillis = Math.max(maxMillis, millis);
+			this.lastSeen = new Date();
+
+			if (explain != null) {
+				this.explain = explain;
+			}
+		}
+
+		SlowQuery copy() {
+
+			SlowQuery copy = new SlowQuery(collectionName, operation, shape, sort, fields);
+			copy.count = count;
+			copy.maxMillis = maxMillis;
+			copy.totalMillis = totalMillis;
+			copy.lastSeen = lastSeen;
+			copy.explain = explain;
+			return copy;
+		}
+
+		public String getCollectionName() {
+			return collectionName;
+		}
+
+		public Operation getOperation() {
+			return operation;
+		}
+
+		public DBObject getShape() {
+			return shape;
+		}
+
+		public DBObject getSort() {
+			return sort;
+		}
+
+		public DBObject getFields() {
+			return fields;
+		}
+
+		public long getCount() {
+			return count;
+		}
+
+		public long getMaxMillis() {
+			return maxMillis;
+		}
+
+		public double getMeanMillis() {
+			return count == 0 ? 0 : (double) totalMillis / count;
+		}
+
+		public Date getLastSeen() {
+			return lastSeen;
+		}
+
+		/**
+		 * Returns the explain plan captured last or {@literal null} if the query was not explained yet.
+		 * 
+		 * @return
+		 */
+		public DBObject getExplain() {
+			return explain;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+
+			StringBuilder builder = new StringBuilder();
+			builder.append(collectionName).append(" ").append(operation).append(" ").append(shape);
+
+			if (sort != null) {
+				builder.append(" sort=").append(sort);
+			}
+			if (fields != null) {
+				builder.append(" fields=").append(fields);
+			}
+
+			builder.append(String.format(": count=%s, max=%sms, mean=%.1fms", count, maxMillis, getMeanMillis()));
+
+			if (explain != null) {
+				builder.append(String.format(", cursor=%s, nscanned=%s, n=%s", explain.get("cursor"),
+						explain.get("nscanned"), explain.get("n")));
+			}
+
+			return builder.toString();
+		}
+	}
+}
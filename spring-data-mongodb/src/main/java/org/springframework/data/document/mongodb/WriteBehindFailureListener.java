@@ -0,0 +1,37 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb;
+
+import java.util.List;
+
+import com.mongodb.DBObject;
+
+/**
+ * Callback interface to get notified about documents a {@link MongoWriteBehindQueue} failed to write.
+ * 
+ * @author agent
+ */
+public interface WriteBehindFailureListener {
+
+	/**
+	 * Invoked if writing the given documents to the given collection failed.
+	 * 
+	 * @param collectionName the collection the documents should have been written to
+	 * @param documents the documents that could not be written
+	 * @param exception the exception that caused the failure
+	 */
+	void onFailure(String collectionName, List<DBObject> documents, RuntimeException exception);
+}
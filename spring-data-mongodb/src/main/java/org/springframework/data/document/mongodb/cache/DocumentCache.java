@@ -0,0 +1,80 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.cache;
+
+import com.mongodb.DBObject;
+
+/**
+ * Cache for raw documents keyed by collection name and id. Used by
+ * {@link org.springframework.data.document.mongodb.MongoTemplate} to serve lookups by id without hitting the server.
+ * Implementations have to be thread-safe.
+ * 
+ * @author agent
+ */
+public interface DocumentCache {
+
+	/**
+	 * Returns the cached document with the given id from the given collection or {@literal null} if it's not cached.
+	 * 
+	 * @param collectionName
+	 * @param id
+	 * @return
+	 */
+	DBObject get(String collectionName, Object id);
+
+	/**
+	 * Reserves the entry for the document with the given id of the given collection before the document is read from
+	 * the database. Evicting the document or the collection before the document is handed to
+	 * {@link #put(String, Object, DBObject, Object)} invalidates the reservation, so that a document read before a
+	 * concurrent write is never cached.
+	 * 
+	 * @param collectionName
+	 * @param id
+	 * @return the token to hand to {@link #put(String, Object, DBObject, Object)}, never {@literal null}.
+	 */
+	Object reserve(String collectionName, Object id);
+
+	/**
+	 * Caches the given document under the given collection name and id if the reservation the given token was obtained
+	 * for is still valid. Handing in a {@literal null} document releases the reservation.
+	 * 
+	 * @param collectionName
+	 * @param id
+	 * @param document can be {@literal null}.
+	 * @param token the token obtained from {@link #reserve(String, Object)}.
+	 */
+	void put(String collectionName, Object id, DBObject document, Object token);
+
+	/**
+	 * Removes the document with the given id of the given collection from the cache.
+	 * 
+	 * @param collectionName
+	 * @param id
+	 */
+	void evict(String collectionName, Object id);
+
+	/**
+	 * Removes all documents of the given collection from the cache.
+	 * 
+	 * @param collectionName
+	 */
+	void evictCollection(String collectionName);
+
+	/**
+	 * Removes all documents from the cache.
+	 */
+	void clear();
+}
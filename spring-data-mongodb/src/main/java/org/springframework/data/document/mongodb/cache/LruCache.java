@@ -0,0 +1,115 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.util.Assert;
+
+/**
+ * Thread-safe cache holding up to a given number of entries and evicting the least recently used one when the limit is
+ * exceeded. Used to cache metadata derived from types or query strings, so that the working set stays cached while
+ * rarely used entries do not pin memory (or {@link Class}es) forever.
+ *
+ * @author agent
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
+ */
+public class LruCache<K, V> {
+
+	private final Map<K, V> entries;
+
+	/**
+	 * Creates a new {@link LruCache} holding up to the given number of entries.
+	 *
+	 * @param maxSize the maximum number of entries to hold, must be greater than zero.
+	 */
+	public LruCache(final int maxSize) {
+
+		Assert.isTrue(maxSize > 0, "Maximum size must be greater than zero!");
+
+		this.entries = new LinkedHashMap<K, V>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Returns the value cached for the given key or {@literal null} if none is cached.
+	 *
+	 * @param key
+	 * @return
+	 */
+	public V get(K key) {
+
+		synchronized (entries) {
+			return entries.get(key);
+		}
+	}
+
+	/**
+	 * Caches the given value for the given key unless a value is cached for it already.
+	 *
+	 * @param key must not be {@literal null}.
+	 * @param value must not be {@literal null}.
+	 * @return the value already cached for the key or {@literal null} if the given value was cached.
+	 */
+	public V putIfAbsent(K key, V value) {
+
+		Assert.notNull(key);
+		Assert.notNull(value);
+
+		synchronized (entries) {
+
+			V existing = entries.get(key);
+
+			if (existing != null) {
+				return existing;
+			}
+
+			entries.put(key, value);
+			return null;
+		}
+	}
+
+	/**
+	 * Removes all entries from the cache.
+	 */
+	public void clear() {
+
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	/**
+	 * Returns the number of cached entries.
+	 *
+	 * @return
+	 */
+	public int size() {
+
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+}
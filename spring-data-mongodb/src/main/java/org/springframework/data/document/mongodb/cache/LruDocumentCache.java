@@ -0,0 +1,331 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.cache;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.jmx.export.annotation.ManagedMetric;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.jmx.support.MetricType;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+import com.mongodb.DBObject;
+
+/**
+ * In-process {@link DocumentCache} that keeps up to a maximum number of documents and evicts the least recently used
+ * ones when full. Entries optionally expire after a given time to live. Evicting a collection increments its
+ * generation, documents cached for an older generation are discarded lazily when accessed. Hit, miss and eviction
+ * counters are exposed via JMX.
+ * 
+ * @author agent
+ */
+@ManagedResource(description = "Document Cache")
+public class LruDocumentCache implements DocumentCache {
+
+	private final Map<CacheKey, CacheEntry> entries;
+	private final Map<String, Long> generations = new HashMap<String, Long>();
+	private final long timeToLiveNanos;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+	private final AtomicLong expirations = new AtomicLong();
+	private final AtomicLong invalidations = new AtomicLong();
+
+	/**
+	 * Creates a new {@link LruDocumentCache} holding up to the given number of documents that never expire.
+	 * 
+	 * @param maxSize
+	 */
+	public LruDocumentCache(int maxSize) {
+		this(maxSize, 0);
+	}
+
+	/**
+	 * Creates a new {@link LruDocumentCache} holding up to the given number of documents for at most the given number
+	 * of milliseconds.
+	 * 
+	 * @param maxSize the maximum number of documents to hold, must be greater than zero.
+	 * @param timeToLive the time to live in milliseconds, {@literal 0} means entries never expire.
+	 */
+	public LruDocumentCache(final int maxSize, long timeToLive) {
+
+		Assert.isTrue(maxSize > 0, "Maximum size must be greater than zero!");
+		Assert.isTrue(timeToLive >= 0, "Time to live must not be negative!");
+
+		this.timeToLiveNanos = TimeUnit.MILLISECONDS.toNanos(timeToLive);
+		this.entries = new LinkedHashMap<CacheKey, CacheEntry>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldest) {
+
+				if (size() > maxSize) {
+					evictions.incrementAndGet();
+					return true;
+				}
+
+				return false;
+			}
+		};
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.springframework.data.document.mongodb.cache.DocumentCache#get(java.lang.String, java.lang.Object)
+	 */
+	public DBObject get(String collectionName, Object id) {
+
+		CacheKey key = new CacheKey(collectionName, id);
+
+		synchronized (entries) {
+
+			CacheEntry entry = entries.get(key);
+
+			if (entry == null || entry.isReservation()) {
+				misses.incrementAndGet();
+				return null;
+			}
+
+			if (entry.generation != getGeneration(collectionName)) {
+				entries.remove(key);
+				invalidations.incrementAndGet();
+				misses.incrementAndGet();
+				return null;
+			}
+
+			if (entry.isExpired(System.nanoTime())) {
+				entries.remove(key);
+				expirations.incrementAndGet();
+				misses.incrementAndGet();
+				return null;
+			}
+
+			hits.incrementAndGet();
+			return entry.document;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.springframework.data.document.mongodb.cache.DocumentCache#reserve(java.lang.String, java.lang.Object)
+	 */
+	public Object reserve(String collectionName, Object id) {
+
+		synchronized (entries) {
+			CacheEntry reservation = new CacheEntry(null, 0, getGeneration(collectionName));
+			entries.put(new CacheKey(collectionName, id), reservation);
+			return reservation;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.springframework.data.document.mongodb.cache.DocumentCache#put(java.lang.String, java.lang.Object, com.mongodb.DBObject, java.lang.Object)
+	 */
+	public void put(String collectionName, Object id, DBObject document, Object token) {
+
+		if (id == null) {
+			return;
+		}
+
+		CacheKey key = new CacheKey(collectionName, id);
+		long expiry = timeToLiveNanos == 0 ? 0 : System.nanoTime() + timeToLiveNanos;
+
+		synchronized (entries) {
+
+			CacheEntry reservation = entries.get(key);
+
+			if (reservation == null || reservation != token) {
+				return;
+			}
+
+			if (document == null || reservation.generation != getGeneration(collectionName)) {
+				entries.remove(key);
+				return;
+			}
+
+			entries.put(key, new CacheEntry(document, expiry, reservation.generation));
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.springframework.data.document.mongodb.cache.DocumentCache#evict(java.lang.String, java.lang.Object)
+	 */
+	public void evict(String collectionName, Object id) {
+
+		synchronized (entries) {
+
+			CacheEntry entry = entries.remove(new CacheKey(collectionName, id));
+
+			if (entry != null && !entry.isReservation()) {
+				invalidations.incrementAndGet();
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.springframework.data.document.mongodb.cache.DocumentCache#evictCollection(java.lang.String)
+	 */
+	public void evictCollection(String collectionName) {
+
+		synchronized (entries) {
+			generations.put(collectionName, getGeneration(collectionName) + 1);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.springframework.data.document.mongodb.cache.DocumentCache#clear()
+	 */
+	@ManagedOperation(description = "Removes all documents from the cache")
+	public void clear() {
+
+		synchronized (entries) {
+			invalidations.addAndGet(entries.size());
+			entries.clear();
+		}
+	}
+
+	/**
+	 * Returns the number of cache entries. Includes documents of evicted collections not discarded yet as well as
+	 * reservations for documents currently being read.
+	 * 
+	 * @return
+	 */
+	@ManagedMetric(metricType = MetricType.GAUGE, displayName = "Number of cache entries")
+	public int getSize() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, displayName = "Cache hits")
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, displayName = "Cache misses")
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, displayName = "Documents evicted because the cache was full")
+	public long getEvictionCount() {
+		return evictions.get();
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, displayName = "Documents evicted because they expired")
+	public long getExpirationCount() {
+		return expirations.get();
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, displayName = "Documents invalidated by write operations")
+	public long getInvalidationCount() {
+		return invalidations.get();
+	}
+
+	@ManagedMetric(metricType = MetricType.GAUGE, displayName = "Cache hit ratio")
+	public double getHitRatio() {
+		long hits = this.hits.get();
+		long total = hits + misses.get();
+		return total == 0 ? 0 : (double) hits / total;
+	}
+
+	private long getGeneration(String collectionName) {
+		Long generation = generations.get(collectionName);
+		return generation == null ? 0 : generation;
+	}
+
+	/**
+	 * Key of a cached document consisting of the collection name and the document id.
+	 * 
+	 * @author agent
+	 */
+	private static class CacheKey {
+
+		private final String collectionName;
+		private final Object id;
+
+		public CacheKey(String collectionName, Object id) {
+			this.collectionName = collectionName;
+			this.id = id;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof CacheKey)) {
+				return false;
+			}
+
+			CacheKey that = (CacheKey) obj;
+			return ObjectUtils.nullSafeEquals(this.collectionName, that.collectionName)
+					&& ObjectUtils.nullSafeEquals(this.id, that.id);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * ObjectUtils.nullSafeHashCode(collectionName) + ObjectUtils.nullSafeHashCode(id);
+		}
+	}
+
+	/**
+	 * A cached document along with its expiry timestamp and the generation of its collection. An entry without a
+	 * document is a reservation for a document currently being read.
+	 * 
+	 * @author agent
+	 */
+	private static class CacheEntry {
+
+		private final DBObject document;
+		private final long expiry;
+		private final long generation;
+
+		public CacheEntry(DBObject document, long expiry, long generation) {
+			this.document = document;
+			this.expiry = expiry;
+			this.generation = generation;
+		}
+
+		public boolean isReservation() {
+			return document == null;
+		}
+
+		public boolean isExpired(long now) {
+			return expiry != 0 && now - expiry > 0;
+		}
+	}
+}
@@ -0,0 +1,4 @@
+/**
+ * Caching of MongoDB documents.
+ */
+package org.springframework.data.document.mongodb.cache;
@@ -16,20 +16,26 @@
 package org.springframework.data.document.mongodb.config;
 
 import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.MethodInvokingFactoryBean;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
 import org.springframework.beans.factory.parsing.BeanComponentDefinition;
 import org.springframework.beans.factory.parsing.CompositeComponentDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.ManagedList;
 import org.springframework.beans.factory.xml.BeanDefinitionParser;
 import org.springframework.beans.factory.xml.ParserContext;
 import org.springframework.data.document.mongodb.MongoAdmin;
+import org.springframework.data.document.mongodb.MongoTemplate;
 import org.springframework.data.document.mongodb.monitor.AssertMetrics;
 import org.springframework.data.document.mongodb.monitor.BackgroundFlushingMetrics;
 import org.springframework.data.document.mongodb.monitor.BtreeIndexCounters;
 import org.springframework.data.document.mongodb.monitor.ConnectionMetrics;
+import org.springframework.data.document.mongodb.monitor.ConnectionPoolMetrics;
 import org.springframework.data.document.mongodb.monitor.GlobalLockMetrics;
 import org.springframework.data.document.mongodb.monitor.MemoryMetrics;
 import org.springframework.data.document.mongodb.monitor.OperationCounters;
 import org.springframework.data.document.mongodb.monitor.ServerInfo;
+import org.springframework.data.document.mongodb.monitor.ServerStatusCache;
 import org.springframework.util.StringUtils;
 import org.w3c.dom.Element;
 
@@ -49,21 +55,118 @@ public class MongoJmxParser implements BeanDefinitionParser {
 
 		CompositeComponentDefinition compositeDef = new CompositeComponentDefinition(element.getTagName(), eleSource);
 		
-		createBeanDefEntry(AssertMetrics.class, compositeDef, mongoRefName, eleSource, parserContext);
-		createBeanDefEntry(BackgroundFlushingMetrics.class, compositeDef, mongoRefName, eleSource, parserContext);
-		createBeanDefEntry(BtreeIndexCounters.class, compositeDef, mongoRefName, eleSource, parserContext);
-		createBeanDefEntry(ConnectionMetrics.class, compositeDef, mongoRefName, eleSource, parserContext);
-		createBeanDefEntry(GlobalLockMetrics.class, compositeDef, mongoRefName, eleSource, parserContext);
-		createBeanDefEntry(MemoryMetrics.class, compositeDef, mongoRefName, eleSource, parserContext);
-		createBeanDefEntry(OperationCounters.class, compositeDef, mongoRefName, eleSource, parserContext);
-		createBeanDefEntry(ServerInfo.class, compositeDef, mongoRefName, eleSource, parserContext);
+		String cacheName = createServerStatusCacheEntry(element, compositeDef, mongoRefName, eleSource, parserContext);
+
+		createMonitorBeanDefEntry(AssertMetrics.class, compositeDef, mongoRefName, cacheName, eleSource, parserContext);
+		createMonitorBeanDefEntry(BackgroundFlushingMetrics.class, compositeDef, mongoRefName, cacheName, eleSource, parserContext);
+		createMonitorBeanDefEntry(BtreeIndexCounters.class, compositeDef, mongoRefName, cacheName, eleSource, parserContext);
+		createMonitorBeanDefEntry(ConnectionMetrics.class, compositeDef, mongoRefName, cacheName, eleSource, parserContext);
+		createMonitorBeanDefEntry(GlobalLockMetrics.class, compositeDef, mongoRefName, cacheName, eleSource, parserContext);
+		createMonitorBeanDefEntry(MemoryMetrics.class, compositeDef, mongoRefName, cacheName, eleSource, parserContext);
+		createMonitorBeanDefEntry(OperationCounters.class, compositeDef, mongoRefName, cacheName, eleSource, parserContext);
+		createMonitorBeanDefEntry(ServerInfo.class, compositeDef, mongoRefName, cacheName, eleSource, parserContext);
 		createBeanDefEntry(MongoAdmin.class, compositeDef, mongoRefName, eleSource, parserContext);
-	
+
+		String templateRefName = element.getAttribute("template-ref");
+		if (StringUtils.hasText(templateRefName)) {
+			createFactoryMethodBeanDefEntry("getOperationStatistics", compositeDef, templateRefName, eleSource,
+					parserContext);
+			createFactoryMethodBeanDefEntry("getReadRoutingStatistics", compositeDef, templateRefName, eleSource,
+					parserContext);
+			createConnectionPoolMetricsEntry(compositeDef, mongoRefName, templateRefName, eleSource, parserContext);
+		}
 	
 		parserContext.registerComponent(compositeDef);
 		
 	}
 
+	/**
+	 * Registers the {@link ServerStatusCache} shared by all monitors applying the configured time to live.
+	 * 
+	 * @return the name of the registered bean.
+	 */
+	protected String createServerStatusCacheEntry(Element element, CompositeComponentDefinition compositeDef,
+			String mongoRefName, Object eleSource, ParserContext parserContext) {
+		BeanDefinitionBuilder builder = BeanDefinitionBuilder.genericBeanDefinition(ServerStatusCache.class);
+		builder.getRawBeanDefinition().setSource(eleSource);
+		builder.addConstructorArgReference(mongoRefName);
+		String timeToLive = element.getAttribute("server-status-ttl");
+		if (StringUtils.hasText(timeToLive)) {
+			builder.addPropertyValue("timeToLive", timeToLive);
+		}
+		BeanDefinition cacheDef = builder.getBeanDefinition();
+		String cacheName = parserContext.getReaderContext().registerWithGeneratedName(cacheDef);
+		compositeDef.addNestedComponent(new BeanComponentDefinition(cacheDef, cacheName));
+		return cacheName;
+	}
+
+	/**
+	 * Registers a monitor reading the server status from the {@link ServerStatusCache} with the given name.
+	 */
+	protected void createMonitorBeanDefEntry(Class<?> clazz, CompositeComponentDefinition compositeDef,
+			String mongoRefName, String cacheName, Object eleSource, ParserContext parserContext) {
+		BeanDefinitionBuilder builder = BeanDefinitionBuilder.genericBeanDefinition(clazz);
+		builder.getRawBeanDefinition().setSource(eleSource);
+		builder.addConstructorArgReference(mongoRefName);
+		builder.addPropertyReference("serverStatusCache", cacheName);
+		BeanDefinition monitorDef = builder.getBeanDefinition();
+		String monitorName = parserContext.getReaderContext().registerWithGeneratedName(monitorDef);
+		compositeDef.addNestedComponent(new BeanComponentDefinition(monitorDef, monitorName));
+	}
+
+	/**
+	 * Registers the object returned by the given factory method of the referenced bean, e.g. the statistics held by a
+	 * {@link MongoTemplate}.
+	 */
+	protected void createFactoryMethodBeanDefEntry(String factoryMethodName, CompositeComponentDefinition compositeDef,
+			String factoryBeanName, Object eleSource, ParserContext parserContext) {
+		BeanDefinitionBuilder builder = BeanDefinitionBuilder.genericBeanDefinition();
+		builder.getRawBeanDefinition().setSource(eleSource);
+		builder.getRawBeanDefinition().setFactoryBeanName(factoryBeanName);
+		builder.getRawBeanDefinition().setFactoryMethodName(factoryMethodName);
+		BeanDefinition definition = builder.getBeanDefinition();
+		String name = factoryBeanName + "." + StringUtils.uncapitalize(factoryMethodName.substring(3));
+		parserContext.getRegistry().registerBeanDefinition(name, definition);
+		compositeDef.addNestedComponent(new BeanComponentDefinition(definition, name));
+	}
+
+	/**
+	 * Registers {@link ConnectionPoolMetrics} for the pool settings of the referenced {@link com.mongodb.Mongo} and
+	 * registers them as {@link org.springframework.data.document.mongodb.OperationListener} with the referenced
+	 * {@link MongoTemplate}.
+	 */
+	protected void createConnectionPoolMetricsEntry(CompositeComponentDefinition compositeDef, String mongoRefName,
+			String templateRefName, Object eleSource, ParserContext parserContext) {
+
+		BeanDefinitionBuilder optionsBuilder = BeanDefinitionBuilder.genericBeanDefinition();
+		optionsBuilder.getRawBeanDefinition().setSource(eleSource);
+		optionsBuilder.getRawBeanDefinition().setFactoryBeanName(mongoRefName);
+		optionsBuilder.getRawBeanDefinition().setFactoryMethodName("getMongoOptions");
+		BeanDefinition optionsDef = optionsBuilder.getBeanDefinition();
+		String optionsName = parserContext.getReaderContext().registerWithGeneratedName(optionsDef);
+		compositeDef.addNestedComponent(new BeanComponentDefinition(optionsDef, optionsName));
+
+		BeanDefinitionBuilder metricsBuilder = BeanDefinitionBuilder.genericBeanDefinition(ConnectionPoolMetrics.class);
+		metricsBuilder.getRawBeanDefinition().setSource(eleSource);
+		metricsBuilder.addConstructorArgReference(optionsName);
+		BeanDefinition metricsDef = metricsBuilder.getBeanDefinition();
+		String metricsName = templateRefName + ".connectionPoolMetrics";
+		parserContext.getRegistry().registerBeanDefinition(metricsName, metricsDef);
+		compositeDef.addNestedComponent(new BeanComponentDefinition(metricsDef, metricsName));
+
+		BeanDefinitionBuilder listenerBuilder = BeanDefinitionBuilder
+				.genericBeanDefinition(MethodInvokingFactoryBean.class);
+		listenerBuilder.getRawBeanDefinition().setSource(eleSource);
+		listenerBuilder.addPropertyReference("targetObject", templateRefName);
+		listenerBuilder.addPropertyValue("targetMethod", "setOperationListener");
+		ManagedList<RuntimeBeanReference> arguments = new ManagedList<RuntimeBeanReference>();
+		arguments.add(new RuntimeBeanReference(metricsName));
+		listenerBuilder.addPropertyValue("arguments", arguments);
+		BeanDefinition listenerDef = listenerBuilder.getBeanDefinition();
+		String listenerName = parserContext.getReaderContext().registerWithGeneratedName(listenerDef);
+		compositeDef.addNestedComponent(new BeanComponentDefinition(listenerDef, listenerName));
+	}
+
 	protected void createBeanDefEntry(Class clazz, CompositeComponentDefinition compositeDef, String mongoRefName, Object eleSource, ParserContext parserContext) {
 		BeanDefinitionBuilder builder = BeanDefinitionBuilder.genericBeanDefinition(clazz);
 		builder.getRawBeanDefinition().setSource(eleSource);
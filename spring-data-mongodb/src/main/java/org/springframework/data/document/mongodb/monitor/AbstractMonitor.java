@@ -37,6 +37,7 @@ public abstract class AbstractMonitor {
 	protected Mongo mongo;
 	private String username;
 	private String password;
+	private ServerStatusCache serverStatusCache;
 		
 	
 	/**
@@ -58,7 +59,42 @@ public abstract class AbstractMonitor {
 		this.password = password;
 	}
 		
+	/**
+	 * Sets the {@link ServerStatusCache} to read the server status from. Monitors sharing a cache share the server
+	 * status snapshots as well. Defaults to a cache used by this monitor only.
+	 * 
+	 * @param serverStatusCache
+	 */
+	public void setServerStatusCache(ServerStatusCache serverStatusCache) {
+		this.serverStatusCache = serverStatusCache;
+	}
+
+	/**
+	 * Returns the server status from the {@link ServerStatusCache}.
+	 * 
+	 * @return
+	 */
 	public CommandResult getServerStatus() {
+		return getServerStatusCache().getServerStatus();
+	}
+
+	/**
+	 * Returns the per-second rate of the server status value at the given path.
+	 * 
+	 * @param path
+	 * @return
+	 * @see ServerStatusCache#getRate(String...)
+	 */
+	protected double getRate(String... path) {
+		return getServerStatusCache().getRate(path);
+	}
+
+	/**
+	 * Queries the server status from the server.
+	 * 
+	 * @return
+	 */
+	protected CommandResult fetchServerStatus() {
 		CommandResult result = getDb("admin").command("serverStatus");
 		if (!result.ok()) {
 			logger.error("Could not query for server status.  Command Result = " + result);
@@ -67,6 +103,17 @@ public abstract class AbstractMonitor {
 		return result;
 	}
 	
+	private synchronized ServerStatusCache getServerStatusCache() {
+
+		if (serverStatusCache == null) {
+			serverStatusCache = new ServerStatusCache(mongo);
+			serverStatusCache.setUsername(username);
+			serverStatusCache.setPassword(password);
+		}
+
+		return serverStatusCache;
+	}
+
 	public DB getDb(String databaseName) {
 		return MongoDbUtils.getDB(mongo, databaseName, username, password == null ? null : password.toCharArray());
 	}
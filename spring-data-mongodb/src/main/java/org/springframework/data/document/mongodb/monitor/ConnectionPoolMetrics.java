@@ -0,0 +1,252 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.monitor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.data.document.mongodb.OperationListener;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedMetric;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.jmx.support.MetricType;
+import org.springframework.util.Assert;
+
+import com.mongodb.MongoOptions;
+
+/**
+ * JMX Metrics for the connection pool usage of a {@link org.springframework.data.document.mongodb.MongoTemplate}.
+ * Registered as {@link OperationListener} with the template, it counts the operations in flight, i.e. the connections
+ * checked out by the template, and records how long each is held in a histogram. As the driver does not expose its
+ * pool, the metrics only see the operations of the templates the instance is registered with, not those of other
+ * clients of the same {@link com.mongodb.Mongo} instance, and how long threads wait for a connection is not known. The
+ * saturated and exhausted counters compare the operations in flight to the pool limits configured in
+ * {@link MongoOptions} and are thus estimates. As the driver keeps a pool per host, they assume all operations go to a
+ * single host and are an upper bound otherwise. Never blocks or rejects an operation.
+ * 
+ * @author agent
+ */
+@ManagedResource(description = "Connection pool metrics")
+public class ConnectionPoolMetrics implements OperationListener {
+
+	static final long[] HOLD_TIME_BUCKETS = { 1, 5, 10, 50, 100, 500, 1000, 5000 };
+
+	private final int connectionsPerHost;
+	private final int threadsAllowedToBlock;
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicInteger peakInFlight = new AtomicInteger();
+	private final ThreadLocal<long[]> holds = new ThreadLocal<long[]>() {
+		@Override
+		protected long[] initialValue() {
+			return new long[2];
+		}
+	};
+
+	private final AtomicLong checkouts = new AtomicLong();
+	private final AtomicLong saturatedCheckouts = new AtomicLong();
+	private final AtomicLong exhaustedCheckouts = new AtomicLong();
+	private final AtomicLong totalHoldTime = new AtomicLong();
+	private final AtomicLong maxHoldTime = new AtomicLong();
+	private final AtomicLongArray holdTimes = new AtomicLongArray(HOLD_TIME_BUCKETS.length + 1);
+
+	/**
+	 * Creates a new {@link ConnectionPoolMetrics} for the pool settings of the given {@link MongoOptions}. Make sure to
+	 * hand in the same {@link MongoOptions} the {@link com.mongodb.Mongo} instance was created with.
+	 * 
+	 * @param options must not be {@literal null}.
+	 */
+	public ConnectionPoolMetrics(MongoOptions options) {
+		this(getConnectionsPerHost(options), options.threadsAllowedToBlockForConnectionMultiplier);
+	}
+
+	/**
+	 * Creates a new {@link ConnectionPoolMetrics} for the given pool settings.
+	 * 
+	 * @param connectionsPerHost the number of connections available, must be greater than zero.
+	 * @param threadsAllowedToBlockForConnectionMultiplier multiplier for the number of connections to calculate the
+	 *          number of threads allowed to wait for a connection.
+	 */
+	public ConnectionPoolMetrics(int connectionsPerHost, int threadsAllowedToBlockForConnectionMultiplier) {
+
+		Assert.isTrue(connectionsPerHost > 0, "Connections per host must be greater than zero!");
+
+		this.connectionsPerHost = connectionsPerHost;
+		this.threadsAllowedToBlock = connectionsPerHost * threadsAllowedToBlockForConnectionMultiplier;
+	}
+
+	private static int getConnectionsPerHost(MongoOptions options) {
+		Assert.notNull(options);
+		return options.connectionsPerHost;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.OperationListener#operationStarted()
+	 */
+	public void operationStarted() {
+
+		long[] held = holds.get();
+
+		if (held[0]++ > 0) {
+			return;
+		}
+
+		held[1] = System.nanoTime();
+		checkouts.incrementAndGet();
+
+		int current = inFlight.incrementAndGet();
+
+		if (current > connectionsPerHost) {
+			saturatedCheckouts.incrementAndGet();
+		}
+		if (current > connectionsPerHost + threadsAllowedToBlock) {
+			exhaustedCheckouts.incrementAndGet();
+		}
+
+		int peak = peakInFlight.get();
+		while (current > peak && !peakInFlight.compareAndSet(peak, current)) {
+			peak = peakInFlight.get();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.OperationListener#operationFinished()
+	 */
+	public void operationFinished() {
+
+		long[] held = holds.get();
+
+		if (held[0] == 0) {
+			return;
+		}
+
+		if (--held[0] == 0) {
+			holds.remove();
+			inFlight.decrementAndGet();
+			recordHoldTime(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - held[1]));
+		}
+	}
+
+	private void recordHoldTime(long millis) {
+
+		int bucket = 0;
+		while (bucket < HOLD_TIME_BUCKETS.length && millis >= HOLD_TIME_BUCKETS[bucket]) {
+			bucket++;
+		}
+
+		holdTimes.incrementAndGet(bucket);
+		totalHoldTime.addAndGet(millis);
+
+		long max = maxHoldTime.get();
+		while (millis > max && !maxHoldTime.compareAndSet(max, millis)) {
+			max = maxHoldTime.get();
+		}
+	}
+
+	@ManagedMetric(metricType = MetricType.GAUGE, displayName = "Checkouts in flight")
+	public int getCheckoutsInFlight() {
+		return inFlight.get();
+	}
+
+	@ManagedMetric(metricType = MetricType.GAUGE, displayName = "Peak checkouts in flight")
+	public int getPeakCheckoutsInFlight() {
+		return peakInFlight.get();
+	}
+
+	@ManagedMetric(metricType = MetricType.GAUGE, displayName = "Threads allowed to block")
+	public int getThreadsAllowedToBlock() {
+		return threadsAllowedToBlock;
+	}
+
+	@ManagedMetric(metricType = MetricType.GAUGE, displayName = "Connections per host")
+	public int getConnectionsPerHost() {
+		return connectionsPerHost;
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, displayName = "Checkouts")
+	public long getCheckouts() {
+		return checkouts.get();
+	}
+
+	/**
+	 * Returns the number of checkouts started while this template's operations in flight used all connections of a
+	 * single host pool already, i.e. an estimate of the number of operations that had to wait for a connection in the
+	 * driver.
+	 * 
+	 * @return
+	 */
+	@ManagedMetric(metricType = MetricType.COUNTER, displayName = "Checkouts exceeding connections per host")
+	public long getSaturatedCheckouts() {
+		return saturatedCheckouts.get();
+	}
+
+	/**
+	 * Returns the number of checkouts started while this template's operations in flight exceeded the connections of a
+	 * single host pool plus the threads allowed to block for one, i.e. an estimate of the number of operations the
+	 * driver rejected.
+	 * 
+	 * @return
+	 */
+	@ManagedMetric(metricType = MetricType.COUNTER, displayName = "Checkouts exceeding threads allowed to block")
+	public long getExhaustedCheckouts() {
+		return exhaustedCheckouts.get();
+	}
+
+	@ManagedMetric(metricType = MetricType.GAUGE, displayName = "Average hold time")
+	public double getAverageHoldTime() {
+		long count = checkouts.get() - inFlight.get();
+		return count <= 0 ? 0 : (double) totalHoldTime.get() / count;
+	}
+
+	@ManagedMetric(metricType = MetricType.GAUGE, displayName = "Max hold time")
+	public long getMaxHoldTime() {
+		return maxHoldTime.get();
+	}
+
+	/**
+	 * Returns the number of finished checkouts per hold time bucket. The buckets are bounded by 1, 5, 10, 50, 100, 500,
+	 * 1000 and 5000 milliseconds, the last element holds all checkouts that took 5 seconds or longer.
+	 * 
+	 * @return
+	 */
+	public long[] getHoldTimeCounts() {
+
+		long[] result = new long[holdTimes.length()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = holdTimes.get(i);
+		}
+		return result;
+	}
+
+	@ManagedAttribute(description = "Hold time histogram")
+	public String getHoldTimeHistogram() {
+
+		long[] counts = getHoldTimeCounts();
+		StringBuilder builder = new StringBuilder();
+
+		for (int i = 0; i < counts.length; i++) {
+			builder.append(i == 0 ? "" : ", ");
+			builder.append(i < HOLD_TIME_BUCKETS.length ? "<" + HOLD_TIME_BUCKETS[i] : ">=" + HOLD_TIME_BUCKETS[i - 1]);
+			builder.append("ms=").append(counts[i]);
+		}
+
+		return builder.toString();
+	}
+}
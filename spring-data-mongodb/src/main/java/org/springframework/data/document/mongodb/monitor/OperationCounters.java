@@ -65,6 +65,36 @@ public class OperationCounters extends AbstractMonitor {
 		return getOpCounter("command");	
 	}
 	
+	@ManagedMetric(metricType = MetricType.GAUGE, displayName = "Insert operations per second")
+	public double getInsertRate() {
+		return getRate("opcounters", "insert");
+	}
+
+	@ManagedMetric(metricType = MetricType.GAUGE, displayName = "Query operations per second")
+	public double getQueryRate() {
+		return getRate("opcounters", "query");
+	}
+
+	@ManagedMetric(metricType = MetricType.GAUGE, displayName = "Update operations per second")
+	public double getUpdateRate() {
+		return getRate("opcounters", "update");
+	}
+
+	@ManagedMetric(metricType = MetricType.GAUGE, displayName = "Delete operations per second")
+	public double getDeleteRate() {
+		return getRate("opcounters", "delete");
+	}
+
+	@ManagedMetric(metricType = MetricType.GAUGE, displayName = "GetMore operations per second")
+	public double getGetMoreRate() {
+		return getRate("opcounters", "getmore");
+	}
+
+	@ManagedMetric(metricType = MetricType.GAUGE, displayName = "Command operations per second")
+	public double getCommandRate() {
+		return getRate("opcounters", "command");
+	}
+
 	private int getOpCounter(String key) {
 		DBObject opCounters = (DBObject) getServerStatus().get("opcounters");
 		return (Integer) opCounters.get(key);
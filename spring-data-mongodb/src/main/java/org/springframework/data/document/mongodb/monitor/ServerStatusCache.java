@@ -0,0 +1,176 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.monitor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedMetric;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.jmx.support.MetricType;
+import org.springframework.util.Assert;
+
+import com.mongodb.CommandResult;
+import com.mongodb.DBObject;
+import com.mongodb.Mongo;
+
+/**
+ * Caches the result of the {@code serverStatus} command for a configurable time so that monitors sharing the cache
+ * issue a single command per refresh no matter how many attributes a JMX console polls. Concurrent lookups of an
+ * expired snapshot wait for a single refresh. Keeps the previous snapshot to calculate per-second rates of counters.
+ * 
+ * @author agent
+ */
+@ManagedResource(description = "Server Status Cache")
+public class ServerStatusCache extends AbstractMonitor {
+
+	public static final long DEFAULT_TIME_TO_LIVE = 1000;
+
+	private final Object refreshMonitor = new Object();
+	private final AtomicLong refreshes = new AtomicLong();
+
+	private volatile long timeToLive = TimeUnit.MILLISECONDS.toNanos(DEFAULT_TIME_TO_LIVE);
+	private volatile Snapshot snapshot;
+
+	public ServerStatusCache(Mongo mongo) {
+		this.mongo = mongo;
+	}
+
+	/**
+	 * Configures the time in milliseconds a snapshot is used before the server status is queried again. Defaults to
+	 * {@value #DEFAULT_TIME_TO_LIVE}, {@literal 0} disables caching.
+	 * 
+	 * @param timeToLive
+	 */
+	@ManagedAttribute(description = "Time to live of a snapshot in milliseconds")
+	public void setTimeToLive(long timeToLive) {
+		Assert.isTrue(timeToLive >= 0, "Time to live must not be negative!");
+		this.timeToLive = TimeUnit.MILLISECONDS.toNanos(timeToLive);
+	}
+
+	@ManagedAttribute(description = "Time to live of a snapshot in milliseconds")
+	public long getTimeToLive() {
+		return TimeUnit.NANOSECONDS.toMillis(timeToLive);
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, displayName = "Refreshes")
+	public long getRefreshes() {
+		return refreshes.get();
+	}
+
+	/**
+	 * Returns the cached server status, querying the server if the current snapshot is expired.
+	 * 
+	 * @see org.springframework.data.document.mongodb.monitor.AbstractMonitor#getServerStatus()
+	 */
+	@Override
+	public CommandResult getServerStatus() {
+		return getSnapshot().status;
+	}
+
+	/**
+	 * Returns the per-second rate the value at the given path of the server status changed with between the previous
+	 * and the current snapshot. Returns {@literal 0} if there is no previous snapshot yet or the value decreased, e.g.
+	 * because the server was restarted.
+	 * 
+	 * @param path the keys to navigate to a numeric value, e.g. {@code "opcounters", "insert"}.
+	 * @return
+	 */
+	public double getRate(String... path) {
+
+		Snapshot current = getSnapshot();
+
+		if (current.previousStatus == null) {
+			return 0;
+		}
+
+		Number value = getValue(current.status, path);
+		Number previousValue = getValue(current.previousStatus, path);
+
+		if (value == null || previousValue == null) {
+			return 0;
+		}
+
+		double delta = value.doubleValue() - previousValue.doubleValue();
+		double seconds = (double) (current.timestamp - current.previousTimestamp) / TimeUnit.SECONDS.toNanos(1);
+
+		return delta < 0 || seconds <= 0 ? 0 : delta / seconds;
+	}
+
+	private Snapshot getSnapshot() {
+
+		Snapshot current = snapshot;
+
+		if (current != null && !current.isExpired(timeToLive)) {
+			return current;
+		}
+
+		synchronized (refreshMonitor) {
+
+			current = snapshot;
+
+			if (current != null && !current.isExpired(timeToLive)) {
+				return current;
+			}
+
+			CommandResult status = fetchServerStatus();
+			refreshes.incrementAndGet();
+
+			this.snapshot = current == null ? new Snapshot(status, null, 0) : new Snapshot(status, current.status,
+					current.timestamp);
+			return this.snapshot;
+		}
+	}
+
+	static Number getValue(DBObject source, String... path) {
+
+		Object value = source;
+
+		for (String key : path) {
+			if (!(value instanceof DBObject)) {
+				return null;
+			}
+			value = ((DBObject) value).get(key);
+		}
+
+		return value instanceof Number ? (Number) value : null;
+	}
+
+	/**
+	 * A server status obtained at a given time along with the one of the preceding snapshot.
+	 * 
+	 * @author agent
+	 */
+	private static class Snapshot {
+
+		private final CommandResult status;
+		private final long timestamp;
+		private final DBObject previousStatus;
+		private final long previousTimestamp;
+
+		public Snapshot(CommandResult status, DBObject previousStatus, long previousTimestamp) {
+			this.status = status;
+			this.timestamp = System.nanoTime();
+			this.previousStatus = previousStatus;
+			this.previousTimestamp = previousTimestamp;
+		}
+
+		public boolean isExpired(long timeToLive) {
+			return System.nanoTime() - timestamp >= timeToLive;
+		}
+	}
+}
@@ -15,6 +15,7 @@
  */
 package org.springframework.data.document.mongodb.query;
 
+import com.mongodb.BasicDBObject;
 import com.mongodb.DBObject;
 import com.mongodb.util.JSON;
 
@@ -26,10 +27,6 @@ public class BasicQuery extends Query {
 	
 	private DBObject sortObject = null;
 
-	private int skip;
-
-	private int limit;
-	
 	public BasicQuery(String query) {
 		super();
 		this.queryObject = (DBObject) JSON.parse(query);
@@ -60,32 +57,56 @@ public class BasicQuery extends Query {
 		return this.queryObject;
 	}
 
+	/**
+	 * Returns the fields object set explicitly, combined with the fields added through {@link #fields()}.
+	 */
 	public DBObject getFieldsObject() {
-		return fieldsObject;
+
+		DBObject fields = super.getFieldsObject();
+
+		if (fieldsObject == null) {
+			return fields;
+		}
+
+		if (fields == null || fields.keySet().isEmpty()) {
+			return fieldsObject;
+		}
+
+		DBObject result = new BasicDBObject(fieldsObject.toMap());
+		result.putAll(fields);
+		return result;
 	}
 
+	/**
+	 * Returns the sort object set explicitly, combined with the sort criteria added through {@link #sort()}.
+	 */
 	public DBObject getSortObject() {
-		return sortObject;
+
+		DBObject sort = super.getSortObject();
+
+		if (sortObject == null) {
+			return sort;
+		}
+
+		if (sort == null || sort.keySet().isEmpty()) {
+			return sortObject;
+		}
+
+		DBObject result = new BasicDBObject(sortObject.toMap());
+		result.putAll(sort);
+		return result;
 	}
 
 	public void setSortObject(DBObject sortObject) {
 		this.sortObject = sortObject;
 	}
 
-	public int getSkip() {
-		return skip;
-	}
-
 	public void setSkip(int skip) {
-		this.skip = skip;
-	}
-
-	public int getLimit() {
-		return this.limit;
+		skip(skip);
 	}
 
 	public void setLimit(int limit) {
-		this.limit = limit;
+		limit(limit);
 	}
 
 }
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.util.Assert;
+
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import com.mongodb.util.JSON;
+
+/**
+ * A {@link DBObject} parsed from a JSON String containing positional placeholders ({@code ?0}, {@code ?1}, ...).
+ * Placeholders are only recognized outside of string literals or as the complete content of one, so that e.g. regular
+ * expressions containing {@code ?0} are left untouched. The JSON is parsed only once, binding values creates a copy of
+ * the parsed {@link DBObject} with the placeholders replaced by the given values, so there's no need to render and
+ * parse JSON again.
+ * 
+ * @author agent
+ */
+public class DBObjectTemplate {
+
+	private static final Pattern PLACEHOLDER = Pattern.compile("\\?(\\d+)");
+	private static final String MARKER = "?placeholder:";
+
+	private final String source;
+	private final DBObject template;
+	private final List<Integer> placeholderIndexes;
+
+	private DBObjectTemplate(String source, DBObject template, SortedSet<Integer> placeholderIndexes) {
+
+		this.source = source;
+		this.template = template;
+		this.placeholderIndexes = Collections.unmodifiableList(new ArrayList<Integer>(placeholderIndexes));
+	}
+
+	/**
+	 * Parses the given JSON String into a {@link DBObjectTemplate}. Placeholders can be used in place of values, quoted
+	 * or unquoted.
+	 * 
+	 * @param json must not be {@literal null}.
+	 * @return
+	 */
+	public static DBObjectTemplate parse(String json) {
+
+		Assert.notNull(json);
+
+		StringBuilder buffer = new StringBuilder(json.length());
+		Matcher matcher = PLACEHOLDER.matcher(json);
+		int position = 0;
+
+		while (position < json.length()) {
+
+			char c = json.charAt(position);
+
+			if (c == '\'' || c == '"') {
+				int end = getEndOfStringLiteral(json, position);
+				String content = json.substring(position + 1, end);
+				buffer.append(PLACEHOLDER.matcher(content).matches() ? toMarker(content.substring(1)) : json.substring(
+						position, end + 1));
+				position = end + 1;
+				continue;
+			}
+
+			if (c == '?' && matcher.region(position, json.length()).lookingAt()) {
+				buffer.append(toMarker(matcher.group(1)));
+				position = matcher.end();
+				continue;
+			}
+
+			buffer.append(c);
+			position++;
+		}
+
+		Object parsed = JSON.parse(buffer.toString());
+
+		if (!(parsed instanceof DBObject)) {
+			throw new IllegalArgumentException(String.format("%s is not a valid JSON document!", json));
+		}
+
+		SortedSet<Integer> indexes = new TreeSet<Integer>();
+		DBObject template = (DBObject) resolvePlaceholders(parsed, indexes);
+
+		return new DBObjectTemplate(json, template, indexes);
+	}
+
+	/**
+	 * Returns the indexes of all placeholders contained in the template in ascending order. The returned {@link List}
+	 * is immutable and shared by all callers.
+	 * 
+	 * @return
+	 */
+	public List<Integer> getPlaceholderIndexes() {
+		return placeholderIndexes;
+	}
+
+	/**
+	 * Returns whether the template contains any placeholders.
+	 * 
+	 * @return
+	 */
+	public boolean hasPlaceholders() {
+		return !placeholderIndexes.isEmpty();
+	}
+
+	/**
+	 * Creates a new {@link DBObject} from the template replacing the placeholders with the value of the given array at
+	 * the placeholder's index.
+	 * 
+	 * @param values must not be {@literal null} and contain a value for the highest placeholder index.
+	 * @return
+	 */
+	public DBObject bind(Object... values) {
+
+		Assert.notNull(values);
+
+		if (hasPlaceholders() && values.length <= placeholderIndexes.get(placeholderIndexes.size() - 1)) {
+			throw new IllegalArgumentException(String.format("Not enough values given to bind %s!", source));
+		}
+
+		return (DBObject) copy(template, values);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return source;
+	}
+
+	/**
+	 * Returns the position of the quote closing the string literal starting at the given position, skipping escaped
+	 * characters.
+	 * 
+	 * @param json
+	 * @param start the position of the opening quote
+	 * @return
+	 */
+	private static int getEndOfStringLiteral(String json, int start) {
+
+		char quote = json.charAt(start);
+
+		for (int i = start + 1; i < json.length(); i++) {
+
+			char c = json.charAt(i);
+
+			if (c == '\\') {
+				i++;
+			} else if (c == quote) {
+				return i;
+			}
+		}
+
+		throw new IllegalArgumentException(String.format("Unterminated string literal in %s!", json));
+	}
+
+	private static String toMarker(String index) {
+		return "\"" + MARKER + index + "\"";
+	}
+
+	private static Object resolvePlaceholders(Object value, SortedSet<Integer> indexes) {
+
+		if (value instanceof String) {
+
+			String string = (String) value;
+
+			if (!string.startsWith(MARKER)) {
+				return value;
+			}
+
+			Placeholder placeholder = new Placeholder(Integer.parseInt(string.substring(MARKER.length())));
+			indexes.add(placeholder.index);
+			return placeholder;
+		}
+
+		if (value instanceof DBObject) {
+
+			DBObject dbObject = (DBObject) value;
+
+			for (String key : dbObject.keySet()) {
+				dbObject.put(key, resolvePlaceholders(dbObject.get(key), indexes));
+			}
+		}
+
+		return value;
+	}
+
+	private static Object copy(Object value, Object[] values) {
+
+		if (value instanceof Placeholder) {
+			return values[((Placeholder) value).index];
+		}
+
+		if (value instanceof BasicDBList) {
+
+			BasicDBList source = (BasicDBList) value;
+			BasicDBList result = new BasicDBList();
+
+			for (Object element : source) {
+				result.add(copy(element, values));
+			}
+
+			return result;
+		}
+
+		if (value instanceof BasicDBObject) {
+
+			BasicDBObject source = (BasicDBObject) value;
+			BasicDBObject result = new BasicDBObject(source.size());
+
+			for (Entry<String, Object> entry : source.entrySet()) {
+				result.put(entry.getKey(), copy(entry.getValue(), values));
+			}
+
+			return result;
+		}
+
+		return value;
+	}
+
+	/**
+	 * A slot in the template to be replaced with the value at the given index.
+	 * 
+	 * @author agent
+	 */
+	private static class Placeholder {
+
+		private final int index;
+
+		public Placeholder(int index) {
+			this.index = index;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return "?" + index;
+		}
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.query;
+
+import org.springframework.util.Assert;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import com.mongodb.util.JSON;
+
+/**
+ * Specification of a server side {@code group} operation: the keys to group by, the initial document of every group
+ * and the JavaScript reduce function folding each document of a group into it. The restricting criteria are taken from
+ * a {@link Query}.
+ * 
+ * @author agent
+ */
+public class GroupBy {
+
+	private final DBObject key;
+	private final String keyFunction;
+	private DBObject initial = new BasicDBObject();
+	private String reduceFunction;
+	private String finalizeFunction;
+
+	private GroupBy(DBObject key, String keyFunction) {
+		this.key = key;
+		this.keyFunction = keyFunction;
+	}
+
+	/**
+	 * Groups by the given document fields.
+	 * 
+	 * @param keys must not be empty.
+	 * @return
+	 */
+	public static GroupBy key(String... keys) {
+
+		Assert.notEmpty(keys);
+
+		DBObject key = new BasicDBObject();
+		for (String field : keys) {
+			key.put(field, 1);
+		}
+
+		return new GroupBy(key, null);
+	}
+
+	/**
+	 * Groups by the result of the given JavaScript function calculating the key of a document.
+	 * 
+	 * @param keyFunction must not be {@literal null} or empty.
+	 * @return
+	 */
+	public static GroupBy keyFunction(String keyFunction) {
+
+		Assert.hasText(keyFunction);
+		return new GroupBy(null, keyFunction);
+	}
+
+	/**
+	 * Sets the document every group starts with.
+	 * 
+	 * @param initialDocument must not be {@literal null}.
+	 * @return
+	 */
+	public GroupBy initialDocument(DBObject initialDocument) {
+
+		Assert.notNull(initialDocument);
+		this.initial = initialDocument;
+		return this;
+	}
+
+	/**
+	 * Sets the document every group starts with as JSON.
+	 * 
+	 * @param initialDocument must not be {@literal null} or empty.
+	 * @return
+	 */
+	public GroupBy initialDocument(String initialDocument) {
+
+		Assert.hasText(initialDocument);
+		return initialDocument((DBObject) JSON.parse(initialDocument));
+	}
+
+	/**
+	 * Sets the JavaScript function {@code function(doc, out)} aggregating a document into the group document.
+	 * 
+	 * @param reduceFunction must not be {@literal null} or empty.
+	 * @return
+	 */
+	public GroupBy reduceFunction(String reduceFunction) {
+
+		Assert.hasText(reduceFunction);
+		this.reduceFunction = reduceFunction;
+		return this;
+	}
+
+	/**
+	 * Sets an optional JavaScript function {@code function(out)} run on every group document before it is returned.
+	 * 
+	 * @param finalizeFunction
+	 * @return
+	 */
+	public GroupBy finalizeFunction(String finalizeFunction) {
+		this.finalizeFunction = finalizeFunction;
+		return this;
+	}
+
+	/**
+	 * Returns the {@code group} command document for the given collection and criteria.
+	 * 
+	 * @param collectionName must not be {@literal null} or empty.
+	 * @param criteria can be {@literal null}.
+	 * @return
+	 */
+	public DBObject getGroupByObject(String collectionName, DBObject criteria) {
+
+		Assert.hasText(collectionName);
+		Assert.state(reduceFunction != null, "No reduce function configured!");
+
+		DBObject group = new BasicDBObject("ns", collectionName);
+
+		if (key != null) {
+			group.put("key", key);
+		} else {
+			group.put("$keyf", keyFunction);
+		}
+
+		group.put("cond", criteria);
+		group.put("initial", initial);
+		group.put("$reduce", reduceFunction);
+
+		if (finalizeFunction != null) {
+			group.put("finalize", finalizeFunction);
+		}
+
+		return new BasicDBObject("group", group);
+	}
+}
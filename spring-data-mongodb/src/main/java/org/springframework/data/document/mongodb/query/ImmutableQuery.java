@@ -0,0 +1,415 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.BSONObject;
+import org.springframework.util.Assert;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+/**
+ * {@link Query} that cannot be modified after creation. The query, fields and sort {@link DBObject}s are rendered once
+ * and cannot be modified either, so that an {@link ImmutableQuery} can be held in a constant and shared between
+ * threads. All methods to modify the query throw an {@link UnsupportedOperationException}.
+ * 
+ * @author agent
+ */
+public class ImmutableQuery extends Query {
+
+	private final DBObject queryObject;
+	private final DBObject fieldsObject;
+	private final DBObject sortObject;
+	private final int skip;
+	private final int limit;
+	private final int batchSize;
+	private final String hintIndexName;
+	private final DBObject hintObject;
+	private final boolean snapshot;
+	private final boolean noCursorTimeout;
+	private final ReadRouting readRouting;
+
+	/**
+	 * Creates a new {@link ImmutableQuery} from the current state of the given {@link Query}. Later changes to the given
+	 * {@link Query} are not reflected.
+	 * 
+	 * @param query must not be {@literal null}.
+	 */
+	public ImmutableQuery(Query query) {
+		this(freeze(getQueryObject(query)), query);
+	}
+
+	/**
+	 * Creates a new {@link ImmutableQuery} using the given query {@link DBObject} and all other settings of the given
+	 * {@link Query}. The query {@link DBObject} is used as is, so it has to be a fresh instance not shared with anyone
+	 * else. Settings already frozen by an {@link ImmutableQuery} given as template are shared.
+	 * 
+	 * @param queryObject must not be {@literal null}.
+	 * @param query must not be {@literal null}.
+	 */
+	ImmutableQuery(DBObject queryObject, Query query) {
+
+		Assert.notNull(queryObject);
+		Assert.notNull(query);
+
+		this.queryObject = queryObject;
+		this.fieldsObject = freeze(query.getFieldsObject());
+		this.sortObject = freeze(query.getSortObject());
+		this.skip = query.getSkip();
+		this.limit = query.getLimit();
+		this.batchSize = query.getBatchSize();
+		this.hintIndexName = query.getHintIndexName();
+		this.hintObject = freeze(query.getHintObject());
+		this.snapshot = query.isSnapshot();
+		this.noCursorTimeout = query.isNoCursorTimeout();
+		this.readRouting = query.getReadRouting();
+	}
+
+	private static DBObject getQueryObject(Query query) {
+		Assert.notNull(query);
+		return query.getQueryObject();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.query.Query#getQueryObject()
+	 */
+	@Override
+	public DBObject getQueryObject() {
+		return queryObject;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.query.Query#getFieldsObject()
+	 */
+	@Override
+	public DBObject getFieldsObject() {
+		return fieldsObject;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.query.Query#getSortObject()
+	 */
+	@Override
+	public DBObject getSortObject() {
+		return sortObject;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.query.Query#getSkip()
+	 */
+	@Override
+	public int getSkip() {
+		return skip;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.query.Query#getLimit()
+	 */
+	@Override
+	public int getLimit() {
+		return limit;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.query.Query#getBatchSize()
+	 */
+	@Override
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.query.Query#getHintIndexName()
+	 */
+	@Override
+	public String getHintIndexName() {
+		return hintIndexName;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.query.Query#getHintObject()
+	 */
+	@Override
+	public DBObject getHintObject() {
+		return hintObject;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.query.Query#isSnapshot()
+	 */
+	@Override
+	public boolean isSnapshot() {
+		return snapshot;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.query.Query#isNoCursorTimeout()
+	 */
+	@Override
+	public boolean isNoCursorTimeout() {
+		return noCursorTimeout;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.query.Query#getReadRouting()
+	 */
+	@Override
+	public ReadRouting getReadRouting() {
+		return readRouting;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.query.Query#hasCursorOptions()
+	 */
+	@Override
+	public boolean hasCursorOptions() {
+		return batchSize != 0 || hintIndexName != null || hintObject != null || snapshot || noCursorTimeout;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.query.Query#and(org.springframework.data.document.mongodb.query.Criteria)
+	 */
+	@Override
+	public Query and(Criteria criteria) {
+		throw modificationAttempt();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.query.Query#or(org.springframework.data.document.mongodb.query.Query[])
+	 */
+	@Override
+	public Query or(Query... queries) {
+		throw modificationAttempt();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.query.Query#fields()
+	 */
+	@Override
+	public Field fields() {
+		throw modificationAttempt();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.query.Query#sort()
+	 */
+	@Override
+	public Sort sort() {
+		throw modificationAttempt();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.query.Query#skip(int)
+	 */
+	@Override
+	public Query skip(int skip) {
+		throw modificationAttempt();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.query.Query#limit(int)
+	 */
+	@Override
+	public Query limit(int limit) {
+		throw modificationAttempt();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.query.Query#batchSize(int)
+	 */
+	@Override
+	public Query batchSize(int batchSize) {
+		throw modificationAttempt();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.query.Query#hint(java.lang.String)
+	 */
+	@Override
+	public Query hint(String indexName) {
+		throw modificationAttempt();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.query.Query#hint(com.mongodb.DBObject)
+	 */
+	@Override
+	public Query hint(DBObject indexKeys) {
+		throw modificationAttempt();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.query.Query#snapshot()
+	 */
+	@Override
+	public Query snapshot() {
+		throw modificationAttempt();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.query.Query#noCursorTimeout()
+	 */
+	@Override
+	public Query noCursorTimeout() {
+		throw modificationAttempt();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.document.mongodb.query.Query#readRouting(org.springframework.data.document.mongodb.query.ReadRouting)
+	 */
+	@Override
+	public Query readRouting(ReadRouting readRouting) {
+		throw modificationAttempt();
+	}
+
+	private static UnsupportedOperationException modificationAttempt() {
+		return new UnsupportedOperationException("ImmutableQuery cannot be modified!");
+	}
+
+	/**
+	 * Returns a deep copy of the given {@link DBObject} that cannot be modified. Already frozen {@link DBObject}s are
+	 * returned as is.
+	 * 
+	 * @param source
+	 * @return
+	 */
+	static DBObject freeze(DBObject source) {
+		return source == null ? null : (DBObject) freezeValue(source);
+	}
+
+	private static Object freezeValue(Object value) {
+
+		if (value instanceof FrozenDBObject) {
+			return value;
+		}
+
+		if (value instanceof List) {
+
+			List<Object> result = new ArrayList<Object>();
+
+			for (Object element : (List<?>) value) {
+				result.add(freezeValue(element));
+			}
+
+			return Collections.unmodifiableList(result);
+		}
+
+		if (value instanceof Object[]) {
+
+			Object[] source = (Object[]) value;
+			List<Object> result = new ArrayList<Object>(source.length);
+
+			for (Object element : source) {
+				result.add(freezeValue(element));
+			}
+
+			return Collections.unmodifiableList(result);
+		}
+
+		if (value instanceof DBObject) {
+
+			DBObject source = (DBObject) value;
+			FrozenDBObject result = new FrozenDBObject();
+
+			for (String key : source.keySet()) {
+				result.doPut(key, freezeValue(source.get(key)));
+			}
+
+			return result;
+		}
+
+		return value;
+	}
+
+	/**
+	 * {@link BasicDBObject} rejecting modifications once populated.
+	 * 
+	 * @author agent
+	 */
+	private static class FrozenDBObject extends BasicDBObject {
+
+		private static final long serialVersionUID = -2399441429839460612L;
+
+		private void doPut(String key, Object value) {
+			super.put(key, value);
+		}
+
+		@Override
+		public Object put(String key, Object value) {
+			throw modificationAttempt();
+		}
+
+		@Override
+		@SuppressWarnings("rawtypes")
+		public void putAll(Map m) {
+			throw modificationAttempt();
+		}
+
+		@Override
+		public void putAll(BSONObject o) {
+			throw modificationAttempt();
+		}
+
+		@Override
+		public Object removeField(String key) {
+			throw modificationAttempt();
+		}
+
+		@Override
+		public Object remove(Object key) {
+			throw modificationAttempt();
+		}
+
+		@Override
+		public void clear() {
+			throw modificationAttempt();
+		}
+
+		@Override
+		public void markAsPartialObject() {
+			throw modificationAttempt();
+		}
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.query;
+
+import org.springframework.util.Assert;
+
+/**
+ * Query defined by a JSON String with positional placeholders ({@code ?0}, {@code ?1}, ...) which is parsed once and
+ * bound to different values for each execution. Fields, sort and cursor options are rendered once as well and shared
+ * by all bound queries, so a {@link ParameterizedQuery} can be held in a constant.
+ * 
+ * @author agent
+ * @see DBObjectTemplate
+ */
+public class ParameterizedQuery {
+
+	private final DBObjectTemplate template;
+	private final ImmutableQuery prototype;
+
+	/**
+	 * Creates a new {@link ParameterizedQuery} from the given JSON String.
+	 * 
+	 * @param query must not be {@literal null}.
+	 */
+	public ParameterizedQuery(String query) {
+		this(query, new Query());
+	}
+
+	/**
+	 * Creates a new {@link ParameterizedQuery} from the given JSON String, taking fields, sort, skip, limit and cursor
+	 * options from the given {@link Query}. Criteria of the given {@link Query} are ignored.
+	 * 
+	 * @param query must not be {@literal null}.
+	 * @param options must not be {@literal null}.
+	 */
+	public ParameterizedQuery(String query, Query options) {
+
+		Assert.notNull(options);
+
+		this.template = DBObjectTemplate.parse(query);
+		this.prototype = new ImmutableQuery(options);
+	}
+
+	/**
+	 * Creates an {@link ImmutableQuery} binding the given values to the placeholders at their index.
+	 * 
+	 * @param values
+	 * @return
+	 */
+	public ImmutableQuery bind(Object... values) {
+		return new ImmutableQuery(template.bind(values), prototype);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return template.toString();
+	}
+}
@@ -20,6 +20,10 @@ import java.util.LinkedHashMap;
 import com.mongodb.BasicDBObject;
 import com.mongodb.DBObject;
 
+/**
+ * Query to be executed against a collection. Instances are not thread-safe, use an {@link ImmutableQuery} to share a
+ * query between threads.
+ */
 public class Query {
 	
 	private LinkedHashMap<String, CriteriaDefinition> criteria = new LinkedHashMap<String, CriteriaDefinition>();
@@ -31,6 +35,18 @@ public class Query {
 	private int skip;
 
 	private int limit;
+
+	private int batchSize;
+
+	private String hintIndexName;
+
+	private DBObject hintObject;
+
+	private boolean snapshot;
+
+	private boolean noCursorTimeout;
+
+	private ReadRouting readRouting;
 	
 	public Query() {
 	}
@@ -50,10 +66,8 @@ public class Query {
 	}
 
 	public Field fields() {
-		synchronized (this) {
-			if (fieldSpec == null) {
-				this.fieldSpec = new Field();
-			}
+		if (fieldSpec == null) {
+			this.fieldSpec = new Field();
 		}
 		return this.fieldSpec;
 	}
@@ -68,11 +82,78 @@ public class Query {
 		return this;
 	}
 	
+	/**
+	 * Configures the number of documents to be returned per batch from the server. A value of {@literal 0} lets the
+	 * server choose the batch size.
+	 * 
+	 * @param batchSize
+	 * @return
+	 */
+	public Query batchSize(int batchSize) {
+		this.batchSize = batchSize;
+		return this;
+	}
+
+	/**
+	 * Forces the query to use the index with the given name.
+	 * 
+	 * @param indexName
+	 * @return
+	 */
+	public Query hint(String indexName) {
+		this.hintIndexName = indexName;
+		this.hintObject = null;
+		return this;
+	}
+
+	/**
+	 * Forces the query to use the index with the given key pattern.
+	 * 
+	 * @param indexKeys
+	 * @return
+	 */
+	public Query hint(DBObject indexKeys) {
+		this.hintObject = indexKeys;
+		this.hintIndexName = null;
+		return this;
+	}
+
+	/**
+	 * Uses snapshot mode for the query, so that documents modified while iterating are not returned twice.
+	 * 
+	 * @return
+	 */
+	public Query snapshot() {
+		this.snapshot = true;
+		return this;
+	}
+
+	/**
+	 * Prevents the server from timing out idle cursors, e.g. for long running scans over large collections. Make sure
+	 * such cursors are exhausted or closed explicitly.
+	 * 
+	 * @return
+	 */
+	public Query noCursorTimeout() {
+		this.noCursorTimeout = true;
+		return this;
+	}
+
+	/**
+	 * Configures the replica set members the query may be sent to. Overrides the default {@link ReadRouting} of the
+	 * template executing the query.
+	 * 
+	 * @param readRouting
+	 * @return
+	 */
+	public Query readRouting(ReadRouting readRouting) {
+		this.readRouting = readRouting;
+		return this;
+	}
+
 	public Sort sort() {
-		synchronized (this) {
-			if (this.sort == null) {
-				this.sort = new Sort();
-			}
+		if (this.sort == null) {
+			this.sort = new Sort();
 		}
 		return this.sort;
 	}
@@ -108,4 +189,43 @@ public class Query {
 	public int getLimit() {
 		return this.limit;
 	}
+
+	public int getBatchSize() {
+		return this.batchSize;
+	}
+
+	public String getHintIndexName() {
+		return this.hintIndexName;
+	}
+
+	public DBObject getHintObject() {
+		return this.hintObject;
+	}
+
+	public boolean isSnapshot() {
+		return this.snapshot;
+	}
+
+	public boolean isNoCursorTimeout() {
+		return this.noCursorTimeout;
+	}
+
+	/**
+	 * Returns the {@link ReadRouting} configured for the query or {@literal null} if the template's default shall be
+	 * used.
+	 * 
+	 * @return
+	 */
+	public ReadRouting getReadRouting() {
+		return this.readRouting;
+	}
+
+	/**
+	 * Returns whether any cursor options besides skip, limit and sort are set on the query.
+	 * 
+	 * @return
+	 */
+	public boolean hasCursorOptions() {
+		return batchSize != 0 || hintIndexName != null || hintObject != null || snapshot || noCursorTimeout;
+	}
 }
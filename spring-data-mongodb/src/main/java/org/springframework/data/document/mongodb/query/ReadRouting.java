@@ -0,0 +1,58 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.query;
+
+/**
+ * Determines which members of a replica set a read may be sent to.
+ * 
+ * @author agent
+ */
+public enum ReadRouting {
+
+	/**
+	 * Reads are sent to the primary only.
+	 */
+	PRIMARY(false),
+
+	/**
+	 * Reads are sent to a secondary, falling back to the primary if none is available.
+	 */
+	SECONDARY_PREFERRED(true),
+
+	/**
+	 * Reads are sent to whichever member is considered closest, which may be the primary. Currently an alias of
+	 * {@link #SECONDARY_PREFERRED}: the 2.3 driver only knows the {@code slaveOk} flag and has no notion of member
+	 * latency, so both send the read to a randomly chosen secondary if one is available.
+	 */
+	NEAREST(true);
+
+	private final boolean slaveOk;
+
+	private ReadRouting(boolean slaveOk) {
+		this.slaveOk = slaveOk;
+	}
+
+	/**
+	 * Returns whether the read may be served by a secondary, i.e. whether the {@code slaveOk} query option has to be
+	 * set. As the driver does not distinguish between secondary preferred and nearest reads, this is the only
+	 * difference in behaviour between the routings.
+	 * 
+	 * @return
+	 */
+	public boolean isSlaveOk() {
+		return slaveOk;
+	}
+}
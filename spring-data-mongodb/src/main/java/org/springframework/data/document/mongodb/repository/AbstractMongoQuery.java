@@ -19,20 +19,15 @@ import static org.springframework.data.document.mongodb.repository.QueryUtils.*;
 
 import java.util.List;
 
-import org.springframework.data.document.mongodb.CollectionCallback;
 import org.springframework.data.document.mongodb.MongoTemplate;
 import org.springframework.data.document.mongodb.query.Query;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.document.mongodb.repository.PageLoader.ContentLoader;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.query.ParameterAccessor;
 import org.springframework.data.repository.query.ParametersParameterAccessor;
 import org.springframework.data.repository.query.RepositoryQuery;
 import org.springframework.util.Assert;
 
-import com.mongodb.DBCollection;
-import com.mongodb.DBCursor;
-import com.mongodb.DBObject;
-
 /**
  * Base class for {@link RepositoryQuery} implementations for Mongo.
  * 
@@ -43,6 +38,8 @@ public abstract class AbstractMongoQuery implements RepositoryQuery {
 	private final MongoQueryMethod method;
 	private final MongoTemplate template;
 
+	private PageLoader pageLoader;
+
 	/**
 	 * Creates a new {@link AbstractMongoQuery} from the given {@link MongoQueryMethod} and {@link MongoTemplate}.
 	 * 
@@ -56,6 +53,19 @@ public abstract class AbstractMongoQuery implements RepositoryQuery {
 
 		this.method = method;
 		this.template = template;
+		this.pageLoader = new PageLoader(template);
+	}
+
+	/**
+	 * Configures the {@link PageLoader} to use for paging query methods. Defaults to a {@link PageLoader} executing the
+	 * count query synchronously.
+	 * 
+	 * @param pageLoader must not be {@literal null}.
+	 */
+	public void setPageLoader(PageLoader pageLoader) {
+
+		Assert.notNull(pageLoader);
+		this.pageLoader = pageLoader;
 	}
 	
 	/* (non-Javadoc)
@@ -75,6 +85,15 @@ public abstract class AbstractMongoQuery implements RepositoryQuery {
 
 		ParameterAccessor accessor = new ParametersParameterAccessor(method.getParameters(), parameters);
 		Query query = createQuery(new ConvertingParameterAccessor(template.getConverter(), accessor));
+		applyQueryOptions(query, method.getQueryOptions());
+
+		if (method.getReadRouting() != null) {
+			query.readRouting(method.getReadRouting());
+		}
+
+		if (method.isCountQuery()) {
+			return new CountExecution().execute(query);
+		}
 
 		switch (method.getType()) {
 		case COLLECTION:
@@ -98,12 +117,37 @@ public abstract class AbstractMongoQuery implements RepositoryQuery {
 
 		abstract Object execute(Query query);
 
+		@SuppressWarnings("unchecked")
 		protected List<?> readCollection(Query query) {
 
 			MongoEntityInformation<?> metadata = method.getEntityMetadata();
+			String collectionName = metadata.getCollectionName();
+
+			if (!method.isProjecting()) {
+				return template.find(collectionName, query, metadata.getJavaType());
+			}
+
+			Class<Object> projectionType = (Class<Object>) method.getProjectionType();
+			ProjectingMongoReader.restrictFields(query, projectionType);
+			return template.find(collectionName, query, projectionType, new ProjectingMongoReader(metadata.getJavaType(),
+					template.getConverter()));
+		}
+
+		@SuppressWarnings("unchecked")
+		protected KeysetPage<?> readKeysetPage(Query query, KeysetPageRequest pageable) {
 
+			MongoEntityInformation<?> metadata = method.getEntityMetadata();
 			String collectionName = metadata.getCollectionName();
-			return template.find(collectionName, query, metadata.getJavaType());
+
+			if (!method.isProjecting()) {
+				return pageLoader.readKeysetPage(collectionName, query, pageable, (Class<Object>) metadata.getJavaType(),
+						null);
+			}
+
+			Class<Object> projectionType = (Class<Object>) method.getProjectionType();
+			ProjectingMongoReader.restrictFields(query, projectionType);
+			return pageLoader.readKeysetPage(collectionName, query, pageable, projectionType, new ProjectingMongoReader(
+					metadata.getJavaType(), template.getConverter()));
 		}
 	}
 
@@ -152,27 +196,22 @@ public abstract class AbstractMongoQuery implements RepositoryQuery {
 		 * @see org.springframework.data.document.mongodb.repository.MongoQuery.Execution #execute(com.mongodb.DBObject)
 		 */
 		@Override
-		@SuppressWarnings({ "rawtypes", "unchecked" })
 		Object execute(Query query) {
 
-			MongoEntityInformation<?> metadata = method.getEntityMetadata();
-			int count = getCollectionCursor(metadata.getCollectionName(), query.getQueryObject()).count();
-
-			List<?> result = template.find(metadata.getCollectionName(), applyPagination(query, pageable),
-					metadata.getJavaType());
+			if (pageable instanceof KeysetPageRequest) {
+				return readKeysetPage(query, (KeysetPageRequest) pageable);
+			}
 
-			return new PageImpl(result, pageable, count);
-		}
-
-		private DBCursor getCollectionCursor(String collectionName, final DBObject query) {
-
-			return template.execute(collectionName, new CollectionCallback<DBCursor>() {
+			MongoEntityInformation<?> metadata = method.getEntityMetadata();
 
-				public DBCursor doInCollection(DBCollection collection) {
+			return pageLoader.readPage(metadata.getCollectionName(), query, pageable, metadata.getJavaType(),
+					new ContentLoader<Object>() {
 
-					return collection.find(query);
-				}
-			});
+						@SuppressWarnings("unchecked")
+						public List<Object> load(Query query) {
+							return (List<Object>) readCollection(query);
+						}
+					});
 		}
 	}
 
@@ -195,4 +234,26 @@ public abstract class AbstractMongoQuery implements RepositoryQuery {
 			return result.isEmpty() ? null : result.get(0);
 		}
 	}
+
+	/**
+	 * {@link Execution} to count the documents matching the query without retrieving them.
+	 * 
+	 * @author agent
+	 */
+	class CountExecution extends Execution {
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see org.springframework.data.document.mongodb.repository.MongoQuery.Execution #execute(com.mongodb.DBObject)
+		 */
+		@Override
+		Object execute(Query query) {
+
+			MongoEntityInformation<?> metadata = method.getEntityMetadata();
+			long count = template.count(metadata.getCollectionName(), query, metadata.getJavaType());
+
+			return method.isIntegerCount() ? Integer.valueOf((int) count) : Long.valueOf(count);
+		}
+	}
 }
@@ -18,6 +18,8 @@ package org.springframework.data.document.mongodb.repository;
 import java.util.Iterator;
 
 import org.springframework.data.document.mongodb.MongoWriter;
+import org.springframework.data.document.mongodb.SimpleMongoConverter;
+import org.springframework.data.document.mongodb.cache.LruCache;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.query.ParameterAccessor;
@@ -32,8 +34,13 @@ import com.mongodb.DBObject;
  */
 public class ConvertingParameterAccessor implements ParameterAccessor {
 
+	private static final int SIMPLE_TYPE_CACHE_LIMIT = 256;
+	private static final LruCache<Class<?>, Boolean> SIMPLE_TYPES = new LruCache<Class<?>, Boolean>(
+			SIMPLE_TYPE_CACHE_LIMIT);
+
 	private final MongoWriter<Object> writer;
 	private final ParameterAccessor delegate;
+	private final boolean passSimpleTypes;
 
 	/**
 	 * Creates a new {@link ConvertingParameterAccessor} with the given {@link MongoWriter} and delegate.
@@ -43,6 +50,7 @@ public class ConvertingParameterAccessor implements ParameterAccessor {
 	public ConvertingParameterAccessor(MongoWriter<Object> writer, ParameterAccessor delegate) {
 		this.writer = writer;
 		this.delegate = delegate;
+		this.passSimpleTypes = writer instanceof SimpleMongoConverter;
 	}
 
 	/*
@@ -81,18 +89,47 @@ public class ConvertingParameterAccessor implements ParameterAccessor {
 	}
 	
 	/**
-	 * Converts the given value with the underlying {@link MongoWriter}.
+	 * Converts the given value with the underlying {@link MongoWriter}. If the writer is a
+	 * {@link SimpleMongoConverter}, {@literal null}s, enums and values it would write as they are are returned without
+	 * invoking it.
 	 * 
 	 * @param value
 	 * @return
 	 */
 	private Object getConvertedValue(Object value) {
-		
+
+		if (passSimpleTypes) {
+
+			if (value == null) {
+				return null;
+			}
+
+			if (value instanceof Enum) {
+				return ((Enum<?>) value).name();
+			}
+
+			if (isSimpleType(value.getClass())) {
+				return value;
+			}
+		}
+
 		DBObject result = new BasicDBObject();
-		writer.write(value.getClass().isEnum() ? new EnumValueHolder((Enum<?>) value) : new ValueHolder(value), result);
+		writer.write(value instanceof Enum ? new EnumValueHolder((Enum<?>) value) : new ValueHolder(value), result);
 		return result.get("value");
 	}
 
+	private static boolean isSimpleType(Class<?> type) {
+
+		Boolean simple = SIMPLE_TYPES.get(type);
+
+		if (simple == null) {
+			simple = SimpleMongoConverter.isSimpleType(type);
+			SIMPLE_TYPES.putIfAbsent(type, simple);
+		}
+
+		return simple;
+	}
+
 	/**
 	 * Custom {@link Iterator} to convert items before returning them.
 	 *
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.PageImpl;
+
+/**
+ * A page of elements read with a {@link KeysetPageRequest}. As keyset pagination avoids counting the documents, the
+ * total number of elements and pages is not known and only reflects the current page. Use {@link #hasNextPage()} and
+ * {@link #getNextPageRequest()} to navigate to the following page.
+ * 
+ * @author agent
+ */
+public class KeysetPage<T> extends PageImpl<T> {
+
+	private final KeysetPageRequest nextPageRequest;
+
+	/**
+	 * Creates a new {@link KeysetPage} with the given content.
+	 * 
+	 * @param content must not be {@literal null}.
+	 * @param request the {@link KeysetPageRequest} the content was read for, must not be {@literal null}.
+	 * @param nextPageRequest the {@link KeysetPageRequest} to read the next page, {@literal null} if this is the last
+	 *          page.
+	 */
+	public KeysetPage(List<T> content, KeysetPageRequest request, KeysetPageRequest nextPageRequest) {
+
+		super(content, request, content.size());
+		this.nextPageRequest = nextPageRequest;
+	}
+
+	/**
+	 * Returns the {@link KeysetPageRequest} to read the following page with or {@literal null} if this is the last one.
+	 * 
+	 * @return
+	 */
+	public KeysetPageRequest getNextPageRequest() {
+		return nextPageRequest;
+	}
+
+	/**
+	 * Returns the continuation token to read the following page with, i.e. the value of the key of the last element of
+	 * this page. Returns {@literal null} if this is the last page.
+	 * 
+	 * @return
+	 */
+	public Object getContinuationToken() {
+		return nextPageRequest == null ? null : nextPageRequest.getLastKey();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.domain.PageImpl#hasNextPage()
+	 */
+	@Override
+	public boolean hasNextPage() {
+		return nextPageRequest != null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.domain.PageImpl#isLastPage()
+	 */
+	@Override
+	public boolean isLastPage() {
+		return nextPageRequest == null;
+	}
+}
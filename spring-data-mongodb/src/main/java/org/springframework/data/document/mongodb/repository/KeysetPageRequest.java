@@ -0,0 +1,160 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.repository;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * {@link PageRequest} to page through documents by the value of a key rather than by skipping a number of documents.
+ * Instead of an offset it carries the value of the key of the last element of the previous page, so that the next
+ * page can be selected via {@code $gt} or {@code $lt} using an index on the key. The documents are sorted by the key
+ * only, which has to be unique for the paging to be stable. Thus it defaults to {@code _id}.
+ * 
+ * @author agent
+ */
+public class KeysetPageRequest extends PageRequest {
+
+	private static final long serialVersionUID = -4541509938956089562L;
+
+	public static final String DEFAULT_KEY = "_id";
+
+	private final String key;
+	private final Direction direction;
+	private final Object lastKey;
+
+	/**
+	 * Creates a new {@link KeysetPageRequest} for the first page of the given size ordered by {@code _id} ascending.
+	 * 
+	 * @param size
+	 */
+	public KeysetPageRequest(int size) {
+		this(size, Direction.ASC, DEFAULT_KEY, null);
+	}
+
+	/**
+	 * Creates a new {@link KeysetPageRequest} for the first page of the given size ordered by the given key.
+	 * 
+	 * @param size
+	 * @param direction must not be {@literal null}.
+	 * @param key must not be {@literal null} or empty.
+	 */
+	public KeysetPageRequest(int size, Direction direction, String key) {
+		this(size, direction, key, null);
+	}
+
+	/**
+	 * Creates a new {@link KeysetPageRequest} for the page of the given size following the element with the given key
+	 * value.
+	 * 
+	 * @param size
+	 * @param direction must not be {@literal null}.
+	 * @param key must not be {@literal null} or empty.
+	 * @param lastKey the value of the key of the last element of the previous page, {@literal null} for the first page.
+	 */
+	public KeysetPageRequest(int size, Direction direction, String key, Object lastKey) {
+
+		super(0, size, new Sort(direction, key));
+
+		Assert.notNull(direction);
+		Assert.hasText(key);
+
+		this.key = key;
+		this.direction = direction;
+		this.lastKey = lastKey;
+	}
+
+	/**
+	 * Returns the name of the document field the documents are paged by.
+	 * 
+	 * @return
+	 */
+	public String getKey() {
+		return key;
+	}
+
+	/**
+	 * Returns the {@link Direction} the documents are paged in.
+	 * 
+	 * @return
+	 */
+	public Direction getDirection() {
+		return direction;
+	}
+
+	/**
+	 * Returns the value of the key of the last element of the previous page or {@literal null} if this request is for
+	 * the first page.
+	 * 
+	 * @return
+	 */
+	public Object getLastKey() {
+		return lastKey;
+	}
+
+	/**
+	 * Returns whether the request is for the first page.
+	 * 
+	 * @return
+	 */
+	public boolean isFirst() {
+		return lastKey == null;
+	}
+
+	/**
+	 * Returns a {@link KeysetPageRequest} for the page following the element with the given key value.
+	 * 
+	 * @param lastKey must not be {@literal null}.
+	 * @return
+	 */
+	public KeysetPageRequest next(Object lastKey) {
+
+		Assert.notNull(lastKey);
+		return new KeysetPageRequest(getPageSize(), direction, key, lastKey);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.domain.PageRequest#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+
+		if (this == obj) {
+			return true;
+		}
+
+		if (!(obj instanceof KeysetPageRequest) || !super.equals(obj)) {
+			return false;
+		}
+
+		KeysetPageRequest that = (KeysetPageRequest) obj;
+		return this.key.equals(that.key) && this.direction.equals(that.direction)
+				&& ObjectUtils.nullSafeEquals(this.lastKey, that.lastKey);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.domain.PageRequest#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * super.hashCode() + ObjectUtils.nullSafeHashCode(lastKey);
+	}
+}
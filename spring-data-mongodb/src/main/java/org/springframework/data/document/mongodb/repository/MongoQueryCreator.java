@@ -23,6 +23,7 @@ import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.document.mongodb.cache.LruCache;
 import org.springframework.data.document.mongodb.query.Criteria;
 import org.springframework.data.document.mongodb.query.CriteriaDefinition;
 import org.springframework.data.document.mongodb.query.Query;
@@ -43,6 +44,9 @@ import org.springframework.data.repository.query.parser.PartTree;
 class MongoQueryCreator extends AbstractQueryCreator<Query, Query> {
 
     private static final Logger LOG = LoggerFactory.getLogger(MongoQueryCreator.class);
+    private static final int LIKE_PATTERN_CACHE_LIMIT = 1024;
+    private static final LruCache<String, Pattern> LIKE_PATTERNS = new LruCache<String, Pattern>(
+            LIKE_PATTERN_CACHE_LIMIT);
 
 
     /**
@@ -146,8 +150,7 @@ class MongoQueryCreator extends AbstractQueryCreator<Query, Query> {
         case IN:
         	return criteria.in(nextAsArray(parameters));
         case LIKE:
-            String value = parameters.next().toString();
-            return criteria.is(toLikeRegex(value));
+            return criteria.is(toLikeRegex(parameters.next()));
         case SIMPLE_PROPERTY:
             return criteria.is(parameters.next());
         case NEGATING_SIMPLE_PROPERTY:
@@ -159,22 +162,55 @@ class MongoQueryCreator extends AbstractQueryCreator<Query, Query> {
 
 
     private Object[] nextAsArray(Iterator<Object> iterator) {
-    	Object next = iterator.next();
-    	
-    	if (next instanceof Collection) {
-    		return ((Collection<?>) next).toArray();
-    	} else if (next.getClass().isArray()) {
-    		return (Object[]) next;
-    	}
-    	
-    	return new Object[] { next };
+    	return toArray(iterator.next());
     }
 
-    private Pattern toLikeRegex(String source) {
 
-        String regex = source.replaceAll("\\*", ".*");
-        return Pattern.compile(regex);
+    /**
+     * Turns the given parameter value into an array to be used with
+     * {@code $in} or {@code $nin}. A {@link MongoQueryPlan.ParameterSlot} is
+     * turned into a slot to be expanded into the array on binding.
+     * 
+     * @param value
+     * @return
+     */
+    static Object[] toArray(Object value) {
+
+    	if (value instanceof MongoQueryPlan.ParameterSlot) {
+    		return new Object[] { ((MongoQueryPlan.ParameterSlot) value).asArray() };
+    	} else if (value instanceof Collection) {
+    		return ((Collection<?>) value).toArray();
+    	} else if (value.getClass().isArray()) {
+    		return (Object[]) value;
+    	}
+
+    	return new Object[] { value };
     }
 
-    
+
+    /**
+     * Turns the given parameter value into a {@link Pattern} for a LIKE
+     * query. Compiled {@link Pattern}s are cached as they're immutable. A
+     * {@link MongoQueryPlan.ParameterSlot} is turned into a slot to be bound
+     * to a {@link Pattern}.
+     * 
+     * @param value
+     * @return
+     */
+    static Object toLikeRegex(Object value) {
+
+        if (value instanceof MongoQueryPlan.ParameterSlot) {
+            return ((MongoQueryPlan.ParameterSlot) value).asLikeRegex();
+        }
+
+        String source = value.toString();
+        Pattern pattern = LIKE_PATTERNS.get(source);
+
+        if (pattern == null) {
+            pattern = Pattern.compile(source.replaceAll("\\*", ".*"));
+            LIKE_PATTERNS.putIfAbsent(source, pattern);
+        }
+
+        return pattern;
+    }
 }
\ No newline at end of file
@@ -16,8 +16,13 @@
 package org.springframework.data.document.mongodb.repository;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
 
+import org.springframework.beans.BeanUtils;
 import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.document.mongodb.query.ReadRouting;
 import org.springframework.data.repository.query.QueryMethod;
 import org.springframework.data.repository.util.ClassUtils;
 import org.springframework.util.StringUtils;
@@ -29,22 +34,88 @@ import org.springframework.util.StringUtils;
  * @author Oliver Gierke
  */
 class MongoQueryMethod extends QueryMethod {
+
+	private static final String COUNT = "count";
+	private static final Pattern COUNT_PREFIX = Pattern.compile("^" + COUNT + "(\\p{Upper}.*?)??By");
+	private static final List<Class<?>> COUNT_TYPES = Arrays.<Class<?>> asList(long.class, Long.class, int.class,
+			Integer.class);
 	
 	private final Method method;
 	private final MongoEntityInformation<?> entityInformation;
+	private final Class<?> projectionType;
+	private final boolean countQuery;
 
 	/**
 	 * Creates a new {@link MongoQueryMethod} from the given {@link Method}.
 	 * 
 	 * @param method
+	 * @param domainClass the domain class of the repository, falls back to the method's returned domain class if
+	 *          {@literal null}.
 	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public MongoQueryMethod(Method method, Class<?> domainClass) {
 		super(method);
 		this.method = method;
-		this.entityInformation = new MongoEntityInformation(ClassUtils.getReturnedDomainClass(method));
+
+		Class<?> returnedType = ClassUtils.getReturnedDomainClass(method);
+		Class<?> entityType = domainClass == null ? returnedType : domainClass;
+
+		this.entityInformation = new MongoEntityInformation(entityType);
+		this.projectionType = entityType.isAssignableFrom(returnedType) || BeanUtils.isSimpleProperty(returnedType) ? null
+				: returnedType;
+		this.countQuery = COUNT_PREFIX.matcher(method.getName()).find()
+				&& COUNT_TYPES.contains(method.getReturnType());
+	}
+
+	/**
+	 * Returns whether the method returns a projection of the domain class, i.e. a DTO or an interface exposing a subset
+	 * of the domain class' properties.
+	 * 
+	 * @return
+	 */
+	boolean isProjecting() {
+		return projectionType != null;
+	}
+
+	/**
+	 * Returns the projection type returned by the method or {@literal null} if the method returns the domain class.
+	 * 
+	 * @return
+	 */
+	Class<?> getProjectionType() {
+		return projectionType;
+	}
+
+	/**
+	 * Returns whether the method is a count query, i.e. its name starts with {@code count} and it returns a number.
+	 * 
+	 * @return
+	 */
+	boolean isCountQuery() {
+		return countQuery;
+	}
+
+	/**
+	 * Returns whether the method is a count query returning an {@code int} instead of a {@code long}.
+	 * 
+	 * @return
+	 */
+	boolean isIntegerCount() {
+		Class<?> returnType = method.getReturnType();
+		return int.class.equals(returnType) || Integer.class.equals(returnType);
+	}
+
+	/**
+	 * Returns the method name to derive a query from. Count queries are parsed like the equivalent finder.
+	 * 
+	 * @return
+	 */
+	String getDerivedQueryName() {
+
+		String name = method.getName();
+		return isCountQuery() ? "find" + name.substring(COUNT.length()) : name;
 	}
 
-	
 	/**
 	 * Returns whether the method has an annotated query.
 	 * 
@@ -78,6 +149,33 @@ class MongoQueryMethod extends QueryMethod {
 	}
 	
 	
+	/**
+	 * Returns the {@link QueryOptions} annotation applied to the method or {@literal null} if none available.
+	 * 
+	 * @return
+	 */
+	QueryOptions getQueryOptions() {
+
+		return method.getAnnotation(QueryOptions.class);
+	}
+
+	/**
+	 * Returns the {@link ReadRouting} configured for the method via {@link ReadFrom}, either on the method itself or on
+	 * the repository interface declaring it. Returns {@literal null} if none configured.
+	 * 
+	 * @return
+	 */
+	ReadRouting getReadRouting() {
+
+		ReadFrom readFrom = AnnotationUtils.findAnnotation(method, ReadFrom.class);
+
+		if (readFrom == null) {
+			readFrom = AnnotationUtils.findAnnotation(method.getDeclaringClass(), ReadFrom.class);
+		}
+
+		return readFrom == null ? null : readFrom.value();
+	}
+
 	/* (non-Javadoc)
 	 * @see org.springframework.data.repository.query.QueryMethod#getEntityMetadata()
 	 */
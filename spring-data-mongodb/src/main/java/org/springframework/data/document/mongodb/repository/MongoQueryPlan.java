@@ -0,0 +1,285 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.repository;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.document.mongodb.query.BasicQuery;
+import org.springframework.data.document.mongodb.query.Query;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.ParameterAccessor;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.util.Assert;
+
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+/**
+ * Execution plan for a derived query compiled from a {@link PartTree} once. The {@link PartTree} is run through a
+ * {@link MongoQueryCreator} with {@link ParameterSlot}s instead of actual parameter values, so that the resulting
+ * query document can be used as skeleton. Binding parameters only copies the skeleton and fills the slots, the sort
+ * document is precomputed as well.
+ * 
+ * @author agent
+ */
+class MongoQueryPlan {
+
+	private static final Logger LOG = LoggerFactory.getLogger(MongoQueryPlan.class);
+
+	private final DBObject queryObject;
+	private final DBObject sortObject;
+	private final int parameterCount;
+
+	private MongoQueryPlan(DBObject queryObject, DBObject sortObject, int parameterCount) {
+
+		this.queryObject = queryObject;
+		this.sortObject = sortObject;
+		this.parameterCount = parameterCount;
+	}
+
+	/**
+	 * Compiles the given {@link PartTree} into a {@link MongoQueryPlan}.
+	 * 
+	 * @param tree must not be {@literal null}.
+	 * @return
+	 */
+	public static MongoQueryPlan compile(PartTree tree) {
+
+		Assert.notNull(tree);
+
+		SlotParameterAccessor accessor = new SlotParameterAccessor();
+		Query query = QueryUtils.applySorting(new MongoQueryCreator(tree, accessor).createQuery(), tree.getSort());
+		DBObject sortObject = query.getSortObject();
+
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("Compiled query plan " + query.getQueryObject());
+		}
+
+		return new MongoQueryPlan(query.getQueryObject(), sortObject == null || sortObject.keySet().isEmpty() ? null
+				: sortObject, accessor.getSlotCount());
+	}
+
+	/**
+	 * Creates a {@link Query} from the plan binding the values of the given {@link ParameterAccessor}.
+	 * 
+	 * @param accessor must not be {@literal null}.
+	 * @return
+	 */
+	public Query bind(ParameterAccessor accessor) {
+
+		Assert.notNull(accessor);
+
+		Object[] values = new Object[parameterCount];
+		Iterator<Object> iterator = accessor.iterator();
+
+		for (int i = 0; i < parameterCount; i++) {
+			values[i] = iterator.next();
+		}
+
+		BasicQuery query = new BasicQuery((DBObject) copy(queryObject, values));
+
+		if (sortObject != null) {
+			query.setSortObject(sortObject);
+		}
+
+		return query;
+	}
+
+	private static Object copy(Object value, Object[] values) {
+
+		if (value instanceof ParameterSlot) {
+			return ((ParameterSlot) value).bind(values);
+		}
+
+		if (value instanceof Object[]) {
+
+			List<Object> result = new ArrayList<Object>();
+
+			for (Object element : (Object[]) value) {
+				if (element instanceof ParameterSlot && ((ParameterSlot) element).type == SlotType.ARRAY) {
+					for (Object item : (Object[]) ((ParameterSlot) element).bind(values)) {
+						result.add(item);
+					}
+				} else {
+					result.add(copy(element, values));
+				}
+			}
+
+			return result.toArray();
+		}
+
+		if (value instanceof List) {
+
+			BasicDBList result = new BasicDBList();
+
+			for (Object element : (List<?>) value) {
+				result.add(copy(element, values));
+			}
+
+			return result;
+		}
+
+		if (value instanceof BasicDBObject) {
+
+			BasicDBObject source = (BasicDBObject) value;
+			BasicDBObject result = new BasicDBObject();
+
+			for (Entry<String, Object> entry : source.entrySet()) {
+				result.put(entry.getKey(), copy(entry.getValue(), values));
+			}
+
+			return result;
+		}
+
+		return value;
+	}
+
+	/**
+	 * The way a parameter value is bound into a slot.
+	 * 
+	 * @author agent
+	 */
+	private static enum SlotType {
+		VALUE, LIKE, ARRAY;
+	}
+
+	/**
+	 * Slot in the query skeleton to be replaced with the parameter value at the given index.
+	 * 
+	 * @author agent
+	 */
+	static class ParameterSlot {
+
+		private final int index;
+		private final SlotType type;
+
+		private ParameterSlot(int index, SlotType type) {
+			this.index = index;
+			this.type = type;
+		}
+
+		/**
+		 * Returns a slot for the same parameter binding a LIKE {@link java.util.regex.Pattern}.
+		 * 
+		 * @return
+		 */
+		public ParameterSlot asLikeRegex() {
+			return new ParameterSlot(index, SlotType.LIKE);
+		}
+
+		/**
+		 * Returns a slot for the same parameter to be expanded into the surrounding array.
+		 * 
+		 * @return
+		 */
+		public ParameterSlot asArray() {
+			return new ParameterSlot(index, SlotType.ARRAY);
+		}
+
+		Object bind(Object[] values) {
+
+			Object value = values[index];
+
+			switch (type) {
+			case LIKE:
+				return MongoQueryCreator.toLikeRegex(value);
+			case ARRAY:
+				return MongoQueryCreator.toArray(value);
+			default:
+				return value instanceof Enum ? ((Enum<?>) value).name() : value;
+			}
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return "?" + index;
+		}
+	}
+
+	/**
+	 * {@link ParameterAccessor} handing out {@link ParameterSlot}s instead of parameter values.
+	 * 
+	 * @author agent
+	 */
+	private static class SlotParameterAccessor implements ParameterAccessor {
+
+		private int slotCount = 0;
+
+		public int getSlotCount() {
+			return slotCount;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.repository.query.ParameterAccessor#getPageable()
+		 */
+		public Pageable getPageable() {
+			return null;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.repository.query.ParameterAccessor#getSort()
+		 */
+		public Sort getSort() {
+			return null;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.repository.query.ParameterAccessor#getBindableValue(int)
+		 */
+		public Object getBindableValue(int index) {
+			slotCount = Math.max(slotCount, index + 1);
+			return new ParameterSlot(index, SlotType.VALUE);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Iterable#iterator()
+		 */
+		public Iterator<Object> iterator() {
+
+			return new Iterator<Object>() {
+
+				private int index = 0;
+
+				public boolean hasNext() {
+					return true;
+				}
+
+				public Object next() {
+					return getBindableValue(index++);
+				}
+
+				public void remove() {
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+	}
+}
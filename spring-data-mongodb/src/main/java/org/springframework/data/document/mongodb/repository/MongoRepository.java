@@ -28,4 +28,14 @@ import org.springframework.data.repository.PagingAndSortingRepository;
 public interface MongoRepository<T, ID extends Serializable> extends
         PagingAndSortingRepository<T, ID> {
 
+    /**
+     * Returns the page of entities requested by the given
+     * {@link KeysetPageRequest}. Rather than skipping documents the page is
+     * selected by the value of the key of the last element of the previous
+     * page.
+     * 
+     * @param pageable
+     * @return a page of entities along with the request for the following page
+     */
+    KeysetPage<T> findAll(KeysetPageRequest pageable);
 }
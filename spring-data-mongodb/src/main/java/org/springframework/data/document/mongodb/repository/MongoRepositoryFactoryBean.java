@@ -17,6 +17,7 @@ package org.springframework.data.document.mongodb.repository;
 
 import java.io.Serializable;
 import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,6 +47,8 @@ import org.springframework.util.StringUtils;
 public class MongoRepositoryFactoryBean extends RepositoryFactoryBeanSupport<MongoRepository<?, ?>> {
 
 	private MongoTemplate template;
+	private Executor pagingExecutor;
+	private long countCacheTimeToLive;
 
 	/**
 	 * Configures the {@link MongoTemplate} to be used.
@@ -57,6 +60,28 @@ public class MongoRepositoryFactoryBean extends RepositoryFactoryBeanSupport<Mon
 		this.template = template;
 	}
 
+	/**
+	 * Configures the {@link Executor} to run the count queries of paging repository methods on concurrently to the
+	 * query reading the actual page.
+	 * 
+	 * @param pagingExecutor the pagingExecutor to set
+	 */
+	public void setPagingExecutor(Executor pagingExecutor) {
+
+		this.pagingExecutor = pagingExecutor;
+	}
+
+	/**
+	 * Configures the time in milliseconds the total element count of paging queries shall be cached for. Defaults to
+	 * {@literal 0}, which disables caching.
+	 * 
+	 * @param countCacheTimeToLive the countCacheTimeToLive to set
+	 */
+	public void setCountCacheTimeToLive(long countCacheTimeToLive) {
+
+		this.countCacheTimeToLive = countCacheTimeToLive;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -65,7 +90,11 @@ public class MongoRepositoryFactoryBean extends RepositoryFactoryBeanSupport<Mon
 	@Override
 	protected RepositoryFactorySupport createRepositoryFactory() {
 
-		MongoRepositoryFactory factory = new MongoRepositoryFactory(template);
+		PageLoader pageLoader = new PageLoader(template);
+		pageLoader.setExecutor(pagingExecutor);
+		pageLoader.setCountCacheTimeToLive(countCacheTimeToLive);
+
+		MongoRepositoryFactory factory = new MongoRepositoryFactory(template, pageLoader);
 		factory.addQueryCreationListener(new IndexEnsuringQueryCreationListener(template));
 		return factory;
 	}
@@ -90,6 +119,7 @@ public class MongoRepositoryFactoryBean extends RepositoryFactoryBeanSupport<Mon
 	public static class MongoRepositoryFactory extends RepositoryFactorySupport {
 
 		private final MongoTemplate template;
+		private final PageLoader pageLoader;
 
 		/**
 		 * Creates a new {@link MongoRepositoryFactory} fwith the given {@link MongoTemplate}.
@@ -98,7 +128,21 @@ public class MongoRepositoryFactoryBean extends RepositoryFactoryBeanSupport<Mon
 		 */
 		public MongoRepositoryFactory(MongoTemplate template) {
 
+			this(template, new PageLoader(template));
+		}
+
+		/**
+		 * Creates a new {@link MongoRepositoryFactory} with the given {@link MongoTemplate} and {@link PageLoader} to be
+		 * used by repositories and paging query methods.
+		 * 
+		 * @param template
+		 * @param pageLoader
+		 */
+		public MongoRepositoryFactory(MongoTemplate template, PageLoader pageLoader) {
+
+			Assert.notNull(pageLoader);
 			this.template = template;
+			this.pageLoader = pageLoader;
 		}
 
 		@Override
@@ -107,7 +151,7 @@ public class MongoRepositoryFactoryBean extends RepositoryFactoryBeanSupport<Mon
 
 			MongoEntityInformation<Object> info = new MongoEntityInformation<Object>(
 					(Class<Object>) metadata.getDomainClass());
-			return new SimpleMongoRepository<Object, Serializable>(info, template);
+			return new SimpleMongoRepository<Object, Serializable>(info, template, pageLoader);
 		}
 
 		/*
@@ -136,12 +180,16 @@ public class MongoRepositoryFactoryBean extends RepositoryFactoryBeanSupport<Mon
 			public RepositoryQuery resolveQuery(Method method, Class<?> domainClass) {
 
 				MongoQueryMethod queryMethod = new MongoQueryMethod(method, domainClass);
+				AbstractMongoQuery query;
 
 				if (queryMethod.hasAnnotatedQuery()) {
-					return new StringBasedMongoQuery(queryMethod, template);
+					query = new StringBasedMongoQuery(queryMethod, template);
 				} else {
-					return new PartTreeMongoQuery(queryMethod, template);
+					query = new PartTreeMongoQuery(queryMethod, template);
 				}
+
+				query.setPageLoader(pageLoader);
+				return query;
 			}
 		}
 
@@ -0,0 +1,368 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.repository;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.data.document.mongodb.DelegatingMongoReader;
+import org.springframework.data.document.mongodb.MongoReader;
+import org.springframework.data.document.mongodb.MongoTemplate;
+import org.springframework.data.document.mongodb.query.BasicQuery;
+import org.springframework.data.document.mongodb.query.Query;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.util.Assert;
+
+import com.mongodb.DBObject;
+
+/**
+ * Loads {@link Page}s of query results. The total number of elements is derived from the content if the requested
+ * page turns out to be the last one, so the count query is only executed if necessary. If an {@link Executor} is
+ * configured the count is executed concurrently to the page query. Counts can optionally be cached for a short time
+ * per collection and query. Pages requested with a {@link KeysetPageRequest} are read by the value of their key and
+ * don't need a count at all.
+ * 
+ * @author agent
+ */
+public class PageLoader {
+
+	private static final int COUNT_CACHE_LIMIT = 1024;
+
+	private final MongoTemplate template;
+	private final Map<String, CachedCount> countCache = new ConcurrentHashMap<String, CachedCount>();
+
+	private Executor executor;
+	private long countCacheTimeToLiveNanos = 0;
+
+	/**
+	 * Creates a new {@link PageLoader} using the given {@link MongoTemplate}.
+	 * 
+	 * @param template must not be {@literal null}.
+	 */
+	public PageLoader(MongoTemplate template) {
+		Assert.notNull(template);
+		this.template = template;
+	}
+
+	/**
+	 * Configures the {@link Executor} to run count queries on concurrently to the page query. Counts will be executed
+	 * on the calling thread after the page query if none is configured.
+	 * 
+	 * @param executor
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Configures the time in milliseconds the total number of elements of a query will be cached. Defaults to
+	 * {@literal 0}, meaning counts are not cached.
+	 * 
+	 * @param countCacheTimeToLive
+	 */
+	public void setCountCacheTimeToLive(long countCacheTimeToLive) {
+		Assert.isTrue(countCacheTimeToLive >= 0, "Time to live must not be negative!");
+		this.countCacheTimeToLiveNanos = TimeUnit.MILLISECONDS.toNanos(countCacheTimeToLive);
+	}
+
+	/**
+	 * Reads the {@link Page} requested by the given {@link Pageable} for the given {@link Query} from the given
+	 * collection.
+	 * 
+	 * @param collectionName the collection to query
+	 * @param query the {@link Query} to restrict the elements, will get pagination applied
+	 * @param pageable the page to read, can be {@literal null}.
+	 * @param loader the {@link ContentLoader} to actually read the elements of the page
+	 * @return
+	 */
+	public <T> Page<T> readPage(String collectionName, Query query, Pageable pageable, ContentLoader<T> loader) {
+		return readPage(collectionName, query, pageable, null, loader);
+	}
+
+	/**
+	 * Reads the {@link Page} requested by the given {@link Pageable} for the given {@link Query} from the given
+	 * collection. Mapped ids in the query are substituted for the given entity class when counting, just like they are
+	 * when reading the content.
+	 * 
+	 * @param collectionName the collection to query
+	 * @param query the {@link Query} to restrict the elements, will get pagination applied
+	 * @param pageable the page to read, can be {@literal null}.
+	 * @param entityClass the type the documents are mapped to, can be {@literal null}.
+	 * @param loader the {@link ContentLoader} to actually read the elements of the page
+	 * @return
+	 */
+	public <T> Page<T> readPage(String collectionName, Query query, Pageable pageable, Class<?> entityClass,
+			ContentLoader<T> loader) {
+
+		DBObject queryObject = query.getQueryObject();
+		String cacheKey = countCacheTimeToLiveNanos == 0 ? null : getCountCacheKey(collectionName, queryObject,
+				entityClass);
+		Query countQuery = new BasicQuery(queryObject);
+
+		Long total = getCachedCount(cacheKey);
+		FutureTask<Long> count = null;
+
+		if (total == null && executor != null) {
+			count = new FutureTask<Long>(new CountCallable(collectionName, countQuery, entityClass));
+			executor.execute(count);
+		}
+
+		List<T> content = loader.load(QueryUtils.applyPagination(query, pageable));
+
+		if (total == null) {
+			if (isLastPage(content, pageable)) {
+				total = (long) pageable.getOffset() + content.size();
+				if (count != null) {
+					count.cancel(false);
+				}
+			} else {
+				total = count == null ? template.count(collectionName, countQuery, entityClass) : await(count);
+			}
+			cacheCount(cacheKey, total);
+		}
+
+		return new PageImpl<T>(content, pageable, total);
+	}
+
+	/**
+	 * Reads the page requested by the given {@link KeysetPageRequest} for the given {@link Query} from the given
+	 * collection. The returned {@link KeysetPage} carries the {@link KeysetPageRequest} to read the following page with.
+	 * 
+	 * @param collectionName the collection to query
+	 * @param query the {@link Query} to restrict the elements, will get the keyset criteria applied
+	 * @param pageable must not be {@literal null}.
+	 * @param targetClass the type to read the documents into
+	 * @param reader the {@link MongoReader} to read the documents with, defaults to the template's converter if
+	 *          {@literal null}.
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> KeysetPage<T> readKeysetPage(String collectionName, Query query, KeysetPageRequest pageable,
+			Class<T> targetClass, MongoReader<T> reader) {
+
+		Assert.notNull(pageable);
+
+		MongoReader<T> delegate = reader == null ? (MongoReader<T>) template.getConverter() : reader;
+		KeyCapturingReader<T> keyReader = new KeyCapturingReader<T>(targetClass, delegate, pageable.getKey());
+
+		List<T> content = template.find(collectionName, QueryUtils.applyKeyset(query, pageable), targetClass, keyReader);
+		int pageSize = pageable.getPageSize();
+
+		if (content.size() <= pageSize) {
+			return new KeysetPage<T>(content, pageable, null);
+		}
+
+		Object lastKey = keyReader.getKey(pageSize - 1);
+
+		if (lastKey == null) {
+			throw new IllegalStateException(String.format("Document does not contain key %s to page by!",
+					pageable.getKey()));
+		}
+
+		return new KeysetPage<T>(new ArrayList<T>(content.subList(0, pageSize)), pageable, pageable.next(lastKey));
+	}
+
+	private boolean isLastPage(List<?> content, Pageable pageable) {
+
+		if (pageable == null || content.size() >= pageable.getPageSize()) {
+			return false;
+		}
+
+		return !content.isEmpty() || pageable.getOffset() == 0;
+	}
+
+	private long await(FutureTask<Long> count) {
+
+		try {
+			return count.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DataRetrievalFailureException("Interrupted while waiting for count query", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new DataRetrievalFailureException("Count query failed", cause);
+		}
+	}
+
+	private static String getCountCacheKey(String collectionName, DBObject queryObject, Class<?> entityClass) {
+		return collectionName + ":" + (entityClass == null ? "" : entityClass.getName()) + ":" + queryObject;
+	}
+
+	private Long getCachedCount(String key) {
+
+		if (key == null) {
+			return null;
+		}
+
+		CachedCount cached = countCache.get(key);
+
+		if (cached == null) {
+			return null;
+		}
+
+		if (System.nanoTime() - cached.expiry > 0) {
+			countCache.remove(key);
+			return null;
+		}
+
+		return cached.count;
+	}
+
+	private void cacheCount(String key, long count) {
+
+		if (key == null) {
+			return;
+		}
+
+		long now = System.nanoTime();
+
+		if (countCache.size() >= COUNT_CACHE_LIMIT) {
+			for (Iterator<CachedCount> iterator = countCache.values().iterator(); iterator.hasNext();) {
+				if (now - iterator.next().expiry > 0) {
+					iterator.remove();
+				}
+			}
+		}
+
+		if (countCache.size() < COUNT_CACHE_LIMIT) {
+			countCache.put(key, new CachedCount(count, now + countCacheTimeToLiveNanos));
+		}
+	}
+
+	/**
+	 * Callback to read the content of a page.
+	 * 
+	 * @author agent
+	 */
+	public interface ContentLoader<T> {
+
+		/**
+		 * Reads the elements for the given {@link Query} which has pagination applied already.
+		 * 
+		 * @param query
+		 * @return
+		 */
+		List<T> load(Query query);
+	}
+
+	/**
+	 * {@link Callable} to count the documents matching a query.
+	 * 
+	 * @author agent
+	 */
+	private class CountCallable implements Callable<Long> {
+
+		private final String collectionName;
+		private final Query query;
+		private final Class<?> entityClass;
+
+		public CountCallable(String collectionName, Query query, Class<?> entityClass) {
+			this.collectionName = collectionName;
+			this.query = query;
+			this.entityClass = entityClass;
+		}
+
+		public Long call() {
+			return template.count(collectionName, query, entityClass);
+		}
+	}
+
+	/**
+	 * {@link MongoReader} to record the value of the paging key of each document read. Exposes the type read and the
+	 * delegate so that ids of the paged query are still mapped.
+	 * 
+	 * @author agent
+	 */
+	private static class KeyCapturingReader<T> implements DelegatingMongoReader<T> {
+
+		private final Class<?> entityClass;
+		private final MongoReader<T> delegate;
+		private final String[] path;
+		private final List<Object> keys = new ArrayList<Object>();
+
+		public KeyCapturingReader(Class<?> entityClass, MongoReader<T> delegate, String key) {
+			this.entityClass = entityClass;
+			this.delegate = delegate;
+			this.path = key.split("\\.");
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.document.mongodb.DelegatingMongoReader#getEntityClass()
+		 */
+		public Class<?> getEntityClass() {
+			return entityClass;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.document.mongodb.DelegatingMongoReader#getDelegate()
+		 */
+		public MongoReader<?> getDelegate() {
+			return delegate;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.document.mongodb.MongoReader#read(java.lang.Class, com.mongodb.DBObject)
+		 */
+		public <S extends T> S read(Class<S> clazz, DBObject dbo) {
+
+			Object value = dbo;
+
+			for (String segment : path) {
+				value = value instanceof DBObject ? ((DBObject) value).get(segment) : null;
+			}
+
+			keys.add(value);
+			return delegate.read(clazz, dbo);
+		}
+
+		public Object getKey(int index) {
+			return keys.get(index);
+		}
+	}
+
+	/**
+	 * A cached count along with its expiry timestamp.
+	 * 
+	 * @author agent
+	 */
+	private static class CachedCount {
+
+		private final long count;
+		private final long expiry;
+
+		public CachedCount(long count, long expiry) {
+			this.count = count;
+			this.expiry = expiry;
+		}
+	}
+}
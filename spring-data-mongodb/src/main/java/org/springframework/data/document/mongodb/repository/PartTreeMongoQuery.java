@@ -22,13 +22,15 @@ import org.springframework.data.repository.query.RepositoryQuery;
 import org.springframework.data.repository.query.parser.PartTree;
 
 /**
- * {@link RepositoryQuery} implementation for Mongo.
+ * {@link RepositoryQuery} implementation for Mongo. The {@link PartTree} is compiled into a {@link MongoQueryPlan}
+ * once, so that executions only bind the parameter values.
  * 
  * @author Oliver Gierke
  */
 public class PartTreeMongoQuery extends AbstractMongoQuery {
 
 	private final PartTree tree;
+	private final MongoQueryPlan plan;
 
 	/**
 	 * Creates a new {@link PartTreeMongoQuery} from the given {@link QueryMethod} and {@link MongoTemplate}.
@@ -39,7 +41,8 @@ public class PartTreeMongoQuery extends AbstractMongoQuery {
 	public PartTreeMongoQuery(MongoQueryMethod method, MongoTemplate template) {
 
 		super(method, template);
-		this.tree = new PartTree(method.getName(), method.getEntityMetadata().getJavaType());
+		this.tree = new PartTree(method.getDerivedQueryName(), method.getEntityMetadata().getJavaType());
+		this.plan = MongoQueryPlan.compile(tree);
 	}
 	
 	/**
@@ -59,7 +62,6 @@ public class PartTreeMongoQuery extends AbstractMongoQuery {
 	@Override
 	protected Query createQuery(ConvertingParameterAccessor accessor) {
 
-		MongoQueryCreator creator = new MongoQueryCreator(tree, accessor);
-		return creator.createQuery();
+		return plan.bind(accessor);
 	}
 }
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.repository;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.SimpleTypeConverter;
+import org.springframework.core.CollectionFactory;
+import org.springframework.data.document.mongodb.DelegatingMongoReader;
+import org.springframework.data.document.mongodb.MongoPropertyDescriptors;
+import org.springframework.data.document.mongodb.MongoPropertyDescriptors.MongoPropertyDescriptor;
+import org.springframework.data.document.mongodb.MongoReader;
+import org.springframework.data.document.mongodb.query.Field;
+import org.springframework.data.document.mongodb.query.Query;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import com.mongodb.DBObject;
+
+/**
+ * {@link MongoReader} to read documents into projection types of query methods. Classes are read using the
+ * configured {@link MongoReader}, interfaces are backed by a proxy that looks up the values for its getters from the
+ * {@link DBObject}. Collection and array properties get their elements read the same way. Exposes the entity type
+ * projected so that ids of the queries issued are mapped for the entity.
+ * 
+ * @author agent
+ */
+class ProjectingMongoReader implements DelegatingMongoReader<Object> {
+
+	private final Class<?> entityClass;
+	private final MongoReader<Object> delegate;
+	private final SimpleTypeConverter converter = new SimpleTypeConverter();
+
+	/**
+	 * Creates a new {@link ProjectingMongoReader} for projections of the given entity type delegating to the given
+	 * {@link MongoReader} for classes and nested documents.
+	 * 
+	 * @param entityClass must not be {@literal null}.
+	 * @param delegate must not be {@literal null}.
+	 */
+	public ProjectingMongoReader(Class<?> entityClass, MongoReader<Object> delegate) {
+		Assert.notNull(entityClass);
+		Assert.notNull(delegate);
+		this.entityClass = entityClass;
+		this.delegate = delegate;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.springframework.data.document.mongodb.DelegatingMongoReader#getEntityClass()
+	 */
+	public Class<?> getEntityClass() {
+		return entityClass;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.springframework.data.document.mongodb.DelegatingMongoReader#getDelegate()
+	 */
+	public MongoReader<?> getDelegate() {
+		return delegate;
+	}
+
+	/**
+	 * Restricts the given {@link Query} to the keys of the properties of the given projection type unless the query
+	 * already carries a field specification.
+	 * 
+	 * @param query
+	 * @param projectionType
+	 * @return
+	 */
+	public static Query restrictFields(Query query, Class<?> projectionType) {
+
+		if (query.getFieldsObject() != null) {
+			return query;
+		}
+
+		Field fields = query.fields();
+
+		for (MongoPropertyDescriptor descriptor : MongoPropertyDescriptors.forType(projectionType)) {
+			if (descriptor.isMappable()) {
+				fields.include(descriptor.getKeyToMap());
+			}
+		}
+
+		return query;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.springframework.data.document.mongodb.MongoReader#read(java.lang.Class, com.mongodb.DBObject)
+	 */
+	@SuppressWarnings("unchecked")
+	public <S> S read(Class<S> type, DBObject dbo) {
+
+		if (dbo == null) {
+			return null;
+		}
+
+		if (!type.isInterface()) {
+			return delegate.read(type, dbo);
+		}
+
+		return (S) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+				new DocumentBackedInvocationHandler(type, dbo));
+	}
+
+	/**
+	 * Reads the given value of a document into the given type. Nested documents are read using this reader, values not
+	 * of the requested type already are converted.
+	 * 
+	 * @param type
+	 * @param value
+	 * @return
+	 */
+	private Object readValue(Class<?> type, Object value) {
+
+		if (value == null) {
+			return type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+		}
+
+		if (value instanceof DBObject && !type.isInstance(value)) {
+			return read(type, (DBObject) value);
+		}
+
+		if (ClassUtils.isAssignableValue(type, value)) {
+			return value;
+		}
+
+		synchronized (converter) {
+			return converter.convertIfNecessary(value, type);
+		}
+	}
+
+	/**
+	 * Reads the elements of the given collection value of a document into a collection or array of the given type.
+	 * 
+	 * @param type the collection or array type to return
+	 * @param elementType
+	 * @param value
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	private Object readElements(Class<?> type, Class<?> elementType, Collection<?> value) {
+
+		if (type.isArray()) {
+
+			Object result = Array.newInstance(elementType, value.size());
+			int index = 0;
+
+			for (Object element : value) {
+				Array.set(result, index++, readValue(elementType, element));
+			}
+
+			return result;
+		}
+
+		Collection<Object> result = CollectionFactory.createCollection(type, value.size());
+
+		for (Object element : value) {
+			result.add(readValue(elementType, element));
+		}
+
+		return result;
+	}
+
+	/**
+	 * {@link InvocationHandler} to return the values of a {@link DBObject} for getter invocations on a projection
+	 * interface.
+	 * 
+	 * @author agent
+	 */
+	private class DocumentBackedInvocationHandler implements InvocationHandler {
+
+		private final MongoPropertyDescriptors descriptors;
+		private final DBObject dbo;
+
+		public DocumentBackedInvocationHandler(Class<?> type, DBObject dbo) {
+			this.descriptors = MongoPropertyDescriptors.forType(type);
+			this.dbo = dbo;
+		}
+
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+			if (method.getDeclaringClass().equals(Object.class)) {
+				if ("equals".equals(method.getName())) {
+					return proxy == args[0];
+				}
+				if ("hashCode".equals(method.getName())) {
+					return System.identityHashCode(proxy);
+				}
+				return dbo.toString();
+			}
+
+			MongoPropertyDescriptor descriptor = descriptors.getDescriptor(method);
+
+			if (descriptor == null) {
+				throw new UnsupportedOperationException("Only getters are supported on projections, got " + method);
+			}
+
+			Class<?> returnType = method.getReturnType();
+			Object value = dbo.get(descriptor.getKeyToMap());
+
+			if (value instanceof Collection && (returnType.isArray() || descriptor.isCollection())) {
+				Class<?> elementType = returnType.isArray() ? returnType.getComponentType() : getElementType(descriptor);
+				return readElements(returnType, elementType, (Collection<?>) value);
+			}
+
+			return readValue(returnType, value);
+		}
+
+		private Class<?> getElementType(MongoPropertyDescriptor descriptor) {
+
+			List<Class<?>> parameters = descriptor.getGenericParameters();
+			return parameters.isEmpty() ? Object.class : parameters.get(0);
+		}
+	}
+}
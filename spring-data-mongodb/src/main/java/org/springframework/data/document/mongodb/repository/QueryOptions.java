@@ -0,0 +1,53 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.repository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation to configure the cursor used to execute a query method. Applies to both derived and annotated queries.
+ * 
+ * @author agent
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Documented
+public @interface QueryOptions {
+
+	/**
+	 * The number of documents to fetch per batch. Defaults to {@literal 0} meaning the server chooses.
+	 */
+	int batchSize() default 0;
+
+	/**
+	 * The name of the index to use for the query.
+	 */
+	String hint() default "";
+
+	/**
+	 * Whether to execute the query in snapshot mode.
+	 */
+	boolean snapshot() default false;
+
+	/**
+	 * Whether to prevent the server from timing out the cursor.
+	 */
+	boolean noCursorTimeout() default false;
+}
@@ -15,17 +15,23 @@
  */
 package org.springframework.data.document.mongodb.repository;
 
+import static org.springframework.data.document.mongodb.query.Criteria.*;
+
+import org.springframework.data.document.mongodb.query.Criteria;
 import org.springframework.data.document.mongodb.query.Query;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.domain.Sort.Order;
+import org.springframework.util.StringUtils;
 
 import com.mongodb.DBCursor;
+import com.mongodb.DBObject;
 
 
 /**
- * Collection of utility methods to apply sorting and pagination to a
- * {@link DBCursor}.
+ * Collection of utility methods to apply sorting, pagination and cursor
+ * options to a {@link DBCursor}.
  * 
  * @author Oliver Gierke
  */
@@ -57,6 +63,53 @@ abstract class QueryUtils {
     }
 
 
+    /**
+     * Applies the given {@link KeysetPageRequest} to the given {@link Query}.
+     * Sorts by the key, restricts the query to the elements following the
+     * last key of the request and limits it to one element more than the page
+     * size to detect whether there's a following page. As the pages are
+     * delimited by the key only, the query must not be sorted already.
+     * 
+     * @param query
+     * @param pageable
+     * @return
+     * @throws IllegalArgumentException if the query is sorted already or
+     *             restricts the key.
+     */
+    public static Query applyKeyset(Query query, KeysetPageRequest pageable) {
+
+        String key = pageable.getKey();
+        Object lastKey = pageable.getLastKey();
+        DBObject sort = query.getSortObject();
+
+        if (sort != null && !sort.keySet().isEmpty()) {
+            throw new IllegalArgumentException(String.format(
+                    "Cannot page by key %s as the query is sorted by %s already!", key, sort));
+        }
+
+        if (lastKey != null) {
+
+            if (query.getQueryObject().containsField(key)) {
+                throw new IllegalArgumentException(String.format(
+                        "Cannot page by key %s as the query already contains criteria for it!", key));
+            }
+
+            Criteria criteria = where(key);
+            query.and(pageable.getDirection() == Direction.ASC ? criteria.gt(lastKey) : criteria.lt(lastKey));
+        }
+
+        DBObject fields = query.getFieldsObject();
+
+        if (fields != null && !fields.keySet().isEmpty() && !fields.containsField(key)) {
+            query.fields().include(key);
+        }
+
+        query.limit(pageable.getPageSize() + 1);
+
+        return applySorting(query, pageable.getSort());
+    }
+
+
     /**
      * Applies the given {@link Sort} to the {@link Query}. Will do nothing if
      * {@link Sort} is {@literal null}.
@@ -83,4 +136,38 @@ abstract class QueryUtils {
 
         return query;
     }
+
+
+    /**
+     * Applies the cursor settings of the given {@link QueryOptions} to the
+     * {@link Query}. Will do nothing if {@link QueryOptions} is {@literal null}.
+     * 
+     * @param query
+     * @param options
+     * @return
+     */
+    public static Query applyQueryOptions(Query query, QueryOptions options) {
+
+        if (options == null) {
+            return query;
+        }
+
+        if (options.batchSize() != 0) {
+            query.batchSize(options.batchSize());
+        }
+
+        if (StringUtils.hasText(options.hint())) {
+            query.hint(options.hint());
+        }
+
+        if (options.snapshot()) {
+            query.snapshot();
+        }
+
+        if (options.noCursorTimeout()) {
+            query.noCursorTimeout();
+        }
+
+        return query;
+    }
 }
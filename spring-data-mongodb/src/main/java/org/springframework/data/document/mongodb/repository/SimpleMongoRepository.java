@@ -26,11 +26,10 @@ import org.bson.types.ObjectId;
 import org.springframework.data.document.mongodb.MongoTemplate;
 import org.springframework.data.document.mongodb.query.Criteria;
 import org.springframework.data.document.mongodb.query.Query;
+import org.springframework.data.document.mongodb.repository.PageLoader.ContentLoader;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.util.Assert;
 
 /**
@@ -38,10 +37,11 @@ import org.springframework.util.Assert;
  * 
  * @author Oliver Gierke
  */
-public class SimpleMongoRepository<T, ID extends Serializable> implements PagingAndSortingRepository<T, ID> {
+public class SimpleMongoRepository<T, ID extends Serializable> implements MongoRepository<T, ID> {
 
     private final MongoTemplate template;
     private final MongoEntityInformation<T> entityInformation;
+	private final PageLoader pageLoader;
 
 	/**
 	 * Creates a ew {@link SimpleMongoRepository} for the given {@link MongoInformation} and {@link MongoTemplate}.
@@ -50,11 +50,25 @@ public class SimpleMongoRepository<T, ID extends Serializable> implements Paging
 	 * @param template
 	 */
 	public SimpleMongoRepository(MongoEntityInformation<T> metadata, MongoTemplate template) {
+		this(metadata, template, new PageLoader(template));
+	}
+
+	/**
+	 * Creates a new {@link SimpleMongoRepository} for the given {@link MongoInformation}, {@link MongoTemplate} and
+	 * {@link PageLoader} to read {@link Page}s with.
+	 * 
+	 * @param metadata
+	 * @param template
+	 * @param pageLoader
+	 */
+	public SimpleMongoRepository(MongoEntityInformation<T> metadata, MongoTemplate template, PageLoader pageLoader) {
 
 		Assert.notNull(template);
 		Assert.notNull(metadata);
+		Assert.notNull(pageLoader);
 		this.entityInformation = metadata;
 		this.template = template;
+		this.pageLoader = pageLoader;
 	}
 
 	/*
@@ -76,12 +90,19 @@ public class SimpleMongoRepository<T, ID extends Serializable> implements Paging
 	public List<T> save(Iterable<? extends T> entities) {
 
 		List<T> result = new ArrayList<T>();
+		List<T> newEntities = new ArrayList<T>();
 
 		for (T entity : entities) {
-			save(entity);
+			if (entityInformation.isNew(entity)) {
+				newEntities.add(entity);
+			} else {
+				save(entity);
+			}
 			result.add(entity);
 		}
 
+		template.insertList(entityInformation.getCollectionName(), newEntities);
+
 		return result;
 	}
 
@@ -91,8 +112,9 @@ public class SimpleMongoRepository<T, ID extends Serializable> implements Paging
 	 * @see org.springframework.data.repository.Repository#findById(java.io.Serializable )
 	 */
 	public T findById(ID id) {
-		
-		return template.findOne(entityInformation.getCollectionName(), getIdQuery(id), entityInformation.getJavaType());
+
+		return template.findById(entityInformation.getCollectionName(), template.getConverter().convertObjectId(id),
+				entityInformation.getJavaType());
 	}
 
 	private Query getIdQuery(Object id) {
@@ -113,7 +135,7 @@ public class SimpleMongoRepository<T, ID extends Serializable> implements Paging
 	 */
 	public boolean exists(ID id) {
 
-		return findById(id) != null;
+		return template.exists(entityInformation.getCollectionName(), template.getConverter().convertObjectId(id));
 	}
 
 	/*
@@ -123,7 +145,7 @@ public class SimpleMongoRepository<T, ID extends Serializable> implements Paging
 	 */
 	public Long count() {
 
-		return template.getCollection(entityInformation.getCollectionName()).count();
+		return template.count(entityInformation.getCollectionName(), null);
 	}
 
 	/*
@@ -143,9 +165,13 @@ public class SimpleMongoRepository<T, ID extends Serializable> implements Paging
 	 */
 	public void delete(Iterable<? extends T> entities) {
 
+		List<Object> ids = new ArrayList<Object>();
+
 		for (T entity : entities) {
-			delete(entity);
+			ids.add(template.getConverter().convertObjectId(entityInformation.getId(entity)));
 		}
+
+		template.remove(entityInformation.getCollectionName(), entityInformation.getIdAttribute(), ids);
 	}
 
 	/*
@@ -173,10 +199,28 @@ public class SimpleMongoRepository<T, ID extends Serializable> implements Paging
 	 */
 	public Page<T> findAll(final Pageable pageable) {
 
-		Long count = count();
-		List<T> list = findAll(QueryUtils.applyPagination(new Query(), pageable));
+		if (pageable instanceof KeysetPageRequest) {
+			return findAll((KeysetPageRequest) pageable);
+		}
 
-		return new PageImpl<T>(list, pageable, count);
+		return pageLoader.readPage(entityInformation.getCollectionName(), new Query(), pageable,
+				entityInformation.getJavaType(), new ContentLoader<T>() {
+					public List<T> load(Query query) {
+						return findAll(query);
+					}
+				});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.springframework.data.document.mongodb.repository.MongoRepository#findAll
+	 * (org.springframework.data.document.mongodb.repository.KeysetPageRequest)
+	 */
+	public KeysetPage<T> findAll(KeysetPageRequest pageable) {
+
+		return pageLoader.readKeysetPage(entityInformation.getCollectionName(), new Query(), pageable,
+				entityInformation.getJavaType(), null);
 	}
 
 	/*
@@ -197,17 +241,17 @@ public class SimpleMongoRepository<T, ID extends Serializable> implements Paging
 	 */
 	public List<T> findAll(Iterable<ID> ids) {
 
-		Query query = null;
+		List<Object> objectIds = new ArrayList<Object>();
 
 		for (ID id : ids) {
-			if (query == null) {
-				query = getIdQuery(id);
-			} else {
-				query = new Query().or(getIdQuery(id));
-			}
+			objectIds.add(template.getConverter().convertObjectId(id));
+		}
+
+		if (objectIds.isEmpty()) {
+			return Collections.emptyList();
 		}
 
-		return findAll(query);
+		return template.findByIds(entityInformation.getCollectionName(), objectIds, entityInformation.getJavaType());
 	}
 
 	private List<T> findAll(Query query) {
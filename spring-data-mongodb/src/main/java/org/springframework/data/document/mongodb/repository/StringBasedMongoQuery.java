@@ -15,28 +15,30 @@
  */
 package org.springframework.data.document.mongodb.repository;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.List;
 
-import org.bson.types.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.document.mongodb.MongoTemplate;
 import org.springframework.data.document.mongodb.query.BasicQuery;
+import org.springframework.data.document.mongodb.query.DBObjectTemplate;
 import org.springframework.data.document.mongodb.query.Query;
 
+import com.mongodb.DBObject;
+
 /**
- * Query to use a plain JSON String to create the {@link Query} to actually execute.
+ * Query to use a plain JSON String to create the {@link Query} to actually execute. The JSON is parsed once on
+ * creation, executions only bind the parameter values into a copy of the parsed query.
  * 
  * @author Oliver Gierke
  */
 public class StringBasedMongoQuery extends AbstractMongoQuery {
 
-	private static final Pattern PLACEHOLDER = Pattern.compile("\\?(\\d+)");
 	private static final Logger LOG = LoggerFactory.getLogger(StringBasedMongoQuery.class);
 
-	private final String query;
-	private final String fieldSpec;
+	private final DBObjectTemplate query;
+	private final DBObjectTemplate fieldSpec;
+	private final int parameterCount;
 
 	/**
 	 * Creates a new {@link StringBasedMongoQuery}.
@@ -45,9 +47,14 @@ public class StringBasedMongoQuery extends AbstractMongoQuery {
 	 * @param template
 	 */
 	public StringBasedMongoQuery(MongoQueryMethod method, MongoTemplate template) {
+
 		super(method, template);
-		this.query = method.getAnnotatedQuery();
-		this.fieldSpec = method.getFieldSpecification();
+
+		String fieldSpec = method.getFieldSpecification();
+
+		this.query = DBObjectTemplate.parse(method.getAnnotatedQuery());
+		this.fieldSpec = fieldSpec == null ? null : DBObjectTemplate.parse(fieldSpec);
+		this.parameterCount = Math.max(getParameterCount(this.query), getParameterCount(this.fieldSpec));
 	}
 
 	/*
@@ -60,15 +67,17 @@ public class StringBasedMongoQuery extends AbstractMongoQuery {
 	@Override
 	protected Query createQuery(ConvertingParameterAccessor accessor) {
 
-		String queryString = replacePlaceholders(query, accessor);
+		Object[] values = new Object[parameterCount];
+		bindValues(query, accessor, values);
 
+		DBObject queryObject = query.bind(values);
 		Query query = null;
 
 		if (fieldSpec != null) {
-			String fieldString = replacePlaceholders(fieldSpec, accessor);
-			query = new BasicQuery(queryString, fieldString);
+			bindValues(fieldSpec, accessor, values);
+			query = new BasicQuery(queryObject, fieldSpec.bind(values));
 		} else {
-			query = new BasicQuery(queryString);
+			query = new BasicQuery(queryObject);
 		}
 
 		LOG.debug("Created query {}", query.getQueryObject());
@@ -76,28 +85,25 @@ public class StringBasedMongoQuery extends AbstractMongoQuery {
 		return query;
 	}
 
-	private String replacePlaceholders(String input, ConvertingParameterAccessor accessor) {
+	private static void bindValues(DBObjectTemplate template, ConvertingParameterAccessor accessor, Object[] values) {
 
-		Matcher matcher = PLACEHOLDER.matcher(input);
-		String result = null;
+		List<Integer> indexes = template.getPlaceholderIndexes();
 
-		while (matcher.find()) {
-			String group = matcher.group();
-			int index = Integer.parseInt(matcher.group(1));
-			result = input.replace(group, getParameterWithIndex(accessor, index));
+		for (int i = 0; i < indexes.size(); i++) {
+			int index = indexes.get(i);
+			if (values[index] == null) {
+				values[index] = accessor.getBindableValue(index);
+			}
 		}
-
-		return result;
 	}
 
-	private String getParameterWithIndex(ConvertingParameterAccessor accessor, int index) {
-		Object parameter = accessor.getBindableValue(index);
-		if (parameter instanceof String || parameter.getClass().isEnum()) {
-			return String.format("\"%s\"", parameter);
-		} else if (parameter instanceof ObjectId){
-			return String.format("{ '$oid' : '%s' }", parameter);
+	private static int getParameterCount(DBObjectTemplate template) {
+
+		if (template == null || !template.hasPlaceholders()) {
+			return 0;
 		}
-		
-		return parameter.toString();
+
+		List<Integer> indexes = template.getPlaceholderIndexes();
+		return indexes.get(indexes.size() - 1) + 1;
 	}
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb;
+
+import static org.junit.Assume.*;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the heap allocation of the current thread to compare the per-invocation cost of two code paths in unit
+ * tests. Tests using it are skipped on VMs that do not support measuring thread allocation.
+ *
+ * @author agent
+ */
+public abstract class Allocations {
+
+	private static final int WARMUP_INVOCATIONS = 2000;
+	private static final int MEASURED_INVOCATIONS = 2000;
+
+	private Allocations() {
+
+	}
+
+	/**
+	 * Returns the average number of bytes the current thread allocates for a single invocation of the given
+	 * {@link Runnable}. The {@link Runnable} is invoked a couple of times before to rule out one-off allocations, e.g. for
+	 * class loading or caches.
+	 *
+	 * @param runnable must not be {@literal null}.
+	 * @return
+	 */
+	public static long bytesPerInvocation(Runnable runnable) {
+
+		com.sun.management.ThreadMXBean bean = getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+
+		for (int i = 0; i < WARMUP_INVOCATIONS; i++) {
+			runnable.run();
+		}
+
+		long before = bean.getThreadAllocatedBytes(threadId);
+
+		for (int i = 0; i < MEASURED_INVOCATIONS; i++) {
+			runnable.run();
+		}
+
+		return (bean.getThreadAllocatedBytes(threadId) - before) / MEASURED_INVOCATIONS;
+	}
+
+	private static com.sun.management.ThreadMXBean getThreadMXBean() {
+
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+		assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) bean;
+		assumeTrue(allocationBean.isThreadAllocatedMemorySupported());
+
+		if (!allocationBean.isThreadAllocatedMemoryEnabled()) {
+			allocationBean.setThreadAllocatedMemoryEnabled(true);
+		}
+
+		return allocationBean;
+	}
+}
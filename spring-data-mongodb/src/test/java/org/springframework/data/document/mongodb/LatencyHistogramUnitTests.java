@@ -0,0 +1,83 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link LatencyHistogram}.
+ * 
+ * @author agent
+ */
+public class LatencyHistogramUnitTests {
+
+	@Test
+	public void bucketsCoverAllValuesWithoutGaps() {
+
+		for (long value = 0; value < 100000; value++) {
+			int index = LatencyHistogram.getIndex(value);
+			assertThat(LatencyHistogram.getUpperBound(index), is(greaterThanOrEqualTo(value)));
+			if (index > 0) {
+				assertThat(LatencyHistogram.getUpperBound(index - 1), is(lessThan(value)));
+			}
+		}
+	}
+
+	@Test
+	public void reportsPercentilesWithinBucketPrecision() {
+
+		LatencyHistogram histogram = new LatencyHistogram();
+
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i);
+		}
+
+		assertThat(histogram.getCount(), is(1000L));
+		assertThat(histogram.getMean(), is(500.5));
+		assertThat(histogram.getMax(), is(1000L));
+
+		long median = histogram.getValueAtPercentile(50);
+		assertThat(median, is(greaterThanOrEqualTo(500L)));
+		assertThat(median, is(lessThanOrEqualTo(625L)));
+
+		assertThat(histogram.getValueAtPercentile(100), is(1000L));
+	}
+
+	@Test
+	public void returnsZeroForEmptyHistogram() {
+		assertThat(new LatencyHistogram().getValueAtPercentile(99), is(0L));
+	}
+
+	@Test
+	public void resetsRecordedValues() {
+
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(4711);
+		histogram.reset();
+
+		assertThat(histogram.getCount(), is(0L));
+		assertThat(histogram.getMax(), is(0L));
+		assertThat(histogram.getValueAtPercentile(50), is(0L));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsInvalidPercentile() {
+		new LatencyHistogram().getValueAtPercentile(101);
+	}
+}
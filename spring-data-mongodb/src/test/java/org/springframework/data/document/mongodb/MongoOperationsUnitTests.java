@@ -28,6 +28,8 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.document.mongodb.query.Query;
+import org.springframework.data.document.mongodb.query.Update;
 
 import com.mongodb.BasicDBObject;
 import com.mongodb.DBObject;
@@ -317,6 +319,99 @@ public abstract class MongoOperationsUnitTests {
 		}.assertDataAccessException();
 	}
 	
+	@Test
+	public void convertsExceptionForStream() throws Exception {
+		new Execution() {
+			@Override
+			public void doWith(MongoOperations operations) {
+				operations.stream("collection", new Query(), Person.class);
+			}
+		}.assertDataAccessException();
+	}
+
+	@Test
+	public void convertsExceptionForFindById() throws Exception {
+		new Execution() {
+			@Override
+			public void doWith(MongoOperations operations) {
+				operations.findById("collection", new ObjectId(), Person.class);
+			}
+		}.assertDataAccessException();
+	}
+
+	@Test
+	public void convertsExceptionForFindAndModify() {
+		new Execution() {
+			@Override
+			public void doWith(MongoOperations operations) {
+				operations.findAndModify("collection", new Query(), new Update().inc("value", 1), Person.class);
+			}
+		}.assertDataAccessException();
+	}
+
+	@Test
+	public void convertsExceptionForFindAndRemove() {
+		new Execution() {
+			@Override
+			public void doWith(MongoOperations operations) {
+				operations.findAndRemove("collection", new Query(), Person.class);
+			}
+		}.assertDataAccessException();
+	}
+
+	@Test
+	public void convertsExceptionForUpsert() {
+		new Execution() {
+			@Override
+			public void doWith(MongoOperations operations) {
+				operations.upsert("collection", new Query(), new Update().inc("value", 1));
+			}
+		}.assertDataAccessException();
+	}
+
+	@Test
+	public void convertsExceptionForDistinct() {
+		new Execution() {
+			@Override
+			public void doWith(MongoOperations operations) {
+				operations.distinct("collection", "firstName", String.class);
+			}
+		}.assertDataAccessException();
+	}
+
+	@Test
+	public void convertsExceptionForMapReduce() {
+		new Execution() {
+			@Override
+			public void doWith(MongoOperations operations) {
+				operations.mapReduce("collection", "map", "reduce", Person.class);
+			}
+		}.assertDataAccessException();
+	}
+
+	@Test
+	public void convertsExceptionForCount() {
+		new Execution() {
+			@Override
+			public void doWith(MongoOperations operations) {
+				operations.count("collection", new Query());
+			}
+		}.assertDataAccessException();
+	}
+
+	@Test
+	public void convertsExceptionForExecuteQuery() {
+		new Execution() {
+			@Override
+			public void doWith(MongoOperations operations) {
+				operations.executeQuery("collection", new Query(), new DocumentCallbackHandler() {
+					public void processDocument(DBObject document) {
+					}
+				});
+			}
+		}.assertDataAccessException();
+	}
+
 	private abstract class Execution {
 
 		public void assertDataAccessException() {
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.mongodb.MongoOptions;
+
+/**
+ * Unit tests for {@link MongoOptionsFactoryBean}.
+ * 
+ * @author agent
+ */
+public class MongoOptionsFactoryBeanUnitTests {
+
+	@Test
+	public void createsSeparateOptionsPerFactoryBean() {
+
+		MongoOptionsFactoryBean first = new MongoOptionsFactoryBean();
+		first.setConnectionsPerHost(5);
+		first.afterPropertiesSet();
+
+		MongoOptionsFactoryBean second = new MongoOptionsFactoryBean();
+		second.setConnectionsPerHost(50);
+		second.afterPropertiesSet();
+
+		MongoOptions firstOptions = first.getObject();
+		MongoOptions secondOptions = second.getObject();
+
+		assertThat(firstOptions, is(not(sameInstance(secondOptions))));
+		assertThat(firstOptions.connectionsPerHost, is(5));
+		assertThat(secondOptions.connectionsPerHost, is(50));
+	}
+
+	@Test
+	public void defaultsToDriverDefaults() {
+
+		MongoOptionsFactoryBean factory = new MongoOptionsFactoryBean();
+		factory.afterPropertiesSet();
+
+		assertThat(factory.getObject().connectionsPerHost, is(new MongoOptions().connectionsPerHost));
+	}
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.data.document.mongodb.MongoPropertyDescriptors.MongoPropertyDescriptor;
+
+/**
+ * Unit tests for {@link MongoPropertyDescriptors}.
+ * 
+ * @author agent
+ */
+public class MongoPropertyDescriptorsUnitTests {
+
+	@After
+	public void tearDown() {
+		MongoPropertyDescriptors.clearCache();
+	}
+
+	@Test
+	public void returnsCachedInstanceForSameType() {
+
+		MongoPropertyDescriptors descriptors = MongoPropertyDescriptors.forType(PersonWithIdPropertyOfTypeString.class);
+		assertThat(MongoPropertyDescriptors.forType(PersonWithIdPropertyOfTypeString.class), is(sameInstance(descriptors)));
+	}
+
+	@Test
+	public void exposesPrecomputedIdDescriptor() {
+
+		MongoPropertyDescriptors descriptors = MongoPropertyDescriptors.forType(PersonWithIdPropertyOfTypeString.class);
+		MongoPropertyDescriptor idDescriptor = descriptors.getIdDescriptor();
+
+		assertThat(idDescriptor, is(notNullValue()));
+		assertThat(idDescriptor.getKeyToMap(), is("_id"));
+		assertThat(idDescriptor.isOfIdType(), is(true));
+		assertThat(descriptors.getDescriptor("id"), is(idDescriptor));
+		assertThat(descriptors.getDescriptor("unknown"), is(nullValue()));
+	}
+
+	@Test
+	public void resolvesAndCachesGenericParameters() {
+
+		MongoPropertyDescriptor descriptor = MongoPropertyDescriptors.forType(Portfolio.class).getDescriptor(
+				"portfolioManagers");
+
+		assertThat(descriptor.isMap(), is(true));
+		List<Class<?>> parameters = descriptor.getGenericParameters();
+		assertThat(parameters.size(), is(2));
+		assertEquals(String.class, parameters.get(0));
+		assertEquals(Person.class, parameters.get(1));
+		assertThat(descriptor.getGenericParameters(), is(sameInstance(parameters)));
+	}
+
+	@Test
+	public void detectsLazyLoadingOfInterfaceCollections() {
+
+		MongoPropertyDescriptors descriptors = MongoPropertyDescriptors.forType(LazyLoading.class);
+
+		assertThat(descriptors.getDescriptor("annotated").isLazyLoad(), is(true));
+		assertThat(descriptors.getDescriptor("ofLazyType").isLazyLoad(), is(true));
+		assertThat(descriptors.getDescriptor("eager").isLazyLoad(), is(false));
+		assertThat(descriptors.getDescriptor("lazyType").isLazyLoad(), is(false));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void rejectsLazyLoadingOfClassTypedProperty() {
+		MongoPropertyDescriptors.forType(InvalidLazyLoading.class).getDescriptor("address").isLazyLoad();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void rejectsLazyLoadingOfClassTypedCollection() {
+		MongoPropertyDescriptors.forType(InvalidLazyLoading.class).getDescriptor("addresses").isLazyLoad();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void rejectsLazyLoadingOfClassTypedCollectionOfLazyType() {
+		MongoPropertyDescriptors.forType(InvalidLazyLoading.class).getDescriptor("ofLazyType").isLazyLoad();
+	}
+
+	@LazyLoad
+	static class LazyType {
+
+	}
+
+	static class LazyLoading {
+
+		@LazyLoad
+		List<Person> annotated;
+		List<LazyType> ofLazyType;
+		List<Person> eager;
+		LazyType lazyType;
+
+		public List<Person> getAnnotated() {
+			return annotated;
+		}
+
+		public List<LazyType> getOfLazyType() {
+			return ofLazyType;
+		}
+
+		public List<Person> getEager() {
+			return eager;
+		}
+
+		public LazyType getLazyType() {
+			return lazyType;
+		}
+	}
+
+	static class InvalidLazyLoading {
+
+		@LazyLoad
+		Person address;
+		@LazyLoad
+		ArrayList<Person> addresses;
+		ArrayList<LazyType> ofLazyType;
+
+		public Person getAddress() {
+			return address;
+		}
+
+		public ArrayList<Person> getAddresses() {
+			return addresses;
+		}
+
+		public ArrayList<LazyType> getOfLazyType() {
+			return ofLazyType;
+		}
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.data.document.mongodb.query.Query;
+import org.springframework.data.document.mongodb.query.Update;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+/**
+ * Unit tests for {@link MongoSequenceGenerator}.
+ * 
+ * @author agent
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class MongoSequenceGeneratorUnitTests {
+
+	@Mock
+	MongoOperations operations;
+
+	MongoSequenceGenerator generator;
+
+	@Before
+	public void setUp() {
+		generator = new MongoSequenceGenerator(operations, "sequences");
+		generator.setBlockSize(3);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void allocatesValuesInBlocks() {
+
+		when(
+				operations.findAndModify(eq("sequences"), any(Query.class), any(Update.class),
+						any(FindAndModifyOptions.class), eq(DBObject.class), any(MongoReader.class))).thenReturn(
+				new BasicDBObject(MongoSequenceGenerator.VALUE, 3L), new BasicDBObject(MongoSequenceGenerator.VALUE, 6L));
+
+		for (long i = 1; i <= 6; i++) {
+			assertThat(generator.nextValue("person"), is(i));
+		}
+
+		verify(operations, times(2)).findAndModify(eq("sequences"), any(Query.class), any(Update.class),
+				any(FindAndModifyOptions.class), eq(DBObject.class), any(MongoReader.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void retriesAllocationOnceIfConcurrentlyCreatedSequenceCausesDuplicateKey() {
+
+		when(
+				operations.findAndModify(eq("sequences"), any(Query.class), any(Update.class),
+						any(FindAndModifyOptions.class), eq(DBObject.class), any(MongoReader.class))).thenThrow(
+				new DataIntegrityViolationException("E11000 duplicate key error")).thenReturn(
+				new BasicDBObject(MongoSequenceGenerator.VALUE, 6L));
+
+		assertThat(generator.nextValue("person"), is(4L));
+
+		verify(operations, times(2)).findAndModify(eq("sequences"), any(Query.class), any(Update.class),
+				any(FindAndModifyOptions.class), eq(DBObject.class), any(MongoReader.class));
+	}
+
+	@Test(expected = DataIntegrityViolationException.class)
+	@SuppressWarnings("unchecked")
+	public void retriesAllocationOnlyOnce() {
+
+		when(
+				operations.findAndModify(eq("sequences"), any(Query.class), any(Update.class),
+						any(FindAndModifyOptions.class), eq(DBObject.class), any(MongoReader.class))).thenThrow(
+				new DataIntegrityViolationException("E11000 duplicate key error"));
+
+		generator.nextValue("person");
+	}
+
+	@Test(expected = DataRetrievalFailureException.class)
+	@SuppressWarnings("unchecked")
+	public void rejectsMissingCounterValue() {
+
+		when(
+				operations.findAndModify(eq("sequences"), any(Query.class), any(Update.class),
+						any(FindAndModifyOptions.class), eq(DBObject.class), any(MongoReader.class))).thenReturn(null);
+
+		generator.nextValue("person");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsInvalidBlockSize() {
+		generator.setBlockSize(0);
+	}
+}
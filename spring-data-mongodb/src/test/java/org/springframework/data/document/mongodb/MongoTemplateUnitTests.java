@@ -15,18 +15,45 @@
  */
 package org.springframework.data.document.mongodb;
 
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.data.document.mongodb.query.Criteria.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.bson.types.ObjectId;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.document.mongodb.cache.LruDocumentCache;
+import org.springframework.data.document.mongodb.query.GroupBy;
+import org.springframework.data.document.mongodb.query.Order;
+import org.springframework.data.document.mongodb.query.Query;
+import org.springframework.data.document.mongodb.query.ReadRouting;
+import org.springframework.data.document.mongodb.query.Update;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import com.mongodb.BasicDBObject;
+import com.mongodb.Bytes;
+import com.mongodb.CommandResult;
 import com.mongodb.DB;
+import com.mongodb.DBCollection;
+import com.mongodb.DBCursor;
+import com.mongodb.DBObject;
 import com.mongodb.Mongo;
 import com.mongodb.MongoException;
 
@@ -75,6 +102,840 @@ public class MongoTemplateUnitTests extends MongoOperationsUnitTests {
 		assertTrue(ReflectionTestUtils.getField(template, "mongoConverter") instanceof SimpleMongoConverter);
 	}
 
+	@Test
+	public void streamConvertsLazilyAndClosesExhaustedCursor() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		DBCollection collection = mock(DBCollection.class);
+		DBCursor cursor = mock(DBCursor.class);
+
+		when(db.getCollection("collection")).thenReturn(collection);
+		when(collection.find(any(DBObject.class))).thenReturn(cursor);
+		when(cursor.hasNext()).thenReturn(true, false);
+		when(cursor.next()).thenReturn(new BasicDBObject("firstName", "Oliver"));
+
+		CloseableIterator<Person> iterator = template.stream("collection", new Query(), Person.class);
+		verify(cursor, never()).next();
+
+		assertThat(iterator.hasNext(), is(true));
+		assertThat(iterator.next().getFirstName(), is("Oliver"));
+		assertThat(iterator.hasNext(), is(false));
+
+		verify(cursor, times(1)).close();
+	}
+
+	@Test
+	public void closingStreamClosesCursorOnce() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		DBCollection collection = mock(DBCollection.class);
+		DBCursor cursor = mock(DBCursor.class);
+
+		when(db.getCollection("collection")).thenReturn(collection);
+		when(collection.find(any(DBObject.class))).thenReturn(cursor);
+		when(cursor.hasNext()).thenReturn(true);
+
+		CloseableIterator<Person> iterator = template.stream("collection", new Query(), Person.class);
+		iterator.close();
+		iterator.close();
+
+		assertThat(iterator.hasNext(), is(false));
+		verify(cursor, times(1)).close();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void closesCursorIfConvertingDocumentFails() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		DBCollection collection = mock(DBCollection.class);
+		DBCursor cursor = mock(DBCursor.class);
+		MongoReader<Person> reader = mock(MongoReader.class);
+
+		when(db.getCollection("collection")).thenReturn(collection);
+		when(collection.find(any(DBObject.class))).thenReturn(cursor);
+		when(cursor.hasNext()).thenReturn(true);
+		when(cursor.next()).thenReturn(new BasicDBObject("firstName", "Oliver"));
+		when(reader.read(eq(Person.class), any(DBObject.class))).thenThrow(new IllegalStateException());
+
+		CloseableIterator<Person> iterator = template.stream("collection", new Query(), Person.class, reader);
+
+		try {
+			iterator.next();
+			fail("Expected IllegalStateException!");
+		} catch (IllegalStateException e) {
+			verify(cursor, times(1)).close();
+		}
+
+		assertThat(iterator.hasNext(), is(false));
+	}
+
+	@Test(expected = DataAccessException.class)
+	public void translatesMongoExceptionWhenPreparingCursor() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		DBCollection collection = mock(DBCollection.class);
+		DBCursor cursor = mock(DBCursor.class);
+
+		when(db.getCollection("collection")).thenReturn(collection);
+		when(collection.find(any(DBObject.class))).thenReturn(cursor);
+		when(cursor.skip(anyInt())).thenThrow(new MongoException("Bad skip!"));
+
+		template.find("collection", new Query().skip(10), Person.class);
+	}
+
+	@Test
+	public void appliesCursorOptionsOfQuery() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		DBCollection collection = mock(DBCollection.class);
+		DBCursor cursor = mock(DBCursor.class);
+
+		when(db.getCollection("collection")).thenReturn(collection);
+		when(collection.find(any(DBObject.class))).thenReturn(cursor);
+		when(cursor.batchSize(anyInt())).thenReturn(cursor);
+		when(cursor.hint(anyString())).thenReturn(cursor);
+		when(cursor.snapshot()).thenReturn(cursor);
+		when(cursor.addOption(anyInt())).thenReturn(cursor);
+
+		template.find("collection", new Query().batchSize(50).hint("name_1").snapshot().noCursorTimeout(),
+				Person.class);
+
+		verify(cursor).batchSize(50);
+		verify(cursor).hint("name_1");
+		verify(cursor).snapshot();
+		verify(cursor).addOption(Bytes.QUERYOPTION_NOTIMEOUT);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void splitsInsertListIntoBatches() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		template.setMaxBatchSize(2);
+		DBCollection collection = mock(DBCollection.class);
+		when(db.getCollection("collection")).thenReturn(collection);
+
+		template.insertList("collection", Arrays.asList(new Person("Dave"), new Person("Carter"), new Person("Boyd"),
+				new Person("Stefan"), new Person("Leroi")));
+
+		verify(collection, times(3)).insert(any(List.class));
+	}
+
+	@Test
+	public void splitsBatchesByDocumentSize() throws Exception {
+
+		template.setMaxBatchSize(0);
+		template.setMaxBatchBytes(120);
+
+		List<DBObject> documents = new ArrayList<DBObject>();
+		for (int i = 0; i < 3; i++) {
+			documents.add(new BasicDBObject("value", "0123456789012345678901234567890123456789"));
+		}
+
+		List<List<DBObject>> batches = template.splitIntoBatches(documents);
+		assertThat(batches.size(), is(2));
+		assertThat(batches.get(0).size(), is(2));
+		assertThat(batches.get(1).size(), is(1));
+	}
+
+	@Test
+	public void removesValuesInBatchesUsingIn() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		template.setMaxBatchSize(2);
+		DBCollection collection = mock(DBCollection.class);
+		when(db.getCollection("collection")).thenReturn(collection);
+
+		template.remove("collection", "_id", Arrays.asList(1, 2, 3));
+
+		verify(collection, times(2)).remove(any(DBObject.class));
+	}
+
+	@Test
+	public void findByIdConsultsCacheAndSaveInvalidatesIt() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		template.setDocumentCache(new LruDocumentCache(10));
+		DBCollection collection = mock(DBCollection.class);
+		Person person = new Person("Oliver");
+		DBObject document = new BasicDBObject("_id", person.getId()).append("firstName", "Oliver");
+
+		when(db.getCollection("collection")).thenReturn(collection);
+		when(collection.findOne(any(DBObject.class))).thenReturn(document);
+
+		assertThat(template.findById("collection", person.getId(), Person.class).getFirstName(), is("Oliver"));
+		assertThat(template.findById("collection", person.getId(), Person.class).getFirstName(), is("Oliver"));
+		verify(collection, times(1)).findOne(any(DBObject.class));
+
+		template.save("collection", person);
+		template.findById("collection", person.getId(), Person.class);
+		verify(collection, times(2)).findOne(any(DBObject.class));
+	}
+
+	@Test
+	public void returnsCopiesOfCachedDocumentsReadAsDBObject() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		template.setDocumentCache(new LruDocumentCache(10));
+		DBCollection collection = mock(DBCollection.class);
+		ObjectId id = new ObjectId();
+		DBObject document = new BasicDBObject("_id", id).append("address", new BasicDBObject("city", "Dresden"));
+
+		when(db.getCollection("collection")).thenReturn(collection);
+		when(collection.findOne(any(DBObject.class))).thenReturn(document);
+
+		DBObject first = template.findById("collection", id, DBObject.class);
+		assertThat(first, is(not(sameInstance(document))));
+		((DBObject) first.get("address")).put("city", "Berlin");
+
+		DBObject second = template.findById("collection", id, DBObject.class);
+		verify(collection, times(1)).findOne(any(DBObject.class));
+		assertThat(((DBObject) second.get("address")).get("city"), is((Object) "Dresden"));
+		assertThat(((DBObject) template.findByIds("collection", Arrays.asList(id), DBObject.class).get(0)
+				.get("address")).get("city"), is((Object) "Dresden"));
+	}
+
+	@Test
+	public void doesNotCacheDocumentInvalidatedWhileBeingRead() throws Exception {
+
+		final MongoTemplate template = mockOutGetDb();
+		template.setDocumentCache(new LruDocumentCache(10));
+		DBCollection collection = mock(DBCollection.class);
+		final Person person = new Person("Oliver");
+		final DBObject document = new BasicDBObject("_id", person.getId()).append("firstName", "Oliver");
+
+		when(db.getCollection("collection")).thenReturn(collection);
+		when(collection.findOne(any(DBObject.class))).thenAnswer(new Answer<DBObject>() {
+			public DBObject answer(InvocationOnMock invocation) throws Throwable {
+				template.getDocumentCache().evict("collection", person.getId());
+				return document;
+			}
+		});
+
+		template.findById("collection", person.getId(), Person.class);
+		template.findById("collection", person.getId(), Person.class);
+		verify(collection, times(2)).findOne(any(DBObject.class));
+	}
+
+	@Test
+	public void releasesReservationsIfFindByIdFails() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		LruDocumentCache cache = new LruDocumentCache(10);
+		template.setDocumentCache(cache);
+		DBCollection collection = mock(DBCollection.class);
+		Person person = new Person("Oliver");
+
+		when(db.getCollection("collection")).thenReturn(collection);
+		when(collection.findOne(any(DBObject.class))).thenThrow(new MongoException("failure"));
+		when(collection.find(any(DBObject.class))).thenThrow(new MongoException("failure"));
+
+		try {
+			template.findById("collection", person.getId(), Person.class);
+			fail("Expected DataAccessException!");
+		} catch (DataAccessException e) {
+			assertThat(cache.getSize(), is(0));
+		}
+
+		try {
+			template.findByIds("collection", Arrays.asList(person.getId()), Person.class);
+			fail("Expected DataAccessException!");
+		} catch (DataAccessException e) {
+			assertThat(cache.getSize(), is(0));
+		}
+	}
+
+	@Test
+	public void convertsStringIdsForFindByIdAndExists() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		DBCollection collection = mock(DBCollection.class);
+		ObjectId id = new ObjectId();
+
+		when(db.getCollection("collection")).thenReturn(collection);
+
+		template.findById("collection", id.toString(), Person.class);
+		verify(collection).findOne(new BasicDBObject("_id", id));
+
+		template.exists("collection", id.toString(), Person.class);
+		verify(collection).findOne(new BasicDBObject("_id", id), new BasicDBObject("_id", 1));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void mapsIdsForEntityOfDelegatingReader() throws Exception {
+
+		DelegatingMongoReader<Object> reader = mock(DelegatingMongoReader.class);
+		doReturn(Person.class).when(reader).getEntityClass();
+		doReturn(template.getConverter()).when(reader).getDelegate();
+		ObjectId id = new ObjectId();
+
+		DBObject query = new BasicDBObject("id", id.toString());
+		template.substituteMappedIdIfNecessary(query, Object.class, reader);
+
+		assertThat(query.get("_id"), is((Object) id));
+		assertThat(query.containsField("id"), is(false));
+	}
+
+	@Test
+	public void doesNotModifyQueriesHandedToTheTemplate() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		DBCollection collection = mock(DBCollection.class);
+		when(db.getCollection("collection")).thenReturn(collection);
+		ObjectId id = new ObjectId();
+
+		Query query = new Query(where("id").is(id.toString()));
+		template.findOne("collection", query, Person.class);
+
+		verify(collection).findOne(new BasicDBObject("_id", id));
+		assertThat(query.getQueryObject(), is((DBObject) new BasicDBObject("id", id.toString())));
+	}
+
+	@Test
+	public void usesOverriddenIdSubstitution() throws Exception {
+
+		MongoTemplate template = spy(new MongoTemplate(mongo, "database", "default") {
+			@Override
+			protected void substituteMappedIdIfNecessary(DBObject query, Class<?> targetClass, MongoReader<?> reader) {
+				super.substituteMappedIdIfNecessary(query, targetClass, reader);
+				query.put("tenant", "foo");
+			}
+		});
+		stub(template.getDb()).toReturn(db);
+		DBCollection collection = mock(DBCollection.class);
+		when(db.getCollection("collection")).thenReturn(collection);
+		ObjectId id = new ObjectId();
+
+		Query query = new Query(where("id").is(id.toString()));
+		template.findOne("collection", query, Person.class);
+
+		verify(collection).findOne(new BasicDBObject("_id", id).append("tenant", "foo"));
+		assertThat(query.getQueryObject(), is((DBObject) new BasicDBObject("id", id.toString())));
+	}
+
+	@Test
+	public void existsOnlyRetrievesId() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		DBCollection collection = mock(DBCollection.class);
+		when(db.getCollection("collection")).thenReturn(collection);
+		when(collection.findOne(any(DBObject.class), any(DBObject.class))).thenReturn(new BasicDBObject("_id", 1));
+
+		assertThat(template.exists("collection", 1), is(true));
+		verify(collection).findOne(new BasicDBObject("_id", 1), new BasicDBObject("_id", 1));
+	}
+
+	@Test
+	public void findAndModifyIssuesCommandAndConvertsValue() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		CommandResult result = mock(CommandResult.class);
+		when(result.ok()).thenReturn(true);
+		when(result.get("value")).thenReturn(new BasicDBObject("firstName", "Oliver"));
+		when(db.command(any(DBObject.class))).thenReturn(result);
+
+		Query query = new Query(where("firstName").is("Oliver"));
+		query.sort().on("age", Order.DESCENDING);
+		Update update = new Update().set("firstName", "Oliver");
+
+		Person person = template.findAndModify("collection", query, update,
+				FindAndModifyOptions.options().returnNew(true), Person.class, null);
+		assertThat(person.getFirstName(), is("Oliver"));
+
+		ArgumentCaptor<DBObject> captor = ArgumentCaptor.forClass(DBObject.class);
+		verify(db).command(captor.capture());
+
+		DBObject command = captor.getValue();
+		assertThat(command.get("findandmodify"), is((Object) "collection"));
+		assertThat(command.get("query"), is((Object) query.getQueryObject()));
+		assertThat(command.get("sort"), is((Object) new BasicDBObject("age", -1)));
+		assertThat(command.get("update"), is((Object) update.getUpdateObject()));
+		assertThat(command.get("new"), is((Object) true));
+		assertThat(command.get("upsert"), is((Object) false));
+	}
+
+	@Test
+	public void findAndRemoveReturnsNullIfNoDocumentMatches() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		CommandResult result = mock(CommandResult.class);
+		when(result.getErrorMessage()).thenReturn("No matching object found");
+		when(db.command(any(DBObject.class))).thenReturn(result);
+
+		assertThat(template.findAndRemove("collection", new Query(), Person.class), is(nullValue()));
+
+		ArgumentCaptor<DBObject> captor = ArgumentCaptor.forClass(DBObject.class);
+		verify(db).command(captor.capture());
+		assertThat(captor.getValue().get("remove"), is((Object) true));
+	}
+
+	@Test(expected = InvalidDataAccessApiUsageException.class)
+	public void findAndModifyRejectsFailedCommand() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		CommandResult result = mock(CommandResult.class);
+		when(result.getErrorMessage()).thenReturn("invalid sort");
+		when(db.command(any(DBObject.class))).thenReturn(result);
+
+		template.findAndModify("collection", new Query(), new Update().inc("age", 1), Person.class);
+	}
+
+	@Test(expected = DataIntegrityViolationException.class)
+	public void findAndModifyTranslatesDuplicateKeyError() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		CommandResult result = mock(CommandResult.class);
+		when(result.getErrorMessage()).thenReturn("E11000 duplicate key error index: database.collection.$_id_");
+		when(db.command(any(DBObject.class))).thenReturn(result);
+
+		template.findAndModify("collection", new Query(), new Update().inc("value", 1),
+				FindAndModifyOptions.options().upsert(true), DBObject.class, null);
+	}
+
+	@Test
+	public void upsertUpdatesWithUpsertFlag() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		DBCollection collection = mock(DBCollection.class);
+		when(db.getCollection("collection")).thenReturn(collection);
+
+		Query query = new Query(where("firstName").is("Oliver"));
+		Update update = new Update().inc("age", 1);
+		template.upsert("collection", query, update);
+
+		verify(collection).update(query.getQueryObject(), update.getUpdateObject(), true, false);
+	}
+
+	@Test
+	public void mapsIdsForUpdatesAndRemovesOfEntities() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		DBCollection collection = mock(DBCollection.class);
+		when(db.getCollection("collection")).thenReturn(collection);
+		ObjectId id = new ObjectId();
+
+		Query query = new Query(where("id").is(id.toString()));
+		Update update = new Update().inc("age", 1);
+		DBObject mappedQuery = new BasicDBObject("_id", id);
+
+		template.updateFirst("collection", query, update, Person.class);
+		verify(collection).update(mappedQuery, update.getUpdateObject());
+
+		template.updateMulti("collection", query, update, Person.class);
+		verify(collection).updateMulti(mappedQuery, update.getUpdateObject());
+
+		template.remove("collection", query, Person.class);
+		verify(collection).remove(mappedQuery);
+
+		assertThat(query.getQueryObject(), is((DBObject) new BasicDBObject("id", id.toString())));
+	}
+
+	@Test
+	public void usesQueriesAsIsForUpdatesAndRemovesWithoutEntity() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		DBCollection collection = mock(DBCollection.class);
+		when(db.getCollection("collection")).thenReturn(collection);
+
+		Query query = new Query(where("id").is(new ObjectId().toString()));
+		Update update = new Update().inc("age", 1);
+
+		template.updateFirst("collection", query, update);
+		verify(collection).update(query.getQueryObject(), update.getUpdateObject());
+
+		template.remove("collection", query);
+		verify(collection).remove(query.getQueryObject());
+	}
+
+	@Test
+	public void distinctConvertsValues() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		CommandResult result = mock(CommandResult.class);
+		when(result.ok()).thenReturn(true);
+		when(result.get("values")).thenReturn(Arrays.asList(1, 2));
+		when(db.command(any(DBObject.class))).thenReturn(result);
+
+		List<Long> values = template.distinct("collection", "age", new Query(where("firstName").is("Oliver")),
+				Long.class);
+		assertThat(values, is(Arrays.asList(1L, 2L)));
+
+		ArgumentCaptor<DBObject> captor = ArgumentCaptor.forClass(DBObject.class);
+		verify(db).command(captor.capture());
+		assertThat(captor.getValue().get("distinct"), is((Object) "collection"));
+		assertThat(captor.getValue().get("key"), is((Object) "age"));
+	}
+
+	@Test
+	public void groupConvertsGroupDocuments() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		CommandResult result = mock(CommandResult.class);
+		when(result.ok()).thenReturn(true);
+		when(result.get("retval")).thenReturn(Arrays.asList(new BasicDBObject("firstName", "Oliver")));
+		when(db.command(any(DBObject.class))).thenReturn(result);
+
+		List<Person> people = template.group("collection", null,
+				GroupBy.key("firstName").reduceFunction("function(doc, out) {}"), Person.class);
+
+		assertThat(people.size(), is(1));
+		assertThat(people.get(0).getFirstName(), is("Oliver"));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void mapReduceConvertsInlineResultsLazily() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		CommandResult result = mock(CommandResult.class);
+		when(result.ok()).thenReturn(true);
+		when(result.get("results")).thenReturn(Arrays.asList(new BasicDBObject("firstName", "Oliver")));
+		when(db.command(any(DBObject.class))).thenReturn(result);
+
+		MongoReader<Person> reader = mock(MongoReader.class);
+		when(reader.read(eq(Person.class), any(DBObject.class))).thenReturn(new Person("Oliver"));
+
+		MapReduceResults<Person> results = template.mapReduce("collection", new Query().limit(10), "map", "reduce",
+				null, Person.class, reader);
+		verify(reader, never()).read(eq(Person.class), any(DBObject.class));
+
+		assertThat(results.getMappedResults().get(0).getFirstName(), is("Oliver"));
+		assertThat(results.getOutputCollection(), is(nullValue()));
+
+		ArgumentCaptor<DBObject> captor = ArgumentCaptor.forClass(DBObject.class);
+		verify(db).command(captor.capture());
+		assertThat(captor.getValue().get("out"), is((Object) new BasicDBObject("inline", 1)));
+		assertThat(captor.getValue().get("limit"), is((Object) 10));
+	}
+
+	@Test
+	public void mapReduceReadsResultsFromOutputCollection() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		CommandResult result = mock(CommandResult.class);
+		when(result.ok()).thenReturn(true);
+		when(result.get("result")).thenReturn("totals");
+		when(db.command(any(DBObject.class))).thenReturn(result);
+
+		DBCollection collection = mock(DBCollection.class);
+		DBCursor cursor = mock(DBCursor.class);
+		when(db.getCollection("totals")).thenReturn(collection);
+		when(collection.find(any(DBObject.class))).thenReturn(cursor);
+		when(cursor.hasNext()).thenReturn(true, false);
+		when(cursor.next()).thenReturn(new BasicDBObject("firstName", "Oliver"));
+
+		MapReduceResults<Person> results = template.mapReduce("collection", null, "map", "reduce",
+				MapReduceOptions.options().outputCollection("totals"), Person.class, null);
+
+		assertThat(results.getOutputCollection(), is("totals"));
+		assertThat(results.getMappedResults().get(0).getFirstName(), is("Oliver"));
+		verify(cursor).close();
+	}
+
+	@Test(expected = InvalidDataAccessApiUsageException.class)
+	public void mapReduceRejectsFailedCommand() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		when(db.command(any(DBObject.class))).thenReturn(mock(CommandResult.class));
+
+		template.mapReduce("collection", "map", "reduce", Person.class);
+	}
+
+	@Test
+	public void countsWithoutRetrievingDocuments() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		DBCollection collection = mock(DBCollection.class);
+		when(db.getCollection("collection")).thenReturn(collection);
+		when(collection.getCount(any(DBObject.class))).thenReturn(42L);
+
+		Query query = new Query(where("firstName").is("Oliver"));
+		assertThat(template.count("collection", query), is(42L));
+
+		verify(collection).getCount(query.getQueryObject());
+		verify(collection, never()).find(any(DBObject.class));
+	}
+
+	@Test
+	public void countSubstitutesMappedId() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		DBCollection collection = mock(DBCollection.class);
+		when(db.getCollection("collection")).thenReturn(collection);
+
+		ObjectId id = new ObjectId();
+		template.count("collection", new Query(where("id").is(id.toString())), PersonWithIdPropertyOfTypeString.class);
+
+		verify(collection).getCount(new BasicDBObject("_id", id));
+	}
+
+	@Test
+	public void executeQueryHandsDocumentsToHandlerAndClosesCursor() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		DBCollection collection = mock(DBCollection.class);
+		DBCursor cursor = mock(DBCursor.class);
+		DBObject document = new BasicDBObject("firstName", "Oliver");
+
+		when(db.getCollection("collection")).thenReturn(collection);
+		when(collection.find(any(DBObject.class))).thenReturn(cursor);
+		when(cursor.hasNext()).thenReturn(true, false);
+		when(cursor.next()).thenReturn(document);
+
+		DocumentCallbackHandler handler = mock(DocumentCallbackHandler.class);
+		template.executeQuery("collection", new Query(), handler);
+
+		verify(handler).processDocument(document);
+		verify(cursor).close();
+	}
+
+	@Test
+	public void executeQueryClosesCursorIfHandlerFails() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		DBCollection collection = mock(DBCollection.class);
+		DBCursor cursor = mock(DBCursor.class);
+
+		when(db.getCollection("collection")).thenReturn(collection);
+		when(collection.find(any(DBObject.class))).thenReturn(cursor);
+		when(cursor.hasNext()).thenReturn(true);
+		when(cursor.next()).thenReturn(new BasicDBObject());
+
+		DocumentCallbackHandler handler = mock(DocumentCallbackHandler.class);
+		doThrow(new IllegalStateException()).when(handler).processDocument(any(DBObject.class));
+
+		try {
+			template.executeQuery("collection", new Query(), handler);
+			fail("Expected IllegalStateException!");
+		} catch (IllegalStateException e) {
+			verify(cursor).close();
+		}
+	}
+
+	@Test
+	public void findReturnsDocumentsAsIsForDBObjectTarget() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		DBCollection collection = mock(DBCollection.class);
+		DBObject document = new BasicDBObject("firstName", "Oliver");
+
+		when(db.getCollection("collection")).thenReturn(collection);
+		when(collection.findOne(any(DBObject.class))).thenReturn(document);
+
+		assertThat(template.findOne("collection", new Query(), DBObject.class), is(document));
+	}
+
+	@Test
+	public void routesQueryToSecondariesIfConfiguredOnQuery() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		DBCollection collection = mock(DBCollection.class);
+		DBCursor cursor = mock(DBCursor.class);
+
+		when(db.getCollection("collection")).thenReturn(collection);
+		when(collection.find(any(DBObject.class))).thenReturn(cursor);
+		when(cursor.addOption(anyInt())).thenReturn(cursor);
+
+		template.find("collection", new Query().readRouting(ReadRouting.SECONDARY_PREFERRED), Person.class);
+		template.find("collection", new Query(), Person.class);
+
+		verify(cursor, times(1)).addOption(Bytes.QUERYOPTION_SLAVEOK);
+
+		ReadRoutingStatistics statistics = template.getReadRoutingStatistics();
+		assertThat(statistics.getSecondaryPreferredReads(), is(1L));
+		assertThat(statistics.getPrimaryReads(), is(1L));
+	}
+
+	@Test
+	public void queryReadRoutingOverridesTemplateDefault() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		template.setReadRouting(ReadRouting.NEAREST);
+
+		DBCollection collection = mock(DBCollection.class);
+		DBCursor cursor = mock(DBCursor.class);
+
+		when(db.getCollection("collection")).thenReturn(collection);
+		when(collection.find(any(DBObject.class))).thenReturn(cursor);
+
+		template.find("collection", new Query().readRouting(ReadRouting.PRIMARY), Person.class);
+
+		verify(cursor, never()).addOption(anyInt());
+		assertThat(template.getReadRoutingStatistics().getPrimaryReads(), is(1L));
+		assertThat(template.getReadRoutingStatistics().getNearestReads(), is(0L));
+	}
+
+	@Test
+	public void findOneOnSecondaryUsesSlaveOkCursor() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		template.setReadRouting(ReadRouting.SECONDARY_PREFERRED);
+
+		DBCollection collection = mock(DBCollection.class);
+		DBCursor cursor = mock(DBCursor.class);
+		DBObject document = new BasicDBObject("firstName", "Oliver");
+
+		when(db.getCollection("collection")).thenReturn(collection);
+		when(collection.find(any(DBObject.class), any(DBObject.class))).thenReturn(cursor);
+		when(cursor.addOption(anyInt())).thenReturn(cursor);
+		when(cursor.limit(anyInt())).thenReturn(cursor);
+		when(cursor.hasNext()).thenReturn(true);
+		when(cursor.next()).thenReturn(document);
+
+		assertThat(template.findOne("collection", new Query(), DBObject.class), is(document));
+
+		verify(cursor).addOption(Bytes.QUERYOPTION_SLAVEOK);
+		verify(cursor).close();
+		verify(collection, never()).findOne(any(DBObject.class));
+	}
+
+	@Test
+	public void findByIdAndExistsFollowTemplateReadRouting() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		template.setReadRouting(ReadRouting.NEAREST);
+		template.setDocumentCache(new LruDocumentCache(10));
+
+		DBCollection collection = mock(DBCollection.class);
+		DBCursor cursor = mock(DBCursor.class);
+		DBObject document = new BasicDBObject("_id", "4711").append("firstName", "Oliver");
+
+		when(db.getCollection("collection")).thenReturn(collection);
+		when(collection.find(any(DBObject.class), any(DBObject.class))).thenReturn(cursor);
+		when(cursor.addOption(anyInt())).thenReturn(cursor);
+		when(cursor.limit(anyInt())).thenReturn(cursor);
+		when(cursor.hasNext()).thenReturn(true);
+		when(cursor.next()).thenReturn(document);
+
+		template.findById("collection", "4711", Person.class);
+		template.findById("collection", "4711", Person.class);
+		assertThat(template.exists("collection", "4711"), is(true));
+
+		verify(cursor, times(3)).addOption(Bytes.QUERYOPTION_SLAVEOK);
+		verify(collection, never()).findOne(any(DBObject.class));
+		verify(collection, never()).findOne(any(DBObject.class), any(DBObject.class));
+		assertThat(template.getReadRoutingStatistics().getNearestReads(), is(3L));
+	}
+
+	@Test
+	public void countFollowsQueryReadRouting() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		DBCollection collection = mock(DBCollection.class);
+		CommandResult result = mock(CommandResult.class);
+
+		when(db.getCollection("collection")).thenReturn(collection);
+		when(collection.getName()).thenReturn("collection");
+		when(collection.getDB()).thenReturn(db);
+		when(collection.getCount(any(DBObject.class))).thenReturn(1L);
+		when(db.command(any(DBObject.class), eq(Bytes.QUERYOPTION_SLAVEOK))).thenReturn(result);
+		when(result.ok()).thenReturn(true);
+		when(result.get("n")).thenReturn(5.0);
+
+		assertThat(template.count("collection", new Query().readRouting(ReadRouting.SECONDARY_PREFERRED)), is(5L));
+		assertThat(template.count("collection", new Query()), is(1L));
+
+		ArgumentCaptor<DBObject> captor = ArgumentCaptor.forClass(DBObject.class);
+		verify(db).command(captor.capture(), eq(Bytes.QUERYOPTION_SLAVEOK));
+		assertThat(captor.getValue().get("count"), is((Object) "collection"));
+
+		ReadRoutingStatistics statistics = template.getReadRoutingStatistics();
+		assertThat(statistics.getSecondaryPreferredReads(), is(1L));
+		assertThat(statistics.getPrimaryReads(), is(1L));
+	}
+
+	@Test
+	public void notifiesOperationListenerForEveryOperation() throws Exception {
+
+		OperationListener listener = mock(OperationListener.class);
+		MongoTemplate template = mockOutGetDb();
+		template.setOperationListener(listener);
+
+		DBCollection collection = mock(DBCollection.class);
+		when(db.getCollection("collection")).thenReturn(collection);
+		when(collection.findOne(any(DBObject.class))).thenThrow(new MongoException("Error!"));
+
+		try {
+			template.findOne("collection", new Query(), Person.class);
+			fail("Expected DataAccessException!");
+		} catch (DataAccessException e) {
+			verify(listener).operationStarted();
+			verify(listener).operationFinished();
+		}
+	}
+
+	@Test
+	public void recordsOperationStatisticsPerCollection() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		DBCollection collection = mock(DBCollection.class);
+		DBCursor cursor = mock(DBCursor.class);
+
+		when(db.getCollection("collection")).thenReturn(collection);
+		when(collection.find(any(DBObject.class))).thenReturn(cursor);
+		when(cursor.iterator()).thenReturn(Arrays.<DBObject> asList(new BasicDBObject("firstName", "Oliver")).iterator());
+
+		template.find("collection", new Query(), Person.class);
+		template.count("collection", new Query());
+
+		OperationStatistics statistics = template.getOperationStatistics();
+		assertThat(statistics.getTimer("collection", OperationStatistics.Operation.FIND).getLatencies().getCount(), is(1L));
+		assertThat(statistics.getTimer("collection", OperationStatistics.Operation.FIND).getDocuments(), is(1L));
+		assertThat(statistics.getTimer("collection", OperationStatistics.Operation.COUNT).getLatencies().getCount(),
+				is(1L));
+		assertThat(statistics.getTimer(null, OperationStatistics.Operation.EXECUTE).getLatencies().getCount(), is(0L));
+		assertThat(statistics.getOperations(), is(2L));
+	}
+
+	@Test
+	public void profilesSlowFindsIncludingSortAndExplainPlan() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		DBCollection collection = mock(DBCollection.class);
+		DBCursor cursor = mock(DBCursor.class);
+		DBObject plan = new BasicDBObject("cursor", "BasicCursor");
+
+		when(db.getCollection("collection")).thenReturn(collection);
+		when(collection.find(any(DBObject.class))).thenReturn(cursor);
+		when(cursor.sort(any(DBObject.class))).thenReturn(cursor);
+		when(cursor.iterator()).thenReturn(new ArrayList<DBObject>().iterator());
+		when(cursor.explain()).thenReturn(plan);
+
+		SlowQueryProfiler profiler = new SlowQueryProfiler();
+		profiler.setThreshold(0);
+		profiler.setExplainEvery(1);
+		template.setSlowQueryProfiler(profiler);
+
+		Query query = new Query(where("lastname").is("Matthews"));
+		query.sort().on("firstname", Order.ASCENDING);
+		template.find("collection", query, Person.class);
+
+		List<SlowQueryProfiler.SlowQuery> slowQueries = profiler.getSlowQueries();
+		assertThat(slowQueries.size(), is(1));
+		assertThat(slowQueries.get(0).getShape(), is((DBObject) new BasicDBObject("lastname", "?")));
+		assertThat(slowQueries.get(0).getSort(), is((DBObject) new BasicDBObject("firstname", 1)));
+		assertThat(slowQueries.get(0).getExplain(), is(plan));
+	}
+
+	@Test
+	public void doesNotProfileByDefault() throws Exception {
+
+		MongoTemplate template = mockOutGetDb();
+		DBCollection collection = mock(DBCollection.class);
+		DBCursor cursor = mock(DBCursor.class);
+
+		when(db.getCollection("collection")).thenReturn(collection);
+		when(collection.find(any(DBObject.class))).thenReturn(cursor);
+		when(cursor.iterator()).thenReturn(new ArrayList<DBObject>().iterator());
+
+		template.find("collection", new Query(), Person.class);
+
+		assertThat(template.getSlowQueryProfiler(), is(nullValue()));
+		verify(cursor, never()).explain();
+	}
+
 	/**
 	 * Mocks out the {@link MongoTemplate#getDb()} method to return the {@link DB} mock instead of executing the actual
 	 * behaviour.
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import com.mongodb.DBObject;
+
+/**
+ * Unit tests for {@link MongoWriteBehindQueue}.
+ * 
+ * @author agent
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class MongoWriteBehindQueueUnitTests {
+
+	@Mock
+	MongoTemplate template;
+	@Mock
+	MongoWriter<Person> writer;
+	@Mock
+	WriteBehindFailureListener listener;
+
+	MongoWriteBehindQueue queue;
+
+	@Before
+	public void setUp() {
+
+		queue = new MongoWriteBehindQueue(template);
+		queue.setFlushSize(100);
+		queue.setFlushInterval(60000);
+		queue.setFailureListener(listener);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		queue.destroy();
+	}
+
+	@Test
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void flushesPendingDocumentsOnDestroy() throws Exception {
+
+		queue.afterPropertiesSet();
+		queue.insert("collection", new Person("Dave"), writer);
+		queue.insert("collection", new Person("Carter"), writer);
+
+		assertThat(queue.getPendingCount(), is(2));
+		queue.destroy();
+		assertThat(queue.getPendingCount(), is(0));
+
+		ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+		verify(template).insertDBObjectList(eq("collection"), captor.capture());
+
+		List<DBObject> documents = captor.getValue();
+		assertThat(documents.size(), is(2));
+		assertThat(documents.get(0).get("_id"), is(notNullValue()));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void reportsFailedWritesToListener() throws Exception {
+
+		DataIntegrityViolationException exception = new DataIntegrityViolationException("Error!");
+		when(template.insertDBObjectList(eq("collection"), anyList())).thenThrow(exception);
+
+		queue.afterPropertiesSet();
+		queue.insert("collection", new Person("Dave"), writer);
+		queue.flush();
+
+		verify(listener).onFailure(eq("collection"), anyList(), eq(exception));
+	}
+
+	@Test(expected = TransientDataAccessResourceException.class)
+	@SuppressWarnings("unchecked")
+	public void rejectsDocumentsIfFullAndTimeoutExceeded() throws Exception {
+
+		final CountDownLatch written = new CountDownLatch(1);
+		when(template.insertDBObjectList(eq("collection"), anyList())).thenAnswer(new Answer<List<Object>>() {
+			public List<Object> answer(InvocationOnMock invocation) throws Throwable {
+				written.await();
+				return null;
+			}
+		});
+
+		queue.setCapacity(1);
+		queue.setEnqueueTimeout(0);
+		queue.afterPropertiesSet();
+
+		try {
+			queue.insert("collection", new Person("Dave"), writer);
+			queue.insert("collection", new Person("Carter"), writer);
+		} finally {
+			written.countDown();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void keepsSpaceOccupiedWhileDocumentsAreWritten() throws Exception {
+
+		final AtomicReference<Exception> rejection = new AtomicReference<Exception>();
+		when(template.insertDBObjectList(eq("collection"), anyList())).thenAnswer(new Answer<List<Object>>() {
+			public List<Object> answer(InvocationOnMock invocation) throws Throwable {
+				try {
+					queue.insert("collection", new Person("Carter"), writer);
+				} catch (TransientDataAccessResourceException e) {
+					rejection.set(e);
+				}
+				return null;
+			}
+		});
+
+		queue.setCapacity(1);
+		queue.setEnqueueTimeout(0);
+		queue.afterPropertiesSet();
+
+		queue.insert("collection", new Person("Dave"), writer);
+		queue.flush();
+
+		assertThat(rejection.get(), is(notNullValue()));
+	}
+
+	@Test
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void destroyWaitsForInsertsBlockedOnFullQueue() throws Exception {
+
+		queue.setCapacity(1);
+		queue.afterPropertiesSet();
+		queue.insert("collection", new Person("Dave"), writer);
+
+		final AtomicReference<Exception> failure = new AtomicReference<Exception>();
+		Thread producer = new Thread() {
+			@Override
+			public void run() {
+				try {
+					queue.insert("collection", new Person("Carter"), writer);
+				} catch (Exception e) {
+					failure.set(e);
+				}
+			}
+		};
+
+		producer.start();
+		queue.destroy();
+		producer.join();
+
+		int written = 0;
+		ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+		verify(template, atLeastOnce()).insertDBObjectList(eq("collection"), captor.capture());
+
+		for (List<?> documents : captor.getAllValues()) {
+			written += documents.size();
+		}
+
+		if (failure.get() == null) {
+			assertThat(written, is(2));
+		} else {
+			assertThat(failure.get(), is(instanceOf(IllegalStateException.class)));
+			assertThat(written, is(1));
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void rejectsInsertsAfterDestroy() throws Exception {
+
+		queue.afterPropertiesSet();
+		queue.destroy();
+		queue.insert("collection", new Person("Dave"), writer);
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.springframework.data.document.mongodb.OperationStatistics.Operation;
+import org.springframework.data.document.mongodb.OperationStatistics.OperationTimer;
+import org.springframework.data.document.mongodb.OperationStatistics.Sample;
+
+import com.mongodb.BasicDBObject;
+
+/**
+ * Unit tests for {@link OperationStatistics}.
+ * 
+ * @author agent
+ */
+public class OperationStatisticsUnitTests {
+
+	OperationStatistics statistics = new OperationStatistics();
+
+	@Test
+	public void recordsSamplePerCollectionAndOperation() {
+
+		Sample sample = statistics.start("person", Operation.FIND);
+		sample.addDocument(new BasicDBObject("firstName", "Oliver"));
+		sample.addDocument(new BasicDBObject("firstName", "Thomas"));
+		sample.succeeded();
+		sample.stop();
+
+		OperationTimer timer = statistics.getTimer("person", Operation.FIND);
+		assertThat(timer.getLatencies().getCount(), is(1L));
+		assertThat(timer.getDocuments(), is(2L));
+		assertThat(timer.getBytes(), is(0L));
+		assertThat(timer.getFailures(), is(0L));
+
+		assertThat(statistics.getTimer("person", Operation.INSERT).getLatencies().getCount(), is(0L));
+		assertThat(statistics.getTimer("trade", Operation.FIND).getLatencies().getCount(), is(0L));
+	}
+
+	@Test
+	public void countsSamplesNotSucceededAsFailures() {
+
+		statistics.start("person", Operation.UPDATE).stop();
+
+		assertThat(statistics.getFailures(), is(1L));
+		assertThat(statistics.getOperations(), is(1L));
+	}
+
+	@Test
+	public void recordsDocumentSizesIfConfigured() {
+
+		statistics.setRecordDocumentSizes(true);
+
+		Sample sample = statistics.start("person", Operation.INSERT);
+		sample.addDocument(new BasicDBObject("firstName", "Oliver"));
+		sample.succeeded();
+		sample.stop();
+
+		assertThat(statistics.getTimer("person", Operation.INSERT).getBytes(), is(greaterThan(0L)));
+	}
+
+	@Test
+	public void doesNotRecordIfDisabled() {
+
+		statistics.setEnabled(false);
+		statistics.start("person", Operation.FIND).stop();
+
+		assertThat(statistics.getOperations(), is(0L));
+	}
+
+	@Test
+	public void rendersSummaryForExecutedOperationsOnly() {
+
+		Sample sample = statistics.start("person", Operation.COUNT);
+		sample.succeeded();
+		sample.stop();
+
+		String[] summary = statistics.getSummary();
+
+		assertThat(summary.length, is(1));
+		assertThat(summary[0], startsWith("person COUNT: count=1"));
+	}
+
+	@Test
+	public void doesNotCreateTimersWhenQueriedViaJmx() {
+
+		assertThat(statistics.getLatencyAtPercentile("person", "FIND", 99), is(0L));
+		assertThat(statistics.getSummary().length, is(0));
+	}
+}
@@ -21,12 +21,16 @@ import static org.junit.Assert.*;
 import java.lang.reflect.Field;
 import java.math.BigInteger;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.ConversionServiceFactory;
 import org.springframework.data.document.mongodb.SomeEnumTest.NumberEnum;
 import org.springframework.data.document.mongodb.SomeEnumTest.StringEnum;
 import org.springframework.util.ReflectionUtils;
@@ -293,6 +297,181 @@ public class SimpleMongoConverterTests {
 		assertThat(result.getId().toString(16), is("4d24809660413b687f5d323e"));
 	}
 
+	@Test
+	public void roundTripsObjectsUsingReflectiveAccess() throws Exception {
+
+		converter.setUseReflectiveAccess(true);
+
+		TradeBatch batch = createTradeBatch();
+		converter.write(batch, object);
+		TradeBatch result = converter.read(TradeBatch.class, object);
+
+		assertEquals(batch.getBatchId(), result.getBatchId());
+		assertEquals(batch.getTradeList().size(), result.getTradeList().size());
+		assertEquals(batch.getTrades()[1].getTicker(), result.getTrades()[1].getTicker());
+
+		Sample3 sample3 = converter.read(Sample3.class,
+				(DBObject) JSON.parse("{\"_id\" : {\"$oid\" : \"4d24809660413b687f5d323e\" }}"));
+		assertThat(sample3.getId().toString(16), is("4d24809660413b687f5d323e"));
+	}
+
+	@Test
+	public void fallsBackToFieldAccessorForFinalFieldsUsingReflectiveAccess() throws Exception {
+
+		converter.setUseReflectiveAccess(true);
+
+		Sample2 result = converter.read(Sample2.class, (DBObject) JSON.parse(COMPLEX_JSON));
+		assertThat(result.getMap().get("trade").getTicker(), is("VMW"));
+
+		Sample sample = converter.read(Sample.class, (DBObject) JSON.parse(SIMPLE_JSON));
+		assertThat(sample.getNumber(), is(15L));
+		assertThat(sample.getMap().get("foo"), is(3L));
+	}
+
+	@Test
+	public void readingUsingReflectiveAccessAllocatesLessThanUsingPropertyAccessors() {
+
+		User user = new User();
+		user.setAccountName("My Account");
+		user.setUserName("Mark");
+		converter.write(user, object);
+
+		final SimpleMongoConverter reflective = new SimpleMongoConverter();
+		reflective.setUseReflectiveAccess(true);
+
+		long viaPropertyAccessors = Allocations.bytesPerInvocation(new Runnable() {
+			public void run() {
+				converter.read(User.class, object);
+			}
+		});
+
+		long viaReflection = Allocations.bytesPerInvocation(new Runnable() {
+			public void run() {
+				reflective.read(User.class, object);
+			}
+		});
+
+		assertThat(viaReflection, is(lessThan(viaPropertyAccessors)));
+	}
+
+	@Test
+	public void setsOnlyNonGenericPropertiesThroughFieldsDirectly() throws Exception {
+
+		ConversionService conversionService = ConversionServiceFactory.createDefaultConversionService();
+		MongoPropertyDescriptors descriptors = MongoPropertyDescriptors.forType(Sample.class);
+		EntityAccessor accessor = EntityAccessor.forType(Sample.class);
+		assertThat(accessor, is(sameInstance(descriptors.getEntityAccessor())));
+
+		Sample sample = new Sample();
+		Map<String, Integer> map = Collections.singletonMap("foo", 3);
+
+		assertThat(accessor.setValue(sample, descriptors.getDescriptor("map"), map, conversionService), is(false));
+		assertThat(accessor.setValue(sample, descriptors.getDescriptor("number"), 15, conversionService), is(true));
+		assertThat(sample.getNumber(), is(15L));
+	}
+
+	@Test
+	public void convertsElementsOfTypedMapsUsingReflectiveAccess() throws Exception {
+
+		converter.setUseReflectiveAccess(true);
+
+		Sample sample = converter.read(Sample.class, new BasicDBObject("map", new BasicDBObject("foo", 3)));
+		assertThat(sample.getMap().get("foo"), is(3L));
+	}
+
+	@Test
+	public void readsTypedArrays() throws Exception {
+
+		DBObject input = (DBObject) JSON.parse("{ \"ints\" : [ 1, 2 ], \"longs\" : [ 3, 4 ], \"doubles\" : [ 5.5, 6 ], "
+				+ "\"names\" : [ \"foo\", \"bar\" ] }");
+		ArraySample result = converter.read(ArraySample.class, input);
+
+		assertThat(result.getInts().length, is(2));
+		assertThat(result.getInts()[1], is(2));
+		assertThat(result.getLongs()[0], is(3L));
+		assertThat(result.getDoubles()[0], is(5.5));
+		assertThat(result.getDoubles()[1], is(6.0));
+		assertThat(result.getNames(), is(new String[] { "foo", "bar" }));
+	}
+
+	@Test
+	public void keepsDefaultsForNullElementsOfPrimitiveArrays() throws Exception {
+
+		DBObject input = (DBObject) JSON.parse("{ \"ints\" : [ 1, null ], \"longs\" : [ null, 4 ], \"doubles\" : [ null ], "
+				+ "\"names\" : [ \"foo\", null ] }");
+		ArraySample result = converter.read(ArraySample.class, input);
+
+		assertThat(result.getInts()[0], is(1));
+		assertThat(result.getInts()[1], is(0));
+		assertThat(result.getLongs()[0], is(0L));
+		assertThat(result.getLongs()[1], is(4L));
+		assertThat(result.getDoubles()[0], is(0.0));
+		assertThat(result.getNames(), is(new String[] { "foo", null }));
+	}
+
+	@Test
+	public void usesOverriddenCreateMapToReadMaps() throws Exception {
+
+		final AtomicBoolean invoked = new AtomicBoolean();
+
+		converter = new SimpleMongoConverter() {
+			@Override
+			protected Map<String, Object> createMap() {
+				invoked.set(true);
+				return super.createMap();
+			}
+		};
+
+		Sample sample = converter.read(Sample.class, new BasicDBObject("map", new BasicDBObject("foo", 3L)));
+
+		assertThat(sample.getMap().get("foo"), is(3L));
+		assertThat(invoked.get(), is(true));
+	}
+
+	@Test
+	public void readsMapValuesOfMatchingTypeWithoutConversion() throws Exception {
+
+		Sample sample = converter.read(Sample.class, new BasicDBObject("map", new BasicDBObject("foo", 3L)));
+		assertThat(sample.getMap().get("foo"), is(3L));
+	}
+
+	@Test
+	public void returnsDBObjectAsIsIfRequested() throws Exception {
+
+		DBObject input = new BasicDBObject("foo", "bar");
+
+		assertThat(converter.read(DBObject.class, input), is(sameInstance(input)));
+		assertThat(converter.read(BasicDBObject.class, input), is(sameInstance(input)));
+	}
+
+	@Test
+	public void readsLazyLoadPropertiesOnFirstAccess() throws Exception {
+
+		DBObject input = (DBObject) JSON.parse("{ \"trades\" : [ { \"ticker\" : \"VMW\" } ], "
+				+ "\"items\" : { \"foo\" : { \"name\" : \"bar\" } } }");
+		LazySample result = converter.read(LazySample.class, input);
+
+		assertThat(LazyLoadingProxy.isLazyLoadingProxy(result.getTrades()), is(true));
+		assertThat(LazyLoadingProxy.isResolved(result.getTrades()), is(false));
+		assertThat(LazyLoadingProxy.isLazyLoadingProxy(result.getItems()), is(true));
+
+		assertThat(result.getTrades().get(0).getTicker(), is("VMW"));
+		assertThat(LazyLoadingProxy.isResolved(result.getTrades()), is(true));
+		assertThat(result.getItems().get("foo").getName(), is("bar"));
+	}
+
+	@Test
+	public void readsLazyLoadPropertiesUsingReflectiveAccess() throws Exception {
+
+		converter.setUseReflectiveAccess(true);
+
+		LazySample result = converter.read(LazySample.class,
+				(DBObject) JSON.parse("{ \"trades\" : [ { \"ticker\" : \"VMW\" } ] }"));
+
+		assertThat(LazyLoadingProxy.isResolved(result.getTrades()), is(false));
+		assertThat(result.getTrades().size(), is(1));
+	}
+
 	private void assertListOfStringAndLong(List<Class<?>> types) {
 
 		assertThat(types.size(), is(2));
@@ -347,4 +526,53 @@ public class SimpleMongoConverterTests {
 			return id;
 		}
 	}
+
+	public static class ArraySample {
+
+		private int[] ints;
+		private long[] longs;
+		private double[] doubles;
+		private String[] names;
+
+		public int[] getInts() {
+			return ints;
+		}
+
+		public long[] getLongs() {
+			return longs;
+		}
+
+		public double[] getDoubles() {
+			return doubles;
+		}
+
+		public String[] getNames() {
+			return names;
+		}
+	}
+
+	public static class LazySample {
+
+		@LazyLoad
+		private List<Trade> trades;
+		private Map<String, LazyItem> items;
+
+		public List<Trade> getTrades() {
+			return trades;
+		}
+
+		public Map<String, LazyItem> getItems() {
+			return items;
+		}
+	}
+
+	@LazyLoad
+	public static class LazyItem {
+
+		private String name;
+
+		public String getName() {
+			return name;
+		}
+	}
 }
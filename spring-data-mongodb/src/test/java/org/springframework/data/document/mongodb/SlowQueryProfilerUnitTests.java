@@ -0,0 +1,170 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.data.document.mongodb.OperationStatistics.Operation;
+import org.springframework.data.document.mongodb.SlowQueryProfiler.Explainer;
+import org.springframework.data.document.mongodb.SlowQueryProfiler.SlowQuery;
+
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import com.mongodb.MongoException;
+
+/**
+ * Unit tests for {@link SlowQueryProfiler}.
+ * 
+ * @author agent
+ */
+public class SlowQueryProfilerUnitTests {
+
+	SlowQueryProfiler profiler = new SlowQueryProfiler();
+
+	@Test
+	public void ignoresQueriesBelowThreshold() {
+
+		profiler.setThreshold(100);
+		profiler.record("person", Operation.FIND, 99, new BasicDBObject("lastname", "Matthews"), null, null, null);
+
+		assertThat(profiler.getSlowQueryCount(), is(0L));
+		assertThat(profiler.getSlowQueries().isEmpty(), is(true));
+	}
+
+	@Test
+	public void groupsQueriesByShape() {
+
+		profiler.record("person", Operation.FIND, 200, new BasicDBObject("lastname", "Matthews"), null, null, null);
+		profiler.record("person", Operation.FIND, 400, new BasicDBObject("lastname", "Beauford"), null, null, null);
+		profiler.record("person", Operation.REMOVE, 300, new BasicDBObject("lastname", "Beauford"), null, null, null);
+
+		List<SlowQuery> queries = profiler.getSlowQueries();
+		assertThat(profiler.getSlowQueryCount(), is(3L));
+		assertThat(queries.size(), is(2));
+
+		SlowQuery slowest = queries.get(0);
+		assertThat(slowest.getOperation(), is(Operation.FIND));
+		assertThat(slowest.getShape(), is((DBObject) new BasicDBObject("lastname", "?")));
+		assertThat(slowest.getCount(), is(2L));
+		assertThat(slowest.getMaxMillis(), is(400L));
+		assertThat(slowest.getMeanMillis(), is(300.0));
+		assertThat(queries.get(1).getOperation(), is(Operation.REMOVE));
+	}
+
+	@Test
+	public void stripsValuesButKeepsOperatorsAndNestedQueries() {
+
+		BasicDBList or = new BasicDBList();
+		or.add(new BasicDBObject("lastname", "Matthews"));
+		or.add(new BasicDBObject("age", new BasicDBObject("$gt", 30)));
+
+		DBObject query = new BasicDBObject("$or", or);
+		query.put("address", new BasicDBObject("city", "Charlottesville"));
+		query.put("tags", new BasicDBObject("$in", Arrays.asList("a", "b")));
+
+		DBObject shape = SlowQueryProfiler.getShape(query);
+
+		BasicDBList orShape = new BasicDBList();
+		orShape.add(new BasicDBObject("lastname", "?"));
+		orShape.add(new BasicDBObject("age", new BasicDBObject("$gt", "?")));
+
+		assertThat(shape.get("$or"), is((Object) orShape));
+		assertThat(shape.get("address"), is((Object) "?"));
+		assertThat(shape.get("tags"), is((Object) new BasicDBObject("$in", "?")));
+	}
+
+	@Test
+	public void evictsFastestQueryOnceCapacityIsExceeded() {
+
+		profiler.setCapacity(2);
+		profiler.record("person", Operation.FIND, 300, new BasicDBObject("lastname", "Matthews"), null, null, null);
+		profiler.record("person", Operation.FIND, 100, new BasicDBObject("firstname", "Dave"), null, null, null);
+		profiler.record("person", Operation.FIND, 200, new BasicDBObject("age", 30), null, null, null);
+
+		List<SlowQuery> queries = profiler.getSlowQueries();
+		assertThat(queries.size(), is(2));
+		assertThat(queries.get(0).getMaxMillis(), is(300L));
+		assertThat(queries.get(1).getMaxMillis(), is(200L));
+	}
+
+	@Test
+	public void explainsEveryNthSlowQuery() {
+
+		Explainer explainer = mock(Explainer.class);
+		DBObject plan = new BasicDBObject("cursor", "BasicCursor");
+		plan.put("nscanned", 1000);
+		when(explainer.explain()).thenReturn(plan);
+
+		profiler.setExplainEvery(2);
+		DBObject query = new BasicDBObject("lastname", "Matthews");
+		DBObject sort = new BasicDBObject("firstname", 1);
+
+		profiler.record("person", Operation.FIND, 200, query, null, sort, explainer);
+		verify(explainer, never()).explain();
+
+		profiler.record("person", Operation.FIND, 200, query, null, sort, explainer);
+		verify(explainer, times(1)).explain();
+
+		SlowQuery slowQuery = profiler.getSlowQueries().get(0);
+		assertThat(slowQuery.getExplain(), is(plan));
+		assertThat(slowQuery.getSort(), is(sort));
+		assertThat(profiler.getWorstOffenders()[0], containsString("cursor=BasicCursor, nscanned=1000"));
+	}
+
+	@Test
+	public void doesNotExplainByDefault() {
+
+		Explainer explainer = mock(Explainer.class);
+		profiler.record("person", Operation.FIND, 200, null, null, null, explainer);
+
+		verify(explainer, never()).explain();
+	}
+
+	@Test
+	public void recordsQueryEvenIfExplainFails() {
+
+		Explainer explainer = mock(Explainer.class);
+		when(explainer.explain()).thenThrow(new MongoException("Error!"));
+
+		profiler.setExplainEvery(1);
+		profiler.record("person", Operation.FIND, 200, null, null, null, explainer);
+
+		assertThat(profiler.getSlowQueries().size(), is(1));
+		assertThat(profiler.getSlowQueries().get(0).getExplain(), is(nullValue()));
+	}
+
+	@Test
+	public void resetDiscardsSlowQueries() {
+
+		profiler.record("person", Operation.FIND, 200, null, null, null, null);
+		profiler.reset();
+
+		assertThat(profiler.getSlowQueryCount(), is(0L));
+		assertThat(profiler.getWorstOffenders().length, is(0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNegativeThreshold() {
+		profiler.setThreshold(-1);
+	}
+}
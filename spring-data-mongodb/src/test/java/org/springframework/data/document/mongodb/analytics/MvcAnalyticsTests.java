@@ -1,5 +1,7 @@
 package org.springframework.data.document.mongodb.analytics;
 
+import static org.springframework.data.document.mongodb.query.Criteria.*;
+
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
@@ -10,13 +12,15 @@ import org.junit.Test;
 import org.springframework.data.document.analytics.ControllerCounter;
 import org.springframework.data.document.analytics.MvcEvent;
 import org.springframework.data.document.analytics.Parameters;
+import org.springframework.data.document.mongodb.MapReduceOptions;
+import org.springframework.data.document.mongodb.MapReduceResults;
 import org.springframework.data.document.mongodb.MongoReader;
 import org.springframework.data.document.mongodb.MongoTemplate;
 import org.springframework.data.document.mongodb.query.BasicQuery;
+import org.springframework.data.document.mongodb.query.GroupBy;
+import org.springframework.data.document.mongodb.query.Query;
 
-import com.mongodb.BasicDBList;
 import com.mongodb.BasicDBObject;
-import com.mongodb.DBCollection;
 import com.mongodb.DBObject;
 import com.mongodb.Mongo;
 import com.mongodb.QueryBuilder;
@@ -115,12 +119,7 @@ public class MvcAnalyticsTests {
 
 	@Test
 	public void groupQuery() {
-		// This circumvents exception translation
-		DBCollection collection = mongoTemplate.getDb().getCollection(
-				"mvc");
 
-		// QueryBuilder qb = new QueryBuilder();
-		// qb.start("date").greaterThan(object)
 		Calendar startDate = Calendar.getInstance();
 		startDate.clear();
 		startDate.set(Calendar.YEAR, 2010);
@@ -130,36 +129,30 @@ public class MvcAnalyticsTests {
 		endDate.set(Calendar.YEAR, 2010);
 		endDate.set(Calendar.MONTH, 12);
 
-		/*
-		 * QueryBuilder qb = new QueryBuilder(); Query q =
-		 * qb.find("date").gte(startDate
-		 * .getTime()).lt(endDate.getTime()).and("action"
-		 * ).is("addFavoriteRestaurant").build(); DBObject cond2 =
-		 * q.getQueryObject();
-		 */
-		DBObject cond = QueryBuilder.start("date")
-				.greaterThanEquals(startDate.getTime())
-				.lessThan(endDate.getTime()).and("action")
-				.is("addFavoriteRestaurant").get();
-		DBObject key = new BasicDBObject("parameters.p1", true);
-		/*
-		 * DBObject dateQ = new BasicDBObject(); dateQ.put("$gte",
-		 * startDate.getTime()); dateQ.put("$lt", endDate.getTime()); DBObject
-		 * cond = new BasicDBObject(); cond.put("action",
-		 * "addFavoriteRestaurant"); cond.put("date", dateQ);
-		 */
-
-		DBObject intitial = new BasicDBObject("count", 0);
-		DBObject result = collection.group(key, cond, intitial,
-				"function(doc, out){ out.count++; }");
-		if (result instanceof BasicDBList) {
-			BasicDBList dbList = (BasicDBList) result;
-			for (Object element : dbList) {
-				DBObject dbo = (DBObject) element;
-				System.out.println(dbo);
-			}
+		Query criteria = new Query(where("date").gte(startDate.getTime()).lt(endDate.getTime())).and(
+				where("action").is("addFavoriteRestaurant"));
+		GroupBy groupBy = GroupBy.key("parameters.p1").initialDocument("{ count : 0 }")
+				.reduceFunction("function(doc, out){ out.count++; }");
+
+		List<DBObject> result = mongoTemplate.group("mvc", criteria, groupBy, DBObject.class);
+
+		for (DBObject dbo : result) {
+			System.out.println(dbo);
+		}
+	}
+
+	@Test
+	public void mapReduceControllerCounts() {
+
+		MapReduceResults<ControllerCounter> results = mongoTemplate.mapReduce("mvc", null,
+				"function() { emit(this.controller, 1); }",
+				"function(key, values) { var sum = 0; values.forEach(function(v) { sum += v; }); return sum; }",
+				MapReduceOptions.options().finalizeFunction("function(key, value) { return { name : key, count : value }; }"),
+				ControllerCounter.class, null);
+
+		for (ControllerCounter counter : results) {
+			System.out.println(counter);
 		}
-		System.out.println(result);
 	}
 
 	@Test
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.cache;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link LruCache}.
+ *
+ * @author agent
+ */
+public class LruCacheUnitTests {
+
+	@Test
+	public void evictsLeastRecentlyUsedEntry() {
+
+		LruCache<String, Integer> cache = new LruCache<String, Integer>(2);
+		cache.putIfAbsent("one", 1);
+		cache.putIfAbsent("two", 2);
+		cache.get("one");
+		cache.putIfAbsent("three", 3);
+
+		assertThat(cache.size(), is(2));
+		assertThat(cache.get("one"), is(1));
+		assertThat(cache.get("two"), is(nullValue()));
+		assertThat(cache.get("three"), is(3));
+	}
+
+	@Test
+	public void keepsExistingValue() {
+
+		LruCache<String, Integer> cache = new LruCache<String, Integer>(2);
+
+		assertThat(cache.putIfAbsent("one", 1), is(nullValue()));
+		assertThat(cache.putIfAbsent("one", 2), is(1));
+		assertThat(cache.get("one"), is(1));
+	}
+
+	@Test
+	public void cachesEntriesAddedAfterLimitWasReached() {
+
+		LruCache<Integer, Integer> cache = new LruCache<Integer, Integer>(10);
+
+		for (int i = 0; i < 100; i++) {
+			cache.putIfAbsent(i, i);
+		}
+
+		assertThat(cache.size(), is(10));
+		assertThat(cache.get(99), is(99));
+		assertThat(cache.get(0), is(nullValue()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNonPositiveMaximumSize() {
+		new LruCache<String, Integer>(0);
+	}
+}
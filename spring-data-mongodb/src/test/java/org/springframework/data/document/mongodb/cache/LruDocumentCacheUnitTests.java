@@ -0,0 +1,150 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.cache;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+/**
+ * Unit tests for {@link LruDocumentCache}.
+ * 
+ * @author agent
+ */
+public class LruDocumentCacheUnitTests {
+
+	DBObject document = new BasicDBObject("_id", 1);
+
+	@Test
+	public void countsHitsAndMisses() {
+
+		LruDocumentCache cache = new LruDocumentCache(10);
+		cache(cache, "collection", 1);
+
+		assertThat(cache.get("collection", 1), is(document));
+		assertThat(cache.get("other", 1), is(nullValue()));
+		assertThat(cache.getHitCount(), is(1L));
+		assertThat(cache.getMissCount(), is(1L));
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsedDocument() {
+
+		LruDocumentCache cache = new LruDocumentCache(2);
+		cache(cache, "collection", 1);
+		cache(cache, "collection", 2);
+		cache.get("collection", 1);
+		cache(cache, "collection", 3);
+
+		assertThat(cache.getSize(), is(2));
+		assertThat(cache.get("collection", 1), is(document));
+		assertThat(cache.get("collection", 2), is(nullValue()));
+		assertThat(cache.getEvictionCount(), is(1L));
+	}
+
+	@Test
+	public void expiresDocuments() throws Exception {
+
+		LruDocumentCache cache = new LruDocumentCache(10, 1);
+		cache(cache, "collection", 1);
+		Thread.sleep(10);
+
+		assertThat(cache.get("collection", 1), is(nullValue()));
+		assertThat(cache.getExpirationCount(), is(1L));
+	}
+
+	@Test
+	public void evictsDocumentsOfCollection() {
+
+		LruDocumentCache cache = new LruDocumentCache(10);
+		cache(cache, "collection", 1);
+		cache(cache, "collection", 2);
+		cache(cache, "other", 1);
+
+		cache.evictCollection("collection");
+
+		assertThat(cache.get("collection", 1), is(nullValue()));
+		assertThat(cache.get("collection", 2), is(nullValue()));
+		assertThat(cache.get("other", 1), is(document));
+		assertThat(cache.getInvalidationCount(), is(2L));
+		assertThat(cache.getSize(), is(1));
+	}
+
+	@Test
+	public void cachesDocumentsOfCollectionAgainAfterEviction() {
+
+		LruDocumentCache cache = new LruDocumentCache(10);
+		cache.evictCollection("collection");
+		cache(cache, "collection", 1);
+
+		assertThat(cache.get("collection", 1), is(document));
+	}
+
+	@Test
+	public void doesNotCacheDocumentEvictedWhileBeingRead() {
+
+		LruDocumentCache cache = new LruDocumentCache(10);
+		Object token = cache.reserve("collection", 1);
+		cache.evict("collection", 1);
+		cache.put("collection", 1, document, token);
+
+		assertThat(cache.get("collection", 1), is(nullValue()));
+	}
+
+	@Test
+	public void doesNotCacheDocumentWhoseCollectionWasEvictedWhileBeingRead() {
+
+		LruDocumentCache cache = new LruDocumentCache(10);
+		Object token = cache.reserve("collection", 1);
+		cache.evictCollection("collection");
+		cache.put("collection", 1, document, token);
+
+		assertThat(cache.get("collection", 1), is(nullValue()));
+	}
+
+	@Test
+	public void onlyCachesDocumentForLatestReservation() {
+
+		LruDocumentCache cache = new LruDocumentCache(10);
+		Object first = cache.reserve("collection", 1);
+		Object second = cache.reserve("collection", 1);
+
+		cache.put("collection", 1, new BasicDBObject("_id", 1).append("stale", true), first);
+		assertThat(cache.get("collection", 1), is(nullValue()));
+
+		cache.put("collection", 1, document, second);
+		assertThat(cache.get("collection", 1), is(document));
+	}
+
+	@Test
+	public void releasesReservationForMissingDocument() {
+
+		LruDocumentCache cache = new LruDocumentCache(10);
+		Object token = cache.reserve("collection", 1);
+		cache.put("collection", 1, null, token);
+
+		assertThat(cache.getSize(), is(0));
+		assertThat(cache.get("collection", 1), is(nullValue()));
+	}
+
+	private void cache(DocumentCache cache, String collectionName, Object id) {
+		cache.put(collectionName, id, document, cache.reserve(collectionName, id));
+	}
+}
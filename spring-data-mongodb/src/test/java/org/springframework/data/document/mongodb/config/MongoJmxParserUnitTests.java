@@ -0,0 +1,70 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.config;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.document.mongodb.monitor.ConnectionPoolMetrics;
+
+/**
+ * Unit tests for {@link MongoJmxParser}.
+ *
+ * @author agent
+ */
+public class MongoJmxParserUnitTests {
+
+	static final String CONFIGURATION = "<beans xmlns=\"http://www.springframework.org/schema/beans\" "
+			+ "xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" "
+			+ "xmlns:mongo=\"http://www.springframework.org/schema/data/mongo\" "
+			+ "xsi:schemaLocation=\"http://www.springframework.org/schema/beans "
+			+ "http://www.springframework.org/schema/beans/spring-beans-3.0.xsd "
+			+ "http://www.springframework.org/schema/data/mongo "
+			+ "http://www.springframework.org/schema/data/mongo/spring-mongo-1.0.xsd\">%s</beans>";
+
+	@Test
+	public void registersConnectionPoolMetricsForTemplate() {
+
+		DefaultListableBeanFactory factory = parse("<mongo:jmx template-ref=\"mongoTemplate\" />");
+
+		BeanDefinition definition = factory.getBeanDefinition("mongoTemplate.connectionPoolMetrics");
+		assertThat(definition.getBeanClassName(), is(ConnectionPoolMetrics.class.getName()));
+		assertThat(factory.containsBeanDefinition("mongoTemplate.operationStatistics"), is(true));
+	}
+
+	@Test
+	public void doesNotRegisterConnectionPoolMetricsWithoutTemplate() {
+
+		DefaultListableBeanFactory factory = parse("<mongo:jmx />");
+
+		for (String name : factory.getBeanDefinitionNames()) {
+			assertThat(factory.getBeanDefinition(name).getBeanClassName(), is(not(ConnectionPoolMetrics.class.getName())));
+		}
+	}
+
+	private static DefaultListableBeanFactory parse(String element) {
+
+		DefaultListableBeanFactory factory = new DefaultListableBeanFactory();
+		XmlBeanDefinitionReader reader = new XmlBeanDefinitionReader(factory);
+		reader.loadBeanDefinitions(new ByteArrayResource(String.format(CONFIGURATION, element).getBytes()));
+		return factory;
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.monitor;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.mongodb.MongoOptions;
+
+/**
+ * Unit tests for {@link ConnectionPoolMetrics}.
+ * 
+ * @author agent
+ */
+public class ConnectionPoolMetricsUnitTests {
+
+	@Test
+	public void mirrorsMongoOptions() {
+
+		MongoOptions options = new MongoOptions();
+		options.connectionsPerHost = 20;
+		options.threadsAllowedToBlockForConnectionMultiplier = 3;
+
+		ConnectionPoolMetrics metrics = new ConnectionPoolMetrics(options);
+
+		assertThat(metrics.getConnectionsPerHost(), is(20));
+		assertThat(metrics.getThreadsAllowedToBlock(), is(60));
+	}
+
+	@Test
+	public void tracksCheckoutsInFlight() {
+
+		ConnectionPoolMetrics metrics = new ConnectionPoolMetrics(2, 1);
+
+		metrics.operationStarted();
+		assertThat(metrics.getCheckoutsInFlight(), is(1));
+
+		metrics.operationFinished();
+		assertThat(metrics.getCheckoutsInFlight(), is(0));
+		assertThat(metrics.getPeakCheckoutsInFlight(), is(1));
+		assertThat(metrics.getCheckouts(), is(1L));
+		assertThat(metrics.getHoldTimeCounts()[0], is(1L));
+	}
+
+	@Test
+	public void nestedAcquisitionsUseSingleConnection() {
+
+		ConnectionPoolMetrics metrics = new ConnectionPoolMetrics(1, 1);
+
+		metrics.operationStarted();
+		metrics.operationStarted();
+		assertThat(metrics.getCheckoutsInFlight(), is(1));
+
+		metrics.operationFinished();
+		assertThat(metrics.getCheckoutsInFlight(), is(1));
+
+		metrics.operationFinished();
+		assertThat(metrics.getCheckoutsInFlight(), is(0));
+		assertThat(metrics.getCheckouts(), is(1L));
+	}
+
+	@Test
+	public void countsCheckoutsExceedingPoolLimitsWithoutBlocking() throws Exception {
+
+		ConnectionPoolMetrics metrics = new ConnectionPoolMetrics(1, 0);
+		CountDownLatch release = holdConnection(metrics);
+
+		try {
+			metrics.operationStarted();
+			assertThat(metrics.getCheckoutsInFlight(), is(2));
+			assertThat(metrics.getSaturatedCheckouts(), is(1L));
+			assertThat(metrics.getExhaustedCheckouts(), is(1L));
+			metrics.operationFinished();
+		} finally {
+			release.countDown();
+		}
+	}
+
+	@Test
+	public void ignoresUnbalancedRelease() {
+
+		ConnectionPoolMetrics metrics = new ConnectionPoolMetrics(1, 1);
+		metrics.operationFinished();
+
+		assertThat(metrics.getCheckoutsInFlight(), is(0));
+		assertThat(metrics.getHoldTimeCounts()[0], is(0L));
+	}
+
+	@Test
+	public void rendersHoldTimeHistogram() {
+
+		ConnectionPoolMetrics metrics = new ConnectionPoolMetrics(1, 1);
+		metrics.operationStarted();
+		metrics.operationFinished();
+
+		assertThat(metrics.getHoldTimeHistogram(), startsWith("<1ms=1, <5ms=0"));
+		assertThat(metrics.getHoldTimeHistogram(), endsWith(">=5000ms=0"));
+	}
+
+	/**
+	 * Acquires a connection of the given {@link ConnectionPoolMetrics} in a separate thread and holds it until the
+	 * returned {@link CountDownLatch} is counted down.
+	 */
+	private static CountDownLatch holdConnection(final ConnectionPoolMetrics metrics) throws InterruptedException {
+
+		final CountDownLatch acquired = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+
+		new Thread() {
+			@Override
+			public void run() {
+				metrics.operationStarted();
+				acquired.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					metrics.operationFinished();
+				}
+			}
+		}.start();
+
+		assertThat(acquired.await(1, TimeUnit.SECONDS), is(true));
+		return release;
+	}
+}
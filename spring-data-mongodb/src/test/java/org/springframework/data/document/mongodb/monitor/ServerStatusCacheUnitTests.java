@@ -0,0 +1,161 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.monitor;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.CommandResult;
+import com.mongodb.Mongo;
+
+/**
+ * Unit tests for {@link ServerStatusCache}.
+ * 
+ * @author agent
+ */
+public class ServerStatusCacheUnitTests {
+
+	@Test
+	public void reusesSnapshotWithinTimeToLive() {
+
+		StubServerStatusCache cache = new StubServerStatusCache(serverStatus(10));
+
+		assertThat(cache.getServerStatus(), is(sameInstance(cache.getServerStatus())));
+		assertThat(cache.fetches.get(), is(1));
+		assertThat(cache.getRefreshes(), is(1L));
+	}
+
+	@Test
+	public void refreshesExpiredSnapshot() {
+
+		StubServerStatusCache cache = new StubServerStatusCache(serverStatus(10), serverStatus(20));
+		cache.setTimeToLive(0);
+
+		cache.getServerStatus();
+		cache.getServerStatus();
+
+		assertThat(cache.fetches.get(), is(2));
+	}
+
+	@Test
+	public void calculatesRatesBetweenSnapshots() throws Exception {
+
+		StubServerStatusCache cache = new StubServerStatusCache(serverStatus(10), serverStatus(20), serverStatus(5));
+		cache.setTimeToLive(0);
+
+		assertThat(cache.getRate("opcounters", "insert"), is(0.0));
+		assertThat(cache.getRate("opcounters", "insert"), is(greaterThan(0.0)));
+		assertThat(cache.getRate("opcounters", "insert"), is(0.0));
+		assertThat(cache.getRate("opcounters", "unknown"), is(0.0));
+	}
+
+	@Test
+	public void coalescesConcurrentRefreshes() throws Exception {
+
+		final CountDownLatch fetching = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+
+		final StubServerStatusCache cache = new StubServerStatusCache(serverStatus(10)) {
+			@Override
+			protected CommandResult fetchServerStatus() {
+				fetching.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return super.fetchServerStatus();
+			}
+		};
+
+		List<Thread> threads = new ArrayList<Thread>();
+
+		for (int i = 0; i < 5; i++) {
+			Thread thread = new Thread() {
+				@Override
+				public void run() {
+					cache.getServerStatus();
+				}
+			};
+			threads.add(thread);
+			thread.start();
+		}
+
+		assertThat(fetching.await(1, TimeUnit.SECONDS), is(true));
+		release.countDown();
+
+		for (Thread thread : threads) {
+			thread.join(1000);
+		}
+
+		assertThat(cache.fetches.get(), is(1));
+	}
+
+	@Test
+	public void monitorsReadFromSharedCache() {
+
+		StubServerStatusCache cache = new StubServerStatusCache(serverStatus(10));
+
+		OperationCounters counters = new OperationCounters(cache.getMongo());
+		counters.setServerStatusCache(cache);
+
+		assertThat(counters.getInsertCount(), is(10));
+		assertThat(counters.getQueryCount(), is(10));
+		assertThat(cache.fetches.get(), is(1));
+	}
+
+	private static CommandResult serverStatus(int count) {
+
+		BasicDBObject opCounters = new BasicDBObject();
+		opCounters.put("insert", count);
+		opCounters.put("query", count);
+
+		CommandResult result = mock(CommandResult.class);
+		when(result.get("opcounters")).thenReturn(opCounters);
+		return result;
+	}
+
+	static class StubServerStatusCache extends ServerStatusCache {
+
+		final AtomicInteger fetches = new AtomicInteger();
+		private final CommandResult[] results;
+
+		public StubServerStatusCache(CommandResult... results) {
+			super(mock(Mongo.class));
+			this.results = results;
+		}
+
+		Mongo getMongo() {
+			return mongo;
+		}
+
+		@Override
+		protected CommandResult fetchServerStatus() {
+			int fetch = fetches.getAndIncrement();
+			return results[Math.min(fetch, results.length - 1)];
+		}
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.query;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.junit.Test;
+
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import com.mongodb.util.JSON;
+
+/**
+ * Unit tests for {@link DBObjectTemplate}.
+ * 
+ * @author agent
+ */
+public class DBObjectTemplateUnitTests {
+
+	@Test
+	public void bindsUnquotedAndQuotedPlaceholders() {
+
+		DBObjectTemplate template = DBObjectTemplate.parse("{ 'lastname' : ?0, 'firstname' : '?1' }");
+		DBObject result = template.bind("Matthews", "Dave");
+
+		assertThat(result, is(JSON.parse("{ 'lastname' : 'Matthews', 'firstname' : 'Dave' }")));
+		assertThat(template.getPlaceholderIndexes(), is(Arrays.asList(0, 1)));
+	}
+
+	@Test
+	public void bindsPlaceholdersInNestedDocumentsAndArrays() {
+
+		DBObjectTemplate template = DBObjectTemplate
+				.parse("{ 'age' : { '$gt' : ?1 }, 'lastname' : { '$in' : [ ?0, 'Beauford' ] } }");
+		DBObject result = template.bind("Matthews", 18);
+
+		Object expected = JSON.parse("{ 'age' : { '$gt' : 18 }, 'lastname' : { '$in' : [ 'Matthews', 'Beauford' ] } }");
+		assertThat(result, is(expected));
+		assertThat(((DBObject) result.get("lastname")).get("$in"), is(instanceOf(BasicDBList.class)));
+	}
+
+	@Test
+	public void bindsValuesAsIs() {
+
+		ObjectId id = new ObjectId();
+		DBObject address = new BasicDBObject("city", "Springfield");
+
+		DBObject result = DBObjectTemplate.parse("{ '_id' : ?0, 'address' : ?1 }").bind(id, address);
+
+		assertThat(result.get("_id"), is((Object) id));
+		assertThat(result.get("address"), is((Object) address));
+	}
+
+	@Test
+	public void bindsSamePlaceholderMultipleTimes() {
+
+		DBObject result = DBObjectTemplate.parse("{ 'firstname' : ?0, 'lastname' : ?0 }").bind("Dave");
+		assertThat(result, is(JSON.parse("{ 'firstname' : 'Dave', 'lastname' : 'Dave' }")));
+	}
+
+	@Test
+	public void doesNotModifyTemplateOnBinding() {
+
+		DBObjectTemplate template = DBObjectTemplate.parse("{ 'lastname' : ?0 }");
+
+		DBObject first = template.bind("Matthews");
+		first.put("firstname", "Dave");
+		DBObject second = template.bind("Beauford");
+
+		assertThat(second, is(JSON.parse("{ 'lastname' : 'Beauford' }")));
+	}
+
+	@Test
+	public void parsesDocumentWithoutPlaceholders() {
+
+		DBObjectTemplate template = DBObjectTemplate.parse("{ 'lastname' : 'Matthews' }");
+
+		assertThat(template.hasPlaceholders(), is(false));
+		assertThat(template.bind(), is(JSON.parse("{ 'lastname' : 'Matthews' }")));
+	}
+
+	@Test
+	public void ignoresPlaceholdersInsideStringLiterals() {
+
+		DBObjectTemplate template = DBObjectTemplate
+				.parse("{ 'lastname' : { '$regex' : '^a?0' }, 'firstname' : \"?1 \\\" ?2\", 'age' : ?0 }");
+		DBObject result = template.bind(42, "Dave");
+
+		Object expected = JSON.parse("{ 'lastname' : { '$regex' : '^a?0' }, 'firstname' : \"?1 \\\" ?2\", 'age' : 42 }");
+		assertThat(result, is(expected));
+		assertThat(template.getPlaceholderIndexes(), is(Arrays.asList(0)));
+	}
+
+	@Test
+	public void sharesImmutablePlaceholderIndexes() {
+
+		DBObjectTemplate template = DBObjectTemplate.parse("{ 'lastname' : ?0 }");
+		List<Integer> indexes = template.getPlaceholderIndexes();
+
+		assertThat(template.getPlaceholderIndexes(), is(sameInstance(indexes)));
+
+		try {
+			indexes.add(1);
+			fail("Expected UnsupportedOperationException!");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsTooFewValues() {
+		DBObjectTemplate.parse("{ 'lastname' : ?1 }").bind("Matthews");
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.query;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+/**
+ * Unit tests for {@link GroupBy}.
+ * 
+ * @author agent
+ */
+public class GroupByUnitTests {
+
+	@Test
+	public void rendersGroupCommand() {
+
+		GroupBy groupBy = GroupBy.key("parameters.p1").initialDocument("{ count : 0 }")
+				.reduceFunction("function(doc, out) { out.count++; }");
+		DBObject criteria = new BasicDBObject("action", "addFavoriteRestaurant");
+
+		DBObject group = (DBObject) groupBy.getGroupByObject("mvc", criteria).get("group");
+
+		assertThat(group.get("ns"), is((Object) "mvc"));
+		assertThat(group.get("key"), is((Object) new BasicDBObject("parameters.p1", 1)));
+		assertThat(group.get("cond"), is((Object) criteria));
+		assertThat(group.get("initial"), is((Object) new BasicDBObject("count", 0)));
+		assertThat(group.get("$reduce"), is((Object) "function(doc, out) { out.count++; }"));
+		assertThat(group.containsField("finalize"), is(false));
+	}
+
+	@Test
+	public void usesKeyFunctionInsteadOfKey() {
+
+		DBObject group = (DBObject) GroupBy.keyFunction("function(doc) { return { day : doc.date.getDay() }; }")
+				.reduceFunction("function(doc, out) {}").finalizeFunction("function(out) {}")
+				.getGroupByObject("mvc", null).get("group");
+
+		assertThat(group.containsField("key"), is(false));
+		assertThat(group.get("$keyf"), is(notNullValue()));
+		assertThat(group.get("finalize"), is((Object) "function(out) {}"));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void rejectsMissingReduceFunction() {
+		GroupBy.key("name").getGroupByObject("mvc", null);
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.query;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.springframework.data.document.mongodb.query.Criteria.*;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.mongodb.DBObject;
+import com.mongodb.util.JSON;
+
+/**
+ * Unit tests for {@link ImmutableQuery} and {@link ParameterizedQuery}.
+ * 
+ * @author agent
+ */
+public class ImmutableQueryUnitTests {
+
+	@Test
+	public void rendersDBObjectsOnce() {
+
+		Query source = new Query(where("name").is("Thomas")).and(where("age").lt(80));
+		source.fields().include("name");
+		source.sort().on("age", Order.DESCENDING);
+		source.limit(10);
+
+		ImmutableQuery query = new ImmutableQuery(source);
+
+		assertThat(query.getQueryObject(), is(source.getQueryObject()));
+		assertThat(query.getFieldsObject(), is(source.getFieldsObject()));
+		assertThat(query.getSortObject(), is(source.getSortObject()));
+		assertThat(query.getLimit(), is(10));
+
+		assertThat(query.getQueryObject(), is(sameInstance(query.getQueryObject())));
+		assertThat(query.getSortObject(), is(sameInstance(query.getSortObject())));
+	}
+
+	@Test
+	public void doesNotReflectLaterChangesToSource() {
+
+		Query source = new Query(where("name").is("Thomas"));
+		ImmutableQuery query = new ImmutableQuery(source);
+
+		source.and(where("age").lt(80));
+		source.limit(10);
+
+		assertThat(query.getQueryObject().containsField("age"), is(false));
+		assertThat(query.getLimit(), is(0));
+	}
+
+	@Test
+	public void keepsReadRouting() {
+
+		ImmutableQuery query = new ImmutableQuery(new Query().readRouting(ReadRouting.SECONDARY_PREFERRED));
+		assertThat(query.getReadRouting(), is(ReadRouting.SECONDARY_PREFERRED));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void rejectsModifyingReadRouting() {
+		new ImmutableQuery(new Query()).readRouting(ReadRouting.NEAREST);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void rejectsAddingCriteria() {
+		new ImmutableQuery(new Query()).and(where("name").is("Thomas"));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void rejectsModifyingSort() {
+		new ImmutableQuery(new Query()).sort();
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void rejectsModifyingRenderedQueryObject() {
+		new ImmutableQuery(new Query(where("name").is("Thomas"))).getQueryObject().put("age", 80);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void rejectsModifyingNestedDBObjects() {
+
+		ImmutableQuery query = new ImmutableQuery(new Query(where("age").lt(80)));
+		((DBObject) query.getQueryObject().get("age")).put("$gt", 20);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void rejectsModifyingArrays() {
+
+		ImmutableQuery query = new ImmutableQuery(new Query(where("name").in("Thomas", "Oliver")));
+		DBObject in = (DBObject) query.getQueryObject().get("name");
+		((List<?>) in.get("$in")).clear();
+	}
+
+	@Test
+	public void bindsParameterizedQuery() {
+
+		Query options = new Query();
+		options.sort().on("age", Order.ASCENDING);
+
+		ParameterizedQuery parameterized = new ParameterizedQuery("{ 'name' : ?0, 'age' : { '$lt' : ?1 } }", options);
+
+		ImmutableQuery first = parameterized.bind("Thomas", 80);
+		ImmutableQuery second = parameterized.bind("Oliver", 30);
+
+		assertThat(first.getQueryObject(), is(JSON.parse("{ 'name' : 'Thomas', 'age' : { '$lt' : 80 } }")));
+		assertThat(second.getQueryObject(), is(JSON.parse("{ 'name' : 'Oliver', 'age' : { '$lt' : 30 } }")));
+		assertThat(first.getSortObject(), is(sameInstance(second.getSortObject())));
+	}
+}
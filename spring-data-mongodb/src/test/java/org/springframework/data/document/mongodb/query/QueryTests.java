@@ -76,4 +76,19 @@ public class QueryTests {
 		Assert.assertEquals(expected, q.getQueryObject().toString());
 	}
 
+	@Test
+	public void testQueryWithCursorOptions() {
+		Query q = new Query(where("name").is("Thomas"));
+		Assert.assertFalse(q.hasCursorOptions());
+
+		q.batchSize(100).hint("name_1").snapshot().noCursorTimeout();
+
+		Assert.assertTrue(q.hasCursorOptions());
+		Assert.assertEquals(100, q.getBatchSize());
+		Assert.assertEquals("name_1", q.getHintIndexName());
+		Assert.assertNull(q.getHintObject());
+		Assert.assertTrue(q.isSnapshot());
+		Assert.assertTrue(q.isNoCursorTimeout());
+	}
+
 }
@@ -86,6 +86,13 @@ public abstract class AbstractPersonRepositoryIntegrationTests {
 		assertThat(result, hasItem(carter));
 	}
 	
+	@Test
+	public void countsPersonsByLastname() throws Exception {
+
+		assertThat(repository.countByLastname("Beauford"), is(1L));
+		assertThat(repository.count(), is(5L));
+	}
+
 	@Test
 	public void findsPersonsByFirstname() {
 		
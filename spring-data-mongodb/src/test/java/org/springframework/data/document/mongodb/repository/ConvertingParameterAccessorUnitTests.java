@@ -0,0 +1,119 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.repository;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import org.bson.types.ObjectId;
+import org.junit.Test;
+import org.springframework.data.document.mongodb.Allocations;
+import org.springframework.data.document.mongodb.MongoWriter;
+import org.springframework.data.document.mongodb.SimpleMongoConverter;
+
+import com.mongodb.DBObject;
+
+/**
+ * Unit tests for {@link ConvertingParameterAccessor}.
+ * 
+ * @author agent
+ */
+public class ConvertingParameterAccessorUnitTests {
+
+	SimpleMongoConverter converter = spy(new SimpleMongoConverter());
+
+	@Test
+	public void passesSimpleTypesWithoutInvokingConverter() {
+
+		ObjectId id = new ObjectId();
+		Date date = new Date();
+
+		ConvertingParameterAccessor accessor = StubParameterAccessor.getAccessor(converter, "Dave", 42L, id, date, null);
+
+		assertThat(accessor.getBindableValue(0), is((Object) "Dave"));
+		assertThat(accessor.getBindableValue(1), is((Object) 42L));
+		assertThat(accessor.getBindableValue(2), is((Object) id));
+		assertThat(accessor.getBindableValue(3), is((Object) date));
+		assertThat(accessor.getBindableValue(4), is(nullValue()));
+
+		verify(converter, never()).write(any(), any(DBObject.class));
+	}
+
+	@Test
+	public void convertsEnumsToTheirNameWithoutInvokingConverter() {
+
+		ConvertingParameterAccessor accessor = StubParameterAccessor.getAccessor(converter, Sample.VALUE);
+
+		assertThat(accessor.iterator().next(), is((Object) "VALUE"));
+		verify(converter, never()).write(any(), any(DBObject.class));
+	}
+
+	@Test
+	public void convertsComplexValuesWithConverter() {
+
+		Address address = new Address("Foo", "01234", "Bar");
+		ConvertingParameterAccessor accessor = StubParameterAccessor.getAccessor(converter, address,
+				Arrays.asList("Dave", "Carter"));
+
+		Object value = accessor.getBindableValue(0);
+
+		assertThat(value, is(instanceOf(DBObject.class)));
+		assertThat(((DBObject) value).get("city"), is((Object) "Bar"));
+		assertThat(accessor.getBindableValue(1), is(instanceOf(Object[].class)));
+	}
+
+	@Test
+	public void passingSimpleTypesAllocatesLessThanConverting() {
+
+		final SimpleMongoConverter simpleConverter = new SimpleMongoConverter();
+		MongoWriter<Object> delegatingWriter = new MongoWriter<Object>() {
+			public void write(Object t, DBObject dbo) {
+				simpleConverter.write(t, dbo);
+			}
+		};
+
+		final ConvertingParameterAccessor passing = StubParameterAccessor.getAccessor(simpleConverter, "Dave", 42L);
+		final ConvertingParameterAccessor converting = StubParameterAccessor.getAccessor(delegatingWriter, "Dave", 42L);
+
+		long passed = Allocations.bytesPerInvocation(new Runnable() {
+			public void run() {
+				passing.getBindableValue(0);
+				passing.getBindableValue(1);
+			}
+		});
+
+		long converted = Allocations.bytesPerInvocation(new Runnable() {
+			public void run() {
+				converting.getBindableValue(0);
+				converting.getBindableValue(1);
+			}
+		});
+
+		assertThat(passed, is(lessThan(converted)));
+	}
+
+	enum Sample {
+		VALUE;
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.repository;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+import org.springframework.data.document.mongodb.Allocations;
+import org.springframework.data.document.mongodb.query.Query;
+import org.springframework.data.repository.query.ParameterAccessor;
+import org.springframework.data.repository.query.parser.PartTree;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+/**
+ * Unit tests for {@link MongoQueryPlan}.
+ * 
+ * @author agent
+ */
+public class MongoQueryPlanUnitTests {
+
+	@Test
+	public void bindsSimpleProperties() {
+		assertBindsLikeQueryCreator("findByLastnameAndFirstname", "Matthews", "Dave");
+	}
+
+	@Test
+	public void bindsBetween() {
+		assertBindsLikeQueryCreator("findByAgeBetween", 18, 42);
+	}
+
+	@Test
+	public void bindsInWithCollectionAndArray() {
+
+		assertBindsLikeQueryCreator("findByFirstnameIn", Arrays.asList("Dave", "Carter"));
+		assertBindsLikeQueryCreator("findByFirstnameNotIn", (Object) new String[] { "Dave", "Carter" });
+		assertBindsLikeQueryCreator("findByFirstnameIn", "Dave");
+	}
+
+	@Test
+	public void bindsLikeAsPattern() {
+
+		Query query = bind("findByFirstnameLike", "Da*");
+		Object value = query.getQueryObject().get("firstname");
+
+		assertThat(value, is(instanceOf(Pattern.class)));
+		assertThat(((Pattern) value).pattern(), is("Da.*"));
+		assertBindsLikeQueryCreator("findByLastnameLikeAndAgeBetween", "Ma*", 18, 42);
+	}
+
+	@Test
+	public void bindsOrQueries() {
+		assertBindsLikeQueryCreator("findByAgeOrLastnameLikeAndFirstnameLike", 42, "Ma*", "Da*");
+	}
+
+	@Test
+	public void bindsFreshQueryObjectsForEachInvocation() {
+
+		MongoQueryPlan plan = MongoQueryPlan.compile(new PartTree("findByLastname", Person.class));
+
+		DBObject first = plan.bind(new StubParameterAccessor("Matthews")).getQueryObject();
+		DBObject second = plan.bind(new StubParameterAccessor("Beauford")).getQueryObject();
+
+		assertThat(first.get("lastname"), is((Object) "Matthews"));
+		assertThat(second.get("lastname"), is((Object) "Beauford"));
+	}
+
+	@Test
+	public void precomputesSortFromMethodName() {
+
+		Query query = bind("findByLastnameOrderByAgeDesc", "Matthews");
+		assertThat(query.getSortObject(), is((DBObject) new BasicDBObject("age", -1)));
+	}
+
+	@Test
+	public void bindingAllocatesLessThanCreatingTheQuery() {
+
+		final PartTree tree = new PartTree("findByLastnameLikeAndAgeBetweenOrderByAgeDesc", Person.class);
+		final ParameterAccessor accessor = new StubParameterAccessor("Ma*", 18, 42);
+		final MongoQueryPlan plan = MongoQueryPlan.compile(tree);
+
+		long creating = Allocations.bytesPerInvocation(new Runnable() {
+			public void run() {
+				new MongoQueryCreator(tree, accessor).createQuery();
+			}
+		});
+
+		long binding = Allocations.bytesPerInvocation(new Runnable() {
+			public void run() {
+				plan.bind(accessor);
+			}
+		});
+
+		assertThat(binding, is(lessThan(creating)));
+	}
+
+	private static Query bind(String methodName, Object... values) {
+
+		MongoQueryPlan plan = MongoQueryPlan.compile(new PartTree(methodName, Person.class));
+		return plan.bind(new StubParameterAccessor(values));
+	}
+
+	private static void assertBindsLikeQueryCreator(String methodName, Object... values) {
+
+		PartTree tree = new PartTree(methodName, Person.class);
+		ParameterAccessor accessor = new StubParameterAccessor(values);
+
+		Query reference = new MongoQueryCreator(tree, accessor).createQuery();
+		Query query = MongoQueryPlan.compile(tree).bind(accessor);
+
+		assertThat(query.getQueryObject().toString(), is(reference.getQueryObject().toString()));
+	}
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.repository;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.springframework.data.document.mongodb.DelegatingMongoReader;
+import org.springframework.data.document.mongodb.MongoReader;
+import org.springframework.data.document.mongodb.MongoTemplate;
+import org.springframework.data.document.mongodb.query.BasicQuery;
+import org.springframework.data.document.mongodb.query.Criteria;
+import org.springframework.data.document.mongodb.query.Query;
+import org.springframework.data.document.mongodb.repository.PageLoader.ContentLoader;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort.Direction;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+/**
+ * Unit tests for {@link PageLoader}.
+ * 
+ * @author agent
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class PageLoaderUnitTests {
+
+	@Mock
+	MongoTemplate template;
+
+	PageLoader loader;
+
+	@Before
+	public void setUp() {
+
+		loader = new PageLoader(template);
+		when(template.count(anyString(), any(Query.class), any(Class.class))).thenReturn(42L);
+	}
+
+	@Test
+	public void derivesTotalFromShortFirstPage() {
+
+		Page<String> page = loader.readPage("collection", new Query(), new PageRequest(0, 10), contentOf("a", "b"));
+
+		assertThat(page.getTotalElements(), is(2L));
+		verify(template, never()).count(anyString(), any(Query.class), any(Class.class));
+	}
+
+	@Test
+	public void derivesTotalFromShortLastPage() {
+
+		Page<String> page = loader.readPage("collection", new Query(), new PageRequest(2, 10), contentOf("a"));
+		assertThat(page.getTotalElements(), is(21L));
+	}
+
+	@Test
+	public void countsIfPageIsFull() {
+
+		Page<String> page = loader.readPage("collection", new Query(), new PageRequest(0, 2), contentOf("a", "b"));
+		assertThat(page.getTotalElements(), is(42L));
+	}
+
+	@Test
+	public void countsForEntityClass() {
+
+		loader.readPage("collection", new Query(), new PageRequest(0, 2), Person.class, contentOf("a", "b"));
+		verify(template).count(eq("collection"), any(Query.class), eq(Person.class));
+	}
+
+	@Test
+	public void countsIfPageBeyondLastOneIsEmpty() {
+
+		Page<String> page = loader.readPage("collection", new Query(), new PageRequest(5, 2), contentOf());
+		assertThat(page.getTotalElements(), is(42L));
+	}
+
+	@Test
+	public void appliesPaginationToContentQuery() {
+
+		final Query[] captured = new Query[1];
+
+		loader.readPage("collection", new Query(), new PageRequest(3, 2), new ContentLoader<String>() {
+			public List<String> load(Query query) {
+				captured[0] = query;
+				return Arrays.asList("a", "b");
+			}
+		});
+
+		assertThat(captured[0].getSkip(), is(6));
+		assertThat(captured[0].getLimit(), is(2));
+	}
+
+	@Test
+	public void runsCountOnConfiguredExecutor() {
+
+		Executor executor = mock(Executor.class);
+		doAnswer(new Answer<Object>() {
+			public Object answer(InvocationOnMock invocation) {
+				((Runnable) invocation.getArguments()[0]).run();
+				return null;
+			}
+		}).when(executor).execute(any(Runnable.class));
+
+		loader.setExecutor(executor);
+
+		Page<String> page = loader.readPage("collection", new Query(), new PageRequest(0, 2), contentOf("a", "b"));
+
+		assertThat(page.getTotalElements(), is(42L));
+		verify(executor).execute(any(Runnable.class));
+	}
+
+	@Test
+	public void cachesCountsIfConfigured() {
+
+		loader.setCountCacheTimeToLive(60000);
+
+		loader.readPage("collection", new Query(), new PageRequest(0, 2), contentOf("a", "b"));
+		Page<String> page = loader.readPage("collection", new Query(), new PageRequest(1, 2), contentOf("c", "d"));
+
+		assertThat(page.getTotalElements(), is(42L));
+		verify(template, times(1)).count(anyString(), any(Query.class), any(Class.class));
+	}
+
+	@Test
+	public void cachesCountsPerEntityType() {
+
+		loader.setCountCacheTimeToLive(60000);
+
+		loader.readPage("collection", new Query(), new PageRequest(0, 2), Person.class, contentOf("a", "b"));
+		loader.readPage("collection", new Query(), new PageRequest(1, 2), Address.class, contentOf("c", "d"));
+		loader.readPage("collection", new Query(), new PageRequest(1, 2), Person.class, contentOf("c", "d"));
+
+		verify(template, times(2)).count(anyString(), any(Query.class), any(Class.class));
+	}
+
+	@Test
+	public void doesNotCacheCountsByDefault() {
+
+		loader.readPage("collection", new Query(), new PageRequest(0, 2), contentOf("a", "b"));
+		loader.readPage("collection", new Query(), new PageRequest(1, 2), contentOf("c", "d"));
+
+		verify(template, times(2)).count(anyString(), any(Query.class), any(Class.class));
+	}
+
+	@Test
+	public void readsFirstKeysetPageAndDetectsFollowingOne() {
+
+		stubDocuments("a", "b", "c");
+		KeysetPage<String> page = loader.readKeysetPage("collection", new Query(), new KeysetPageRequest(2), String.class,
+				new KeyReader());
+
+		assertThat(page.getContent(), is(Arrays.asList("a", "b")));
+		assertThat(page.hasNextPage(), is(true));
+		assertThat(page.getContinuationToken(), is((Object) "b"));
+		assertThat(page.getNextPageRequest().getLastKey(), is((Object) "b"));
+	}
+
+	@Test
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void exposesTargetTypeAndReaderForIdMapping() {
+
+		stubDocuments("a");
+		KeyReader reader = new KeyReader();
+		loader.readKeysetPage("collection", new Query(), new KeysetPageRequest(2), String.class, reader);
+
+		ArgumentCaptor<MongoReader> captor = ArgumentCaptor.forClass(MongoReader.class);
+		verify(template).find(anyString(), any(Query.class), eq(String.class), captor.capture());
+
+		DelegatingMongoReader<String> keyReader = (DelegatingMongoReader<String>) captor.getValue();
+		assertEquals(String.class, keyReader.getEntityClass());
+		assertThat(keyReader.getDelegate(), is((Object) reader));
+	}
+
+	@Test
+	public void readsLastKeysetPage() {
+
+		stubDocuments("a");
+		KeysetPage<String> page = loader.readKeysetPage("collection", new Query(), new KeysetPageRequest(2), String.class,
+				new KeyReader());
+
+		assertThat(page.getContent(), is(Arrays.asList("a")));
+		assertThat(page.hasNextPage(), is(false));
+		assertThat(page.getNextPageRequest(), is(nullValue()));
+	}
+
+	@Test
+	public void restrictsQueryToElementsFollowingLastKey() {
+
+		Query query = QueryUtils.applyKeyset(new Query(), new KeysetPageRequest(10).next("b"));
+
+		assertThat(query.getLimit(), is(11));
+		assertThat(query.getSkip(), is(0));
+		assertThat(query.getQueryObject(), is((DBObject) new BasicDBObject("_id", new BasicDBObject("$gt", "b"))));
+		assertThat(query.getSortObject(), is((DBObject) new BasicDBObject("_id", 1)));
+	}
+
+	@Test
+	public void usesLessThanForDescendingKeysetPages() {
+
+		KeysetPageRequest request = new KeysetPageRequest(10, Direction.DESC, "age", 42);
+		Query query = QueryUtils.applyKeyset(new Query(), request);
+
+		assertThat(query.getQueryObject(), is((DBObject) new BasicDBObject("age", new BasicDBObject("$lt", 42))));
+		assertThat(query.getSortObject(), is((DBObject) new BasicDBObject("age", -1)));
+	}
+
+	@Test
+	public void doesNotRestrictFirstKeysetPage() {
+
+		Query query = QueryUtils.applyKeyset(new Query(), new KeysetPageRequest(10));
+		assertThat(query.getQueryObject().keySet().isEmpty(), is(true));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsKeysetPagingOnKeyAlreadyRestricted() {
+
+		Query query = new Query(Criteria.where("_id").is("a"));
+		QueryUtils.applyKeyset(query, new KeysetPageRequest(10).next("b"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsKeysetPagingOnSortedQuery() {
+
+		BasicQuery query = new BasicQuery(new BasicDBObject("lastname", "Matthews"));
+		query.setSortObject(new BasicDBObject("firstname", 1));
+		QueryUtils.applyKeyset(query, new KeysetPageRequest(10).next("b"));
+	}
+
+	@Test
+	public void addsKeyToExplicitFieldsOfBasicQuery() {
+
+		BasicQuery query = new BasicQuery(new BasicDBObject(), new BasicDBObject("firstname", 1));
+		QueryUtils.applyKeyset(query, new KeysetPageRequest(10, Direction.ASC, "age"));
+
+		DBObject expected = new BasicDBObject("firstname", 1).append("age", 1);
+		assertThat(query.getFieldsObject(), is(expected));
+	}
+
+	@SuppressWarnings("unchecked")
+	private void stubDocuments(String... ids) {
+
+		final List<DBObject> documents = new ArrayList<DBObject>();
+
+		for (String id : ids) {
+			documents.add(new BasicDBObject("_id", id));
+		}
+
+		when(template.find(anyString(), any(Query.class), eq(String.class), any(MongoReader.class))).thenAnswer(
+				new Answer<List<String>>() {
+					public List<String> answer(InvocationOnMock invocation) {
+
+						MongoReader<String> reader = (MongoReader<String>) invocation.getArguments()[3];
+						List<String> result = new ArrayList<String>();
+
+						for (DBObject document : documents) {
+							result.add(reader.read(String.class, document));
+						}
+
+						return result;
+					}
+				});
+	}
+
+		private static ContentLoader<String> contentOf(final String... elements) {
+
+		return new ContentLoader<String>() {
+			public List<String> load(Query query) {
+				return Arrays.asList(elements);
+			}
+		};
+	}
+
+	private static class KeyReader implements MongoReader<String> {
+
+		@SuppressWarnings("unchecked")
+		public <S extends String> S read(Class<S> clazz, DBObject dbo) {
+			return (S) dbo.get("_id");
+		}
+	}
+}
@@ -117,4 +117,12 @@ public interface PersonRepository extends MongoRepository<Person, String> {
     List<Person> findByLastnameLikeAndAgeBetween(String lastname, int from, int to);
     
     List<Person> findByAgeOrLastnameLikeAndFirstnameLike(int age, String lastname, String firstname);
+
+	/**
+	 * Returns the number of {@link Person}s with the given lastname.
+	 * 
+	 * @param lastname
+	 * @return
+	 */
+	long countByLastname(String lastname);
 }
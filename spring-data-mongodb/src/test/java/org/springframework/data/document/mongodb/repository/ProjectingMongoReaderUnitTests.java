@@ -0,0 +1,150 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.repository;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.document.mongodb.SimpleMongoConverter;
+import org.springframework.data.document.mongodb.query.Query;
+
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+/**
+ * Unit tests for {@link ProjectingMongoReader}.
+ * 
+ * @author agent
+ */
+public class ProjectingMongoReaderUnitTests {
+
+	ProjectingMongoReader reader;
+	DBObject dbo;
+
+	@Before
+	public void setUp() {
+
+		reader = new ProjectingMongoReader(Person.class, new SimpleMongoConverter());
+		dbo = new BasicDBObject("firstname", "Dave").append("age", 42).append("address",
+				new BasicDBObject("city", "Springfield"));
+	}
+
+	@Test
+	public void restrictsFieldsToProjectionProperties() {
+
+		Query query = ProjectingMongoReader.restrictFields(new Query(), PersonSummary.class);
+
+		DBObject fields = query.getFieldsObject();
+		assertThat(fields.keySet().size(), is(2));
+		assertThat(fields.get("firstname"), is((Object) 1));
+		assertThat(fields.get("age"), is((Object) 1));
+	}
+
+	@Test
+	public void keepsExistingFieldSpecification() {
+
+		Query query = new Query();
+		query.fields().include("lastname");
+
+		ProjectingMongoReader.restrictFields(query, PersonSummary.class);
+		assertThat(query.getFieldsObject().keySet().size(), is(1));
+	}
+
+	@Test
+	public void readsInterfaceProjectionFromDocument() {
+
+		PersonSummary summary = reader.read(PersonSummary.class, dbo);
+
+		assertThat(summary.getFirstname(), is("Dave"));
+		assertThat(summary.getAge(), is(42));
+	}
+
+	@Test
+	public void createsProxyInClassLoaderOfProjectionType() {
+
+		PersonSummary summary = reader.read(PersonSummary.class, dbo);
+		assertThat(summary.getClass().getClassLoader(), is(PersonSummary.class.getClassLoader()));
+	}
+
+	@Test
+	public void exposesEntityTypeAndDelegate() {
+
+		assertEquals(Person.class, reader.getEntityClass());
+		assertThat(reader.getDelegate(), is(instanceOf(SimpleMongoConverter.class)));
+	}
+
+	@Test
+	public void readsNestedDocumentsAndDefaultsMissingPrimitives() {
+
+		PersonWithCity projection = reader.read(PersonWithCity.class, dbo);
+
+		assertThat(projection.getAddress().getCity(), is("Springfield"));
+		assertThat(projection.getRank(), is(0L));
+	}
+
+	@Test
+	public void readsElementsOfCollectionsAndArrays() {
+
+		BasicDBList addresses = new BasicDBList();
+		addresses.add(new BasicDBObject("city", "Springfield"));
+		BasicDBList tags = new BasicDBList();
+		tags.add("foo");
+		tags.add("bar");
+		dbo.put("addresses", addresses);
+		dbo.put("tags", tags);
+		dbo.put("scores", tags);
+
+		PersonWithAddresses projection = reader.read(PersonWithAddresses.class, dbo);
+
+		List<Address> result = projection.getAddresses();
+		assertThat(result.size(), is(1));
+		assertThat(result.get(0), is(instanceOf(Address.class)));
+		assertThat(result.get(0).getCity(), is("Springfield"));
+		assertThat(projection.getTags(), is(new String[] { "foo", "bar" }));
+		assertThat(projection.getScores(), is((Set<String>) new HashSet<String>(Arrays.asList("foo", "bar"))));
+	}
+
+	interface PersonSummary {
+
+		String getFirstname();
+
+		int getAge();
+	}
+
+	interface PersonWithAddresses {
+
+		List<Address> getAddresses();
+
+		String[] getTags();
+
+		Set<String> getScores();
+	}
+
+	interface PersonWithCity {
+
+		Address getAddress();
+
+		long getRank();
+	}
+}
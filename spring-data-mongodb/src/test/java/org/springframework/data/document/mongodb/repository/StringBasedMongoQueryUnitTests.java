@@ -62,9 +62,57 @@ public class StringBasedMongoQueryUnitTests {
 		assertThat(query.getQueryObject(), is(reference.getQueryObject()));
 	}
 
+	@Test
+	public void bindsMultiplePlaceholders() throws Exception {
+
+		Method method = SampleRepository.class.getMethod("findByLastnameAndFirstname", String.class, String.class);
+		StringBasedMongoQuery mongoQuery = new StringBasedMongoQuery(new MongoQueryMethod(method, Person.class), template);
+
+		org.springframework.data.document.mongodb.query.Query query = mongoQuery.createQuery(StubParameterAccessor
+				.getAccessor(converter, "Matthews", "Dave"));
+		org.springframework.data.document.mongodb.query.Query reference = new BasicQuery(
+				"{'lastname' : 'Matthews', 'firstname' : 'Dave'}");
+
+		assertThat(query.getQueryObject(), is(reference.getQueryObject()));
+	}
+
+	@Test
+	public void createsFreshQueryObjectForEachInvocation() throws Exception {
+
+		Method method = SampleRepository.class.getMethod("findByLastname", String.class);
+		StringBasedMongoQuery mongoQuery = new StringBasedMongoQuery(new MongoQueryMethod(method, Person.class), template);
+
+		org.springframework.data.document.mongodb.query.Query first = mongoQuery.createQuery(StubParameterAccessor
+				.getAccessor(converter, "Matthews"));
+		org.springframework.data.document.mongodb.query.Query second = mongoQuery.createQuery(StubParameterAccessor
+				.getAccessor(converter, "Beauford"));
+
+		assertThat(first.getQueryObject().get("lastname"), is((Object) "Matthews"));
+		assertThat(second.getQueryObject().get("lastname"), is((Object) "Beauford"));
+	}
+
+	@Test
+	public void bindsPlaceholdersInFieldSpecification() throws Exception {
+
+		Method method = SampleRepository.class.getMethod("findByAge", Integer.class);
+		StringBasedMongoQuery mongoQuery = new StringBasedMongoQuery(new MongoQueryMethod(method, Person.class), template);
+
+		org.springframework.data.document.mongodb.query.Query query = mongoQuery.createQuery(StubParameterAccessor
+				.getAccessor(converter, 42));
+
+		assertThat(query.getQueryObject(), is(new BasicQuery("{ 'age' : 42 }").getQueryObject()));
+		assertThat(query.getFieldsObject(), is(new BasicQuery("{}", "{ 'firstname' : 1 }").getFieldsObject()));
+	}
+
 	private interface SampleRepository {
 
 		@Query("{ 'lastname' : ?0 }")
 		Person findByLastname(String lastname);
+
+		@Query("{ 'lastname' : ?0, 'firstname' : ?1 }")
+		Person findByLastnameAndFirstname(String lastname, String firstname);
+
+		@Query(value = "{ 'age' : ?0 }", fields = "{ 'firstname' : 1 }")
+		Person findByAge(Integer age);
 	}
 }